@@ -0,0 +1,190 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Genre;
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.model.entity.User;
+import ca.eshopexpress.model.enums.AgeRating;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.Province;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates deterministic, realistic-looking catalog and order data for the benchmarks,
+ * so they run without a database and produce comparable numbers between runs.
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class BenchmarkData {
+
+    /**
+     * Platform names
+     */
+    public static final String[] PLATFORMS = {
+            "PlayStation 5", "PlayStation 4", "Xbox Series S/X", "Xbox One", "Nintendo Switch", "PC"
+    };
+
+    /**
+     * Genre names
+     */
+    public static final String[] GENRES = {
+            "Action", "Adventure", "RPG", "Simulation", "Strategy", "Sports", "Racing", "Puzzle",
+            "Shooter", "Platformer", "Fighting", "Horror"
+    };
+
+    private static final String[] WORDS = {
+            "Legend", "Shadow", "Galaxy", "Kingdom", "Racer", "Chronicles", "Dragon", "Frontier",
+            "Empire", "Quest", "Storm", "Knight", "Odyssey", "Horizon", "Tactics", "Souls", "Zelda",
+            "Mario", "Forza", "Halo", "Sims", "Craft", "Arena", "Rising", "Wild", "Legacy"
+    };
+
+    private static final String[] PUBLISHERS = {
+            "Nintendo", "Sony Interactive", "Microsoft", "Electronic Arts", "Ubisoft", "Capcom",
+            "Square Enix", "Bandai Namco", "Sega", "Bethesda"
+    };
+
+    private BenchmarkData() {}
+
+    /**
+     * Creates a catalog of games with IDs 1 to count
+     * @param count number of games
+     * @param seed random seed
+     * @return the games
+     */
+    public static List<Game> games(int count, long seed) {
+        Random random = new Random(seed);
+        List<Platform> platforms = new ArrayList<>();
+        for (int i = 0; i < PLATFORMS.length; i++) {
+            Platform platform = new Platform();
+            platform.setId((long) i + 1);
+            platform.setName(PLATFORMS[i]);
+            platforms.add(platform);
+        }
+        List<Genre> genres = new ArrayList<>();
+        for (int i = 0; i < GENRES.length; i++) {
+            Genre genre = new Genre();
+            genre.setId((long) i + 1);
+            genre.setName(GENRES[i]);
+            genres.add(genre);
+        }
+
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Game game = new Game();
+            game.setId((long) i);
+            game.setTitle(title(random) + " " + (i % 7 == 0 ? romanNumeral(random) : ""));
+            game.setDescription("An " + WORDS[random.nextInt(WORDS.length)].toLowerCase()
+                    + " adventure across the " + WORDS[random.nextInt(WORDS.length)].toLowerCase() + " lands");
+            game.setPrice(BigDecimal.valueOf(999 + random.nextInt(7000), 2));
+            game.setReleaseDate(LocalDate.of(2010, 1, 1).plusDays(random.nextInt(6000)));
+            game.setPublisher(PUBLISHERS[random.nextInt(PUBLISHERS.length)]);
+            game.setDeveloper(WORDS[random.nextInt(WORDS.length)] + " Studios");
+            game.setAgeRating(AgeRating.values()[random.nextInt(AgeRating.values().length)]);
+            game.setDigital(random.nextInt(3) == 0);
+            game.setStockQuantity(random.nextInt(200));
+            game.setAverageRating(1.0 + random.nextInt(401) / 100.0);
+            game.setPlatforms(pick(platforms, 1 + random.nextInt(3), random));
+            game.setGenres(pick(genres, 1 + random.nextInt(2), random));
+            games.add(game);
+        }
+        return games;
+    }
+
+    /**
+     * Creates orders with IDs 1 to count
+     * @param count number of orders
+     * @param seed random seed
+     * @return the orders
+     */
+    public static List<Order> orders(int count, long seed) {
+        Random random = new Random(seed);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Order order = new Order();
+            order.setId(i);
+            order.setUser(user(i % 97 + 1));
+            order.setOrderDate(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)));
+            order.setStatus(OrderStatus.values()[random.nextInt(OrderStatus.values().length)]);
+            BigDecimal subtotal = BigDecimal.valueOf(999 + random.nextInt(30000), 2);
+            order.setSubtotal(subtotal);
+            order.setTax(subtotal.multiply(new BigDecimal("0.13")).setScale(2, java.math.RoundingMode.HALF_UP));
+            order.setTotal(subtotal.add(order.getTax()));
+            order.setFirstName("First" + i);
+            order.setLastName("Last" + (i % 97));
+            order.setEmail("customer" + i + "@example.com");
+            order.setAddress(i + " Main Street");
+            order.setCity("Toronto");
+            order.setProvince(Province.ONTARIO);
+            order.setPostalCode("M5V 2T6");
+            order.setPaymentMethod("CREDIT_CARD");
+            order.setEstimatedDelivery(order.getOrderDate().toLocalDate().plusDays(5));
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Creates a customer
+     * @param id the user ID
+     * @return the user
+     */
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("customer" + id);
+        user.setFirstName("First" + id);
+        user.setLastName("Last" + id);
+        user.setEmail("customer" + id + "@example.com");
+        return user;
+    }
+
+    /**
+     * Builds a random two- or three-word title
+     * @param random the random source
+     * @return the title
+     */
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        int words = 1 + random.nextInt(2);
+        for (int i = 0; i < words; i++) {
+            title.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    /**
+     * Picks a sequel numeral
+     * @param random the random source
+     * @return the numeral
+     */
+    private static String romanNumeral(Random random) {
+        return new String[] {"II", "III", "IV", "V"}[random.nextInt(4)];
+    }
+
+    /**
+     * Picks distinct random elements
+     * @param values the values to pick from
+     * @param count number of values
+     * @param random the random source
+     * @param <T> the element type
+     * @return the picked values
+     */
+    private static <T> Set<T> pick(List<T> values, int count, Random random) {
+        Set<T> picked = new HashSet<>();
+        while (picked.size() < count) {
+            picked.add(values.get(random.nextInt(values.size())));
+        }
+        return picked;
+    }
+}
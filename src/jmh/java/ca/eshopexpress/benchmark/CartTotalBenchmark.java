@@ -0,0 +1,83 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.service.cart.SessionCart;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link SessionCart} operations behind the cart page: changing the quantity of a
+ * line and reading the subtotal, which the cart keeps incrementally, and walking every line, as
+ * the cart page and checkout do.
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CartTotalBenchmark {
+
+    /**
+     * Lines in the cart
+     */
+    @Param({"3", "25"})
+    public int lines;
+
+    private SessionCart cart;
+
+    private ProductType firstType;
+
+    private long firstPriceCents;
+
+    /**
+     * Fills the cart with games and accessories
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        cart = new SessionCart();
+        for (int i = 1; i <= lines; i++) {
+            ProductType type = random.nextInt(4) == 0 ? ProductType.ACCESSORY : ProductType.GAME;
+            long priceCents = 499 + random.nextInt(8000);
+            cart.set(type, i, 0, 1 + random.nextInt(3), priceCents);
+            if (i == 1) {
+                firstType = type;
+                firstPriceCents = priceCents;
+            }
+        }
+    }
+
+    /**
+     * Changes the quantity of one line and reads the new subtotal
+     * @return the subtotal
+     */
+    @Benchmark
+    public BigDecimal changeQuantity() {
+        int quantity = cart.quantity(firstType, 1, 0);
+        cart.set(firstType, 1, 0, quantity % SessionCart.MAX_QUANTITY + 1, firstPriceCents);
+        return cart.getSubtotal();
+    }
+
+    /**
+     * Visits every line of the cart
+     * @return the number of items
+     */
+    @Benchmark
+    public long walkLines() {
+        long[] items = new long[1];
+        cart.forEach((type, productId, platformId, quantity, priceCents) -> items[0] += quantity);
+        return items[0];
+    }
+}
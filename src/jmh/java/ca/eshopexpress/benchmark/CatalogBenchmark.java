@@ -0,0 +1,84 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.service.catalog.CatalogFilter;
+import ca.eshopexpress.service.catalog.CatalogIndex;
+import ca.eshopexpress.service.catalog.CatalogSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures platform, genre and combined catalog filters against the in-memory catalog index.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogBenchmark {
+
+    /**
+     * Number of games in the catalog
+     */
+    @Param({"1000", "20000"})
+    public int games;
+
+    private CatalogIndex index;
+
+    private CatalogFilter combined;
+
+    /**
+     * Loads the generated catalog into a fresh index
+     */
+    @Setup
+    public void setUp() {
+        index = new CatalogIndex();
+        for (Game game : BenchmarkData.games(games, 42)) {
+            index.upsert(game);
+        }
+        combined = CatalogFilter.byPlatform("Nintendo Switch");
+        combined.setGenre("RPG");
+        combined.setMaxPrice(new BigDecimal("49.99"));
+        combined.setMinRating(3.5);
+        combined.setSort(CatalogSort.TOP_RATED);
+    }
+
+    /**
+     * Filter by one platform, newest first
+     * @return matching IDs
+     */
+    @Benchmark
+    public List<Long> filterByPlatform() {
+        return index.query(CatalogFilter.byPlatform("PlayStation 5"));
+    }
+
+    /**
+     * Filter by one genre, newest first
+     * @return matching IDs
+     */
+    @Benchmark
+    public List<Long> filterByGenre() {
+        return index.query(CatalogFilter.byGenre("Action"));
+    }
+
+    /**
+     * Platform, genre, price and rating together, best rated first
+     * @return matching IDs
+     */
+    @Benchmark
+    public List<Long> filterCombined() {
+        return index.query(combined);
+    }
+}
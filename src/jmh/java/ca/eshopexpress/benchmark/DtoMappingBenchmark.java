@@ -0,0 +1,74 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.model.dto.GameDto;
+import ca.eshopexpress.model.dto.OrderDto;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping a page of games and orders to their DTOs.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    /**
+     * Rows in one listing page
+     */
+    private static final int PAGE_SIZE = 48;
+
+    private List<Game> games;
+
+    private List<Order> orders;
+
+    /**
+     * Generates one page of games and orders
+     */
+    @Setup
+    public void setUp() {
+        games = BenchmarkData.games(PAGE_SIZE, 7);
+        orders = BenchmarkData.orders(PAGE_SIZE, 7);
+    }
+
+    /**
+     * Maps a page of games
+     * @return the DTOs
+     */
+    @Benchmark
+    public List<GameDto> mapGames() {
+        List<GameDto> dtos = new ArrayList<>(games.size());
+        for (Game game : games) {
+            dtos.add(GameDto.from(game));
+        }
+        return dtos;
+    }
+
+    /**
+     * Maps a page of orders
+     * @return the DTOs
+     */
+    @Benchmark
+    public List<OrderDto> mapOrders() {
+        List<OrderDto> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            dtos.add(OrderDto.from(order));
+        }
+        return dtos;
+    }
+}
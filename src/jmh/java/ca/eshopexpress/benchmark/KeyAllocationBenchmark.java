@@ -0,0 +1,122 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.model.entity.DigitalKey;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.repository.DigitalKeyRepository;
+import ca.eshopexpress.service.digital.DigitalDeliveryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures digital key allocation from the in-memory reservation pools under concurrent
+ * checkouts. The repository is an in-memory stand-in with unlimited keys, so the numbers
+ * show the service's own overhead and the effect of the batch size.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class KeyAllocationBenchmark {
+
+    /**
+     * Keys reserved per round trip
+     */
+    @Param({"1", "20"})
+    public int batchSize;
+
+    private DigitalDeliveryService service;
+
+    private final OrderItem orderItem = new OrderItem();
+
+    /**
+     * Wires the service to the in-memory repository and a no-op transaction manager
+     */
+    @Setup
+    public void setUp() {
+        service = new DigitalDeliveryService(new NoOpTransactionManager());
+        ReflectionTestUtils.setField(service, "digitalKeyRepository", inMemoryRepository());
+        ReflectionTestUtils.setField(service, "batchSize", batchSize);
+        ReflectionTestUtils.setField(service, "reservationTimeout", Duration.ofMinutes(10));
+    }
+
+    /**
+     * Allocates one key
+     * @return the sold key
+     */
+    @Benchmark
+    public DigitalKey allocateKey() {
+        return service.allocateKey(1L, 1L, orderItem);
+    }
+
+    /**
+     * Creates a repository that always has keys available
+     * @return the repository stand-in
+     */
+    private DigitalKeyRepository inMemoryRepository() {
+        AtomicLong nextId = new AtomicLong();
+        return (DigitalKeyRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {DigitalKeyRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "lockAvailableKeyIds" -> {
+                        int limit = (Integer) args[2];
+                        List<Number> ids = new ArrayList<>(limit);
+                        for (int i = 0; i < limit; i++) {
+                            ids.add(nextId.incrementAndGet());
+                        }
+                        yield ids;
+                    }
+                    case "reserve", "release", "releaseExpired" -> 0;
+                    case "sell" -> 1;
+                    case "findById" -> {
+                        DigitalKey key = new DigitalKey();
+                        key.setId((Long) args[0]);
+                        yield Optional.of(key);
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryDigitalKeyRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * Transaction manager that runs callbacks without a transaction
+     */
+    private static class NoOpTransactionManager implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
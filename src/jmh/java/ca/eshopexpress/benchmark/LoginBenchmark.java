@@ -0,0 +1,99 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.config.SecurityConfig;
+import ca.eshopexpress.model.security.UserDetailsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures how many form logins per second the configured password encoder allows on every
+ * core, to size CPU for login storms. User lookups are served from memory, as they are from
+ * the login details cache, so the figures are the password hashing cost alone.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class LoginBenchmark {
+
+    /**
+     * Users created up front, more than any machine has cores
+     */
+    private static final int USERS = 256;
+
+    /**
+     * BCrypt work factor
+     */
+    @Param({"4", "8", "10"})
+    public int strength;
+
+    private DaoAuthenticationProvider provider;
+
+    /**
+     * Hashes the users' passwords and wires the provider to the in-memory users
+     */
+    @Setup
+    public void setUp() {
+        PasswordEncoder encoder = new SecurityConfig().passwordEncoder(strength);
+        Map<String, UserDetails> users = new ConcurrentHashMap<>();
+        for (int u = 0; u < USERS; u++) {
+            users.put("user" + u, new UserDetailsImpl((long) u, "user" + u, encoder.encode("secret" + u),
+                    List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        }
+        provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(users::get);
+    }
+
+    /**
+     * Logs in one user
+     * @param login the calling thread's credentials
+     * @return the authentication
+     */
+    @Benchmark
+    public Authentication login(Login login) {
+        return provider.authenticate(login.token);
+    }
+
+    /**
+     * The credentials of one benchmark thread, a different user per thread
+     */
+    @State(Scope.Thread)
+    public static class Login {
+
+        private static final AtomicInteger NEXT = new AtomicInteger();
+
+        private UsernamePasswordAuthenticationToken token;
+
+        /**
+         * Picks the thread's user
+         */
+        @Setup
+        public void setUp() {
+            int u = NEXT.getAndIncrement() % USERS;
+            token = new UsernamePasswordAuthenticationToken("user" + u, "secret" + u);
+        }
+    }
+}
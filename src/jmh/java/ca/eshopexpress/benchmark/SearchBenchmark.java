@@ -0,0 +1,83 @@
+package ca.eshopexpress.benchmark;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.service.search.SearchField;
+import ca.eshopexpress.service.search.SearchHit;
+import ca.eshopexpress.service.search.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures title search and autocomplete against the trigram search index.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    /**
+     * Number of indexed games
+     */
+    @Param({"1000", "20000"})
+    public int games;
+
+    private SearchIndex index;
+
+    /**
+     * Indexes the generated catalog
+     */
+    @Setup
+    public void setUp() {
+        index = new SearchIndex();
+        for (Game game : BenchmarkData.games(games, 42)) {
+            Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+            fields.put(SearchField.TITLE, Arrays.asList(game.getTitle()));
+            fields.put(SearchField.MAKER, Arrays.asList(game.getPublisher(), game.getDeveloper()));
+            fields.put(SearchField.DESCRIPTION, Arrays.asList(game.getDescription()));
+            index.index(game.getId(), game.getTitle(), fields);
+        }
+    }
+
+    /**
+     * Exact two-word title query
+     * @return ranked hits
+     */
+    @Benchmark
+    public List<SearchHit> searchExact() {
+        return index.search("dragon quest", 50);
+    }
+
+    /**
+     * Misspelled query resolved by trigram similarity
+     * @return ranked hits
+     */
+    @Benchmark
+    public List<SearchHit> searchTypo() {
+        return index.search("dragn chronicels", 50);
+    }
+
+    /**
+     * Autocomplete on a three-letter prefix
+     * @return suggested titles
+     */
+    @Benchmark
+    public List<String> autocomplete() {
+        return index.autocomplete("gal", 10);
+    }
+}
@@ -0,0 +1,114 @@
+package ca.eshopexpress.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Cache configuration replacing the default unbounded {@code ConcurrentMapCache}s.
+ * <p>
+ * Every cache is a Caffeine cache, which evicts with W-TinyLFU, and is bounded by the size and
+ * TTL limits in {@link CacheProperties}. Statistics are recorded for every cache so that hit
+ * rate, evictions and load time are published through the actuator {@code metrics} and
+ * {@code caches} endpoints.
+ * </p>
+ * <p>
+ * When the application runs on virtual threads the caches are built in Caffeine's async mode,
+ * so a cache miss never holds a monitor while its value is loaded from the database.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    /**
+     * Builds the cache manager from the configured specs
+     * @param properties cache size and expiry limits
+     * @param virtualThreads whether requests run on virtual threads
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            // A synchronous Caffeine load runs inside ConcurrentHashMap.compute, i.e. under a
+            // monitor, which pins the virtual thread for the whole query. Async mode runs the
+            // load on its own virtual thread and lets the caller park on the future instead.
+            Executor loader = Executors.newVirtualThreadPerTaskExecutor();
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+                @Override
+                protected Cache adaptCaffeineCache(String name, AsyncCache<Object, Object> cache) {
+                    return new UnwrappingCaffeineCache(name, cache, isAllowNullValues());
+                }
+            };
+            cacheManager.setAsyncCacheMode(true);
+            cacheManager.setCaffeine(Caffeine.from(properties.getDefaultSpec()).executor(loader).recordStats());
+            for (Map.Entry<String, String> spec : properties.getSpecs().entrySet()) {
+                cacheManager.registerCustomCache(spec.getKey(),
+                        Caffeine.from(spec.getValue()).executor(loader).recordStats().buildAsync());
+            }
+            return cacheManager;
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(properties.getDefaultSpec()).recordStats());
+        for (Map.Entry<String, String> spec : properties.getSpecs().entrySet()) {
+            cacheManager.registerCustomCache(spec.getKey(),
+                    Caffeine.from(spec.getValue()).recordStats().build());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Async-mode cache that rethrows a loader's exception as thrown, rather than wrapped in the
+     * {@link CompletionException} of the load future, so {@code @Cacheable(sync = true)} methods
+     * surface the same exceptions in both threading modes
+     */
+    private static class UnwrappingCaffeineCache extends CaffeineCache {
+
+        /**
+         * Constructs the cache
+         * @param name the cache name
+         * @param cache the Caffeine async cache
+         * @param allowNullValues whether null values are cached
+         */
+        UnwrappingCaffeineCache(String name, AsyncCache<Object, Object> cache, boolean allowNullValues) {
+            super(name, cache, allowNullValues);
+        }
+
+        /**
+         * Gets a value, loading it if absent
+         * @param key the key
+         * @param valueLoader loads the value on a miss
+         * @param <T> the value type
+         * @return the cached or loaded value
+         */
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            try {
+                return super.get(key, valueLoader);
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ca.eshopexpress.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Size and expiry limits for the application caches, bound from {@code eshopexpress.cache.*}.
+ * <p>
+ * Every spec uses the Caffeine spec syntax, e.g. {@code maximumSize=1000,expireAfterWrite=10m}.
+ * Caches without their own spec fall back to the default spec, so no cache is ever unbounded.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ConfigurationProperties(prefix = "eshopexpress.cache")
+public class CacheProperties {
+
+    /**
+     * Spec applied to caches without their own entry in {@link #specs}
+     */
+    private String defaultSpec = "maximumSize=500,expireAfterWrite=10m";
+
+    /**
+     * Spec per cache name
+     */
+    private Map<String, String> specs = new HashMap<>();
+
+    /**
+     * Get the default spec
+     * @return default spec
+     */
+    public String getDefaultSpec() {
+        return defaultSpec;
+    }
+
+    /**
+     * Set the default spec
+     * @param defaultSpec default spec
+     */
+    public void setDefaultSpec(String defaultSpec) {
+        this.defaultSpec = defaultSpec;
+    }
+
+    /**
+     * Get the spec per cache name
+     * @return spec per cache name
+     */
+    public Map<String, String> getSpecs() {
+        return specs;
+    }
+
+    /**
+     * Set the spec per cache name
+     * @param specs spec per cache name
+     */
+    public void setSpecs(Map<String, String> specs) {
+        this.specs = specs;
+    }
+}
@@ -0,0 +1,205 @@
+package ca.eshopexpress.config;
+
+import ca.eshopexpress.model.security.UserDetailsImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the sign-in in a signed cookie instead of the HTTP session.
+ * <p>
+ * The cookie holds the user ID, username, roles and expiry time, so a request is authenticated
+ * from the cookie alone without a session lookup or a database query. The sign-in lasts for
+ * the configured timeout from the login and cannot be revoked before that; a deleted user or
+ * a changed role takes effect on the next login. Spring Security only saves the context on
+ * login and logout, so ordinary requests never write the cookie.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CookieSecurityContextRepository implements SecurityContextRepository {
+
+    /**
+     * Name of the sign-in cookie
+     */
+    public static final String COOKIE_NAME = "ESX_AUTH";
+
+    /**
+     * Payload format version
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * Signs and verifies the cookie
+     */
+    private final CookieSigner signer;
+
+    /**
+     * How long a sign-in lasts
+     */
+    private final Duration timeout;
+
+    /**
+     * Source of the current time
+     */
+    private final Clock clock;
+
+    /**
+     * Constructs the repository
+     * @param signer signs and verifies the cookie
+     * @param timeout how long a sign-in lasts
+     * @param clock source of the current time
+     */
+    public CookieSecurityContextRepository(CookieSigner signer, Duration timeout, Clock clock) {
+        this.signer = signer;
+        this.timeout = timeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the sign-in from the cookie when it is first needed
+     * @param request the request
+     * @return the signed-in context, or an empty context if the cookie is missing, invalid or expired
+     */
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        return new DeferredSecurityContext() {
+            /**
+             * The sign-in read from the cookie, or null
+             */
+            private Authentication authentication;
+            /**
+             * Whether the cookie has been read
+             */
+            private boolean loaded;
+
+            @Override
+            public SecurityContext get() {
+                if (!loaded) {
+                    authentication = read(request);
+                    loaded = true;
+                }
+                return new SecurityContextImpl(authentication);
+            }
+
+            @Override
+            public boolean isGenerated() {
+                get();
+                return authentication == null;
+            }
+        };
+    }
+
+    /**
+     * Loads the sign-in from the cookie
+     * @param holder the request and response
+     * @return the signed-in context, or an empty context if the cookie is missing, invalid or expired
+     */
+    @Override
+    @SuppressWarnings("deprecation")
+    public SecurityContext loadContext(HttpRequestResponseHolder holder) {
+        return loadDeferredContext(holder.getRequest()).get();
+    }
+
+    /**
+     * Writes the sign-in cookie after a login, or drops it after a logout
+     * @param context the context to save
+     * @param request the request
+     * @param response the response
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            if (containsContext(request)) {
+                signer.clear(request, response, COOKIE_NAME);
+            }
+            return;
+        }
+        signer.write(request, response, COOKIE_NAME, encode(authentication), timeout);
+    }
+
+    /**
+     * Check if the request carries a valid sign-in
+     * @param request the request
+     * @return true if the cookie is present, valid and not expired
+     */
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        return read(request) != null;
+    }
+
+    /**
+     * Encodes a sign-in
+     * @param authentication the signed-in user
+     * @return the cookie payload
+     */
+    private byte[] encode(Authentication authentication) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(clock.instant().plus(timeout).getEpochSecond());
+            Long id = authentication.getPrincipal() instanceof UserDetailsImpl details ? details.getId() : null;
+            out.writeLong(id == null ? 0 : id);
+            out.writeUTF(authentication.getName());
+            List<String> authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+            out.writeByte(authorities.size());
+            for (String authority : authorities) {
+                out.writeUTF(authority);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the sign-in from the cookie
+     * @param request the request
+     * @return the signed-in user, or null if the cookie is missing, invalid or expired
+     */
+    private Authentication read(HttpServletRequest request) {
+        byte[] payload = signer.read(request, COOKIE_NAME);
+        if (payload == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != VERSION || in.readLong() <= clock.instant().getEpochSecond()) {
+                return null;
+            }
+            long id = in.readLong();
+            String username = in.readUTF();
+            int count = in.readUnsignedByte();
+            List<GrantedAuthority> authorities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+            }
+            UserDetailsImpl principal = new UserDetailsImpl(id == 0 ? null : id, username, null, authorities);
+            return UsernamePasswordAuthenticationToken.authenticated(principal, null, authorities);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
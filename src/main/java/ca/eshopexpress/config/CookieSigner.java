@@ -0,0 +1,178 @@
+package ca.eshopexpress.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.util.WebUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Writes and verifies size-limited cookies whose value is {@code base64url(payload).base64url(HMAC-SHA256)}.
+ * <p>
+ * The MAC covers the cookie name as well as the payload, so a value signed for one cookie is
+ * rejected as another. Values longer than the limit are rejected before any MAC is computed.
+ * Payloads are signed, not encrypted: the browser can read them, so they must not hold secrets.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CookieSigner {
+
+    /**
+     * MAC algorithm
+     */
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * Encodes payloads and MACs without padding
+     */
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Decodes payloads and MACs
+     */
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * The HMAC key
+     */
+    private final SecretKeySpec key;
+
+    /**
+     * Largest cookie value written or accepted
+     */
+    private final int maxBytes;
+
+    /**
+     * Constructs the signer
+     * @param secret the key shared by every node, at least 32 characters
+     * @param maxBytes largest cookie value written or accepted
+     * @throws IllegalStateException if the secret is too short
+     */
+    public CookieSigner(String secret, int maxBytes) {
+        byte[] bytes = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            throw new IllegalStateException("eshopexpress.session.secret must be at least 32 characters in stateless mode");
+        }
+        this.key = new SecretKeySpec(bytes, ALGORITHM);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Signs a payload as a cookie value
+     * @param name the cookie name
+     * @param payload the payload
+     * @return the cookie value
+     * @throws IllegalStateException if the value would exceed the size limit
+     */
+    public String sign(String name, byte[] payload) {
+        String value = ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(mac(name, payload));
+        if (value.length() > maxBytes) {
+            throw new IllegalStateException("Cookie " + name + " would be " + value.length() + " bytes, limit is " + maxBytes);
+        }
+        return value;
+    }
+
+    /**
+     * Verifies a cookie value
+     * @param name the cookie name
+     * @param value the cookie value, or null
+     * @return the payload, or null if the value is missing, too long, malformed or forged
+     */
+    public byte[] verify(String name, String value) {
+        if (value == null || value.length() > maxBytes) {
+            return null;
+        }
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(value.substring(0, dot));
+            byte[] mac = DECODER.decode(value.substring(dot + 1));
+            return MessageDigest.isEqual(mac, mac(name, payload)) ? payload : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads and verifies a request's cookie
+     * @param request the request
+     * @param name the cookie name
+     * @return the payload, or null if the cookie is missing or invalid
+     */
+    public byte[] read(HttpServletRequest request, String name) {
+        Cookie cookie = WebUtils.getCookie(request, name);
+        return cookie == null ? null : verify(name, cookie.getValue());
+    }
+
+    /**
+     * Adds a signed, HTTP-only, same-site cookie to the response
+     * @param request the request, for the path and scheme
+     * @param response the response
+     * @param name the cookie name
+     * @param payload the payload
+     * @param maxAge how long the browser keeps the cookie
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, String name, byte[] payload, Duration maxAge) {
+        response.addCookie(cookie(request, name, sign(name, payload), (int) maxAge.toSeconds()));
+    }
+
+    /**
+     * Tells the browser to drop a cookie
+     * @param request the request, for the path and scheme
+     * @param response the response
+     * @param name the cookie name
+     */
+    public void clear(HttpServletRequest request, HttpServletResponse response, String name) {
+        response.addCookie(cookie(request, name, "", 0));
+    }
+
+    /**
+     * Builds a cookie
+     * @param request the request, for the path and scheme
+     * @param name the cookie name
+     * @param value the cookie value
+     * @param maxAge the max age in seconds; 0 deletes the cookie
+     * @return the cookie
+     */
+    private static Cookie cookie(HttpServletRequest request, String name, String value, int maxAge) {
+        Cookie cookie = new Cookie(name, value);
+        String path = request.getContextPath();
+        cookie.setPath(path.isEmpty() ? "/" : path);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setMaxAge(maxAge);
+        cookie.setAttribute("SameSite", "Lax");
+        return cookie;
+    }
+
+    /**
+     * Computes the MAC of a cookie name and payload
+     * @param name the cookie name
+     * @param payload the payload
+     * @return the MAC
+     */
+    private byte[] mac(String name, byte[] payload) {
+        try {
+            // A Mac is not thread-safe and is cheap to create next to the MAC itself
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(name.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute " + ALGORITHM, e);
+        }
+    }
+}
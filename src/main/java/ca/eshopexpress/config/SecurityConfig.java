@@ -1,19 +1,30 @@
 package ca.eshopexpress.config;
 
+import ca.eshopexpress.service.cart.CartCookieFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
+import org.springframework.security.web.savedrequest.CookieRequestCache;
+
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           ObjectProvider<CookieSecurityContextRepository> cookieContexts) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
                         // Public URLs - ensure root path is permitted
@@ -26,11 +37,41 @@ public class SecurityConfig {
                         .permitAll()
                 );
 
+        CookieSecurityContextRepository contextRepository = cookieContexts.getIfAvailable();
+        if (contextRepository != null) {
+            // Stateless mode: nothing may create an HTTP session, so the sign-in, the CSRF
+            // token and the page saved before login all live in cookies
+            SimpleUrlAuthenticationFailureHandler failureHandler = new SimpleUrlAuthenticationFailureHandler("/login?error");
+            failureHandler.setAllowSessionCreation(false);
+            http
+                    .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                    .securityContext(context -> context.securityContextRepository(contextRepository))
+                    .csrf(csrf -> csrf.csrfTokenRepository(new CookieCsrfTokenRepository()))
+                    .requestCache(cache -> cache.requestCache(new CookieRequestCache()))
+                    .formLogin(form -> form.failureHandler(failureHandler))
+                    .logout(logout -> logout.deleteCookies(CartCookieFilter.COOKIE_NAME));
+        }
+
         return http.build();
     }
 
+    /**
+     * Password encoder that stores every hash with an algorithm prefix, e.g. {@code {bcrypt}$2a$10$...}.
+     * <p>
+     * Each BCrypt strength step doubles the CPU cost of a login. Hashes without a prefix, or
+     * hashed at a lower strength than configured, still match and are re-hashed at the
+     * configured strength on the next successful login; lowering the strength only applies to
+     * new and re-hashed passwords.
+     * </p>
+     * @param strength the BCrypt work factor (log2 of the rounds, 4 to 31)
+     * @return the password encoder
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${eshopexpress.security.bcrypt-strength:10}") int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        // Hashes stored before the prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package ca.eshopexpress.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Session settings, bound from {@code eshopexpress.session.*}.
+ * <p>
+ * By default the sign-in and the cart ID live in the servlet's HTTP session, which ties a
+ * customer to the node that holds it. In stateless mode both are carried by the browser in
+ * cookies signed with {@link #secret}, so any node that shares the secret can serve any request.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ConfigurationProperties(prefix = "eshopexpress.session")
+public class SessionProperties {
+
+    /**
+     * Whether the sign-in and cart are kept in signed cookies instead of the HTTP session
+     */
+    private boolean stateless = false;
+
+    /**
+     * HMAC key shared by every node; at least 32 characters in stateless mode
+     */
+    private String secret = "";
+
+    /**
+     * How long a sign-in lasts in stateless mode, counted from the login
+     */
+    private Duration timeout = Duration.ofHours(8);
+
+    /**
+     * Largest signed cookie value written or accepted, in bytes
+     */
+    private int maxCookieBytes = 3072;
+
+    /**
+     * Check if stateless mode is on
+     * @return true if the sign-in and cart are kept in cookies
+     */
+    public boolean isStateless() {
+        return stateless;
+    }
+
+    /**
+     * Set stateless mode
+     * @param stateless true to keep the sign-in and cart in cookies
+     */
+    public void setStateless(boolean stateless) {
+        this.stateless = stateless;
+    }
+
+    /**
+     * Get the signing secret
+     * @return signing secret
+     */
+    public String getSecret() {
+        return secret;
+    }
+
+    /**
+     * Set the signing secret
+     * @param secret signing secret
+     */
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    /**
+     * Get the sign-in lifetime
+     * @return sign-in lifetime
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Set the sign-in lifetime
+     * @param timeout sign-in lifetime
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get the cookie size limit
+     * @return largest cookie value in bytes
+     */
+    public int getMaxCookieBytes() {
+        return maxCookieBytes;
+    }
+
+    /**
+     * Set the cookie size limit
+     * @param maxCookieBytes largest cookie value in bytes
+     */
+    public void setMaxCookieBytes(int maxCookieBytes) {
+        this.maxCookieBytes = maxCookieBytes;
+    }
+}
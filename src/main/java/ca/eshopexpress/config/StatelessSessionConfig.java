@@ -0,0 +1,74 @@
+package ca.eshopexpress.config;
+
+import ca.eshopexpress.service.cart.CartCookieFilter;
+import ca.eshopexpress.service.cart.CartStore;
+import ca.eshopexpress.service.cart.PriceBook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Stateless session mode, switched on by {@code eshopexpress.session.stateless=true}.
+ * <p>
+ * The sign-in is kept by {@link CookieSecurityContextRepository} and the cart by
+ * {@link CartCookieFilter}, both in cookies signed with the shared secret, and
+ * {@link SecurityConfig} keeps the CSRF token and the page saved before login in cookies too.
+ * Nothing is stored in the HTTP session, so nodes need no sticky sessions or session
+ * replication, and a rolling restart loses neither sign-ins nor carts.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "eshopexpress.session", name = "stateless", havingValue = "true")
+@EnableConfigurationProperties(SessionProperties.class)
+public class StatelessSessionConfig {
+
+    /**
+     * Signs the session cookies with the shared secret
+     * @param properties session settings
+     * @return the cookie signer
+     */
+    @Bean
+    public CookieSigner cookieSigner(SessionProperties properties) {
+        return new CookieSigner(properties.getSecret(), properties.getMaxCookieBytes());
+    }
+
+    /**
+     * Keeps the sign-in in a signed cookie
+     * @param signer the cookie signer
+     * @param properties session settings
+     * @return the security context repository
+     */
+    @Bean
+    public CookieSecurityContextRepository cookieSecurityContextRepository(CookieSigner signer, SessionProperties properties) {
+        return new CookieSecurityContextRepository(signer, properties.getTimeout(), Clock.systemUTC());
+    }
+
+    /**
+     * Registers the cart cookie filter ahead of Spring Security, so the cart is restored
+     * before a login merges it with the saved cart
+     * @param cartStore holds the cart during a request
+     * @param priceBook prices restored lines
+     * @param signer the cookie signer
+     * @param idleTimeout how long the browser keeps the cart after the last change
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<CartCookieFilter> cartCookieFilter(CartStore cartStore, PriceBook priceBook, CookieSigner signer,
+                                                                     @Value("${eshopexpress.cart.idle-timeout:PT2H}") Duration idleTimeout) {
+        FilterRegistrationBean<CartCookieFilter> registration =
+                new FilterRegistrationBean<>(new CartCookieFilter(cartStore, priceBook, signer, idleTimeout));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,77 @@
+package ca.eshopexpress.config;
+
+import ca.eshopexpress.metrics.PinnedThreadMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Settings that apply only when the application runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}).
+ * <p>
+ * In that mode Spring Boot serves Tomcat requests, {@code @Async} methods and {@code @Scheduled}
+ * jobs on virtual threads, so the number of threads no longer caps how many requests reach the
+ * database at once; the connection pool does. The pool is therefore sized for what PostgreSQL can
+ * run in parallel rather than for the request load, following the HikariCP guideline of
+ * {@code (cores * 2) + effective spindles}, and it is kept at a fixed size so no virtual thread
+ * pays for opening a connection. Threads beyond the pool size queue inside Hikari, which costs
+ * nothing on a virtual thread, and give up after a short connection timeout instead of piling up
+ * behind a stalled database. Pinning is reported by {@link PinnedThreadMonitor}.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Sizes the Hikari pool for virtual threads unless the pool size is set explicitly
+     * @param environment the application environment
+     * @return the post-processor sizing the pool
+     */
+    @Bean
+    public static BeanPostProcessor hikariPoolSizer(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && !environment.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                    int poolSize = environment.getProperty("eshopexpress.datasource.pool-size", Integer.class, 0);
+                    if (poolSize <= 0) {
+                        poolSize = Runtime.getRuntime().availableProcessors() * 2
+                                + environment.getProperty("eshopexpress.datasource.spindles", Integer.class, 1);
+                    }
+                    Duration timeout = environment.getProperty("eshopexpress.datasource.connection-timeout",
+                            Duration.class, Duration.ofSeconds(3));
+                    dataSource.setMaximumPoolSize(poolSize);
+                    dataSource.setMinimumIdle(poolSize);
+                    dataSource.setConnectionTimeout(timeout.toMillis());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Streams JFR pinning events into the metrics registry
+     * @param meterRegistry the metrics registry
+     * @param threshold pins shorter than this are not reported
+     * @return the pinning monitor
+     */
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry,
+                                                   @Value("${eshopexpress.threads.pinned-threshold:PT0.02S}") Duration threshold) {
+        return new PinnedThreadMonitor(meterRegistry, threshold);
+    }
+}
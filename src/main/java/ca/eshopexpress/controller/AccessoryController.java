@@ -1,4 +1,53 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.ProductVersion;
+import ca.eshopexpress.service.AccessoryService;
+import ca.eshopexpress.util.ETagUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.security.Principal;
+
+/**
+ * Controller for the accessory pages.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Controller
+@RequestMapping("/accessories")
 public class AccessoryController {
+
+    @Autowired
+    private AccessoryService accessoryService;
+
+    /**
+     * Shows an accessory. Answers {@code 304} without loading the accessory when the client's
+     * copy is current.
+     * @param id the accessory ID
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return the accessory view, or null if not modified
+     * @throws ResourceNotFoundException if the accessory does not exist
+     */
+    @GetMapping("/{id}")
+    public String view(@PathVariable Long id, Principal principal, ServletWebRequest webRequest, Model model) {
+        ProductVersion version = accessoryService.findVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Accessory not found with id: " + id));
+        if (ETagUtil.checkNotModified(webRequest, principal, version.updatedAt(),
+                "accessory", id, version.version())) {
+            return null;
+        }
+
+        model.addAttribute("accessory", accessoryService.getAccessoryOrThrow(id));
+        return "accessories/view";
+    }
 }
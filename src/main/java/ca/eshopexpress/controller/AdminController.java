@@ -1,4 +1,264 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.model.dto.OrderPage;
+import ca.eshopexpress.model.dto.SalesFigures;
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.Province;
+import ca.eshopexpress.model.enums.SalesDimension;
+import ca.eshopexpress.service.AccessoryService;
+import ca.eshopexpress.service.GameService;
+import ca.eshopexpress.service.OrderService;
+import ca.eshopexpress.service.SalesAnalyticsService;
+import ca.eshopexpress.service.analytics.FactDimension;
+import ca.eshopexpress.service.analytics.FactGroup;
+import ca.eshopexpress.service.analytics.FactQuery;
+import ca.eshopexpress.service.image.ImageStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controller for the admin back office.
+ * <p>
+ * The dashboard's sales figures come from the pre-aggregated rollups of the
+ * {@link SalesAnalyticsService}, so showing it costs a few small queries however many orders
+ * there are. Ad-hoc sales reports are answered from the in-memory order fact store.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.3
+ * @since 2026-10-18
+ */
+@Controller
+@RequestMapping("/admin")
 public class AdminController {
+
+    /**
+     * Longest period the dashboard reports on, in days
+     */
+    private static final int MAX_DASHBOARD_DAYS = 366;
+
+    /**
+     * Values shown per dashboard breakdown
+     */
+    private static final int BREAKDOWN_SIZE = 10;
+
+    /**
+     * Orders shown under recent orders
+     */
+    private static final int RECENT_ORDERS = 5;
+
+    /**
+     * Longest period a sales report covers, in days
+     */
+    private static final int MAX_REPORT_DAYS = 3660;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private AccessoryService accessoryService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * Shows the dashboard with the sales of the last days
+     * @param days the number of days to report on, ending today
+     * @param model view model
+     * @return the dashboard view
+     */
+    @GetMapping
+    public String dashboard(@RequestParam(defaultValue = "30") int days, Model model) {
+        int period = Math.clamp(days, 1, MAX_DASHBOARD_DAYS);
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusDays(period - 1);
+        SalesFigures totals = salesAnalyticsService.totals();
+        model.addAttribute("totalOrders", totals.orders());
+        model.addAttribute("totalRevenue", totals.revenue());
+        model.addAttribute("days", period);
+        model.addAttribute("dailySales", salesAnalyticsService.daily(from, to));
+        model.addAttribute("salesByProvince",
+                salesAnalyticsService.breakdown(SalesDimension.PROVINCE, from, to, BREAKDOWN_SIZE));
+        model.addAttribute("salesByPlatform",
+                salesAnalyticsService.breakdown(SalesDimension.PLATFORM, from, to, BREAKDOWN_SIZE));
+        model.addAttribute("salesByProductType",
+                salesAnalyticsService.breakdown(SalesDimension.PRODUCT_TYPE, from, to, BREAKDOWN_SIZE));
+        model.addAttribute("topSkus", salesAnalyticsService.breakdown(SalesDimension.SKU, from, to, BREAKDOWN_SIZE));
+        model.addAttribute("recentOrders", orderService.findOrdersPage(null, RECENT_ORDERS).getOrders());
+        return "admin/index";
+    }
+
+    /**
+     * Lists orders newest first, one keyset page at a time
+     * @param cursor cursor token of the previous page, absent for the first page
+     * @param size page size
+     * @param model view model
+     * @return the order list view
+     */
+    @GetMapping("/orders")
+    public String orders(@RequestParam(required = false) String cursor,
+                         @RequestParam(defaultValue = "25") int size,
+                         Model model) {
+        OrderPage page = orderService.findOrdersPage(cursor, size);
+        model.addAttribute("orders", page.getOrders());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("size", size);
+        return "admin/orders/list";
+    }
+
+    /**
+     * Runs an ad-hoc sales report, e.g. revenue by province by product type for digital items
+     * over the last 90 days
+     * @param days the number of days to report on, ending today
+     * @param groupBy the dimensions to group by, outermost first
+     * @param productType games or accessories only, if given
+     * @param digital digital or physical items only, if given
+     * @param province one province only, if given
+     * @param bookedOnly whether to leave out cancelled, returned and failed orders
+     * @param model view model
+     * @return the report view
+     */
+    @GetMapping("/reports/sales")
+    public String salesReport(@RequestParam(defaultValue = "90") int days,
+                              @RequestParam(defaultValue = "PROVINCE,PRODUCT_TYPE") List<FactDimension> groupBy,
+                              @RequestParam(required = false) ProductType productType,
+                              @RequestParam(required = false) Boolean digital,
+                              @RequestParam(required = false) Province province,
+                              @RequestParam(defaultValue = "true") boolean bookedOnly,
+                              Model model) {
+        int period = Math.clamp(days, 1, MAX_REPORT_DAYS);
+        FactQuery query = FactQuery.lastDays(period);
+        query.setGroupBy(groupBy);
+        query.setProductType(productType);
+        query.setDigital(digital);
+        query.setProvinces(province == null ? null : Set.of(province));
+        if (bookedOnly) {
+            query.setStatuses(EnumSet.copyOf(Arrays.stream(OrderStatus.values()).filter(OrderStatus::isBooked).toList()));
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<FactGroup> groups = salesAnalyticsService.report(query);
+            model.addAttribute("groups", groups);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        model.addAttribute("elapsedMillis", (System.nanoTime() - start) / 1_000_000.0);
+        model.addAttribute("query", query);
+        model.addAttribute("days", period);
+        model.addAttribute("bookedOnly", bookedOnly);
+        model.addAttribute("dimensions", FactDimension.values());
+        model.addAttribute("productTypes", ProductType.values());
+        model.addAttribute("provinces", Province.values());
+        return "admin/reports/sales";
+    }
+
+    /**
+     * Changes the status of an order; the sales rollups are updated with it
+     * @param id the order ID
+     * @param status the new status
+     * @return a redirect to the order list
+     */
+    @PostMapping("/orders/{id}/status")
+    public String updateOrderStatus(@PathVariable Long id, @RequestParam OrderStatus status) {
+        orderService.updateStatus(id, status);
+        return "redirect:/admin/orders";
+    }
+
+    /**
+     * Streams every order as CSV without loading the table into memory
+     * @return the CSV download
+     */
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write("id,order_date,status,email,province,subtotal,tax,total\n");
+            orderService.exportOrders(order -> {
+                try {
+                    writer.write(order.getId() + "," + order.getOrderDate() + "," + order.getStatus() + ","
+                            + csv(order.getEmail()) + "," + order.getProvince() + "," + order.getSubtotal() + ","
+                            + order.getTax() + "," + order.getTotal() + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
+    }
+
+    /**
+     * Replaces a game's cover art; the scaled variants are made in the background
+     * @param id the game ID
+     * @param image the uploaded image
+     * @return a redirect to the game page
+     * @throws IOException if the upload cannot be stored
+     */
+    @PostMapping("/games/{id}/cover")
+    public String uploadGameCover(@PathVariable Long id, @RequestParam MultipartFile image) throws IOException {
+        Game game = gameService.getGameOrThrow(id);
+        game.setCoverImageUrl(imageStore.store(image));
+        gameService.save(game);
+        return "redirect:/games/" + id;
+    }
+
+    /**
+     * Replaces an accessory's image; the scaled variants are made in the background
+     * @param id the accessory ID
+     * @param image the uploaded image
+     * @return a redirect to the accessory page
+     * @throws IOException if the upload cannot be stored
+     */
+    @PostMapping("/accessories/{id}/image")
+    public String uploadAccessoryImage(@PathVariable Long id, @RequestParam MultipartFile image) throws IOException {
+        Accessory accessory = accessoryService.getAccessoryOrThrow(id);
+        accessory.setImageUrl(imageStore.store(image));
+        accessoryService.save(accessory);
+        return "redirect:/accessories/" + id;
+    }
+
+    /**
+     * Quotes a CSV value
+     * @param value raw value
+     * @return quoted value
+     */
+    private static String csv(String value) {
+        return value == null ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
 }
@@ -1,4 +1,123 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.service.CartService;
+import ca.eshopexpress.service.cart.CartStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Controller for the shopping cart.
+ * <p>
+ * Lines are identified by {@code <PRODUCT_TYPE>-<id>}, e.g. {@code GAME-42}, or by
+ * {@code <PRODUCT_TYPE>-<id>-<platformId>} for a digital game's key, as rendered by the cart page.
+ * A product page adds a digital game with the platform the customer picked.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Controller
+@RequestMapping("/cart")
 public class CartController {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartStore cartStore;
+
+    /**
+     * Shows the cart
+     * @param request the HTTP request
+     * @param model view model
+     * @return the cart view
+     */
+    @GetMapping
+    public String view(HttpServletRequest request, Model model) {
+        model.addAttribute("cart", cartService.getCartView(cartStore.cartIdOf(request)));
+        return "cart/view";
+    }
+
+    /**
+     * Adds a product to the cart
+     * @param itemId the line ID
+     * @param platformId the platform picked for a digital game's key, unless the line ID carries it
+     * @param quantity units to add
+     * @param request the HTTP request
+     * @return a redirect to the cart
+     */
+    @PostMapping("/add")
+    public String add(@RequestParam String itemId,
+                      @RequestParam(defaultValue = "0") long platformId,
+                      @RequestParam(defaultValue = "1") int quantity,
+                      HttpServletRequest request) {
+        LineId line = LineId.parse(itemId);
+        cartService.addItem(cartStore.cartIdOf(request), line.type(), line.productId(),
+                line.platformId() != 0 ? line.platformId() : platformId, quantity);
+        return "redirect:/cart";
+    }
+
+    /**
+     * Changes the quantity of a line
+     * @param itemId the line ID
+     * @param quantity the new quantity
+     * @param request the HTTP request
+     * @return a redirect to the cart
+     */
+    @PostMapping("/update")
+    public String update(@RequestParam String itemId, @RequestParam int quantity, HttpServletRequest request) {
+        LineId line = LineId.parse(itemId);
+        cartService.updateQuantity(cartStore.cartIdOf(request), line.type(), line.productId(), line.platformId(), quantity);
+        return "redirect:/cart";
+    }
+
+    /**
+     * Removes a line
+     * @param itemId the line ID
+     * @param request the HTTP request
+     * @return a redirect to the cart
+     */
+    @PostMapping("/remove")
+    public String remove(@RequestParam String itemId, HttpServletRequest request) {
+        LineId line = LineId.parse(itemId);
+        cartService.removeItem(cartStore.cartIdOf(request), line.type(), line.productId(), line.platformId());
+        return "redirect:/cart";
+    }
+
+    /**
+     * A parsed line ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     */
+    private record LineId(ProductType type, long productId, long platformId) {
+
+        /**
+         * Parses {@code <PRODUCT_TYPE>-<id>} or {@code <PRODUCT_TYPE>-<id>-<platformId>}
+         * @param itemId the line ID
+         * @return the parsed line ID
+         * @throws ResourceNotFoundException if the line ID is malformed
+         */
+        static LineId parse(String itemId) {
+            String[] parts = itemId.split("-", -1);
+            try {
+                if (parts.length < 2 || parts.length > 3) {
+                    throw new IllegalArgumentException(itemId);
+                }
+                long platformId = parts.length == 3 ? Long.parseLong(parts[2]) : 0;
+                return new LineId(ProductType.valueOf(parts[0]), Long.parseLong(parts[1]), platformId);
+            } catch (RuntimeException e) {
+                throw new ResourceNotFoundException("Cart item not found: " + itemId);
+            }
+        }
+    }
 }
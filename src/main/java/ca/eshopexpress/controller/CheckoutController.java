@@ -1,4 +1,151 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.exception.InsufficientStockException;
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.CheckoutForm;
+import ca.eshopexpress.model.entity.DigitalKey;
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.entity.User;
+import ca.eshopexpress.model.enums.Province;
+import ca.eshopexpress.service.CartService;
+import ca.eshopexpress.service.CheckoutService;
+import ca.eshopexpress.service.OrderService;
+import ca.eshopexpress.service.UserService;
+import ca.eshopexpress.service.cart.CartStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Controller for checking out the session cart and showing the order confirmation.
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Controller
+@RequestMapping("/checkout")
 public class CheckoutController {
+
+    @Autowired
+    private CheckoutService checkoutService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CartStore cartStore;
+
+    /**
+     * Shows the checkout form, prefilled with the customer's name and email
+     * @param principal the signed-in customer
+     * @param request the HTTP request
+     * @param model view model
+     * @return the checkout view
+     */
+    @GetMapping
+    public String checkout(Principal principal, HttpServletRequest request, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        User user = currentUser(principal);
+        CheckoutForm form = new CheckoutForm();
+        form.setFirstName(user.getFirstName());
+        form.setLastName(user.getLastName());
+        form.setEmail(user.getEmail());
+        return showForm(form, request, model);
+    }
+
+    /**
+     * Places the order and redirects to its confirmation
+     * @param form shipping address and payment details
+     * @param errors validation errors of the form
+     * @param principal the signed-in customer
+     * @param request the HTTP request
+     * @param model view model
+     * @return a redirect to the confirmation, or the checkout view with errors
+     */
+    @PostMapping("/process")
+    public String process(@Valid @ModelAttribute CheckoutForm form, BindingResult errors,
+                          Principal principal, HttpServletRequest request, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        if (errors.hasErrors()) {
+            return showForm(form, request, model);
+        }
+        try {
+            Order order = checkoutService.placeOrder(cartStore.cartIdOf(request), currentUser(principal).getId(), form);
+            return "redirect:/checkout/confirmation/" + order.getId();
+        } catch (CheckoutException | InsufficientStockException e) {
+            model.addAttribute("errorMessage", e.getMessage());
+            return showForm(form, request, model);
+        }
+    }
+
+    /**
+     * Shows the confirmation of one of the customer's orders
+     * @param id the ID of the order
+     * @param principal the signed-in customer
+     * @param model view model
+     * @return the confirmation view
+     */
+    @GetMapping("/confirmation/{id}")
+    public String confirmation(@PathVariable Long id, Principal principal, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        Order order = orderService.findOrderWithItems(id);
+        if (!order.getUser().getId().equals(currentUser(principal).getId())) {
+            throw new ResourceNotFoundException("Order not found with id: " + id);
+        }
+        List<DigitalKey> keys = orderService.findDigitalKeys(id);
+        model.addAttribute("order", order);
+        model.addAttribute("digitalKeys", keys);
+        model.addAttribute("hasDigitalItems", !keys.isEmpty());
+        model.addAttribute("hasPhysicalItems", order.getOrderItems().stream().anyMatch(item -> !item.getIsDigital()));
+        return "checkout/confirmation";
+    }
+
+    /**
+     * Fills the model of the checkout view
+     * @param form the form to show
+     * @param request the HTTP request
+     * @param model view model
+     * @return the checkout view
+     */
+    private String showForm(CheckoutForm form, HttpServletRequest request, Model model) {
+        model.addAttribute("user", form);
+        model.addAttribute("cart", cartService.getCartView(cartStore.cartIdOf(request)));
+        model.addAttribute("provinces", Province.values());
+        return "checkout/index";
+    }
+
+    /**
+     * Looks up the signed-in customer
+     * @param principal the signed-in customer
+     * @return the user
+     */
+    private User currentUser(Principal principal) {
+        return userService.findByUsername(principal.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + principal.getName()));
+    }
 }
@@ -1,4 +1,287 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.ProductVersion;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Review;
+import ca.eshopexpress.model.entity.User;
+import ca.eshopexpress.service.GameService;
+import ca.eshopexpress.service.GenreService;
+import ca.eshopexpress.service.PlatformService;
+import ca.eshopexpress.service.ReviewService;
+import ca.eshopexpress.service.UserService;
+import ca.eshopexpress.service.WishlistService;
+import ca.eshopexpress.service.catalog.CatalogFilter;
+import ca.eshopexpress.service.catalog.CatalogFragmentCache;
+import ca.eshopexpress.service.catalog.CatalogSort;
+import ca.eshopexpress.util.ETagUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controller for browsing the game catalog.
+ * <p>
+ * The navigation and the product grid are the same for every visitor, so they are served from
+ * the {@link CatalogFragmentCache} and only the page around them is rendered per request.
+ * Every page carries a weak ETag (see {@link ETagUtil}); a client whose copy is current gets
+ * {@code 304 Not Modified} and nothing is rendered.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Controller
+@RequestMapping("/games")
 public class GameController {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private PlatformService platformService;
+
+    @Autowired
+    private GenreService genreService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private WishlistService wishlistService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CatalogFragmentCache fragmentCache;
+
+    /**
+     * Games shown per page
+     */
+    @Value("${eshopexpress.catalog.page-size:12}")
+    private int pageSize;
+
+    /**
+     * Reviews shown per page of a game
+     */
+    @Value("${eshopexpress.catalog.reviews-page-size:10}")
+    private int reviewsPageSize;
+
+    /**
+     * Lists the whole catalog
+     * @param page the zero-based page number
+     * @param sort the sort option
+     * @param minPrice lowest price to include
+     * @param maxPrice highest price to include
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return the list view
+     */
+    @GetMapping
+    public String list(@RequestParam(defaultValue = "0") int page,
+                       @RequestParam(required = false) String sort,
+                       @RequestParam(required = false) BigDecimal minPrice,
+                       @RequestParam(required = false) BigDecimal maxPrice,
+                       Principal principal, ServletWebRequest webRequest, Model model) {
+        CatalogFilter filter = new CatalogFilter();
+        if (browse(filter, "/games", "All Games", page, sort, minPrice, maxPrice, principal, webRequest, model)) {
+            return null;
+        }
+        return "games/list";
+    }
+
+    /**
+     * Lists the games of a genre
+     * @param name the genre name
+     * @param page the zero-based page number
+     * @param sort the sort option
+     * @param minPrice lowest price to include
+     * @param maxPrice highest price to include
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return the genre view
+     */
+    @GetMapping("/genre/{name}")
+    public String byGenre(@PathVariable String name,
+                          @RequestParam(defaultValue = "0") int page,
+                          @RequestParam(required = false) String sort,
+                          @RequestParam(required = false) BigDecimal minPrice,
+                          @RequestParam(required = false) BigDecimal maxPrice,
+                          Principal principal, ServletWebRequest webRequest, Model model) {
+        if (browse(CatalogFilter.byGenre(name), "/games/genre/" + name, name + " Games",
+                page, sort, minPrice, maxPrice, principal, webRequest, model)) {
+            return null;
+        }
+        return "games/by-genre";
+    }
+
+    /**
+     * Lists the games of a platform
+     * @param name the platform name
+     * @param page the zero-based page number
+     * @param sort the sort option
+     * @param minPrice lowest price to include
+     * @param maxPrice highest price to include
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return the platform view
+     */
+    @GetMapping("/platform/{name}")
+    public String byPlatform(@PathVariable String name,
+                             @RequestParam(defaultValue = "0") int page,
+                             @RequestParam(required = false) String sort,
+                             @RequestParam(required = false) BigDecimal minPrice,
+                             @RequestParam(required = false) BigDecimal maxPrice,
+                             Principal principal, ServletWebRequest webRequest, Model model) {
+        if (browse(CatalogFilter.byPlatform(name), "/games/platform/" + name, name + " Games",
+                page, sort, minPrice, maxPrice, principal, webRequest, model)) {
+            return null;
+        }
+        return "games/by-platform";
+    }
+
+    /**
+     * Shows a game with one page of its reviews, newest first. Answers {@code 304} without
+     * loading the game when the client's copy is current.
+     * @param id the game ID
+     * @param reviewPage the zero-based page of reviews
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return the game view, or null if not modified
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    @GetMapping("/{id}")
+    public String view(@PathVariable Long id,
+                       @RequestParam(defaultValue = "0") int reviewPage,
+                       Principal principal, ServletWebRequest webRequest, Model model) {
+        ProductVersion version = gameService.findVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
+        Long userId = principal == null ? null
+                : userService.findByUsername(principal.getName()).map(User::getId).orElse(null);
+        boolean inWishlist = userId != null && wishlistService.isInWishlist(userId, id);
+        boolean hasReviewed = userId != null && reviewService.hasReviewed(id, userId);
+        if (ETagUtil.checkNotModified(webRequest, principal, version.updatedAt(),
+                "game", id, version.version(), inWishlist, hasReviewed, reviewPage)) {
+            return null;
+        }
+
+        Game game = gameService.getGameDetail(id);
+        int page = Math.max(reviewPage, 0);
+        model.addAttribute("game", game);
+        model.addAttribute("reviews", reviewService.findPageByGameId(id, page, reviewsPageSize));
+        model.addAttribute("reviewPage", page);
+        model.addAttribute("reviewPages", (game.getReviewCount() + reviewsPageSize - 1) / reviewsPageSize);
+        model.addAttribute("inWishlist", inWishlist);
+        model.addAttribute("hasReviewed", hasReviewed);
+        model.addAttribute("reviewForm", new Review());
+        return "games/view";
+    }
+
+    /**
+     * Fills the model of a catalog page from the cached fragments, or answers {@code 304} when
+     * the client's copy is current
+     * @param filter the platform or genre criteria of the page
+     * @param path the page path, not yet encoded
+     * @param heading the page heading
+     * @param page the zero-based page number
+     * @param sort the sort option
+     * @param minPrice lowest price to include
+     * @param maxPrice highest price to include
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return true if not modified, in which case nothing is rendered
+     */
+    private boolean browse(CatalogFilter filter, String path, String heading, int page, String sort,
+                           BigDecimal minPrice, BigDecimal maxPrice,
+                           Principal principal, ServletWebRequest webRequest, Model model) {
+        HttpServletRequest request = webRequest.getRequest();
+        HttpServletResponse response = webRequest.getResponse();
+        int currentPage = Math.max(page, 0);
+        filter.setSort(parseSort(sort));
+        filter.setMinPrice(minPrice);
+        filter.setMaxPrice(maxPrice);
+        String formAction = UriComponentsBuilder.fromPath(path).encode().build().toUriString();
+        String pageUrl = UriComponentsBuilder.fromPath(path)
+                .queryParamIfPresent("sort", Optional.ofNullable(sort))
+                .queryParamIfPresent("minPrice", Optional.ofNullable(minPrice))
+                .queryParamIfPresent("maxPrice", Optional.ofNullable(maxPrice))
+                .encode().build().toUriString();
+
+        String platformNav = fragmentCache.render("platform-nav",
+                Arrays.asList(filter.getPlatform()), request, response, () -> {
+                    Map<String, Object> variables = new HashMap<>();
+                    variables.put("platforms", platformService.findAll());
+                    variables.put("activePlatform", filter.getPlatform());
+                    return variables;
+                });
+        String genreNav = fragmentCache.render("genre-nav",
+                Arrays.asList(filter.getGenre()), request, response, () -> {
+                    Map<String, Object> variables = new HashMap<>();
+                    variables.put("genres", genreService.findAll());
+                    variables.put("activeGenre", filter.getGenre());
+                    return variables;
+                });
+        String gameGrid = fragmentCache.render("game-grid",
+                Arrays.asList(pageUrl, currentPage, pageSize), request, response, () -> {
+                    Map<String, Object> variables = new HashMap<>();
+                    variables.put("games", gameService.findSummaries(filter, currentPage, pageSize));
+                    variables.put("currentPage", currentPage);
+                    variables.put("totalPages", (gameService.count(filter) + pageSize - 1) / pageSize);
+                    variables.put("pageUrl", pageUrl);
+                    return variables;
+                });
+        // The rest of the page only depends on the URL; the fragments' hashes are computed once
+        // per cached string
+        if (ETagUtil.checkNotModified(webRequest, principal, null, "games", fragmentCache.getVersion(),
+                platformNav.hashCode(), genreNav.hashCode(), gameGrid.hashCode())) {
+            return true;
+        }
+
+        model.addAttribute("heading", heading);
+        model.addAttribute("formAction", formAction);
+        model.addAttribute("platformNav", platformNav);
+        model.addAttribute("genreNav", genreNav);
+        model.addAttribute("gameGrid", gameGrid);
+        return false;
+    }
+
+    /**
+     * Maps a sort option of the list page to a catalog sort
+     * @param sort the sort option, may be null
+     * @return the catalog sort, newest first by default
+     */
+    private static CatalogSort parseSort(String sort) {
+        if (sort == null) {
+            return CatalogSort.NEWEST;
+        }
+        return switch (sort) {
+            case "priceAsc" -> CatalogSort.PRICE_ASC;
+            case "priceDesc" -> CatalogSort.PRICE_DESC;
+            case "rating" -> CatalogSort.TOP_RATED;
+            default -> CatalogSort.NEWEST;
+        };
+    }
 }
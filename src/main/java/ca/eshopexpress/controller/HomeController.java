@@ -1,15 +1,78 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.service.GameService;
+import ca.eshopexpress.service.PlatformService;
+import ca.eshopexpress.service.catalog.CatalogFilter;
+import ca.eshopexpress.service.catalog.CatalogFragmentCache;
+import ca.eshopexpress.service.catalog.CatalogSort;
+import ca.eshopexpress.util.ETagUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
 
 @Controller
 public class HomeController {
 
+    /**
+     * New releases shown on the home page
+     */
+    private static final int NEW_RELEASE_COUNT = 4;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private PlatformService platformService;
+
+    @Autowired
+    private CatalogFragmentCache fragmentCache;
+
+    /**
+     * Top rated games shown on the home page
+     */
+    @Value("${eshopexpress.featured-games.count:6}")
+    private int featuredCount;
+
+    /**
+     * Shows the home page. Its game and platform sections are the same for every visitor and
+     * come from the {@link CatalogFragmentCache}; a client whose copy is current gets
+     * {@code 304 Not Modified}.
+     * @param principal the signed-in user, or null
+     * @param webRequest the current request
+     * @param model view model
+     * @return the home view, or null if not modified
+     */
     @GetMapping("/")
-    public String home(Model model) {
-        // Simple home page - we'll add data later
+    public String home(Principal principal, ServletWebRequest webRequest, Model model) {
+        HttpServletRequest request = webRequest.getRequest();
+        HttpServletResponse response = webRequest.getResponse();
+        String featuredGames = fragmentCache.render("summary-cards", List.of("featured", featuredCount),
+                request, response, () -> {
+                    CatalogFilter filter = new CatalogFilter();
+                    filter.setSort(CatalogSort.TOP_RATED);
+                    return Map.of("summaries", gameService.findSummaries(filter, 0, featuredCount));
+                });
+        String newReleases = fragmentCache.render("summary-cards", List.of("new", NEW_RELEASE_COUNT),
+                request, response, () -> Map.of("summaries", gameService.findNewReleaseSummaries(NEW_RELEASE_COUNT)));
+        String platformCards = fragmentCache.render("platform-cards", List.of(),
+                request, response, () -> Map.of("platforms", platformService.findAll()));
+        if (ETagUtil.checkNotModified(webRequest, principal, null, "home", fragmentCache.getVersion(),
+                featuredGames.hashCode(), newReleases.hashCode(), platformCards.hashCode())) {
+            return null;
+        }
+
+        model.addAttribute("featuredGames", featuredGames);
+        model.addAttribute("newReleases", newReleases);
+        model.addAttribute("platformCards", platformCards);
         return "home";
     }
 
@@ -17,4 +80,4 @@ public class HomeController {
     public String login() {
         return "login";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package ca.eshopexpress.controller;
+
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.service.image.ImageStore;
+import ca.eshopexpress.service.image.ImageStore.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves uploaded product images and their variants from the {@link ImageStore}.
+ * <p>
+ * Image names are content hashes, so an image is sent with a one-year {@code immutable} cache
+ * lifetime and its name as a strong ETag. The body is handed to Tomcat's sendfile support, which
+ * copies the file to the socket in the kernel without passing it through the JVM; on a connector
+ * without sendfile it is copied with {@link FileChannel#transferTo}. An original standing in for a
+ * variant that is not ready yet is sent with {@code no-cache} so the variant replaces it later.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Controller
+public class ImageController {
+
+    /**
+     * Request attribute Tomcat sets when the connector can use sendfile
+     */
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    /**
+     * Request attributes asking Tomcat to send a file range after the servlet returns
+     */
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Cache lifetime of content-addressed images
+     */
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Autowired
+    private ImageStore imageStore;
+
+    /**
+     * Sends an image
+     * @param fileName the image file name
+     * @param request the current request
+     * @param response the current response
+     * @throws ResourceNotFoundException if no such image is stored
+     * @throws IOException if the file cannot be sent
+     */
+    @GetMapping(ImageStore.URL_PREFIX + "{fileName:.+}")
+    public void image(@PathVariable String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        boolean webpAccepted = accept != null && accept.contains("image/webp");
+        StoredImage image = imageStore.find(fileName, webpAccepted)
+                .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + fileName));
+        Path path = image.path();
+
+        if (image.negotiable()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                image.immutable() ? IMMUTABLE.getHeaderValue() : CacheControl.noCache().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + path.getFileName() + "\"")) {
+            return;
+        }
+
+        long length;
+        try (FileChannel file = FileChannel.open(path)) {
+            length = file.size();
+            response.setContentType(MediaTypeFactory.getMediaType(path.getFileName().toString())
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+            response.setContentLengthLong(length);
+            if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+                long position = 0;
+                while (position < length) {
+                    position += file.transferTo(position, length - position, out);
+                }
+                return;
+            }
+        }
+        request.setAttribute(SENDFILE_FILENAME, path.toString());
+        request.setAttribute(SENDFILE_START, 0L);
+        request.setAttribute(SENDFILE_END, length);
+    }
+}
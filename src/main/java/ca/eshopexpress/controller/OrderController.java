@@ -1,4 +1,56 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.OrderPage;
+import ca.eshopexpress.model.entity.User;
+import ca.eshopexpress.service.OrderService;
+import ca.eshopexpress.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.security.Principal;
+
+/**
+ * Controller for a customer's own order history.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Controller
 public class OrderController {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Lists the signed-in customer's orders newest first, one keyset page at a time
+     * @param cursor cursor token of the previous page, absent for the first page
+     * @param size page size
+     * @param principal the signed-in customer
+     * @param model view model
+     * @return the order history view
+     */
+    @GetMapping("/account/orders")
+    public String orders(@RequestParam(required = false) String cursor,
+                         @RequestParam(defaultValue = "10") int size,
+                         Principal principal,
+                         Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        User user = userService.findByUsername(principal.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + principal.getName()));
+        OrderPage page = orderService.findOrdersPageByCustomerId(user.getId(), cursor, size);
+        model.addAttribute("orders", page.getOrders());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("size", size);
+        return "account/orders";
+    }
 }
@@ -1,4 +1,93 @@
 package ca.eshopexpress.controller;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.User;
+import ca.eshopexpress.service.UserService;
+import ca.eshopexpress.service.WishlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.security.Principal;
+
+/**
+ * Controller for the signed-in user's wishlist.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Controller
+@RequestMapping("/wishlist")
 public class WishlistController {
+
+    @Autowired
+    private WishlistService wishlistService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Shows the wishlist
+     * @param principal the signed-in user
+     * @param model view model
+     * @return the wishlist view, or a redirect to the login page
+     */
+    @GetMapping
+    public String view(Principal principal, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        model.addAttribute("wishlistItems", wishlistService.findByUserId(currentUser(principal).getId()));
+        return "wishlist/index";
+    }
+
+    /**
+     * Adds a game to the wishlist
+     * @param gameId the game ID
+     * @param principal the signed-in user
+     * @return a redirect to the game page, or to the login page
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    @PostMapping("/add")
+    public String add(@RequestParam Long gameId, Principal principal) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        wishlistService.addGame(currentUser(principal).getId(), gameId);
+        return "redirect:/games/" + gameId;
+    }
+
+    /**
+     * Removes a game from the wishlist
+     * @param gameId the game ID
+     * @param from {@code wishlist} to return to the wishlist, otherwise to the game page
+     * @param principal the signed-in user
+     * @return a redirect to the wishlist or the game page, or to the login page
+     */
+    @PostMapping("/remove")
+    public String remove(@RequestParam Long gameId,
+                         @RequestParam(defaultValue = "game") String from,
+                         Principal principal) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        wishlistService.removeGame(currentUser(principal).getId(), gameId);
+        return "wishlist".equals(from) ? "redirect:/wishlist" : "redirect:/games/" + gameId;
+    }
+
+    /**
+     * Loads the signed-in user
+     * @param principal the signed-in user
+     * @return the user
+     * @throws ResourceNotFoundException if the user no longer exists
+     */
+    private User currentUser(Principal principal) {
+        return userService.findByUsername(principal.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + principal.getName()));
+    }
 }
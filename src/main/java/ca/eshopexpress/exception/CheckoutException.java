@@ -0,0 +1,28 @@
+package ca.eshopexpress.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a cart cannot be checked out, e.g. because it is empty or
+ * a product in it is no longer sold, or when a product cannot be added because the cart is full
+ * or no platform was picked for a digital game.
+ *
+ * Responds with HTTP status 400 (BAD_REQUEST).
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CheckoutException extends RuntimeException {
+
+    /**
+     * Constructs a new CheckoutException with a specific message.
+     *
+     * @param message the detail message
+     */
+    public CheckoutException(String message) {
+        super(message);
+    }
+}
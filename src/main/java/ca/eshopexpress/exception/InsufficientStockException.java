@@ -0,0 +1,27 @@
+package ca.eshopexpress.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when a product cannot be sold because there is not enough
+ * stock or there are no digital keys left.
+ *
+ * Responds with HTTP status 409 (CONFLICT).
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InsufficientStockException extends RuntimeException {
+
+    /**
+     * Constructs a new InsufficientStockException with a specific message.
+     *
+     * @param message the detail message
+     */
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package ca.eshopexpress.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Custom exception thrown when an uploaded file is not an image type the store accepts.
+ *
+ * Responds with HTTP status 415 (UNSUPPORTED_MEDIA_TYPE).
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@ResponseStatus(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+public class InvalidImageException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidImageException with a specific message.
+     *
+     * @param message the detail message
+     */
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package ca.eshopexpress.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Records the checkout funnel: how many shoppers reach each {@link CheckoutStage} and how long
+ * each stage takes.
+ * <p>
+ * Publishes {@code eshopexpress.checkout.stage.reached} and {@code eshopexpress.checkout.stage}
+ * (latency with percentiles), both tagged with the stage.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class CheckoutMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Counts a shopper reaching a stage
+     * @param stage the stage reached
+     */
+    public void reached(CheckoutStage stage) {
+        Counter.builder("eshopexpress.checkout.stage.reached")
+                .description("Shoppers reaching each checkout stage")
+                .tag("stage", stage.name())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Runs a stage, recording its latency, and counts it as reached if it completes
+     * @param stage the stage
+     * @param work the work of the stage
+     * @param <T> the result type
+     * @return the result of the work
+     */
+    public <T> T time(CheckoutStage stage, Supplier<T> work) {
+        T result = Timer.builder("eshopexpress.checkout.stage")
+                .description("Checkout stage latency")
+                .tag("stage", stage.name())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(work);
+        reached(stage);
+        return result;
+    }
+}
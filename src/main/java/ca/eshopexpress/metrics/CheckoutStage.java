@@ -0,0 +1,30 @@
+package ca.eshopexpress.metrics;
+
+/**
+ * Steps of the checkout funnel, in order
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum CheckoutStage {
+    /**
+     * An item was added to the cart
+     */
+    CART_UPDATED,
+    /**
+     * The checkout page was opened
+     */
+    CHECKOUT_STARTED,
+    /**
+     * Stock and digital keys were reserved
+     */
+    STOCK_RESERVED,
+    /**
+     * The order was saved
+     */
+    ORDER_PLACED,
+    /**
+     * Checkout failed, e.g. for lack of stock
+     */
+    FAILED
+}
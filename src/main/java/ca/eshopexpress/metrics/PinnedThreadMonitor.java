@@ -0,0 +1,140 @@
+package ca.eshopexpress.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Reports virtual threads that were pinned to their carrier thread.
+ * <p>
+ * A virtual thread that blocks while holding a monitor ({@code synchronized}) or inside native
+ * code cannot unmount, so it ties up one of the few carrier threads for as long as it blocks.
+ * On the JDBC path that means a query or a wait for a pooled connection run inside a
+ * {@code synchronized} block. This monitor streams the JFR {@code jdk.VirtualThreadPinned}
+ * event and publishes {@code eshopexpress.threads.pinned}, tagged with the first application
+ * frame on the pinned stack (or the top frame if there is none), so the offending block can be
+ * found from the metrics endpoint without taking a recording.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+    /**
+     * JFR event emitted when a virtual thread blocks while pinned
+     */
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Frames in this package identify the application code that pinned
+     */
+    private static final String APPLICATION_PACKAGE = "ca.eshopexpress.";
+
+    /**
+     * Registry the pinning timer is published to
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Pins shorter than this are not reported
+     */
+    private final Duration threshold;
+
+    /**
+     * The JFR event stream, while running
+     */
+    private RecordingStream stream;
+
+    /**
+     * Constructs the monitor
+     * @param meterRegistry registry the pinning timer is published to
+     * @param threshold pins shorter than this are not reported
+     */
+    public PinnedThreadMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Starts streaming pinning events on a background thread
+     */
+    @Override
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::record);
+        stream.startAsync();
+    }
+
+    /**
+     * Stops the event stream
+     */
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    /**
+     * Check if the event stream is running
+     * @return true while streaming
+     */
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Records one pinning event against the frame that caused it
+     * @param event the {@code jdk.VirtualThreadPinned} event
+     */
+    private void record(RecordedEvent event) {
+        Timer.builder("eshopexpress.threads.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .tag("frame", pinningFrame(event.getStackTrace()))
+                .register(meterRegistry)
+                .record(event.getDuration());
+    }
+
+    /**
+     * Finds the frame to blame for a pin: the first application frame, else the top frame
+     * @param stackTrace the stack of the pinned thread, may be null
+     * @return the frame as {@code Class.method}
+     */
+    static String pinningFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "UNKNOWN";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (RecordedFrame frame : frames) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return describe(frame);
+            }
+        }
+        return describe(frames.get(0));
+    }
+
+    /**
+     * Formats a frame as {@code Class.method}
+     * @param frame the frame
+     * @return the formatted frame
+     */
+    private static String describe(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+    }
+}
@@ -0,0 +1,57 @@
+package ca.eshopexpress.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * <p>
+ * Registered with Hibernate through {@code hibernate.session_factory.statement_inspector}, so
+ * Hibernate creates the instance; the count lives in a static thread-local that
+ * {@link SqlStatementsPerRequestFilter} resets and reads around each HTTP request. Statements
+ * issued directly through {@code JdbcTemplate} are not counted.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    /**
+     * Statements prepared by the current thread since the last reset
+     */
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    /**
+     * Counts the statement and passes it through unchanged
+     * @param sql the SQL Hibernate is about to prepare
+     * @return the same SQL
+     */
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Resets the current thread's count
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Get the current thread's count
+     * @return statements prepared since the last reset
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Releases the current thread's counter
+     */
+    public static void clear() {
+        COUNT.remove();
+    }
+}
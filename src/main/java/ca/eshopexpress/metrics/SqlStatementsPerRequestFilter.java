@@ -0,0 +1,79 @@
+package ca.eshopexpress.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each HTTP request issues.
+ * <p>
+ * Publishes {@code eshopexpress.http.sql.statements} per URI pattern, and counts requests
+ * above a threshold in {@code eshopexpress.http.sql.n-plus-one}, which is the usual symptom of
+ * lazily loading {@code Game.reviews}, {@code genres} or {@code platforms} in a loop.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class SqlStatementsPerRequestFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Requests issuing more statements than this are counted as N+1 suspects
+     */
+    @Value("${eshopexpress.metrics.sql-statements-warn-threshold:20}")
+    private int warnThreshold;
+
+    /**
+     * Resets the statement count, runs the request and records the count
+     * @param request the request
+     * @param response the response
+     * @param filterChain the rest of the chain
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = SqlStatementCounter.current();
+            SqlStatementCounter.clear();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("eshopexpress.http.sql.statements")
+                    .description("SQL statements issued per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(statements);
+            if (statements > warnThreshold) {
+                Counter.builder("eshopexpress.http.sql.n-plus-one")
+                        .description("Requests issuing more SQL statements than the warning threshold")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .register(meterRegistry)
+                        .increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package ca.eshopexpress.model.dto;
+
+import ca.eshopexpress.model.enums.ProductType;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of the cart page.
+ *
+ * @param id line ID in the form {@code GAME-42}, or {@code GAME-42-3} for a digital game's key
+ *           for platform 3, posted back by the cart forms
+ * @param name product name
+ * @param platform platform of a digital game's key, or null
+ * @param imageUrl product image
+ * @param digital digital or physical
+ * @param price unit price
+ * @param quantity number of units
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public record CartLineView(String id, String name, String platform, String imageUrl, boolean digital,
+                           BigDecimal price, int quantity) {
+
+    /**
+     * Builds the line ID of a product
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @return the line ID
+     */
+    public static String lineId(ProductType type, long productId, long platformId) {
+        return platformId == 0 ? type.name() + "-" + productId : type.name() + "-" + productId + "-" + platformId;
+    }
+
+    /**
+     * Get the line total
+     * @return unit price times quantity
+     */
+    public BigDecimal getTotal() {
+        return price.multiply(BigDecimal.valueOf(quantity));
+    }
+}
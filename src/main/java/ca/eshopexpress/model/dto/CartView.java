@@ -0,0 +1,19 @@
+package ca.eshopexpress.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The cart page: its lines and totals.
+ *
+ * @param items cart lines
+ * @param itemCount number of units
+ * @param subtotal sum of the line totals
+ * @param tax estimated tax on the subtotal
+ * @param total subtotal plus tax
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record CartView(List<CartLineView> items, int itemCount, BigDecimal subtotal, BigDecimal tax, BigDecimal total) {
+}
@@ -0,0 +1,264 @@
+package ca.eshopexpress.model.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Form backing object for the checkout page: shipping address and payment card.
+ * The card number itself is never stored; only its last four digits end up on the order.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CheckoutForm {
+
+    /** The customer's first name. */
+    @NotBlank
+    private String firstName;
+
+    /** The customer's last name. */
+    @NotBlank
+    private String lastName;
+
+    /** The email address the confirmation is sent to. */
+    @NotBlank
+    @Email
+    private String email;
+
+    /** The street address. */
+    @NotBlank
+    private String address;
+
+    /** The city. */
+    @NotBlank
+    private String city;
+
+    /** The province or territory code, e.g. ON. */
+    @NotBlank
+    private String state;
+
+    /** The postal code. */
+    @NotBlank
+    private String zip;
+
+    /** The name on the card. */
+    @NotBlank
+    private String cardName;
+
+    /** The card number. */
+    @NotBlank
+    @Pattern(regexp = "[0-9 ]{12,23}")
+    private String cardNumber;
+
+    /** The card expiry month. */
+    private String expMonth;
+
+    /** The card expiry year. */
+    private String expYear;
+
+    /** The card security code. */
+    private String cvv;
+
+    /**
+     * Get the first name
+     * @return first name
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Set the first name
+     * @param firstName first name
+     */
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    /**
+     * Get the last name
+     * @return last name
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Set the last name
+     * @param lastName last name
+     */
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    /**
+     * Get the email address
+     * @return email address
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Set the email address
+     * @param email email address
+     */
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * Get the street address
+     * @return street address
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Set the street address
+     * @param address street address
+     */
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    /**
+     * Get the city
+     * @return city
+     */
+    public String getCity() {
+        return city;
+    }
+
+    /**
+     * Set the city
+     * @param city city
+     */
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    /**
+     * Get the province or territory code
+     * @return province code
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * Set the province or territory code
+     * @param state province code
+     */
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    /**
+     * Get the postal code
+     * @return postal code
+     */
+    public String getZip() {
+        return zip;
+    }
+
+    /**
+     * Set the postal code
+     * @param zip postal code
+     */
+    public void setZip(String zip) {
+        this.zip = zip;
+    }
+
+    /**
+     * Get the name on the card
+     * @return name on the card
+     */
+    public String getCardName() {
+        return cardName;
+    }
+
+    /**
+     * Set the name on the card
+     * @param cardName name on the card
+     */
+    public void setCardName(String cardName) {
+        this.cardName = cardName;
+    }
+
+    /**
+     * Get the card number
+     * @return card number
+     */
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    /**
+     * Set the card number
+     * @param cardNumber card number
+     */
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    /**
+     * Get the card expiry month
+     * @return expiry month
+     */
+    public String getExpMonth() {
+        return expMonth;
+    }
+
+    /**
+     * Set the card expiry month
+     * @param expMonth expiry month
+     */
+    public void setExpMonth(String expMonth) {
+        this.expMonth = expMonth;
+    }
+
+    /**
+     * Get the card expiry year
+     * @return expiry year
+     */
+    public String getExpYear() {
+        return expYear;
+    }
+
+    /**
+     * Set the card expiry year
+     * @param expYear expiry year
+     */
+    public void setExpYear(String expYear) {
+        this.expYear = expYear;
+    }
+
+    /**
+     * Get the card security code
+     * @return security code
+     */
+    public String getCvv() {
+        return cvv;
+    }
+
+    /**
+     * Set the card security code
+     * @param cvv security code
+     */
+    public void setCvv(String cvv) {
+        this.cvv = cvv;
+    }
+
+    /**
+     * Describes the payment method without the full card number
+     * @return e.g. {@code Card ending 4242}
+     */
+    public String describePaymentMethod() {
+        String digits = cardNumber == null ? "" : cardNumber.replaceAll("\\D", "");
+        return digits.length() < 4 ? "Card" : "Card ending " + digits.substring(digits.length() - 4);
+    }
+}
@@ -1,5 +1,8 @@
 package ca.eshopexpress.model.dto;
 
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Genre;
+import ca.eshopexpress.model.entity.Platform;
 import ca.eshopexpress.model.enums.AgeRating;
 
 import java.math.BigDecimal;
@@ -337,6 +340,26 @@ public class GameDto {
         this.averageRating = averageRating;
     }
 
+    /**
+     * Creates a GameDto from a game entity
+     * @param game the game
+     * @return a populated GameDto
+     */
+    public static GameDto from(Game game) {
+        Set<String> genres = new HashSet<>();
+        for (Genre genre : game.getGenres()) {
+            genres.add(genre.getName());
+        }
+        Set<String> platforms = new HashSet<>();
+        for (Platform platform : game.getPlatforms()) {
+            platforms.add(platform.getName());
+        }
+        return new GameDto(game.getId(), game.getTitle(), game.getDescription(), game.getPrice(),
+                game.getCoverImageUrl(), game.getReleaseDate(), game.getPublisher(), game.getDeveloper(),
+                game.getAgeRating(), genres, platforms, game.isDigital(), game.getStockQuantity(),
+                game.getAverageRating());
+    }
+
     /**
      * Example of the structure of a GameDto
      * @return a GameDto example
@@ -0,0 +1,12 @@
+package ca.eshopexpress.model.dto;
+
+/**
+ * Name of one platform of a game, selected for listings without loading either entity.
+ *
+ * @param gameId the ID of the game
+ * @param name the platform name
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record GamePlatformName(Long gameId, String name) {}
@@ -0,0 +1,61 @@
+package ca.eshopexpress.model.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Read model of a game for catalog listings.
+ * <p>
+ * Holds only what a product card shows and is built directly from a JPQL constructor
+ * expression, so listing a page neither loads the description or collections nor registers
+ * entities in the persistence context for dirty checking. Platform names are read with a
+ * second projection and added with {@link #withPlatforms(List)} where a card shows them.
+ * </p>
+ *
+ * @param id game ID
+ * @param title game title
+ * @param price game price
+ * @param coverImageUrl cover image
+ * @param digital digital or physical
+ * @param stockQuantity quantity in stock
+ * @param averageRating average user rating, or null if unrated
+ * @param platforms names of the platforms the game is on, empty unless loaded
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public record GameSummary(Long id, String title, BigDecimal price, String coverImageUrl, boolean digital,
+                          Integer stockQuantity, Double averageRating, List<String> platforms) {
+
+    /**
+     * Constructs a summary without platform names, as selected by the JPQL constructor expressions
+     * @param id game ID
+     * @param title game title
+     * @param price game price
+     * @param coverImageUrl cover image
+     * @param digital digital or physical
+     * @param stockQuantity quantity in stock
+     * @param averageRating average user rating, or null if unrated
+     */
+    public GameSummary(Long id, String title, BigDecimal price, String coverImageUrl, boolean digital,
+                       Integer stockQuantity, Double averageRating) {
+        this(id, title, price, coverImageUrl, digital, stockQuantity, averageRating, List.of());
+    }
+
+    /**
+     * Copy this summary with the platform names of the game
+     * @param platforms names of the platforms
+     * @return the summary with platforms
+     */
+    public GameSummary withPlatforms(List<String> platforms) {
+        return new GameSummary(id, title, price, coverImageUrl, digital, stockQuantity, averageRating, platforms);
+    }
+
+    /**
+     * Check if the game can be bought right now
+     * @return true if digital or in stock
+     */
+    public boolean isAvailable() {
+        return digital || (stockQuantity != null && stockQuantity > 0);
+    }
+}
@@ -0,0 +1,86 @@
+package ca.eshopexpress.model.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Keyset position in an order listing sorted newest first by (order date, order ID).
+ * <p>
+ * The cursor points at the last order of a page; the next page starts with the first order
+ * strictly older than it. Order dates are never null, so every position has a token. It is
+ * passed to and from the browser as an opaque URL-safe token.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class OrderCursor {
+
+    /** Order date of the last order on the page. */
+    private final LocalDateTime orderDate;
+
+    /** ID of the last order on the page. */
+    private final long id;
+
+    /**
+     * Constructs a cursor positioned after the given order.
+     *
+     * @param orderDate the order date of the last order on the page
+     * @param id the ID of the last order on the page
+     */
+    public OrderCursor(LocalDateTime orderDate, long id) {
+        this.orderDate = Objects.requireNonNull(orderDate, "orderDate");
+        this.id = id;
+    }
+
+    /**
+     * Gets the order date of the last order on the page.
+     *
+     * @return the order date
+     */
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    /**
+     * Gets the ID of the last order on the page.
+     *
+     * @return the order ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Encodes the cursor as an opaque URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = orderDate + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the token, may be null or blank for the first page
+     * @return the cursor, or null if the token is missing or malformed
+     */
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('_');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package ca.eshopexpress.model.dto;
 
+import ca.eshopexpress.model.entity.Order;
 import ca.eshopexpress.model.entity.User;
 import ca.eshopexpress.model.enums.OrderStatus;
 import ca.eshopexpress.model.enums.Province;
@@ -118,6 +119,19 @@ public class OrderDto {
         this.estimatedDelivery = estimatedDelivery;
     }
 
+    /**
+     * Creates an OrderDto from an order entity.
+     *
+     * @param order the order
+     * @return a populated OrderDto
+     */
+    public static OrderDto from(Order order) {
+        return new OrderDto(order.getId(), order.getUser(), order.getOrderDate(), order.getStatus(),
+                order.getSubtotal(), order.getTax(), order.getTotal(), order.getFirstName(), order.getLastName(),
+                order.getEmail(), order.getAddress(), order.getCity(), order.getProvince(), order.getPostalCode(),
+                order.getPaymentMethod(), order.getEstimatedDelivery());
+    }
+
     /**
      * Gets the order ID.
      *
@@ -0,0 +1,63 @@
+package ca.eshopexpress.model.dto;
+
+import ca.eshopexpress.model.entity.Order;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated order listing.
+ * <p>
+ * Carries the orders on the page and the cursor token for the following page, so listings
+ * never need an offset or a total count and cost the same on every page.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class OrderPage {
+
+    /** Orders on this page, newest first. */
+    private final List<Order> orders;
+
+    /** Cursor token for the next page, or null if this is the last page. */
+    private final String nextCursor;
+
+    /**
+     * Constructs a page of orders.
+     *
+     * @param orders the orders on this page
+     * @param nextCursor the cursor token for the next page, or null if this is the last page
+     */
+    public OrderPage(List<Order> orders, String nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the orders on this page.
+     *
+     * @return the orders, newest first
+     */
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Gets the cursor token for the next page.
+     *
+     * @return the token, or null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether another page follows this one.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
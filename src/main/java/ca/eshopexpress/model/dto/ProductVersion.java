@@ -0,0 +1,16 @@
+package ca.eshopexpress.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version stamp of a game or accessory row, read without loading the entity so a product page
+ * can answer a conditional GET before doing any other work.
+ *
+ * @param version the row version, incremented on every change
+ * @param updatedAt the time of the last change, may be null for rows never updated
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record ProductVersion(long version, LocalDateTime updatedAt) {}
@@ -0,0 +1,19 @@
+package ca.eshopexpress.model.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales of one day or one dimension value over a date range, read from the sales rollups.
+ *
+ * @param key the day in ISO format, or the dimension value
+ * @param label the display name of the key
+ * @param orders orders placed, counted once per key they contain
+ * @param units units sold
+ * @param revenue pre-tax sales
+ * @param tax tax charged
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record SalesFigures(String key, String label, long orders, long units, BigDecimal revenue, BigDecimal tax) {}
@@ -2,13 +2,15 @@ package ca.eshopexpress.model.entity;
 
 import ca.eshopexpress.model.enums.AccessoryType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * The class to represent the accessories in the database
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.2
  * @since 2025-05-08
  */
 @Entity
@@ -47,7 +49,8 @@ public class Accessory {
     /**
      * Accessory type
      */
-    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
     private AccessoryType type;
 
     /**
@@ -73,6 +76,21 @@ public class Accessory {
     @JoinTable(name = "accessory_platforms", joinColumns = @JoinColumn(name = "accessory_id"), inverseJoinColumns = @JoinColumn(name = "platform_id"))
     private Platform platform;
 
+    /**
+     * Version of the accessory, incremented on every change to its row.
+     * Used for optimistic locking and for the ETag of the accessory page
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Time of the last change to the accessory, for the Last-Modified header of its page
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     /**
      * Get the accessory ID
      * @return accessory ID
@@ -233,6 +251,30 @@ public class Accessory {
         this.platform = platform;
     }
 
+    /**
+     * Get the accessory version
+     * @return accessory version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set the accessory version
+     * @param version accessory version
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Get the time of the last change
+     * @return last change time
+     */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     /**
      * Output string for the accessory class
      * @return class output string
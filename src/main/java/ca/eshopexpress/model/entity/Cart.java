@@ -1,4 +1,122 @@
 package ca.eshopexpress.model.entity;
 
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The class to represent a signed-in customer's saved cart in the database.
+ * <p>
+ * Only written when a session cart is merged on login or handed to checkout; while the
+ * customer shops, the cart lives in memory.
+ * </p>
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Entity
+@Table(name = "carts")
+@NamedEntityGraph(name = "Cart.items", attributeNodes = @NamedAttributeNode("items"))
 public class Cart {
+
+    /**
+     * The cart ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The customer owning the cart
+     */
+    @OneToOne(optional = false)
+    @JoinColumn(name = "user_id", nullable = false, unique = true)
+    private User user;
+
+    /**
+     * The date and time the cart was last saved
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * The lines of the cart
+     */
+    @OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<CartItem> items = new ArrayList<>();
+
+    /**
+     * Get the cart ID
+     * @return cart ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Set the cart ID
+     * @param id cart ID
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the customer
+     * @return the customer
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Set the customer
+     * @param user the customer
+     */
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    /**
+     * Get the date and time the cart was last saved
+     * @return last saved time
+     */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Set the date and time the cart was last saved
+     * @param updatedAt last saved time
+     */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Get the lines of the cart
+     * @return cart lines
+     */
+    public List<CartItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Set the lines of the cart
+     * @param items cart lines
+     */
+    public void setItems(List<CartItem> items) {
+        this.items = items;
+    }
+
+    /**
+     * Adds a line to the cart
+     * @param item the line
+     */
+    public void addItem(CartItem item) {
+        item.setCart(this);
+        items.add(item);
+    }
 }
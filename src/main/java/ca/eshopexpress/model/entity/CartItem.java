@@ -1,4 +1,177 @@
 package ca.eshopexpress.model.entity;
 
+import ca.eshopexpress.model.enums.ProductType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+
+/**
+ * The class to represent the lines of a saved cart in the database
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Entity
+@Table(name = "cart_items")
 public class CartItem {
+
+    /**
+     * The cart item ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The cart the line belongs to
+     */
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "cart_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Cart cart;
+
+    /**
+     * Whether the line is a game or an accessory
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type", nullable = false, length = 20)
+    private ProductType productType;
+
+    /**
+     * ID of the game or accessory
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Platform of a digital game's key, or null for other products
+     */
+    @Column(name = "platform_id")
+    private Long platformId;
+
+    /**
+     * Number of units
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * Unit price when the line was saved
+     */
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    /**
+     * Get the cart item ID
+     * @return cart item ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Set the cart item ID
+     * @param id cart item ID
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the cart
+     * @return the cart
+     */
+    public Cart getCart() {
+        return cart;
+    }
+
+    /**
+     * Set the cart
+     * @param cart the cart
+     */
+    public void setCart(Cart cart) {
+        this.cart = cart;
+    }
+
+    /**
+     * Get the product type
+     * @return game or accessory
+     */
+    public ProductType getProductType() {
+        return productType;
+    }
+
+    /**
+     * Set the product type
+     * @param productType game or accessory
+     */
+    public void setProductType(ProductType productType) {
+        this.productType = productType;
+    }
+
+    /**
+     * Get the product ID
+     * @return the product ID
+     */
+    public Long getProductId() {
+        return productId;
+    }
+
+    /**
+     * Set the product ID
+     * @param productId the product ID
+     */
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    /**
+     * Get the platform of a digital game's key
+     * @return the platform ID, or null for other products
+     */
+    public Long getPlatformId() {
+        return platformId;
+    }
+
+    /**
+     * Set the platform of a digital game's key
+     * @param platformId the platform ID, or null for other products
+     */
+    public void setPlatformId(Long platformId) {
+        this.platformId = platformId;
+    }
+
+    /**
+     * Get the quantity
+     * @return number of units
+     */
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Set the quantity
+     * @param quantity number of units
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    /**
+     * Get the unit price
+     * @return unit price
+     */
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    /**
+     * Set the unit price
+     * @param unitPrice unit price
+     */
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
 }
@@ -1,11 +1,14 @@
 package ca.eshopexpress.model.entity;
 
+import ca.eshopexpress.model.enums.KeyStatus;
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 /**
  * The class to represent the digital keys in the database
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.2
  * @since 2025-05-08
  */
 @Entity
@@ -21,7 +24,7 @@ public class DigitalKey {
     /**
      * Game for Digital ID
      */
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
@@ -34,23 +37,30 @@ public class DigitalKey {
     /**
      * Digital key activation status
      */
+    @Enumerated(EnumType.STRING)
     @Column
-    private String status;
+    private KeyStatus status;
 
     /**
      * Platform for digital key
      */
-    @OneToOne
+    @ManyToOne
     @JoinColumn(name = "platform_id", nullable = false)
     private Platform platform;
 
     /**
-     * Order item for digital key
+     * Order item for digital key, set once the key is sold
      */
     @OneToOne
-    @JoinColumn(name = "order_item_id", nullable = false)
+    @JoinColumn(name = "order_item_id")
     private OrderItem orderItem;
 
+    /**
+     * Time a reservation lapses and the key becomes available again
+     */
+    @Column(name = "reserved_until")
+    private LocalDateTime reservedUntil;
+
     /**
      * Get the digital key ID
      * @return digital key ID
@@ -103,7 +113,7 @@ public class DigitalKey {
      * Get the activation status
      * @return digital key status
      */
-    public String getStatus() {
+    public KeyStatus getStatus() {
         return status;
     }
 
@@ -111,7 +121,7 @@ public class DigitalKey {
      * Set the activation status
      * @param status digital key status
      */
-    public void setStatus(String status) {
+    public void setStatus(KeyStatus status) {
         this.status = status;
     }
 
@@ -146,4 +156,20 @@ public class DigitalKey {
     public void setOrderItem(OrderItem orderItem) {
         this.orderItem = orderItem;
     }
+
+    /**
+     * Get the reservation expiry
+     * @return time the reservation lapses, or null if the key is not reserved
+     */
+    public LocalDateTime getReservedUntil() {
+        return reservedUntil;
+    }
+
+    /**
+     * Set the reservation expiry
+     * @param reservedUntil time the reservation lapses
+     */
+    public void setReservedUntil(LocalDateTime reservedUntil) {
+        this.reservedUntil = reservedUntil;
+    }
 }
@@ -2,20 +2,30 @@ package ca.eshopexpress.model.entity;
 
 import ca.eshopexpress.model.enums.AgeRating;
 import jakarta.persistence.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
- * The class to represent the games in the database
+ * The class to represent the games in the database.
+ * Declares the fetch plan {@code Game.genresAndPlatforms} used by
+ * {@link ca.eshopexpress.repository.GameRepository} for game lists and the game page. It does
+ * not fetch reviews: joining them next to genres and platforms would return one row per
+ * review, genre and platform combination, so the game page pages through them separately.
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.6
  * @since 2025-04-24
  */
 @Entity
 @Table(name = "games")
+@NamedEntityGraph(name = "Game.genresAndPlatforms", attributeNodes = {
+        @NamedAttributeNode("genres"),
+        @NamedAttributeNode("platforms")
+})
 public class Game {
     /**
      * The game ID
@@ -66,6 +76,8 @@ public class Game {
     /**
      * The game's age rating
      */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
     private AgeRating ageRating;
 
     /**
@@ -101,11 +113,76 @@ public class Game {
     private Integer stockQuantity;
 
     /**
-     * Game's average rating
+     * Game's average rating, maintained with the rating aggregates below
      */
-    @Column(name = "average_rating")
+    @Column(name = "average_rating", insertable = false, updatable = false)
     private Double averageRating;
 
+    /**
+     * Number of reviews; the rating aggregates are only written by SQL so that
+     * saving a game from a form never overwrites them
+     */
+    @Column(name = "review_count", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int reviewCount;
+
+    /**
+     * Sum of all review ratings
+     */
+    @Column(name = "rating_sum", insertable = false, updatable = false,
+            columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long ratingSum;
+
+    /**
+     * Number of 1-star reviews
+     */
+    @Column(name = "one_star_count", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int oneStarCount;
+
+    /**
+     * Number of 2-star reviews
+     */
+    @Column(name = "two_star_count", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int twoStarCount;
+
+    /**
+     * Number of 3-star reviews
+     */
+    @Column(name = "three_star_count", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int threeStarCount;
+
+    /**
+     * Number of 4-star reviews
+     */
+    @Column(name = "four_star_count", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int fourStarCount;
+
+    /**
+     * Number of 5-star reviews
+     */
+    @Column(name = "five_star_count", insertable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int fiveStarCount;
+
+    /**
+     * Version of the game, incremented on every change to its row.
+     * Used for optimistic locking and for the ETag of the game page
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Time of the last change to the game, for the Last-Modified header of its page
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     /**
      * Get the game ID
      * @return game ID
@@ -346,6 +423,54 @@ public class Game {
         this.averageRating = averageRating;
     }
 
+    /**
+     * Get the number of reviews
+     * @return review count
+     */
+    public int getReviewCount() {
+        return reviewCount;
+    }
+
+    /**
+     * Get the sum of all review ratings
+     * @return rating sum
+     */
+    public long getRatingSum() {
+        return ratingSum;
+    }
+
+    /**
+     * Get the number of reviews per star rating
+     * @return review counts for 1 to 5 stars, at index 0 to 4
+     */
+    public int[] getRatingHistogram() {
+        return new int[] {oneStarCount, twoStarCount, threeStarCount, fourStarCount, fiveStarCount};
+    }
+
+    /**
+     * Get the game version
+     * @return game version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Set the game version
+     * @param version game version
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Get the time of the last change
+     * @return last change time
+     */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     /**
      * Game class string
      * @return a game
@@ -368,6 +493,7 @@ public class Game {
                 ", digital=" + digital +
                 ", stockQuantity=" + stockQuantity +
                 ", averageRating=" + averageRating +
+                ", reviewCount=" + reviewCount +
                 '}';
     }
 }
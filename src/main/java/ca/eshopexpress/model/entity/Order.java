@@ -7,11 +7,13 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The class to represent the orders in the database
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.2
  * @since 2025-05-05
  */
 @Entity
@@ -21,7 +23,8 @@ public class Order {
      * Order ID
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private long id;
 
     /**
@@ -34,12 +37,13 @@ public class Order {
     /**
      * The date the order was placed
      */
-    @Column(name = "order_date")
+    @Column(name = "order_date", nullable = false)
     private LocalDateTime orderDate;
 
     /**
      * The status of the order
      */
+    @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
     /**
@@ -93,6 +97,7 @@ public class Order {
     /**
      * The order province
      */
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private Province province;
 
@@ -114,6 +119,12 @@ public class Order {
     @Column(name = "estimated_delivery")
     private LocalDate estimatedDelivery;
 
+    /**
+     * The items of the order
+     */
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<OrderItem> orderItems = new ArrayList<>();
+
     /**
      * Get the user ID
      * @return user ID
@@ -370,6 +381,31 @@ public class Order {
         this.estimatedDelivery = estimatedDelivery;
     }
 
+    /**
+     * Get the items of the order
+     * @return order items
+     */
+    public List<OrderItem> getOrderItems() {
+        return orderItems;
+    }
+
+    /**
+     * Set the items of the order
+     * @param orderItems order items
+     */
+    public void setOrderItems(List<OrderItem> orderItems) {
+        this.orderItems = orderItems;
+    }
+
+    /**
+     * Adds an item to the order
+     * @param item the order item
+     */
+    public void addOrderItem(OrderItem item) {
+        item.setOrder(this);
+        orderItems.add(item);
+    }
+
     /**
      * The order class string
      * @return order string
@@ -6,7 +6,7 @@ import java.math.BigDecimal;
 /**
  * The class to represent the order items in the database
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-05
  */
 @Entity
@@ -17,7 +17,8 @@ public class OrderItem {
      * Unique identifier for the order item.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -37,7 +38,7 @@ public class OrderItem {
      * ID of the product (could refer to a game or accessory).
      */
     @Column(name = "product_id", nullable = false)
-    private Integer productId;
+    private Long productId;
 
     /**
      * Name of the product.
@@ -130,7 +131,7 @@ public class OrderItem {
      * Gets the product ID.
      * @return the product ID
      */
-    public Integer getProductId() {
+    public Long getProductId() {
         return productId;
     }
 
@@ -138,7 +139,7 @@ public class OrderItem {
      * Sets the product ID.
      * @param productId the product ID
      */
-    public void setProductId(Integer productId) {
+    public void setProductId(Long productId) {
         this.productId = productId;
     }
 
@@ -0,0 +1,186 @@
+package ca.eshopexpress.model.entity;
+
+import ca.eshopexpress.model.enums.EmailStatus;
+import ca.eshopexpress.model.enums.EmailType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * The class to represent an email waiting in the outbox.
+ * <p>
+ * Rows are written in the same transaction as the business change they announce, so an email
+ * is queued if and only if that change commits. Only the type and a reference ID are stored;
+ * the body is rendered by the dispatcher when the email is sent.
+ * </p>
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+public class OutboxEmail {
+
+    /**
+     * The outbox email ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The kind of email
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "email_type", nullable = false, length = 30)
+    private EmailType type;
+
+    /**
+     * The recipient address
+     */
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * ID of the record the email is about, e.g. the order ID
+     */
+    @Column(name = "reference_id", nullable = false)
+    private Long referenceId;
+
+    /**
+     * The delivery status
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmailStatus status = EmailStatus.PENDING;
+
+    /**
+     * Number of failed send attempts
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Earliest time of the next send attempt
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * The date and time the email was queued
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * The date and time the mail server accepted the email
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * The error of the last failed attempt
+     */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * Default constructor for JPA
+     */
+    protected OutboxEmail() {
+    }
+
+    /**
+     * Creates a pending email due immediately
+     * @param type the kind of email
+     * @param recipient the recipient address
+     * @param referenceId ID of the record the email is about
+     */
+    public OutboxEmail(EmailType type, String recipient, Long referenceId) {
+        this.type = type;
+        this.recipient = recipient;
+        this.referenceId = referenceId;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = createdAt;
+    }
+
+    /**
+     * Get the outbox email ID
+     * @return outbox email ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Get the kind of email
+     * @return email type
+     */
+    public EmailType getType() {
+        return type;
+    }
+
+    /**
+     * Get the recipient address
+     * @return recipient
+     */
+    public String getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * Get the ID of the record the email is about
+     * @return reference ID
+     */
+    public Long getReferenceId() {
+        return referenceId;
+    }
+
+    /**
+     * Get the delivery status
+     * @return status
+     */
+    public EmailStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the number of failed attempts
+     * @return attempts
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * Get the earliest time of the next attempt
+     * @return next attempt time
+     */
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    /**
+     * Get the date and time the email was queued
+     * @return queue time
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Get the date and time the email was sent
+     * @return send time, or null
+     */
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    /**
+     * Get the error of the last failed attempt
+     * @return last error, or null
+     */
+    public String getLastError() {
+        return lastError;
+    }
+}
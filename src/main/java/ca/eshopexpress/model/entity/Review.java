@@ -100,7 +100,7 @@ public class Review {
      * Set the game rating
      * @param rating game rating
      */
-    public void setRatingI(Integer rating) {
+    public void setRating(Integer rating) {
         this.rating = rating;
     }
 
@@ -10,7 +10,7 @@ import java.util.Set;
 /**
  * The class to represent the users in the database
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.2
  * @since 2025-04-24
  */
 @Entity
@@ -52,28 +52,28 @@ public class User {
     private String lastName;
 
     /**
-     * User's roles
+     * User's roles, loaded on demand; logins fetch them with the user
      */
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles = new HashSet<>();
 
     /**
      * User's orders
      */
-    @OneToMany(mappedBy = "users")
+    @OneToMany(mappedBy = "user")
     private Set<Order> orders = new HashSet<>();
 
     /**
      * User's reviews
      */
-    @OneToMany(mappedBy = "users")
+    @OneToMany(mappedBy = "user")
     private List<Review> reviews = new ArrayList<>();
 
     /**
      * User's wishlist
      */
-    @OneToMany(mappedBy = "users")
+    @OneToMany(mappedBy = "user")
     private List<WishlistItem> wishlistItems = new ArrayList<>();
 
     /**
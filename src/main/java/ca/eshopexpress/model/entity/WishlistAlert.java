@@ -0,0 +1,159 @@
+package ca.eshopexpress.model.entity;
+
+import ca.eshopexpress.model.enums.WishlistAlertType;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The class to represent a change to a game that its wishers are told about.
+ * <p>
+ * Rows are recorded and fanned out to the wishers' outbox emails by
+ * {@link ca.eshopexpress.service.wishlist.WishlistNotifier} with set-based JDBC statements,
+ * which also keep the status and fan-out cursor columns; the entity is only read to render
+ * the emails.
+ * </p>
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Entity
+@Table(name = "wishlist_alerts")
+public class WishlistAlert {
+
+    /**
+     * The wishlist alert ID
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The game that changed
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    private Game game;
+
+    /**
+     * The kind of change
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_type", nullable = false, length = 20)
+    private WishlistAlertType type;
+
+    /**
+     * The price before the change
+     */
+    @Column(name = "old_price", precision = 10, scale = 2)
+    private BigDecimal oldPrice;
+
+    /**
+     * The price after the change
+     */
+    @Column(name = "new_price", precision = 10, scale = 2)
+    private BigDecimal newPrice;
+
+    /**
+     * The date and time the change was saved
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Get the alert ID
+     * @return wishlist alert ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Set the alert ID
+     * @param id wishlist alert ID
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get the game that changed
+     * @return the game
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Set the game that changed
+     * @param game the game
+     */
+    public void setGame(Game game) {
+        this.game = game;
+    }
+
+    /**
+     * Get the kind of change
+     * @return price drop or restock
+     */
+    public WishlistAlertType getType() {
+        return type;
+    }
+
+    /**
+     * Set the kind of change
+     * @param type price drop or restock
+     */
+    public void setType(WishlistAlertType type) {
+        this.type = type;
+    }
+
+    /**
+     * Get the price before the change
+     * @return old price
+     */
+    public BigDecimal getOldPrice() {
+        return oldPrice;
+    }
+
+    /**
+     * Set the price before the change
+     * @param oldPrice old price
+     */
+    public void setOldPrice(BigDecimal oldPrice) {
+        this.oldPrice = oldPrice;
+    }
+
+    /**
+     * Get the price after the change
+     * @return new price
+     */
+    public BigDecimal getNewPrice() {
+        return newPrice;
+    }
+
+    /**
+     * Set the price after the change
+     * @param newPrice new price
+     */
+    public void setNewPrice(BigDecimal newPrice) {
+        this.newPrice = newPrice;
+    }
+
+    /**
+     * Get the time the change was saved
+     * @return time saved
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Set the time the change was saved
+     * @param createdAt time saved
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 /**
  * The class to represent the wishlist items in the database
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-08
  */
 @Entity
@@ -23,14 +23,14 @@ public class WishlistItem {
     /**
      * The user's wishlist
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     /**
      * The game in the wishlist
      */
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
@@ -0,0 +1,22 @@
+package ca.eshopexpress.model.enums;
+
+/**
+ * Enum for the delivery status of an outbox email
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum EmailStatus {
+    /**
+     * Waiting to be sent, possibly after a failed attempt
+     */
+    PENDING,
+    /**
+     * Accepted by the mail server
+     */
+    SENT,
+    /**
+     * Gave up after the maximum number of attempts
+     */
+    FAILED
+}
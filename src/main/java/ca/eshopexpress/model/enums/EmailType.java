@@ -0,0 +1,47 @@
+package ca.eshopexpress.model.enums;
+
+/**
+ * Enum for each kind of email sent to customers, with the template it is rendered from
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public enum EmailType {
+    /**
+     * Order confirmation; the reference is the order ID
+     */
+    ORDER_CONFIRMATION("email/order-confirmation"),
+    /**
+     * Activation keys of the digital games in an order; the reference is the order ID
+     */
+    DIGITAL_KEYS("email/digital-keys"),
+    /**
+     * A wishlisted game is cheaper; the reference is the wishlist alert ID
+     */
+    WISHLIST_PRICE_DROP("email/wishlist-price-drop"),
+    /**
+     * A wishlisted game is back in stock; the reference is the wishlist alert ID
+     */
+    WISHLIST_RESTOCK("email/wishlist-restock");
+
+    /**
+     * Thymeleaf template the email is rendered from
+     */
+    private final String template;
+
+    /**
+     * Constructor for the email type enum
+     * @param template Thymeleaf template name
+     */
+    EmailType(String template) {
+        this.template = template;
+    }
+
+    /**
+     * Get the Thymeleaf template name
+     * @return template name
+     */
+    public String getTemplate() {
+        return template;
+    }
+}
@@ -3,7 +3,7 @@ package ca.eshopexpress.model.enums;
 /**
  * Enum for each of the possible order statuses
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-09
  */
 public enum OrderStatus {
@@ -34,5 +34,13 @@ public enum OrderStatus {
     /**
      * Order has failed
      */
-    FAILED
+    FAILED;
+
+    /**
+     * Check whether orders in this status count as sales
+     * @return true unless the order was cancelled, returned or failed
+     */
+    public boolean isBooked() {
+        return this == PENDING || this == PROCESSING || this == SHIPPED || this == DELIVERED;
+    }
 }
@@ -0,0 +1,30 @@
+package ca.eshopexpress.model.enums;
+
+/**
+ * Enum for each of the dimensions sales are rolled up by
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum SalesDimension {
+    /**
+     * All orders of a day
+     */
+    TOTAL,
+    /**
+     * Orders by shipping province
+     */
+    PROVINCE,
+    /**
+     * Order items by platform
+     */
+    PLATFORM,
+    /**
+     * Order items by game or accessory
+     */
+    PRODUCT_TYPE,
+    /**
+     * Order items by product
+     */
+    SKU
+}
@@ -0,0 +1,39 @@
+package ca.eshopexpress.model.enums;
+
+/**
+ * Enum for the changes to a game that its wishers are told about, with the email they get
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum WishlistAlertType {
+    /**
+     * The price went down
+     */
+    PRICE_DROP(EmailType.WISHLIST_PRICE_DROP),
+    /**
+     * A sold-out physical game is back in stock
+     */
+    RESTOCK(EmailType.WISHLIST_RESTOCK);
+
+    /**
+     * Email sent to each wisher
+     */
+    private final EmailType emailType;
+
+    /**
+     * Constructor for the wishlist alert type enum
+     * @param emailType email sent to each wisher
+     */
+    WishlistAlertType(EmailType emailType) {
+        this.emailType = emailType;
+    }
+
+    /**
+     * Get the email sent to each wisher
+     * @return email type
+     */
+    public EmailType getEmailType() {
+        return emailType;
+    }
+}
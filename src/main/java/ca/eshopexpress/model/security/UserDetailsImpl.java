@@ -1,4 +1,151 @@
 package ca.eshopexpress.model.security;
 
-public class UserDetailsImpl {
+import ca.eshopexpress.model.entity.Role;
+import ca.eshopexpress.model.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of a user's login details, detached from the {@link User} entity so that
+ * it can be cached between logins.
+ * <p>
+ * It deliberately does not implement {@code CredentialsContainer}: Spring Security would
+ * otherwise erase the password hash of the cached instance after the first login.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class UserDetailsImpl implements UserDetails {
+    /**
+     * Serialization version
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * User ID
+     */
+    private final Long id;
+    /**
+     * Username
+     */
+    private final String username;
+    /**
+     * Password hash
+     */
+    private final String password;
+    /**
+     * One {@code ROLE_} authority per role
+     */
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * Constructs the login details
+     * @param id user ID
+     * @param username username
+     * @param password password hash
+     * @param authorities granted authorities
+     */
+    public UserDetailsImpl(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * Builds the login details of a user whose roles are loaded
+     * @param user the user
+     * @return the login details
+     */
+    public static UserDetailsImpl build(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .map(Role::getName)
+                .sorted()
+                .<GrantedAuthority>map(name -> new SimpleGrantedAuthority("ROLE_" + name))
+                .toList();
+        return new UserDetailsImpl(user.getId(), user.getUsername(), user.getPassword(), authorities);
+    }
+
+    /**
+     * Copy of these details with a new password hash
+     * @param password the new password hash
+     * @return the updated details
+     */
+    public UserDetailsImpl withPassword(String password) {
+        return new UserDetailsImpl(id, username, password, authorities);
+    }
+
+    /**
+     * Get the user ID
+     * @return user ID
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Get the username
+     * @return username
+     */
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Get the password hash
+     * @return password hash
+     */
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Get the granted authorities
+     * @return one {@code ROLE_} authority per role
+     */
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Two login details are equal when they belong to the same username
+     * @param o the other object
+     * @return true if both have the same username
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof UserDetailsImpl other && Objects.equals(username, other.username);
+    }
+
+    /**
+     * Hash code of the username
+     * @return hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(username);
+    }
+
+    /**
+     * A string of the login details, without the password hash
+     * @return login details
+     */
+    @Override
+    public String toString() {
+        return "UserDetailsImpl{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", authorities=" + authorities +
+                '}';
+    }
 }
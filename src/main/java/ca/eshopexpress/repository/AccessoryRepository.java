@@ -1,5 +1,6 @@
 package ca.eshopexpress.repository;
 
+import ca.eshopexpress.model.dto.ProductVersion;
 import ca.eshopexpress.model.entity.Accessory;
 import ca.eshopexpress.model.entity.Platform;
 import ca.eshopexpress.model.enums.AccessoryType;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link Accessory} entities.
@@ -18,7 +20,7 @@ import java.util.List;
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-10
  */
 @Repository
@@ -31,7 +33,8 @@ public interface AccessoryRepository extends JpaRepository<Accessory, Long> {
      * @param accessoryType the type of accessory to search for
      * @return a list of matching accessories
      */
-    List<Accessory> findByAccessoryTypeContainingIgnoreCase(AccessoryType accessoryType);
+    @Query("SELECT a FROM Accessory a WHERE a.type = :accessoryType")
+    List<Accessory> findByAccessoryTypeContainingIgnoreCase(@Param("accessoryType") AccessoryType accessoryType);
 
     /**
      * Retrieves a list of accessories whose names contain the specified string,
@@ -48,7 +51,8 @@ public interface AccessoryRepository extends JpaRepository<Accessory, Long> {
      * @param platform the platform to filter by
      * @return a list of accessories that support the given platform
      */
-    List<Accessory> findByPlatformsContaining(Platform platform);
+    @Query("SELECT a FROM Accessory a WHERE a.platform = :platform")
+    List<Accessory> findByPlatformsContaining(@Param("platform") Platform platform);
 
     /**
      * Retrieves a list of accessories whose price is less than or equal to the specified maximum price.
@@ -58,4 +62,13 @@ public interface AccessoryRepository extends JpaRepository<Accessory, Long> {
      */
     @Query("SELECT a FROM Accessory a WHERE a.price <= :maxPrice")
     List<Accessory> findByPriceLessThan(@Param("maxPrice") double maxPrice);
+
+    /**
+     * Reads the version stamp of a accessory without loading the entity.
+     *
+     * @param id the ID of the accessory
+     * @return the version stamp, if the accessory exists
+     */
+    @Query("SELECT new ca.eshopexpress.model.dto.ProductVersion(a.version, a.updatedAt) FROM Accessory a WHERE a.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
 }
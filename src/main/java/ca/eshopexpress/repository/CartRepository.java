@@ -0,0 +1,42 @@
+package ca.eshopexpress.repository;
+
+import ca.eshopexpress.model.entity.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for managing saved {@link Cart} entities.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+public interface CartRepository extends JpaRepository<Cart, Long> {
+
+    /**
+     * Retrieves the saved cart of a customer together with its lines.
+     *
+     * @param userId the ID of the customer
+     * @return the saved cart, if any
+     */
+    @EntityGraph("Cart.items")
+    Optional<Cart> findByUserId(Long userId);
+
+    /**
+     * Deletes the saved cart of a customer, e.g. once it has been turned into an order.
+     * Its lines are removed by the {@code ON DELETE CASCADE} foreign key.
+     *
+     * @param userId the ID of the customer
+     * @return the number of carts deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM carts WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,20 +1,28 @@
 package ca.eshopexpress.repository;
 
 import ca.eshopexpress.model.entity.DigitalKey;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.model.enums.KeyStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository interface for managing {@link DigitalKey} entities.
  * <p>
- * Provides CRUD operations and query methods to retrieve digital keys for games.
+ * Provides CRUD operations and query methods to retrieve digital keys for games,
+ * as well as the set-based status transitions used to allocate keys
+ * (AVAILABLE &rarr; RESERVED &rarr; SOLD) without double-selling them.
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-11
  */
 @Repository
@@ -39,10 +47,10 @@ public interface DigitalKeyRepository extends JpaRepository<DigitalKey, Long> {
     /**
      * Retrieves a list of digital keys with the specified status.
      *
-     * @param status the status of the digital key (e.g., AVAILABLE, SOLD, RESERVED)
+     * @param status the status of the digital key
      * @return a list of digital keys with the given status
      */
-    List<DigitalKey> findByStatus(String status);
+    List<DigitalKey> findByStatus(KeyStatus status);
 
     /**
      * Retrieves a digital key by its unique activation key.
@@ -51,4 +59,82 @@ public interface DigitalKeyRepository extends JpaRepository<DigitalKey, Long> {
      * @return the digital key matching the activation key
      */
     DigitalKey findByActivationKey(String activationKey);
+
+    /**
+     * Locks a batch of available keys for a game and platform, skipping keys that are
+     * already locked by another transaction so concurrent callers never wait on each other.
+     *
+     * @param gameId the ID of the game
+     * @param platformId the ID of the platform
+     * @param limit the maximum number of keys to lock
+     * @return the IDs of the locked keys
+     */
+    @Query(value = "SELECT id FROM digital_keys " +
+            "WHERE game_id = :gameId AND platform_id = :platformId AND status = 'AVAILABLE' " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Number> lockAvailableKeyIds(@Param("gameId") Long gameId, @Param("platformId") Long platformId,
+                                     @Param("limit") int limit);
+
+    /**
+     * Marks a batch of keys as reserved until the given time.
+     *
+     * @param ids the IDs of the keys
+     * @param reservedUntil the time the reservation lapses
+     * @return the number of keys updated
+     */
+    @Modifying
+    @Query("UPDATE DigitalKey k SET k.status = ca.eshopexpress.model.enums.KeyStatus.RESERVED, " +
+            "k.reservedUntil = :reservedUntil WHERE k.id IN :ids")
+    int reserve(@Param("ids") Collection<Long> ids, @Param("reservedUntil") LocalDateTime reservedUntil);
+
+    /**
+     * Marks a reserved key as sold to an order item, provided the reservation is still the one
+     * the caller holds.
+     *
+     * @param id the ID of the key
+     * @param reservedUntil the expiry of the caller's reservation
+     * @param orderItem the order item the key is sold to
+     * @return 1 if the key was sold, 0 if the reservation had already lapsed
+     */
+    @Modifying
+    @Query("UPDATE DigitalKey k SET k.status = ca.eshopexpress.model.enums.KeyStatus.SOLD, " +
+            "k.orderItem = :orderItem, k.reservedUntil = null " +
+            "WHERE k.id = :id AND k.status = ca.eshopexpress.model.enums.KeyStatus.RESERVED " +
+            "AND k.reservedUntil = :reservedUntil")
+    int sell(@Param("id") long id, @Param("reservedUntil") LocalDateTime reservedUntil,
+             @Param("orderItem") OrderItem orderItem);
+
+    /**
+     * Returns reserved keys to the available pool.
+     *
+     * @param ids the IDs of the keys
+     * @return the number of keys released
+     */
+    @Modifying
+    @Query("UPDATE DigitalKey k SET k.status = ca.eshopexpress.model.enums.KeyStatus.AVAILABLE, " +
+            "k.reservedUntil = null " +
+            "WHERE k.id IN :ids AND k.status = ca.eshopexpress.model.enums.KeyStatus.RESERVED")
+    int release(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Returns every reservation that lapsed before the given time to the available pool.
+     *
+     * @param now the current time
+     * @return the number of keys released
+     */
+    @Modifying
+    @Query("UPDATE DigitalKey k SET k.status = ca.eshopexpress.model.enums.KeyStatus.AVAILABLE, " +
+            "k.reservedUntil = null " +
+            "WHERE k.status = ca.eshopexpress.model.enums.KeyStatus.RESERVED AND k.reservedUntil < :now")
+    int releaseExpired(@Param("now") LocalDateTime now);
+
+    /**
+     * Retrieves the keys sold to the items of an order, with their games and platforms.
+     *
+     * @param orderId the ID of the order
+     * @return the order's keys
+     */
+    @Query("SELECT k FROM DigitalKey k JOIN FETCH k.game JOIN FETCH k.platform " +
+            "WHERE k.orderItem.order.id = :orderId ORDER BY k.id")
+    List<DigitalKey> findSoldByOrderId(@Param("orderId") long orderId);
 }
@@ -1,14 +1,21 @@
 package ca.eshopexpress.repository;
 
+import ca.eshopexpress.model.dto.ProductVersion;
+import ca.eshopexpress.model.dto.GamePlatformName;
+import ca.eshopexpress.model.dto.GameSummary;
 import ca.eshopexpress.model.entity.Game;
 import ca.eshopexpress.model.entity.Genre;
 import ca.eshopexpress.model.entity.Platform;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -30,11 +37,14 @@ public interface GameRepository extends JpaRepository<Game, Long> {
 
     /**
      * Retrieves a list of games that are available on the specified platform name.
+     * Joins the platform rather than testing membership, so the join table is read by platform.
      *
      * @param platform the platform to search for
      * @return a list of games available on the specified platform
      */
-    List<Game> findByPlatformsContaining(Platform platform);
+    @EntityGraph("Game.genresAndPlatforms")
+    @Query("SELECT g FROM Game g JOIN g.platforms p WHERE p = :platform")
+    List<Game> findByPlatformsContaining(@Param("platform") Platform platform);
 
     /**
      * Retrieves a list of games that belong to the specified genre.
@@ -42,7 +52,9 @@ public interface GameRepository extends JpaRepository<Game, Long> {
      * @param genre the genre to search for
      * @return a list of games in the specified genre
      */
-    List<Game> findByGenresContaining(Genre genre);
+    @EntityGraph("Game.genresAndPlatforms")
+    @Query("SELECT g FROM Game g JOIN g.genres gen WHERE gen = :genre")
+    List<Game> findByGenresContaining(@Param("genre") Genre genre);
 
     /**
      * Retrieves a list of games released after the specified date,
@@ -73,18 +85,152 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     List<Game> findByMinimumRating(@Param("minRating") Double minRating);
 
     /**
-     * Retrieves a list of recommended games that match the specified genres and platforms,
-     * excluding the provided list of games (e.g., already played or owned games).
+     * Retrieves the best-rated games sharing at least one genre and one platform with the
+     * given sets. Uses {@code EXISTS} rather than joins so each game appears once, and leaves
+     * excluding owned games to the caller instead of binding a {@code NOT IN} list.
      *
-     * @param genres        the preferred genres
-     * @param platforms     the preferred platforms
-     * @param excludedGames the games to exclude from recommendations
-     * @return a list of recommended games
+     * @param genres    the preferred genres
+     * @param platforms the preferred platforms
+     * @param pageable  the maximum number of games to return
+     * @return a list of recommended games, best rated first
      */
-    @Query("SELECT g FROM Game g JOIN g.genres gen JOIN g.platforms plat " +
-            "WHERE gen IN :genres AND plat IN :platforms AND g NOT IN :excludedGames")
+    @Query("SELECT g FROM Game g " +
+            "WHERE EXISTS (SELECT 1 FROM Game g1 JOIN g1.genres gen WHERE g1 = g AND gen IN :genres) " +
+            "AND EXISTS (SELECT 1 FROM Game g2 JOIN g2.platforms plat WHERE g2 = g AND plat IN :platforms) " +
+            "ORDER BY g.averageRating DESC NULLS LAST, g.id")
     List<Game> findRecommendedGames(
             @Param("genres") Set<Genre> genres,
             @Param("platforms") Set<Platform> platforms,
-            @Param("excludedGames") List<Game> excludedGames);
-}
\ No newline at end of file
+            Pageable pageable);
+
+    /**
+     * Applies one review change to a game's running rating aggregates in a single statement,
+     * and increments the game's version since the game page shows them.
+     * A new review passes only {@code added}, a deleted one only {@code removed}, and an edited
+     * one both; 0 means "none".
+     *
+     * @param gameId     the ID of the reviewed game
+     * @param added      the rating added, or 0
+     * @param removed    the rating removed, or 0
+     * @param countDelta the change in review count
+     * @return the number of games updated
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE games SET " +
+            "review_count = review_count + :countDelta, " +
+            "rating_sum = rating_sum + :added - :removed, " +
+            "one_star_count = one_star_count + (CASE WHEN :added = 1 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 1 THEN 1 ELSE 0 END), " +
+            "two_star_count = two_star_count + (CASE WHEN :added = 2 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 2 THEN 1 ELSE 0 END), " +
+            "three_star_count = three_star_count + (CASE WHEN :added = 3 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 3 THEN 1 ELSE 0 END), " +
+            "four_star_count = four_star_count + (CASE WHEN :added = 4 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 4 THEN 1 ELSE 0 END), " +
+            "five_star_count = five_star_count + (CASE WHEN :added = 5 THEN 1 ELSE 0 END) - (CASE WHEN :removed = 5 THEN 1 ELSE 0 END), " +
+            "average_rating = CASE WHEN review_count + :countDelta > 0 " +
+            "THEN CAST(rating_sum + :added - :removed AS DOUBLE PRECISION) / (review_count + :countDelta) END, " +
+            "version = version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :gameId", nativeQuery = true)
+    int applyRatingChange(@Param("gameId") Long gameId, @Param("added") int added,
+                          @Param("removed") int removed, @Param("countDelta") int countDelta);
+
+    /**
+     * Reads a game's stored average rating without loading the entity.
+     *
+     * @param gameId the ID of the game
+     * @return the average rating, or null if the game has no reviews
+     */
+    @Query("SELECT g.averageRating FROM Game g WHERE g.id = :gameId")
+    Double findAverageRatingById(@Param("gameId") Long gameId);
+
+    /**
+     * Recomputes the rating aggregates of every game from the reviews table and corrects
+     * the games whose stored values have drifted.
+     *
+     * @return the number of games corrected
+     */
+    @Modifying
+    @Query(value = "UPDATE games g SET review_count = a.cnt, rating_sum = a.total, " +
+            "one_star_count = a.r1, two_star_count = a.r2, three_star_count = a.r3, " +
+            "four_star_count = a.r4, five_star_count = a.r5, " +
+            "average_rating = CASE WHEN a.cnt > 0 THEN CAST(a.total AS DOUBLE PRECISION) / a.cnt END, " +
+            "version = g.version + 1, updated_at = CURRENT_TIMESTAMP " +
+            "FROM (SELECT gg.id AS game_id, COUNT(r.id) AS cnt, COALESCE(SUM(r.rating), 0) AS total, " +
+            "COUNT(*) FILTER (WHERE r.rating = 1) AS r1, COUNT(*) FILTER (WHERE r.rating = 2) AS r2, " +
+            "COUNT(*) FILTER (WHERE r.rating = 3) AS r3, COUNT(*) FILTER (WHERE r.rating = 4) AS r4, " +
+            "COUNT(*) FILTER (WHERE r.rating = 5) AS r5 " +
+            "FROM games gg LEFT JOIN reviews r ON r.game_id = gg.id GROUP BY gg.id) a " +
+            "WHERE g.id = a.game_id AND (g.review_count <> a.cnt OR g.rating_sum <> a.total " +
+            "OR g.one_star_count <> a.r1 OR g.two_star_count <> a.r2 OR g.three_star_count <> a.r3 " +
+            "OR g.four_star_count <> a.r4 OR g.five_star_count <> a.r5)", nativeQuery = true)
+    int reconcileRatings();
+
+    /**
+     * Retrieves every game with its genres and platforms in one statement.
+     *
+     * @return all games, ready for listing
+     */
+    @EntityGraph("Game.genresAndPlatforms")
+    @Query("SELECT g FROM Game g")
+    List<Game> findAllListView();
+
+    /**
+     * Retrieves games by ID with their genres and platforms in one statement,
+     * for catalog pages.
+     *
+     * @param ids the game IDs
+     * @return the games, in no particular order
+     */
+    @EntityGraph("Game.genresAndPlatforms")
+    @Query("SELECT g FROM Game g WHERE g.id IN :ids")
+    List<Game> findListViewByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves one game with its genres and platforms. Its reviews are paged through
+     * {@link ReviewRepository#findPageByGameId} instead of joined here.
+     *
+     * @param id the game ID
+     * @return the game, if found
+     */
+    @EntityGraph("Game.genresAndPlatforms")
+    @Query("SELECT g FROM Game g WHERE g.id = :id")
+    Optional<Game> findDetailViewById(@Param("id") Long id);
+
+    /**
+     * Retrieves listing read models for games by ID, without loading the entities.
+     *
+     * @param ids the game IDs
+     * @return the summaries, in no particular order
+     */
+    @Query("SELECT new ca.eshopexpress.model.dto.GameSummary(g.id, g.title, g.price, g.coverImageUrl, " +
+            "g.digital, g.stockQuantity, g.averageRating) FROM Game g WHERE g.id IN :ids")
+    List<GameSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the platform names of games by ID, without loading the games or platforms.
+     *
+     * @param ids the game IDs
+     * @return one row per game and platform, ordered by platform name
+     */
+    @Query("SELECT new ca.eshopexpress.model.dto.GamePlatformName(g.id, p.name) " +
+            "FROM Game g JOIN g.platforms p WHERE g.id IN :ids ORDER BY p.name")
+    List<GamePlatformName> findPlatformNamesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves listing read models for the games released after a date, newest first.
+     *
+     * @param date     the cutoff release date
+     * @param pageable the maximum number of games
+     * @return the summaries
+     */
+    @Query("SELECT new ca.eshopexpress.model.dto.GameSummary(g.id, g.title, g.price, g.coverImageUrl, " +
+            "g.digital, g.stockQuantity, g.averageRating) FROM Game g " +
+            "WHERE g.releaseDate > :date ORDER BY g.releaseDate DESC, g.id")
+    List<GameSummary> findSummariesReleasedAfter(@Param("date") LocalDate date, Pageable pageable);
+
+    /**
+     * Reads the version stamp of a game without loading the entity.
+     *
+     * @param id the ID of the game
+     * @return the version stamp, if the game exists
+     */
+    @Query("SELECT new ca.eshopexpress.model.dto.ProductVersion(g.version, g.updatedAt) FROM Game g WHERE g.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+}
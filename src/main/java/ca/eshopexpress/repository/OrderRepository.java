@@ -1,67 +1,116 @@
 package ca.eshopexpress.repository;
 
 import ca.eshopexpress.model.entity.Order;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link Order} entities.
  * <p>
- * Provides CRUD operations and custom query methods for retrieving orders based
- * on customer information such as first name, last name, email, or customer ID.
+ * Provides CRUD operations and query methods for retrieving orders, overall or by customer.
+ * Listings are paginated with keyset (seek) queries on {@code (order_date, id)} so that
+ * every page costs the same regardless of how deep into the table it is.
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.2
  * @since 2025-05-11
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
     /**
-     * Retrieves a list of orders placed by a specific customer based on their customer ID.
+     * Retrieves the first page of orders, newest first.
      *
-     * @param customerId the ID of the customer
-     * @return a list of orders belonging to the customer
+     * @param pageable the page size; the page number is ignored
+     * @return the newest orders
      */
-    List<Order> findByCustomerId(Long customerId);
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findFirstPage(Pageable pageable);
 
     /**
-     * Retrieves a list of orders placed by customers with the specified last name.
+     * Retrieves the page of orders placed strictly before the given keyset position, newest first.
+     * The position is compared as a row value so it becomes the start key of an index scan.
      *
-     * @param lastName the last name of the customer
-     * @return a list of orders with the matching last name
+     * @param orderDate the order date of the last order on the previous page
+     * @param id the ID of the last order on the previous page
+     * @param pageable the page size; the page number is ignored
+     * @return the orders following the position
      */
-    List<Order> findByLastName(String lastName);
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user " +
+            "WHERE (o.orderDate, o.id) < (:orderDate, :id) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageAfter(@Param("orderDate") LocalDateTime orderDate, @Param("id") long id, Pageable pageable);
 
     /**
-     * Retrieves a list of orders placed by customers with the specified first name.
+     * Retrieves the first page of a user's orders, newest first.
      *
-     * @param firstName the first name of the customer
-     * @return a list of orders with the matching first name
+     * @param userId the ID of the user
+     * @param pageable the page size; the page number is ignored
+     * @return the user's newest orders
      */
-    List<Order> findByFirstName(String firstName);
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user WHERE o.user.id = :userId " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findFirstPageByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
-     * Retrieves a list of orders placed by customers with the specified email address.
+     * Retrieves the page of a user's orders placed strictly before the given keyset position, newest first.
      *
-     * @param email the email address of the customer
-     * @return a list of orders with the matching email
+     * @param userId the ID of the user
+     * @param orderDate the order date of the last order on the previous page
+     * @param id the ID of the last order on the previous page
+     * @param pageable the page size; the page number is ignored
+     * @return the user's orders following the position
      */
-    List<Order> findByEmail(String email);
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user WHERE o.user.id = :userId " +
+            "AND (o.orderDate, o.id) < (:orderDate, :id) " +
+            "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Order> findPageAfterByUserId(@Param("userId") Long userId, @Param("orderDate") LocalDateTime orderDate,
+                                      @Param("id") long id, Pageable pageable);
 
     /**
-     * Retrieves a list of orders placed by customers with a given first and last name.
-     * This custom query is used when searching for orders based on full name.
+     * Streams every order, newest first, fetching rows from the database in batches.
+     * Must be consumed inside a transaction and closed afterwards.
      *
-     * @param firstName the first name of the customer
-     * @param lastName the last name of the customer
-     * @return a list of orders placed by customers with the matching names
+     * @return a stream over all orders
      */
-    @Query("SELECT o FROM Order o WHERE o.firstName = :firstName AND o.lastName = :lastName")
-    List<Order> findByFullName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.user ORDER BY o.orderDate DESC, o.id DESC")
+    Stream<Order> streamAll();
+
+    /**
+     * Retrieves an order together with its user and items, for the confirmation page and email.
+     *
+     * @param id the ID of the order
+     * @return the order, if it exists
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.user LEFT JOIN FETCH o.orderItems WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") long id);
+
+    /**
+     * Retrieves an order and locks its row until the transaction ends, so that concurrent status
+     * changes of the same order are applied one after the other.
+     *
+     * @param id the ID of the order
+     * @return the order, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findForUpdateById(@Param("id") long id);
 }
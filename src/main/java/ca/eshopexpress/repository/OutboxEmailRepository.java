@@ -0,0 +1,29 @@
+package ca.eshopexpress.repository;
+
+import ca.eshopexpress.model.entity.OutboxEmail;
+import ca.eshopexpress.model.enums.EmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing {@link OutboxEmail} entities.
+ * <p>
+ * Emails are queued through this repository; claiming and completing them is done by the
+ * dispatcher with set-based JDBC statements.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Counts the outbox emails in a status.
+     *
+     * @param status the delivery status
+     * @return the number of emails
+     */
+    long countByStatus(EmailStatus status);
+}
@@ -1,7 +1,10 @@
 package ca.eshopexpress.repository;
 
 import ca.eshopexpress.model.entity.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +16,7 @@ import java.util.List;
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-11
  */
 @Repository
@@ -27,6 +30,16 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      */
     List<Review> findByGameId(Long gameId);
 
+    /**
+     * Retrieves one page of a game's reviews with their authors, newest first.
+     *
+     * @param gameId the ID of the game
+     * @param pageable the page to retrieve
+     * @return the reviews on the page
+     */
+    @Query("SELECT r FROM Review r JOIN FETCH r.user WHERE r.game.id = :gameId ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findPageByGameId(@Param("gameId") Long gameId, Pageable pageable);
+
     /**
      * Retrieves a list of reviews written by a specific user.
      *
@@ -44,4 +57,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
      * @return the review matching both game and user
      */
     Review findByGameIdAndUserId(Long gameId, Long userId);
+
+    /**
+     * Checks whether a user has reviewed a game without loading the review.
+     *
+     * @param gameId the ID of the game
+     * @param userId the ID of the user
+     * @return true if the user has reviewed the game
+     */
+    boolean existsByGameIdAndUserId(Long gameId, Long userId);
 }
@@ -1,7 +1,10 @@
 package ca.eshopexpress.repository;
 
 import ca.eshopexpress.model.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,7 +16,7 @@ import java.util.Optional;
  * Provides methods to retrieve users by various attributes such as ID, last name,
  * and city. Also allows for enabling and disabling user accounts.
  *
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-12
  */
 @Repository
@@ -49,7 +52,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param city the city to search for
      * @return a list of users living in the specified city
      */
-    List<User> findByCityContainingIgnoreCase(String city);
+    @Query(value = "SELECT * FROM users WHERE UPPER(city) LIKE UPPER('%' || :city || '%')", nativeQuery = true)
+    List<User> findByCityContainingIgnoreCase(@Param("city") String city);
 
     /**
      * Finds a user by their email address.
@@ -67,6 +71,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Finds a user by their username, loading their roles in the same query.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the user with its roles if found, otherwise empty
+     */
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsername(String username);
+
     /**
      * Saves a given user entity (either creating a new user or updating an existing one).
      *
@@ -0,0 +1,32 @@
+package ca.eshopexpress.repository;
+
+import ca.eshopexpress.model.entity.WishlistAlert;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for reading {@link WishlistAlert} entities.
+ * <p>
+ * Alerts are recorded and fanned out by the wishlist notifier with set-based JDBC statements;
+ * this repository only loads them to render the emails.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Repository
+public interface WishlistAlertRepository extends JpaRepository<WishlistAlert, Long> {
+
+    /**
+     * Retrieves an alert with its game.
+     *
+     * @param id the ID of the alert
+     * @return the alert, or empty if it does not exist
+     */
+    @EntityGraph(attributePaths = "game")
+    Optional<WishlistAlert> findWithGameById(Long id);
+}
@@ -1,6 +1,7 @@
 package ca.eshopexpress.repository;
 
 import ca.eshopexpress.model.entity.WishlistItem;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -13,7 +14,7 @@ import java.util.List;
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.1
  * @since 2025-05-11
  */
 @Repository
@@ -27,6 +28,15 @@ public interface WishlistItemRepository extends JpaRepository<WishlistItem, Long
      */
     List<WishlistItem> findByUserId(Long userId);
 
+    /**
+     * Retrieves a user's wishlist items with their games, most recently added first.
+     *
+     * @param userId the ID of the user
+     * @return the user's wishlist items
+     */
+    @EntityGraph(attributePaths = "game")
+    List<WishlistItem> findWithGameByUserIdOrderByAddedAtDescIdDesc(Long userId);
+
     /**
      * Retrieves a wishlist item by user and game ID.
      * Ensures that a user cannot add the same game to the wishlist multiple times.
@@ -36,4 +46,22 @@ public interface WishlistItemRepository extends JpaRepository<WishlistItem, Long
      * @return the wishlist item matching both user and game
      */
     WishlistItem findByUserIdAndGameId(Long userId, Long gameId);
+
+    /**
+     * Checks whether a game is on a user's wishlist without loading the item.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @return true if the game is on the user's wishlist
+     */
+    boolean existsByUserIdAndGameId(Long userId, Long gameId);
+
+    /**
+     * Removes a game from a user's wishlist.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @return the number of items removed
+     */
+    long deleteByUserIdAndGameId(Long userId, Long gameId);
 }
@@ -1,4 +1,81 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.ProductVersion;
+import ca.eshopexpress.model.entity.Accessory;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface defining operations related to accessories.
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
 public interface AccessoryService {
+
+    /**
+     * Retrieves all accessories.
+     *
+     * @return a list of all accessories
+     */
+    List<Accessory> findAllAccessories();
+
+    /**
+     * Finds an accessory by its ID.
+     *
+     * @param id the ID of the accessory
+     * @return an Optional containing the accessory if found, or empty otherwise
+     */
+    Optional<Accessory> findById(Long id);
+
+    /**
+     * Finds an accessory by ID or throws an exception if not found.
+     *
+     * @param id the ID of the accessory
+     * @return the accessory with the specified ID
+     * @throws ResourceNotFoundException if the accessory does not exist
+     */
+    Accessory getAccessoryOrThrow(Long id);
+
+    /**
+     * Reads the version stamp of an accessory, for answering conditional GETs of its page.
+     *
+     * @param id the ID of the accessory
+     * @return the version stamp, or empty if the accessory does not exist
+     */
+    Optional<ProductVersion> findVersion(Long id);
+
+    /**
+     * Searches for accessories by name, brand or model, tolerating typos.
+     *
+     * @param name the text to search
+     * @return a list of matching accessories, best match first
+     */
+    List<Accessory> findByName(String name);
+
+    /**
+     * Saves or updates an accessory entity.
+     *
+     * @param accessory the accessory to save or update
+     * @return the saved accessory
+     */
+    Accessory save(Accessory accessory);
+
+    /**
+     * Deletes an accessory by its ID.
+     *
+     * @param id the ID of the accessory to delete
+     */
+    void deleteById(Long id);
+
+    /**
+     * Updates stock quantity for an accessory.
+     *
+     * @param accessoryId the ID of the accessory
+     * @param quantity the amount to adjust (positive or negative)
+     */
+    void updateStock(Long accessoryId, int quantity);
 }
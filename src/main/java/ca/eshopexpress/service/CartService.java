@@ -1,4 +1,111 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.CartView;
+import ca.eshopexpress.model.entity.Cart;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.service.cart.SessionCart;
+import ca.eshopexpress.service.inventory.StockLine;
+
+import java.util.List;
+
+/**
+ * Service interface defining operations on shopping carts.
+ * <p>
+ * A cart is identified by the cart ID kept in the customer's HTTP session, or in stateless
+ * session mode by the ID its cart cookie was restored under for the request. While the customer
+ * shops, the cart lives in memory and no operation touches the database; it is written only
+ * when it is merged with the customer's saved cart on login, or handed over to checkout.
+ * A digital game is added for the platform the customer picked, since that decides which key
+ * is sold; other products have no platform ({@code 0}).
+ * </p>
+ */
 public interface CartService {
+
+    /**
+     * Retrieves a cart, creating an empty one if needed.
+     *
+     * @param cartId the cart ID
+     * @return the cart
+     */
+    SessionCart getCart(String cartId);
+
+    /**
+     * Adds units of a product to a cart at its current price.
+     *
+     * @param cartId the cart ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key; ignored for other products
+     * @param quantity units to add
+     * @return the new quantity of the line
+     * @throws ResourceNotFoundException if the product does not exist
+     * @throws CheckoutException if the product is a digital game and no platform was picked
+     */
+    int addItem(String cartId, ProductType type, long productId, long platformId, int quantity);
+
+    /**
+     * Sets the quantity of a line; zero or less removes it.
+     *
+     * @param cartId the cart ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @param quantity the new quantity
+     * @return the new quantity of the line
+     * @throws ResourceNotFoundException if the product does not exist
+     */
+    int updateQuantity(String cartId, ProductType type, long productId, long platformId, int quantity);
+
+    /**
+     * Removes a line from a cart.
+     *
+     * @param cartId the cart ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     */
+    void removeItem(String cartId, ProductType type, long productId, long platformId);
+
+    /**
+     * Empties a cart.
+     *
+     * @param cartId the cart ID
+     */
+    void clear(String cartId);
+
+    /**
+     * Builds the cart page with product names, images and totals.
+     *
+     * @param cartId the cart ID
+     * @return the cart page
+     */
+    CartView getCartView(String cartId);
+
+    /**
+     * Lists the physical stock a cart needs; digital games are left out.
+     *
+     * @param cartId the cart ID
+     * @return the stock lines of the cart
+     */
+    List<StockLine> toStockLines(String cartId);
+
+    /**
+     * Merges a customer's saved cart into the session cart after login and saves the result.
+     * Quantities of the same product are added, capped at {@link SessionCart#MAX_QUANTITY}.
+     *
+     * @param cartId the cart ID
+     * @param userId the ID of the customer who signed in
+     */
+    void mergeOnLogin(String cartId, Long userId);
+
+    /**
+     * Saves the session cart as the customer's cart, e.g. when checkout starts.
+     *
+     * @param cartId the cart ID
+     * @param userId the ID of the customer
+     * @return the saved cart
+     */
+    Cart persist(String cartId, Long userId);
 }
@@ -0,0 +1,28 @@
+package ca.eshopexpress.service;
+
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.exception.InsufficientStockException;
+import ca.eshopexpress.model.dto.CheckoutForm;
+import ca.eshopexpress.model.entity.Order;
+
+/**
+ * Service interface defining the checkout of a cart into an order.
+ * <p>
+ * Checkout validates the cart against the catalog, then reserves stock and digital keys and
+ * writes the order and its items in a single transaction. Emails are sent after commit.
+ * </p>
+ */
+public interface CheckoutService {
+
+    /**
+     * Places an order for the contents of a cart and empties the cart.
+     *
+     * @param cartId the cart ID
+     * @param userId the ID of the signed-in customer
+     * @param form shipping address and payment details
+     * @return the new order
+     * @throws CheckoutException if the cart is empty, a product is no longer sold or the province is unknown
+     * @throws InsufficientStockException if stock or digital keys run out; nothing is reserved
+     */
+    Order placeOrder(String cartId, Long userId, CheckoutForm form);
+}
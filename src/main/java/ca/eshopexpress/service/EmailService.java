@@ -1,4 +1,28 @@
 package ca.eshopexpress.service;
 
+/**
+ * Service interface defining the emails sent to customers.
+ * <p>
+ * Emails are not sent on the caller's thread. Each method queues the email in the outbox as
+ * part of the caller's transaction; a background dispatcher renders and sends it once the
+ * transaction has committed.
+ * </p>
+ */
 public interface EmailService {
+
+    /**
+     * Queues the order confirmation with the items and totals of an order.
+     *
+     * @param orderId the ID of the order
+     * @param recipient the address to send it to
+     */
+    void queueOrderConfirmation(Long orderId, String recipient);
+
+    /**
+     * Queues the activation keys of the digital games in an order.
+     *
+     * @param orderId the ID of the order
+     * @param recipient the address to send it to
+     */
+    void queueDigitalKeys(Long orderId, String recipient);
 }
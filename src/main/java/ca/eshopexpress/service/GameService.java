@@ -1,7 +1,10 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.model.dto.GameSummary;
+import ca.eshopexpress.model.dto.ProductVersion;
 import ca.eshopexpress.model.entity.Game;
 import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.service.catalog.CatalogFilter;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +38,24 @@ public interface GameService {
      */
     Game getGameOrThrow(Long id);
 
+    /**
+     * Finds a game for its detail page, with genres and platforms loaded. Reviews are
+     * paged separately through {@link ReviewService#findPageByGameId}.
+     *
+     * @param id the ID of the game
+     * @return the game with the specified ID
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    Game getGameDetail(Long id);
+
+    /**
+     * Reads the version stamp of a game, for answering conditional GETs of its page.
+     *
+     * @param id the ID of the game
+     * @return the version stamp, or empty if the game does not exist
+     */
+    Optional<ProductVersion> findVersion(Long id);
+
     /**
      * Searches for games by title (case-insensitive, partial match).
      *
@@ -61,6 +82,32 @@ public interface GameService {
      */
     List<Game> findByGenre(String genreName);
 
+    /**
+     * Retrieves games matching a combined platform, genre, price, rating and release filter.
+     *
+     * @param filter the criteria to apply
+     * @return a list of matching games, ordered as requested by the filter
+     */
+    List<Game> filter(CatalogFilter filter);
+
+    /**
+     * Retrieves one page of games matching a catalog filter, with their platforms and genres.
+     *
+     * @param filter the criteria to apply
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the games on the page, ordered as requested by the filter
+     */
+    List<Game> filter(CatalogFilter filter, int page, int size);
+
+    /**
+     * Counts the games matching a catalog filter.
+     *
+     * @param filter the criteria to apply
+     * @return the number of matching games
+     */
+    int count(CatalogFilter filter);
+
     /**
      * Retrieves games released within the past month, sorted by newest first.
      *
@@ -75,6 +122,26 @@ public interface GameService {
      */
     List<Game> findTopRated();
 
+    /**
+     * Retrieves one page of listing read models matching a catalog filter.
+     * Only the fields a product card shows, platform names included, are selected, and no
+     * entities are loaded.
+     *
+     * @param filter the filter and sort order
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the summaries on the page, in filter order
+     */
+    List<GameSummary> findSummaries(CatalogFilter filter, int page, int size);
+
+    /**
+     * Retrieves listing read models for games released in the last month, newest first.
+     *
+     * @param limit the maximum number of games
+     * @return the summaries
+     */
+    List<GameSummary> findNewReleaseSummaries(int limit);
+
     /**
      * Saves or updates a game entity.
      *
@@ -99,10 +166,10 @@ public interface GameService {
     void updateStock(Long gameId, int quantity);
 
     /**
-     * Calculates and updates the average rating for a game.
+     * Returns the average rating for a game from its running rating aggregates.
      *
      * @param gameId the ID of the game
-     * @return the new average rating, or null if no reviews exist
+     * @return the average rating, or null if no reviews exist
      */
     Double calculateAverageRating(Long gameId);
 }
\ No newline at end of file
@@ -1,4 +1,22 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.model.entity.Genre;
+
+import java.util.List;
+
+/**
+ * Service interface defining operations related to genres.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
 public interface GenreService {
+
+    /**
+     * Retrieves all genres ordered by name.
+     *
+     * @return a list of all genres
+     */
+    List<Genre> findAll();
 }
@@ -0,0 +1,55 @@
+package ca.eshopexpress.service;
+
+import ca.eshopexpress.exception.InsufficientStockException;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.service.inventory.SkuContention;
+import ca.eshopexpress.service.inventory.StockLine;
+
+import java.util.List;
+
+/**
+ * Service interface for stock levels of physical games and accessories.
+ * <p>
+ * Stock is only ever changed with conditional, set-based updates in the database, so concurrent
+ * checkouts cannot oversell. Digital games are not stock-limited and are handled by
+ * {@link ca.eshopexpress.service.digital.DigitalDeliveryService}.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public interface InventoryService {
+
+    /**
+     * Reserves stock for every line of a cart, all or nothing.
+     *
+     * @param lines the SKUs and quantities to reserve
+     * @throws InsufficientStockException if any SKU does not have enough stock; nothing is reserved
+     */
+    void reserve(List<StockLine> lines);
+
+    /**
+     * Returns previously reserved stock, e.g. for a cancelled or returned order.
+     *
+     * @param lines the SKUs and quantities to return
+     */
+    void release(List<StockLine> lines);
+
+    /**
+     * Adjusts the stock of a single SKU.
+     *
+     * @param productType game or accessory
+     * @param productId the product ID
+     * @param delta the amount to adjust (positive or negative)
+     * @throws InsufficientStockException if a negative delta exceeds the stock on hand
+     */
+    void adjust(ProductType productType, long productId, int delta);
+
+    /**
+     * Reports the SKUs with the most rejected decrements first.
+     *
+     * @return contention counters per SKU
+     */
+    List<SkuContention> contentionReport();
+}
@@ -1,8 +1,13 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.OrderPage;
+import ca.eshopexpress.model.entity.DigitalKey;
 import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.enums.OrderStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing {@link Order} entities.
@@ -11,7 +16,7 @@ import java.util.List;
  * </p>
  *
  * @author Daniel
- * @version 1.0
+ * @version 1.2
  * @since 2025-05-13
  */
 public interface OrderService {
@@ -32,43 +37,57 @@ public interface OrderService {
     Order findOrderById(Long id);
 
     /**
-     * Retrieves all orders placed by a specific customer based on their customer ID.
+     * Retrieves one page of all orders, newest first, using keyset pagination.
+     *
+     * @param cursor the cursor token of the previous page, or null for the first page
+     * @param size the maximum number of orders on the page
+     * @return the page of orders and the cursor token for the next page
+     */
+    OrderPage findOrdersPage(String cursor, int size);
+
+    /**
+     * Retrieves one page of a customer's orders, newest first, using keyset pagination.
      *
      * @param customerId the ID of the customer
-     * @return a list of orders associated with the customer
+     * @param cursor the cursor token of the previous page, or null for the first page
+     * @param size the maximum number of orders on the page
+     * @return the page of orders and the cursor token for the next page
      */
-    List<Order> findOrdersByCustomerId(Long customerId);
+    OrderPage findOrdersPageByCustomerId(Long customerId, String cursor, int size);
 
     /**
-     * Retrieves orders placed by customers with the specified last name.
+     * Retrieves an order together with its items.
      *
-     * @param lastName the last name of the customer
-     * @return a list of matching orders
+     * @param id the ID of the order
+     * @return the order with its items
+     * @throws ResourceNotFoundException if no order is found with the given ID
      */
-    List<Order> findByLastName(String lastName);
+    Order findOrderWithItems(Long id);
 
     /**
-     * Retrieves orders placed by customers with the specified first name.
+     * Retrieves the digital keys sold with an order.
      *
-     * @param firstName the first name of the customer
-     * @return a list of matching orders
+     * @param orderId the ID of the order
+     * @return the keys, with their games and platforms
      */
-    List<Order> findByFirstName(String firstName);
+    List<DigitalKey> findDigitalKeys(Long orderId);
 
     /**
-     * Retrieves orders placed using a specific email address.
+     * Passes every order, newest first, to the consumer with a fixed memory footprint.
+     * Orders are detached after they are consumed, so lazy associations must not be accessed
+     * outside the consumer.
      *
-     * @param email the email used in the order
-     * @return a list of matching orders
+     * @param consumer receives each order in turn
      */
-    List<Order> findByEmail(String email);
+    void exportOrders(Consumer<Order> consumer);
 
     /**
-     * Retrieves orders placed by customers with the specified full name.
+     * Changes the status of an order and updates the sales analytics to match.
      *
-     * @param firstName the first name of the customer
-     * @param lastName  the last name of the customer
-     * @return a list of matching orders
+     * @param id the ID of the order
+     * @param status the new status
+     * @return the updated order
+     * @throws ResourceNotFoundException if no order is found with the given ID
      */
-    List<Order> findByFullName(String firstName, String lastName);
+    Order updateStatus(Long id, OrderStatus status);
 }
@@ -1,4 +1,22 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.model.entity.Platform;
+
+import java.util.List;
+
+/**
+ * Service interface defining operations related to platforms.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
 public interface PlatformService {
+
+    /**
+     * Retrieves all platforms ordered by name.
+     *
+     * @return a list of all platforms
+     */
+    List<Platform> findAll();
 }
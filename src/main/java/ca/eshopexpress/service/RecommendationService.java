@@ -1,4 +1,60 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.model.entity.Game;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service interface defining operations related to game recommendations.
+ */
 public interface RecommendationService {
+
+    /**
+     * Recommends games for a user based on what similar customers bought and wishlisted.
+     * Users without history get genre/platform or top-rated suggestions instead.
+     *
+     * @param userId the ID of the user
+     * @param limit the maximum number of games
+     * @return a list of recommended games, best first
+     */
+    List<Game> recommendForUser(Long userId, int limit);
+
+    /**
+     * Finds games frequently bought or wishlisted together with a game.
+     *
+     * @param gameId the ID of the game
+     * @param limit the maximum number of games
+     * @return a list of similar games, most similar first
+     */
+    List<Game> findSimilarGames(Long gameId, int limit);
+
+    /**
+     * Records games a user has just bought, so their recommendations reflect it immediately.
+     *
+     * @param userId the ID of the user
+     * @param gameIds the IDs of the purchased games
+     */
+    void recordPurchase(Long userId, Collection<Long> gameIds);
+
+    /**
+     * Records a game a user has just added to their wishlist.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the wishlisted game
+     */
+    void recordWishlist(Long userId, Long gameId);
+
+    /**
+     * Records a game a user has just removed from their wishlist.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the removed game
+     */
+    void recordWishlistRemoval(Long userId, Long gameId);
+
+    /**
+     * Recomputes the item-item neighbour table from all orders and wishlists.
+     */
+    void rebuild();
 }
@@ -1,4 +1,97 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.Review;
+
+import java.util.List;
+
+/**
+ * Service interface defining operations related to game reviews.
+ * <p>
+ * Every write keeps the reviewed game's running rating aggregates (review count, rating sum
+ * and 1&ndash;5 star histogram) up to date, so ratings can be read without touching the
+ * reviews table.
+ * </p>
+ */
 public interface ReviewService {
+
+    /**
+     * Retrieves the reviews of a game.
+     *
+     * @param gameId the ID of the game
+     * @return a list of reviews for the game
+     */
+    List<Review> findByGameId(Long gameId);
+
+    /**
+     * Retrieves one page of a game's reviews with their authors, newest first.
+     *
+     * @param gameId the ID of the game
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the reviews on the page
+     */
+    List<Review> findPageByGameId(Long gameId, int page, int size);
+
+    /**
+     * Retrieves the reviews written by a user.
+     *
+     * @param userId the ID of the user
+     * @return a list of reviews by the user
+     */
+    List<Review> findByUserId(Long userId);
+
+    /**
+     * Finds a review by ID or throws an exception if not found.
+     *
+     * @param id the ID of the review
+     * @return the review with the specified ID
+     * @throws ResourceNotFoundException if the review does not exist
+     */
+    Review getReviewOrThrow(Long id);
+
+    /**
+     * Creates a review and adds its rating to the game's aggregates.
+     *
+     * @param review the new review, with its game and user set
+     * @return the saved review
+     * @throws IllegalArgumentException if the rating is not between 1 and 5
+     */
+    Review createReview(Review review);
+
+    /**
+     * Edits a review's rating and comment, moving the rating between histogram buckets.
+     *
+     * @param reviewId the ID of the review
+     * @param rating the new rating
+     * @param comment the new comment
+     * @return the updated review
+     * @throws ResourceNotFoundException if the review does not exist
+     * @throws IllegalArgumentException if the rating is not between 1 and 5
+     */
+    Review updateReview(Long reviewId, Integer rating, String comment);
+
+    /**
+     * Deletes a review and removes its rating from the game's aggregates.
+     *
+     * @param id the ID of the review
+     * @throws ResourceNotFoundException if the review does not exist
+     */
+    void deleteById(Long id);
+
+    /**
+     * Recomputes every game's rating aggregates from the reviews table, correcting any drift.
+     *
+     * @return the number of games corrected
+     */
+    int reconcileRatings();
+
+    /**
+     * Checks whether a user has already reviewed a game.
+     *
+     * @param gameId the ID of the game
+     * @param userId the ID of the user
+     * @return true if the user has reviewed the game
+     */
+    boolean hasReviewed(Long gameId, Long userId);
 }
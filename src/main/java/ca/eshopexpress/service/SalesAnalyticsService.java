@@ -0,0 +1,80 @@
+package ca.eshopexpress.service;
+
+import ca.eshopexpress.model.dto.SalesFigures;
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.SalesDimension;
+import ca.eshopexpress.service.analytics.FactGroup;
+import ca.eshopexpress.service.analytics.FactQuery;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for the sales analytics shown on the admin dashboard.
+ * <p>
+ * Sales are kept as per-day rollups that are updated in the same transaction as the order
+ * change, so the dashboard reads a handful of pre-aggregated rows and never scans the orders.
+ * Questions the rollups do not cover are answered by {@link #report}, which scans an in-memory
+ * column store of every order item instead of the database.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public interface SalesAnalyticsService {
+
+    /**
+     * Adds a newly placed order to the rollups; must run in the transaction that saves the order.
+     *
+     * @param order the saved order with its items
+     */
+    void recordPlaced(Order order);
+
+    /**
+     * Adds an order to, or removes it from, the rollups after its status changed; must run in
+     * the transaction that changes the status.
+     *
+     * @param order the order with its items and new status
+     * @param previous the status before the change
+     */
+    void recordStatusChange(Order order, OrderStatus previous);
+
+    /**
+     * Retrieves the sales of every order ever booked.
+     *
+     * @return the all-time figures
+     */
+    SalesFigures totals();
+
+    /**
+     * Retrieves the sales per day in a date range, leaving out days without sales.
+     *
+     * @param from the first day
+     * @param to the last day
+     * @return the figures per day, oldest first
+     */
+    List<SalesFigures> daily(LocalDate from, LocalDate to);
+
+    /**
+     * Retrieves the sales in a date range broken down by a dimension.
+     *
+     * @param dimension the dimension
+     * @param from the first day
+     * @param to the last day
+     * @param limit the most values to return
+     * @return the figures per value, highest revenue first
+     */
+    List<SalesFigures> breakdown(SalesDimension dimension, LocalDate from, LocalDate to, int limit);
+
+    /**
+     * Runs an ad-hoc report over every order item, e.g. revenue by province by product type for
+     * digital items over the last 90 days.
+     *
+     * @param query the filters and grouping
+     * @return the non-empty groups
+     * @throws IllegalArgumentException if the grouping would produce too many groups
+     */
+    List<FactGroup> report(FactQuery query);
+}
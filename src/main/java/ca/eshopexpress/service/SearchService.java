@@ -0,0 +1,93 @@
+package ca.eshopexpress.service;
+
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.entity.Game;
+
+import java.util.List;
+
+/**
+ * Service interface for full-text search over games and accessories.
+ * <p>
+ * Matches are ranked by relevance and tolerate partial words and typos. The game and accessory
+ * services keep the search index up to date by calling the index and remove methods on writes.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+public interface SearchService {
+
+    /**
+     * Searches games by title, publisher, developer and description.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching games, best match first
+     */
+    List<Game> searchGames(String query, int limit);
+
+    /**
+     * Searches games by title only.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching games, best match first
+     */
+    List<Game> searchGameTitles(String query, int limit);
+
+    /**
+     * Searches accessories by name, brand, model and description.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching accessories, best match first
+     */
+    List<Accessory> searchAccessories(String query, int limit);
+
+    /**
+     * Searches accessories by name only.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching accessories, best match first
+     */
+    List<Accessory> searchAccessoryNames(String query, int limit);
+
+    /**
+     * Suggests game titles and accessory names for a partially typed query.
+     *
+     * @param prefix what the user has typed so far
+     * @param limit the maximum number of suggestions
+     * @return a list of suggested titles
+     */
+    List<String> autocomplete(String prefix, int limit);
+
+    /**
+     * Adds a game to the search index or refreshes it.
+     *
+     * @param game the saved game
+     */
+    void indexGame(Game game);
+
+    /**
+     * Removes a game from the search index.
+     *
+     * @param gameId the ID of the deleted game
+     */
+    void removeGame(Long gameId);
+
+    /**
+     * Adds an accessory to the search index or refreshes it.
+     *
+     * @param accessory the saved accessory
+     */
+    void indexAccessory(Accessory accessory);
+
+    /**
+     * Removes an accessory from the search index.
+     *
+     * @param accessoryId the ID of the deleted accessory
+     */
+    void removeAccessory(Long accessoryId);
+}
@@ -64,6 +64,14 @@ public interface UserService {
      */
     List<User> findByCity(String city);
 
+    /**
+     * Finds a user by their username.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the user if found, otherwise empty
+     */
+    Optional<User> findByUsername(String username);
+
     /**
      * Saves a new user or updates an existing one.
      *
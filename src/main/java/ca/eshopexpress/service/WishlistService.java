@@ -1,5 +1,54 @@
 package ca.eshopexpress.service;
 
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.WishlistItem;
+
+import java.util.List;
+
+/**
+ * Service interface defining operations related to wishlists.
+ * <p>
+ * Wishers are told by email when a game on their wishlist gets cheaper or comes back in stock;
+ * see {@link ca.eshopexpress.service.wishlist.WishlistNotifier}.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
 public interface WishlistService {
 
+    /**
+     * Retrieves a user's wishlist with the games loaded, most recently added first.
+     *
+     * @param userId the ID of the user
+     * @return the user's wishlist items
+     */
+    List<WishlistItem> findByUserId(Long userId);
+
+    /**
+     * Checks whether a game is on a user's wishlist.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @return true if the game is on the user's wishlist
+     */
+    boolean isInWishlist(Long userId, Long gameId);
+
+    /**
+     * Adds a game to a user's wishlist. Does nothing if it is already there.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    void addGame(Long userId, Long gameId);
+
+    /**
+     * Removes a game from a user's wishlist. Does nothing if it is not there.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     */
+    void removeGame(Long userId, Long gameId);
 }
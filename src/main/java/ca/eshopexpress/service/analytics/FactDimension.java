@@ -0,0 +1,38 @@
+package ca.eshopexpress.service.analytics;
+
+/**
+ * Enum for each of the attributes order facts can be grouped by
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum FactDimension {
+    /**
+     * Day the order was placed
+     */
+    DAY,
+    /**
+     * Month the order was placed
+     */
+    MONTH,
+    /**
+     * Shipping province
+     */
+    PROVINCE,
+    /**
+     * Current order status
+     */
+    STATUS,
+    /**
+     * Game or accessory
+     */
+    PRODUCT_TYPE,
+    /**
+     * Digital key or physical item
+     */
+    DELIVERY,
+    /**
+     * Platform of the item
+     */
+    PLATFORM
+}
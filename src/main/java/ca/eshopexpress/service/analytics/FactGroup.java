@@ -0,0 +1,19 @@
+package ca.eshopexpress.service.analytics;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One group of a fact query result.
+ *
+ * @param keys the group's value of each grouped dimension, in the order they were requested
+ * @param lines order items in the group
+ * @param units units sold
+ * @param revenue pre-tax sales
+ * @param tax tax charged
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record FactGroup(List<String> keys, long lines, long units, BigDecimal revenue, BigDecimal tax) {}
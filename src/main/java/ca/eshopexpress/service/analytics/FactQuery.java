@@ -0,0 +1,192 @@
+package ca.eshopexpress.service.analytics;
+
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.Province;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A report over the order facts, e.g. "revenue by province by product type for digital items
+ * over the last 90 days".
+ * <p>
+ * The date range is required; every other criterion is optional and a {@code null} value means
+ * it is not applied. Without any grouping the result is a single group with the totals.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class FactQuery {
+    /**
+     * First day to include
+     */
+    private final LocalDate from;
+    /**
+     * Last day to include
+     */
+    private final LocalDate to;
+    /**
+     * Order statuses to include
+     */
+    private Set<OrderStatus> statuses;
+    /**
+     * Shipping provinces to include
+     */
+    private Set<Province> provinces;
+    /**
+     * Games or accessories only
+     */
+    private ProductType productType;
+    /**
+     * Digital or physical items only
+     */
+    private Boolean digital;
+    /**
+     * Platform ID to include
+     */
+    private Long platformId;
+    /**
+     * Dimensions to group by, outermost first
+     */
+    private List<FactDimension> groupBy = new ArrayList<>();
+
+    /**
+     * Constructs a query over a date range
+     * @param from first day to include
+     * @param to last day to include
+     */
+    public FactQuery(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range: " + from + " to " + to);
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Query over the last days, ending today
+     * @param days the number of days
+     * @return a new query
+     */
+    public static FactQuery lastDays(int days) {
+        LocalDate today = LocalDate.now();
+        return new FactQuery(today.minusDays(Math.max(days, 1) - 1), today);
+    }
+
+    /**
+     * Get the first day
+     * @return first day to include
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    /**
+     * Get the last day
+     * @return last day to include
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+
+    /**
+     * Get the order statuses
+     * @return statuses to include, or null for all
+     */
+    public Set<OrderStatus> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * Set the order statuses
+     * @param statuses statuses to include, or null for all
+     */
+    public void setStatuses(Set<OrderStatus> statuses) {
+        this.statuses = statuses;
+    }
+
+    /**
+     * Get the provinces
+     * @return provinces to include, or null for all
+     */
+    public Set<Province> getProvinces() {
+        return provinces;
+    }
+
+    /**
+     * Set the provinces
+     * @param provinces provinces to include, or null for all
+     */
+    public void setProvinces(Set<Province> provinces) {
+        this.provinces = provinces;
+    }
+
+    /**
+     * Get the product type
+     * @return product type to include, or null for both
+     */
+    public ProductType getProductType() {
+        return productType;
+    }
+
+    /**
+     * Set the product type
+     * @param productType product type to include, or null for both
+     */
+    public void setProductType(ProductType productType) {
+        this.productType = productType;
+    }
+
+    /**
+     * Get the digital flag
+     * @return true for digital only, false for physical only, null for both
+     */
+    public Boolean getDigital() {
+        return digital;
+    }
+
+    /**
+     * Set the digital flag
+     * @param digital true for digital only, false for physical only, null for both
+     */
+    public void setDigital(Boolean digital) {
+        this.digital = digital;
+    }
+
+    /**
+     * Get the platform ID
+     * @return platform to include, or null for all
+     */
+    public Long getPlatformId() {
+        return platformId;
+    }
+
+    /**
+     * Set the platform ID
+     * @param platformId platform to include, or null for all
+     */
+    public void setPlatformId(Long platformId) {
+        this.platformId = platformId;
+    }
+
+    /**
+     * Get the grouping
+     * @return dimensions to group by, outermost first
+     */
+    public List<FactDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * Set the grouping
+     * @param groupBy dimensions to group by, outermost first
+     */
+    public void setGroupBy(List<FactDimension> groupBy) {
+        this.groupBy = groupBy == null ? new ArrayList<>() : groupBy;
+    }
+}
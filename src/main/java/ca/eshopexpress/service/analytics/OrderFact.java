@@ -0,0 +1,71 @@
+package ca.eshopexpress.service.analytics;
+
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.Province;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An order flattened into the rows the {@link OrderFactStore} keeps, one per order item.
+ *
+ * @param orderId the order ID
+ * @param day the day the order was placed
+ * @param province the shipping province
+ * @param status the order status
+ * @param lines the order items
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record OrderFact(long orderId, LocalDate day, Province province, OrderStatus status, List<Line> lines) {
+
+    /**
+     * Flattens a saved order; the order tax is split over the items by line value, as in the
+     * sales rollups
+     * @param order the order with its items
+     * @return the order's facts
+     */
+    public static OrderFact of(Order order) {
+        List<Line> lines = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem item : order.getOrderItems()) {
+            BigDecimal revenue = item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+            BigDecimal tax = order.getSubtotal().signum() == 0 ? BigDecimal.ZERO
+                    : revenue.multiply(order.getTax()).divide(order.getSubtotal(), 2, RoundingMode.HALF_UP);
+            lines.add(new Line(ProductType.valueOf(item.getProductType()), Boolean.TRUE.equals(item.getIsDigital()),
+                    item.getPlatform() == null ? null : item.getPlatform().getId(),
+                    item.getPlatform() == null ? null : item.getPlatform().getName(),
+                    item.getQuantity(), cents(revenue), cents(tax)));
+        }
+        return new OrderFact(order.getId(), order.getOrderDate().toLocalDate(), order.getProvince(), order.getStatus(), lines);
+    }
+
+    /**
+     * Converts an amount to whole cents
+     * @param amount the amount in dollars
+     * @return the amount in cents
+     */
+    static long cents(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * One order item
+     * @param productType game or accessory
+     * @param digital whether a key was delivered instead of a box
+     * @param platformId the item's platform, or null
+     * @param platformName the platform's name, or null
+     * @param units the quantity
+     * @param revenueCents the pre-tax line total in cents
+     * @param taxCents the line's share of the order tax in cents
+     */
+    public record Line(ProductType productType, boolean digital, Long platformId, String platformName,
+                       int units, long revenueCents, long taxCents) {}
+}
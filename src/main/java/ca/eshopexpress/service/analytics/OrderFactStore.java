@@ -0,0 +1,1032 @@
+package ca.eshopexpress.service.analytics;
+
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.Province;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only, in-memory column store of order items for ad-hoc admin reports.
+ * <p>
+ * Every order item is a row, and each attribute is a primitive array: the order day as an epoch
+ * day, amounts in cents, province, status and product type as ordinals, and platforms as codes
+ * into a small dictionary. A query scans the rows on a fork-join pool; each task filters blocks of
+ * rows column by column into a selection vector of matching row numbers, computes a group number
+ * for the selected rows, and sums into a flat array per group. Partial sums are added up as the
+ * tasks join. No objects are created per row, so a scan of millions of rows takes milliseconds
+ * and never touches the database.
+ * </p>
+ * <p>
+ * The store is loaded from the database once the application has started and then fed by the
+ * {@link ca.eshopexpress.service.SalesAnalyticsService} after each order commits. Rows are only
+ * ever appended, except for the status. Queries read a snapshot of the arrays and run without
+ * holding a lock, so they never hold up checkouts. An order's rows are appended together, so they
+ * are contiguous, and an index from order ID to its row range lets a status change touch only
+ * those rows. The status column is copied before the first change after a snapshot has shared it,
+ * so a running query never sees an order half updated.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class OrderFactStore {
+
+    /**
+     * Initial number of rows
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * Rows filtered at a time into one selection vector
+     */
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Fewest rows a scan task splits into
+     */
+    private static final int MIN_TASK_ROWS = 1 << 16;
+
+    /**
+     * Most groups a query may produce
+     */
+    private static final int MAX_GROUPS = 1 << 16;
+
+    /**
+     * Sums kept per group: order items, units, revenue cents, tax cents
+     */
+    private static final int METRICS = 4;
+
+    /**
+     * Rows fetched per round trip while loading
+     */
+    private static final int FETCH_SIZE = 5000;
+
+    /**
+     * Status code of orders without a status; other statuses are stored as ordinal + 1
+     */
+    private static final byte NO_STATUS = 0;
+
+    /**
+     * Platform code of items without a platform, and its label
+     */
+    private static final short NO_PLATFORM = 0;
+    private static final String NO_PLATFORM_LABEL = "Multi-platform";
+
+    private static final String LOAD =
+            "SELECT o.id, CAST(o.order_date AS DATE), o.province, o.status, i.product_type, i.is_digital, "
+                    + "i.platform_id, p.name, i.quantity, i.price * i.quantity, "
+                    + "COALESCE(ROUND(i.price * i.quantity * o.tax / NULLIF(o.subtotal, 0), 2), 0) "
+                    + "FROM orders o "
+                    + "JOIN order_items i ON i.order_id = o.id "
+                    + "LEFT JOIN platforms p ON p.id = i.platform_id "
+                    + "WHERE o.order_date IS NOT NULL "
+                    + "ORDER BY o.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs the scan tasks of queries
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Guards the fields below; held only to append, update a status or take a snapshot
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The rows
+     */
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+
+    /**
+     * True while the store is being loaded from the database
+     */
+    private boolean loading;
+
+    /**
+     * Orders appended while loading, applied again to the loaded rows unless already in them
+     */
+    private final List<OrderFact> pendingFacts = new ArrayList<>();
+
+    /**
+     * Status changes made while loading, applied again to the loaded rows
+     */
+    private final Map<Long, OrderStatus> pendingStatuses = new LinkedHashMap<>();
+
+    /**
+     * Builds the store
+     * @param parallelism threads scanning rows, or 0 for one per processor
+     */
+    @Autowired
+    public OrderFactStore(@Value("${eshopexpress.facts.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                p -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    thread.setName("order-facts-" + thread.getPoolIndex());
+                    return thread;
+                }, null, false);
+    }
+
+    /**
+     * Loads every order item from the database once the application has started. Orders placed
+     * and status changes made while loading are applied on top of the loaded rows; if loading
+     * fails the rows appended so far are kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Columns loaded = new Columns(INITIAL_CAPACITY);
+        boolean complete = false;
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD);
+                statement.setFetchSize(FETCH_SIZE);
+                return statement;
+            }, rs -> {
+                long platformId = rs.getLong(7);
+                Long platform = rs.wasNull() ? null : platformId;
+                String status = rs.getString(4);
+                loaded.add(rs.getLong(1), rs.getDate(2).toLocalDate().toEpochDay(),
+                        Province.valueOf(rs.getString(3)),
+                        status == null ? null : OrderStatus.valueOf(status),
+                        ProductType.valueOf(rs.getString(5)), rs.getBoolean(6), platform, rs.getString(8),
+                        rs.getInt(9), OrderFact.cents(rs.getBigDecimal(10)), OrderFact.cents(rs.getBigDecimal(11)));
+            });
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (complete) {
+                    columns = loaded;
+                }
+                for (OrderFact fact : pendingFacts) {
+                    if (!columns.contains(fact.orderId())) {
+                        columns.append(fact);
+                    }
+                }
+                pendingStatuses.forEach(columns::setStatus);
+                pendingFacts.clear();
+                pendingStatuses.clear();
+                loading = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Appends the items of a committed order
+     * @param fact the order's facts
+     */
+    public void append(OrderFact fact) {
+        lock.writeLock().lock();
+        try {
+            columns.append(fact);
+            if (loading) {
+                pendingFacts.add(fact);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the status of a committed order's items
+     * @param orderId the order ID
+     * @param status the new status
+     */
+    public void updateStatus(long orderId, OrderStatus status) {
+        lock.writeLock().lock();
+        try {
+            columns.setStatus(orderId, status);
+            if (loading) {
+                pendingStatuses.put(orderId, status);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of rows
+     * @return stored order items
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs a report over the stored rows
+     * @param query the filters and grouping
+     * @return the non-empty groups, in time order when grouped by day or month first, otherwise
+     *         highest revenue first
+     * @throws IllegalArgumentException if the grouping would produce too many groups
+     */
+    public List<FactGroup> query(FactQuery query) {
+        Snapshot snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = columns.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+        Plan plan = new Plan(query, snapshot);
+        if (plan.empty) {
+            return List.of();
+        }
+        long[] sums = snapshot.size == 0 ? new long[plan.groups * METRICS]
+                : pool.invoke(new ScanTask(snapshot, plan, 0, snapshot.size,
+                        Math.max(MIN_TASK_ROWS, snapshot.size / (pool.getParallelism() * 4))));
+
+        List<FactGroup> groups = new ArrayList<>();
+        for (int group = 0; group < plan.groups; group++) {
+            int offset = group * METRICS;
+            if (sums[offset] > 0) {
+                groups.add(new FactGroup(plan.labels(group), sums[offset], sums[offset + 1],
+                        BigDecimal.valueOf(sums[offset + 2], 2), BigDecimal.valueOf(sums[offset + 3], 2)));
+            }
+        }
+        if (!plan.chronological) {
+            groups.sort(Comparator.comparing(FactGroup::revenue).reversed());
+        }
+        return groups;
+    }
+
+    /**
+     * Stops the scan threads
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * The growable column arrays; only changed under the write lock, except that taking a
+     * snapshot marks the status column shared
+     */
+    private static final class Columns {
+
+        /**
+         * Rows in use
+         */
+        private int size;
+
+        /**
+         * Order day as epoch day
+         */
+        private int[] days;
+
+        /**
+         * Province ordinal
+         */
+        private byte[] provinces;
+
+        /**
+         * Status ordinal + 1, or {@link #NO_STATUS}
+         */
+        private byte[] statuses;
+
+        /**
+         * Product type ordinal
+         */
+        private byte[] productTypes;
+
+        /**
+         * 1 for digital items, 0 for physical ones
+         */
+        private byte[] digital;
+
+        /**
+         * Platform code, or {@link #NO_PLATFORM}
+         */
+        private short[] platforms;
+
+        /**
+         * Quantity
+         */
+        private int[] units;
+
+        /**
+         * Pre-tax line total in cents
+         */
+        private long[] revenue;
+
+        /**
+         * Share of the order tax in cents
+         */
+        private long[] tax;
+
+        /**
+         * Row range of each order
+         */
+        private final OrderRows orderRows = new OrderRows();
+
+        /**
+         * True once a snapshot has shared the status column, which must then be copied before
+         * it is changed. Set by concurrent readers, but only ever to true, and read under the
+         * write lock.
+         */
+        private boolean statusesShared;
+
+        /**
+         * Code of each platform ID
+         */
+        private final Map<Long, Short> platformCodes = new HashMap<>();
+
+        /**
+         * Platform ID of each code
+         */
+        private final List<Long> platformIds = new ArrayList<>();
+
+        /**
+         * Platform name of each code
+         */
+        private final List<String> platformNames = new ArrayList<>();
+
+        /**
+         * Creates empty columns
+         * @param capacity initial number of rows
+         */
+        private Columns(int capacity) {
+            days = new int[capacity];
+            provinces = new byte[capacity];
+            statuses = new byte[capacity];
+            productTypes = new byte[capacity];
+            digital = new byte[capacity];
+            platforms = new short[capacity];
+            units = new int[capacity];
+            revenue = new long[capacity];
+            tax = new long[capacity];
+            platformIds.add(null);
+            platformNames.add(NO_PLATFORM_LABEL);
+        }
+
+        /**
+         * Appends the items of an order
+         * @param fact the order's facts
+         */
+        private void append(OrderFact fact) {
+            long day = fact.day().toEpochDay();
+            for (OrderFact.Line line : fact.lines()) {
+                add(fact.orderId(), day, fact.province(), fact.status(), line.productType(), line.digital(),
+                        line.platformId(), line.platformName(), line.units(), line.revenueCents(), line.taxCents());
+            }
+        }
+
+        /**
+         * Appends one row
+         * @param orderId the order ID
+         * @param day the order day as epoch day
+         * @param province the shipping province
+         * @param status the order status, may be null
+         * @param productType game or accessory
+         * @param isDigital whether a key was delivered
+         * @param platformId the platform ID, or null
+         * @param platformName the platform name, or null
+         * @param quantity the quantity
+         * @param revenueCents the pre-tax line total in cents
+         * @param taxCents the line's tax in cents
+         */
+        private void add(long orderId, long day, Province province, OrderStatus status, ProductType productType,
+                         boolean isDigital, Long platformId, String platformName, int quantity,
+                         long revenueCents, long taxCents) {
+            if (size == days.length) {
+                grow();
+            }
+            days[size] = Math.toIntExact(day);
+            provinces[size] = (byte) province.ordinal();
+            statuses[size] = statusCode(status);
+            productTypes[size] = (byte) productType.ordinal();
+            digital[size] = (byte) (isDigital ? 1 : 0);
+            platforms[size] = platformCode(platformId, platformName);
+            units[size] = quantity;
+            revenue[size] = revenueCents;
+            tax[size] = taxCents;
+            long range = orderRows.get(orderId);
+            if (range != OrderRows.ABSENT && OrderRows.end(range) == size) {
+                orderRows.put(orderId, range + 1);
+            } else {
+                orderRows.put(orderId, OrderRows.range(size, 1));
+            }
+            size++;
+        }
+
+        /**
+         * Doubles the capacity of every column
+         */
+        private void grow() {
+            int capacity = days.length * 2;
+            days = Arrays.copyOf(days, capacity);
+            provinces = Arrays.copyOf(provinces, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            productTypes = Arrays.copyOf(productTypes, capacity);
+            digital = Arrays.copyOf(digital, capacity);
+            platforms = Arrays.copyOf(platforms, capacity);
+            units = Arrays.copyOf(units, capacity);
+            revenue = Arrays.copyOf(revenue, capacity);
+            tax = Arrays.copyOf(tax, capacity);
+            statusesShared = false;
+        }
+
+        /**
+         * Looks up or assigns the code of a platform
+         * @param platformId the platform ID, or null
+         * @param platformName the platform name, or null
+         * @return the platform code
+         */
+        private short platformCode(Long platformId, String platformName) {
+            if (platformId == null) {
+                return NO_PLATFORM;
+            }
+            Short code = platformCodes.get(platformId);
+            if (code == null) {
+                code = (short) platformIds.size();
+                platformCodes.put(platformId, code);
+                platformIds.add(platformId);
+                platformNames.add(platformName != null ? platformName : String.valueOf(platformId));
+            }
+            return code;
+        }
+
+        /**
+         * Checks whether an order's items are stored
+         * @param orderId the order ID
+         * @return true if the order has rows
+         */
+        private boolean contains(long orderId) {
+            return orderRows.get(orderId) != OrderRows.ABSENT;
+        }
+
+        /**
+         * Changes the status of every row of an order, copying the status column first if a
+         * snapshot shares it
+         * @param orderId the order ID
+         * @param status the new status
+         */
+        private void setStatus(long orderId, OrderStatus status) {
+            long range = orderRows.get(orderId);
+            if (range == OrderRows.ABSENT) {
+                return;
+            }
+            if (statusesShared) {
+                statuses = statuses.clone();
+                statusesShared = false;
+            }
+            byte code = statusCode(status);
+            Arrays.fill(statuses, OrderRows.start(range), OrderRows.end(range), code);
+        }
+
+        /**
+         * Captures the current arrays and row count; later appends and status changes do not
+         * change the snapshot
+         * @return the snapshot
+         */
+        private Snapshot snapshot() {
+            statusesShared = true;
+            return new Snapshot(size, days, provinces, statuses, productTypes, digital, platforms, units, revenue,
+                    tax, List.copyOf(platformIds.subList(1, platformIds.size())), List.copyOf(platformNames));
+        }
+
+        /**
+         * Encodes a status
+         * @param status the status, may be null
+         * @return the status code
+         */
+        private static byte statusCode(OrderStatus status) {
+            return status == null ? NO_STATUS : (byte) (status.ordinal() + 1);
+        }
+    }
+
+    /**
+     * Open-addressing map from order ID to the first row and row count of the order, packed into
+     * one long so that indexing millions of orders allocates no object per order
+     */
+    private static final class OrderRows {
+
+        /**
+         * Returned for an order without rows
+         */
+        private static final long ABSENT = -1L;
+
+        /**
+         * Marks an empty slot; order IDs are always positive
+         */
+        private static final long EMPTY = 0L;
+
+        /**
+         * Order IDs per slot
+         */
+        private long[] keys = new long[INITIAL_CAPACITY];
+
+        /**
+         * Row ranges per slot
+         */
+        private long[] ranges = new long[INITIAL_CAPACITY];
+
+        /**
+         * Number of orders
+         */
+        private int size;
+
+        /**
+         * Get the row range of an order
+         * @param orderId the order ID
+         * @return the row range, or {@link #ABSENT}
+         */
+        private long get(long orderId) {
+            int mask = keys.length - 1;
+            for (int slot = hash(orderId) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == orderId) {
+                    return ranges[slot];
+                }
+            }
+            return ABSENT;
+        }
+
+        /**
+         * Sets the row range of an order
+         * @param orderId the order ID
+         * @param range the row range
+         */
+        private void put(long orderId, long range) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                long[] oldKeys = keys;
+                long[] oldRanges = ranges;
+                keys = new long[oldKeys.length * 2];
+                ranges = new long[oldKeys.length * 2];
+                size = 0;
+                for (int slot = 0; slot < oldKeys.length; slot++) {
+                    if (oldKeys[slot] != EMPTY) {
+                        put(oldKeys[slot], oldRanges[slot]);
+                    }
+                }
+            }
+            int mask = keys.length - 1;
+            int slot = hash(orderId) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != orderId) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = orderId;
+                size++;
+            }
+            ranges[slot] = range;
+        }
+
+        /**
+         * Packs a row range
+         * @param start the first row
+         * @param count the number of rows
+         * @return the row range
+         */
+        private static long range(int start, int count) {
+            return (long) start << 32 | count;
+        }
+
+        /**
+         * Get the first row of a range
+         * @param range the row range
+         * @return the first row
+         */
+        private static int start(long range) {
+            return (int) (range >>> 32);
+        }
+
+        /**
+         * Get the row after the last row of a range
+         * @param range the row range
+         * @return the end row, exclusive
+         */
+        private static int end(long range) {
+            return start(range) + (int) range;
+        }
+
+        /**
+         * Spreads order IDs across the table
+         * @param orderId the order ID
+         * @return the hash
+         */
+        private static int hash(long orderId) {
+            long h = orderId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * The columns as they were when a query started
+     * @param size rows to scan
+     * @param days order day as epoch day
+     * @param provinces province ordinal
+     * @param statuses status code
+     * @param productTypes product type ordinal
+     * @param digital 1 for digital items
+     * @param platforms platform code
+     * @param units quantity
+     * @param revenue pre-tax line total in cents
+     * @param tax line tax in cents
+     * @param platformIds platform ID of each code from 1 on
+     * @param platformNames platform name of each code
+     */
+    private record Snapshot(int size, int[] days, byte[] provinces, byte[] statuses, byte[] productTypes,
+                            byte[] digital, short[] platforms, int[] units, long[] revenue, long[] tax,
+                            List<Long> platformIds, List<String> platformNames) {}
+
+    /**
+     * A query translated into column codes and lookup tables
+     */
+    private static final class Plan {
+
+        /**
+         * First and last epoch day to include
+         */
+        private final int fromDay;
+        private final int toDay;
+
+        /**
+         * Whether each status code, province ordinal or platform code passes, or null if not filtered
+         */
+        private final boolean[] statusFilter;
+        private final boolean[] provinceFilter;
+        private final boolean[] platformFilter;
+
+        /**
+         * Required product type ordinal or digital flag, or -1 if not filtered
+         */
+        private final int productTypeFilter;
+        private final int digitalFilter;
+
+        /**
+         * True if no row can match
+         */
+        private final boolean empty;
+
+        /**
+         * Grouped dimensions, outermost first, and the number of values of each
+         */
+        private final FactDimension[] dimensions;
+        private final int[] cardinalities;
+
+        /**
+         * True if the outermost dimension is a day or month, whose groups are numbered in time order
+         */
+        private final boolean chronological;
+
+        /**
+         * Number of groups, the product of the cardinalities
+         */
+        private final int groups;
+
+        /**
+         * Month number of each day offset, and the months, when grouping by month
+         */
+        private final int[] monthOfDay;
+        private final List<YearMonth> months = new ArrayList<>();
+
+        /**
+         * Platform names by code
+         */
+        private final List<String> platformNames;
+
+        /**
+         * Plans a query
+         * @param query the query
+         * @param snapshot the columns to scan
+         * @throws IllegalArgumentException if the grouping would produce too many groups
+         */
+        private Plan(FactQuery query, Snapshot snapshot) {
+            fromDay = Math.toIntExact(query.getFrom().toEpochDay());
+            toDay = Math.toIntExact(query.getTo().toEpochDay());
+            platformNames = snapshot.platformNames();
+
+            if (query.getStatuses() == null) {
+                statusFilter = null;
+            } else {
+                statusFilter = new boolean[OrderStatus.values().length + 1];
+                query.getStatuses().forEach(status -> statusFilter[status.ordinal() + 1] = true);
+            }
+            if (query.getProvinces() == null) {
+                provinceFilter = null;
+            } else {
+                provinceFilter = new boolean[Province.values().length];
+                query.getProvinces().forEach(province -> provinceFilter[province.ordinal()] = true);
+            }
+            int platformCode = query.getPlatformId() == null ? -1 : snapshot.platformIds().indexOf(query.getPlatformId());
+            if (query.getPlatformId() == null || platformCode < 0) {
+                platformFilter = null;
+            } else {
+                platformFilter = new boolean[platformNames.size()];
+                platformFilter[platformCode + 1] = true;
+            }
+            productTypeFilter = query.getProductType() == null ? -1 : query.getProductType().ordinal();
+            digitalFilter = query.getDigital() == null ? -1 : (query.getDigital() ? 1 : 0);
+            empty = query.getPlatformId() != null && platformCode < 0;
+
+            int dayCount = toDay - fromDay + 1;
+            monthOfDay = new int[dayCount];
+            dimensions = query.getGroupBy().toArray(new FactDimension[0]);
+            cardinalities = new int[dimensions.length];
+            if (query.getGroupBy().contains(FactDimension.MONTH)) {
+                for (int offset = 0; offset < dayCount; offset++) {
+                    YearMonth month = YearMonth.from(query.getFrom().plusDays(offset));
+                    if (months.isEmpty() || !months.getLast().equals(month)) {
+                        months.add(month);
+                    }
+                    monthOfDay[offset] = months.size() - 1;
+                }
+            }
+            long product = 1;
+            for (int d = 0; d < dimensions.length; d++) {
+                cardinalities[d] = switch (dimensions[d]) {
+                    case DAY -> dayCount;
+                    case MONTH -> months.size();
+                    case PROVINCE -> Province.values().length;
+                    case STATUS -> OrderStatus.values().length + 1;
+                    case PRODUCT_TYPE -> ProductType.values().length;
+                    case DELIVERY -> 2;
+                    case PLATFORM -> platformNames.size();
+                };
+                product *= cardinalities[d];
+                if (product > MAX_GROUPS) {
+                    throw new IllegalArgumentException("Grouping by " + query.getGroupBy()
+                            + " over this date range produces more than " + MAX_GROUPS + " groups");
+                }
+            }
+            groups = (int) product;
+            chronological = dimensions.length > 0
+                    && (dimensions[0] == FactDimension.DAY || dimensions[0] == FactDimension.MONTH);
+        }
+
+        /**
+         * Decodes a group number into the labels of its dimension values
+         * @param group the group number
+         * @return the labels, outermost dimension first
+         */
+        private List<String> labels(int group) {
+            String[] labels = new String[dimensions.length];
+            for (int d = dimensions.length - 1; d >= 0; d--) {
+                int value = group % cardinalities[d];
+                group /= cardinalities[d];
+                labels[d] = switch (dimensions[d]) {
+                    case DAY -> LocalDate.ofEpochDay(fromDay + value).toString();
+                    case MONTH -> months.get(value).toString();
+                    case PROVINCE -> Province.values()[value].name();
+                    case STATUS -> value == NO_STATUS ? "NONE" : OrderStatus.values()[value - 1].name();
+                    case PRODUCT_TYPE -> ProductType.values()[value].name();
+                    case DELIVERY -> value == 1 ? "DIGITAL" : "PHYSICAL";
+                    case PLATFORM -> platformNames.get(value);
+                };
+            }
+            return List.of(labels);
+        }
+    }
+
+    /**
+     * Sums the groups of a range of rows, splitting it between workers while it is large
+     */
+    private static final class ScanTask extends RecursiveTask<long[]> {
+
+        /**
+         * The columns
+         */
+        private final Snapshot columns;
+
+        /**
+         * The query plan
+         */
+        private final Plan plan;
+
+        /**
+         * First row and the row after the last
+         */
+        private final int start;
+        private final int end;
+
+        /**
+         * Rows at or below which the task scans instead of splitting
+         */
+        private final int threshold;
+
+        /**
+         * Creates a task over a range of rows
+         * @param columns the columns
+         * @param plan the query plan
+         * @param start the first row
+         * @param end the row after the last
+         * @param threshold rows at or below which the task scans instead of splitting
+         */
+        private ScanTask(Snapshot columns, Plan plan, int start, int end, int threshold) {
+            this.columns = columns;
+            this.plan = plan;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        /**
+         * Scans the range or splits it in two and adds up the halves
+         * @return sums per group, {@link #METRICS} per group
+         */
+        @Override
+        protected long[] compute() {
+            if (end - start <= threshold) {
+                return scan();
+            }
+            int middle = (start + end) >>> 1;
+            ScanTask left = new ScanTask(columns, plan, start, middle, threshold);
+            left.fork();
+            long[] sums = new ScanTask(columns, plan, middle, end, threshold).compute();
+            long[] leftSums = left.join();
+            for (int i = 0; i < sums.length; i++) {
+                sums[i] += leftSums[i];
+            }
+            return sums;
+        }
+
+        /**
+         * Scans the range one block at a time: each filter narrows the selection vector, then
+         * the group numbers of the selected rows are built one dimension at a time and summed
+         * @return sums per group
+         */
+        private long[] scan() {
+            long[] sums = new long[plan.groups * METRICS];
+            int[] selection = new int[BATCH_SIZE];
+            int[] groups = new int[BATCH_SIZE];
+            int[] days = columns.days();
+            for (int base = start; base < end; base += BATCH_SIZE) {
+                int limit = Math.min(base + BATCH_SIZE, end);
+                int selected = 0;
+                for (int row = base; row < limit; row++) {
+                    int day = days[row];
+                    selection[selected] = row;
+                    selected += (day >= plan.fromDay) & (day <= plan.toDay) ? 1 : 0;
+                }
+                if (plan.statusFilter != null) {
+                    selected = select(selection, selected, columns.statuses(), plan.statusFilter);
+                }
+                if (plan.provinceFilter != null) {
+                    selected = select(selection, selected, columns.provinces(), plan.provinceFilter);
+                }
+                if (plan.productTypeFilter >= 0) {
+                    selected = selectEqual(selection, selected, columns.productTypes(), plan.productTypeFilter);
+                }
+                if (plan.digitalFilter >= 0) {
+                    selected = selectEqual(selection, selected, columns.digital(), plan.digitalFilter);
+                }
+                if (plan.platformFilter != null) {
+                    short[] platforms = columns.platforms();
+                    int kept = 0;
+                    for (int k = 0; k < selected; k++) {
+                        int row = selection[k];
+                        selection[kept] = row;
+                        kept += plan.platformFilter[platforms[row]] ? 1 : 0;
+                    }
+                    selected = kept;
+                }
+                if (selected == 0) {
+                    continue;
+                }
+
+                Arrays.fill(groups, 0, selected, 0);
+                for (int d = 0; d < plan.dimensions.length; d++) {
+                    addDimension(groups, selection, selected, plan.dimensions[d], plan.cardinalities[d]);
+                }
+                int[] units = columns.units();
+                long[] revenue = columns.revenue();
+                long[] tax = columns.tax();
+                for (int k = 0; k < selected; k++) {
+                    int row = selection[k];
+                    int offset = groups[k] * METRICS;
+                    sums[offset]++;
+                    sums[offset + 1] += units[row];
+                    sums[offset + 2] += revenue[row];
+                    sums[offset + 3] += tax[row];
+                }
+            }
+            return sums;
+        }
+
+        /**
+         * Appends one dimension's value to the group numbers of the selected rows
+         * @param groups group number of each selected row
+         * @param selection the selected rows
+         * @param selected number of selected rows
+         * @param dimension the dimension
+         * @param cardinality number of values of the dimension
+         */
+        private void addDimension(int[] groups, int[] selection, int selected, FactDimension dimension, int cardinality) {
+            switch (dimension) {
+                case DAY -> {
+                    int[] days = columns.days();
+                    for (int k = 0; k < selected; k++) {
+                        groups[k] = groups[k] * cardinality + (days[selection[k]] - plan.fromDay);
+                    }
+                }
+                case MONTH -> {
+                    int[] days = columns.days();
+                    for (int k = 0; k < selected; k++) {
+                        groups[k] = groups[k] * cardinality + plan.monthOfDay[days[selection[k]] - plan.fromDay];
+                    }
+                }
+                case PROVINCE -> addByteDimension(groups, selection, selected, columns.provinces(), cardinality);
+                case STATUS -> addByteDimension(groups, selection, selected, columns.statuses(), cardinality);
+                case PRODUCT_TYPE -> addByteDimension(groups, selection, selected, columns.productTypes(), cardinality);
+                case DELIVERY -> addByteDimension(groups, selection, selected, columns.digital(), cardinality);
+                case PLATFORM -> {
+                    short[] platforms = columns.platforms();
+                    for (int k = 0; k < selected; k++) {
+                        groups[k] = groups[k] * cardinality + platforms[selection[k]];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Appends the value of a byte column to the group numbers of the selected rows
+         * @param groups group number of each selected row
+         * @param selection the selected rows
+         * @param selected number of selected rows
+         * @param column the column
+         * @param cardinality number of values of the column
+         */
+        private static void addByteDimension(int[] groups, int[] selection, int selected, byte[] column, int cardinality) {
+            for (int k = 0; k < selected; k++) {
+                groups[k] = groups[k] * cardinality + column[selection[k]];
+            }
+        }
+
+        /**
+         * Keeps the selected rows whose code passes a lookup table, without branching per row
+         * @param selection the selected rows, compacted in place
+         * @param selected number of selected rows
+         * @param column the column
+         * @param passes whether each code passes
+         * @return number of rows still selected
+         */
+        private static int select(int[] selection, int selected, byte[] column, boolean[] passes) {
+            int kept = 0;
+            for (int k = 0; k < selected; k++) {
+                int row = selection[k];
+                selection[kept] = row;
+                kept += passes[column[row]] ? 1 : 0;
+            }
+            return kept;
+        }
+
+        /**
+         * Keeps the selected rows whose code equals a value, without branching per row
+         * @param selection the selected rows, compacted in place
+         * @param selected number of selected rows
+         * @param column the column
+         * @param value the required code
+         * @return number of rows still selected
+         */
+        private static int selectEqual(int[] selection, int selected, byte[] column, int value) {
+            int kept = 0;
+            for (int k = 0; k < selected; k++) {
+                int row = selection[k];
+                selection[kept] = row;
+                kept += column[row] == value ? 1 : 0;
+            }
+            return kept;
+        }
+    }
+}
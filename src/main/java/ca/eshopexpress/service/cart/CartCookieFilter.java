@@ -0,0 +1,265 @@
+package ca.eshopexpress.service.cart;
+
+import ca.eshopexpress.config.CookieSigner;
+import ca.eshopexpress.model.enums.ProductType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Carries the cart in a signed cookie in stateless session mode, so any node can serve any request.
+ * <p>
+ * Before the request the cart is rebuilt from the cookie at today's prices, dropping products
+ * that no longer exist, and held in the {@link CartStore} under a cart ID of its own for the
+ * duration of the request. Just before the response is committed the cookie is rewritten, but
+ * only if the cart or its owner changed, so browsing the catalog sets no cookie.
+ * </p>
+ * <p>
+ * The cookie holds a compact binary snapshot of 10 bytes per line (type, product, platform and
+ * quantity) and no prices; with at most
+ * {@link SessionCart#MAX_LINES} lines it stays well below the 4 KB cookie limit. Two requests
+ * changing the same cart at once both start from the same cookie, and the last response wins.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class CartCookieFilter extends OncePerRequestFilter {
+
+    /**
+     * Name of the cart cookie
+     */
+    public static final String COOKIE_NAME = "ESX_CART";
+
+    /**
+     * Snapshot format version
+     */
+    private static final byte VERSION = 2;
+
+    /**
+     * Holds the cart during the request
+     */
+    private final CartStore cartStore;
+
+    /**
+     * Prices the restored lines
+     */
+    private final PriceBook priceBook;
+
+    /**
+     * Signs and verifies the cookie
+     */
+    private final CookieSigner signer;
+
+    /**
+     * How long the browser keeps the cookie after the last change
+     */
+    private final Duration maxAge;
+
+    /**
+     * Constructs the filter
+     * @param cartStore holds the cart during the request
+     * @param priceBook prices the restored lines
+     * @param signer signs and verifies the cookie
+     * @param maxAge how long the browser keeps the cookie after the last change
+     */
+    public CartCookieFilter(CartStore cartStore, PriceBook priceBook, CookieSigner signer, Duration maxAge) {
+        this.cartStore = cartStore;
+        this.priceBook = priceBook;
+        this.signer = signer;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * Restores the cart, runs the request and saves the cart if it changed
+     * @param request the request
+     * @param response the response
+     * @param filterChain the rest of the chain
+     * @throws ServletException if the chain fails
+     * @throws IOException if the chain fails
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        byte[] payload = signer.read(request, COOKIE_NAME);
+        SessionCart cart = payload == null ? null : decode(payload);
+        if (cart == null) {
+            cart = new SessionCart();
+        }
+        String cartId = cartStore.newCartId();
+        cartStore.put(cartId, cart);
+        request.setAttribute(CartStore.CART_ID_ATTRIBUTE, cartId);
+
+        boolean present = WebUtils.getCookie(request, COOKIE_NAME) != null;
+        CartCookieResponse wrapped = new CartCookieResponse(request, response, cart, present, payload);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            wrapped.save();
+            cartStore.remove(cartId);
+        }
+    }
+
+    /**
+     * Encodes the lines and owner of a cart
+     * @param cart the cart
+     * @return the snapshot
+     */
+    static byte[] encode(SessionCart cart) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + cart.getLineCount() * 10);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            Long ownerId = cart.getOwnerId();
+            out.writeLong(ownerId == null ? 0 : ownerId);
+            ByteArrayOutputStream lineBytes = new ByteArrayOutputStream(cart.getLineCount() * 10);
+            DataOutputStream lines = new DataOutputStream(lineBytes);
+            int[] count = new int[1];
+            cart.forEach((type, productId, platformId, quantity, priceCents) -> {
+                try {
+                    lines.writeByte(type.ordinal());
+                    lines.writeInt((int) productId);
+                    lines.writeInt((int) platformId);
+                    lines.writeByte(quantity);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeShort(count[0]);
+            lineBytes.writeTo(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds a cart from a snapshot at today's prices
+     * @param payload the snapshot
+     * @return the cart, or null if the snapshot is malformed
+     */
+    SessionCart decode(byte[] payload) {
+        ProductType[] types = ProductType.values();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != VERSION) {
+                return null;
+            }
+            SessionCart cart = new SessionCart();
+            long ownerId = in.readLong();
+            cart.setOwnerId(ownerId == 0 ? null : ownerId);
+            int count = in.readUnsignedShort();
+            if (count > SessionCart.MAX_LINES) {
+                return null;
+            }
+            for (int i = 0; i < count; i++) {
+                int type = in.readUnsignedByte();
+                long productId = Integer.toUnsignedLong(in.readInt());
+                long platformId = Integer.toUnsignedLong(in.readInt());
+                int quantity = in.readUnsignedByte();
+                if (type >= types.length || productId == 0) {
+                    return null;
+                }
+                PriceBook.Entry price = priceBook.get(types[type], productId);
+                if (price != null && price.accepts(platformId)) {
+                    cart.set(types[type], productId, platformId, quantity, price.priceCents());
+                }
+            }
+            return cart;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the cart cookie just before the response is committed
+     */
+    private final class CartCookieResponse extends OnCommittedResponseWrapper {
+
+        /**
+         * The request, for the cookie path and scheme
+         */
+        private final HttpServletRequest request;
+
+        /**
+         * The cart of the request
+         */
+        private final SessionCart cart;
+
+        /**
+         * Whether the request arrived with a cart cookie, valid or not
+         */
+        private final boolean present;
+
+        /**
+         * The verified cookie the request arrived with, or null
+         */
+        private final byte[] original;
+
+        /**
+         * Whether the cookie has been dealt with
+         */
+        private boolean saved;
+
+        /**
+         * Wraps a response
+         * @param request the request
+         * @param response the response
+         * @param cart the cart of the request
+         * @param present whether the request arrived with a cart cookie, valid or not
+         * @param original the verified cookie the request arrived with, or null
+         */
+        CartCookieResponse(HttpServletRequest request, HttpServletResponse response, SessionCart cart,
+                           boolean present, byte[] original) {
+            super(response);
+            this.request = request;
+            this.cart = cart;
+            this.present = present;
+            this.original = original;
+        }
+
+        /**
+         * Saves the cart as the response is about to be committed
+         */
+        @Override
+        protected void onResponseCommitted() {
+            save();
+        }
+
+        /**
+         * Rewrites the cookie if the cart changed, or drops it once the cart is empty and unowned;
+         * a forged or malformed cookie is dropped too
+         */
+        void save() {
+            if (saved) {
+                return;
+            }
+            saved = true;
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (cart.isEmpty() && cart.getOwnerId() == null) {
+                if (present) {
+                    signer.clear(request, response, COOKIE_NAME);
+                }
+                return;
+            }
+            // Also rewrites a cookie whose deleted products were dropped on restore
+            byte[] current = encode(cart);
+            if (!Arrays.equals(current, original)) {
+                signer.write(request, response, COOKIE_NAME, current, maxAge);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ca.eshopexpress.service.cart;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from line key to quantity and unit price for one product type.
+ * <p>
+ * Keys, quantities and prices live in three parallel primitive arrays with linear probing, so
+ * a cart line costs 20 bytes and adding or changing a line allocates nothing unless the table
+ * grows. A line key packs a product ID and a platform ID (see {@link SessionCart#lineKey}); the
+ * map treats it as an opaque positive number. Not thread-safe; {@link SessionCart} guards it.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+class CartLines {
+
+    /**
+     * Marks an empty slot; line keys are always positive
+     */
+    private static final long EMPTY = 0L;
+
+    /**
+     * Line keys per slot
+     */
+    private long[] keys;
+
+    /**
+     * Quantities per slot
+     */
+    private int[] quantities;
+
+    /**
+     * Unit prices in cents per slot
+     */
+    private long[] prices;
+
+    /**
+     * Number of lines
+     */
+    private int size;
+
+    /**
+     * Creates an empty map with room for a few lines
+     */
+    CartLines() {
+        allocate(8);
+    }
+
+    /**
+     * Get the quantity of a line
+     * @param key the line key
+     * @return the quantity, or 0 if the line is not in the cart
+     */
+    int quantity(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : quantities[slot];
+    }
+
+    /**
+     * Get the unit price of a line
+     * @param key the line key
+     * @return the unit price in cents, or 0 if the line is not in the cart
+     */
+    long price(long key) {
+        int slot = find(key);
+        return slot < 0 ? 0 : prices[slot];
+    }
+
+    /**
+     * Sets the quantity and unit price of a line, adding or removing the line as needed
+     * @param key the line key
+     * @param quantity the new quantity; 0 removes the line
+     * @param priceCents the unit price in cents
+     */
+    void put(long key, int quantity, long priceCents) {
+        if (quantity <= 0) {
+            remove(key);
+            return;
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+        }
+        quantities[slot] = quantity;
+        prices[slot] = priceCents;
+    }
+
+    /**
+     * Removes a line
+     * @param key the line key
+     */
+    void remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        keys[slot] = EMPTY;
+        size--;
+        // Re-insert the rest of the probe run so lookups do not stop at the hole
+        int next = (slot + 1) & mask;
+        while (keys[next] != EMPTY) {
+            long moved = keys[next];
+            int quantity = quantities[next];
+            long price = prices[next];
+            keys[next] = EMPTY;
+            size--;
+            put(moved, quantity, price);
+            next = (next + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes every line
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Get the number of lines
+     * @return line count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visits every line
+     * @param consumer receives each line
+     */
+    void forEach(LineConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                consumer.accept(keys[slot], quantities[slot], prices[slot]);
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of a line
+     * @param key the line key
+     * @return the slot, or -1 if absent
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Grows the table and re-inserts every line
+     * @param capacity the new capacity, a power of two
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldQuantities = quantities;
+        long[] oldPrices = prices;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                put(oldKeys[slot], oldQuantities[slot], oldPrices[slot]);
+            }
+        }
+    }
+
+    /**
+     * Allocates empty arrays
+     * @param capacity the capacity, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        quantities = new int[capacity];
+        prices = new long[capacity];
+        size = 0;
+    }
+
+    /**
+     * Spreads line keys across the table
+     * @param key the line key
+     * @return the hash
+     */
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Receives cart lines
+     */
+    @FunctionalInterface
+    interface LineConsumer {
+        /**
+         * Accepts one line
+         * @param key the line key
+         * @param quantity the quantity
+         * @param priceCents the unit price in cents
+         */
+        void accept(long key, int quantity, long priceCents);
+    }
+}
@@ -0,0 +1,56 @@
+package ca.eshopexpress.service.cart;
+
+import ca.eshopexpress.service.CartService;
+import ca.eshopexpress.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Merges the anonymous session cart with the customer's saved cart when they sign in.
+ * <p>
+ * The merge runs once per cart and customer: the cart remembers whom it was merged for, so
+ * re-authentication with the same cart does not add the saved lines twice.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class CartLoginListener {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CartStore cartStore;
+
+    /**
+     * Merges the carts after a successful sign-in
+     * @param event the authentication event
+     */
+    @EventListener
+    public void onLogin(AuthenticationSuccessEvent event) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        userService.findByUsername(event.getAuthentication().getName()).ifPresent(user -> {
+            String cartId = cartStore.cartIdOf(request);
+            SessionCart cart = cartService.getCart(cartId);
+            if (user.getId().equals(cart.getOwnerId())) {
+                return;
+            }
+            cartService.mergeOnLogin(cartId, user.getId());
+            cart.setOwnerId(user.getId());
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package ca.eshopexpress.service.cart;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Bounded in-memory store of {@link SessionCart}s keyed by a random cart ID.
+ * <p>
+ * The cart ID lives in the HTTP session, the cart itself lives here, so session serialization
+ * never copies cart lines. Carts that are not touched for the idle timeout are evicted, and the
+ * store never holds more than the configured number of carts. Size, hits and evictions are
+ * published as the {@code carts} cache metrics.
+ * </p>
+ * <p>
+ * In stateless session mode the cart travels in a signed cookie instead, and
+ * {@link CartCookieFilter} holds it here only for the duration of one request, under a cart ID
+ * it puts in a request attribute.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class CartStore {
+
+    /**
+     * Session or request attribute holding the cart ID
+     */
+    public static final String CART_ID_ATTRIBUTE = "cartId";
+
+    /**
+     * Carts by cart ID
+     */
+    private final Cache<String, SessionCart> carts;
+
+    /**
+     * Builds the store
+     * @param maxCarts the maximum number of carts held
+     * @param idleTimeout how long an untouched cart is kept
+     * @param meterRegistry registry for the cache metrics
+     */
+    @Autowired
+    public CartStore(@Value("${eshopexpress.cart.max-carts:100000}") long maxCarts,
+                     @Value("${eshopexpress.cart.idle-timeout:PT2H}") Duration idleTimeout,
+                     MeterRegistry meterRegistry) {
+        this.carts = Caffeine.newBuilder()
+                .maximumSize(maxCarts)
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, carts, "carts");
+    }
+
+    /**
+     * Get a cart, creating an empty one if it was never created or has been evicted
+     * @param cartId the cart ID
+     * @return the cart
+     */
+    public SessionCart get(String cartId) {
+        return carts.get(cartId, id -> new SessionCart());
+    }
+
+    /**
+     * Get a cart if it is still held
+     * @param cartId the cart ID
+     * @return the cart, or null
+     */
+    public SessionCart getIfPresent(String cartId) {
+        return cartId == null ? null : carts.getIfPresent(cartId);
+    }
+
+    /**
+     * Holds a cart under an ID, replacing any cart held under it
+     * @param cartId the cart ID
+     * @param cart the cart
+     */
+    public void put(String cartId, SessionCart cart) {
+        carts.put(cartId, cart);
+    }
+
+    /**
+     * Drops a cart
+     * @param cartId the cart ID
+     */
+    public void remove(String cartId) {
+        carts.invalidate(cartId);
+    }
+
+    /**
+     * Get the cart ID of a request: the one its cart cookie was restored under in stateless
+     * mode, otherwise the one of its HTTP session
+     * @param request the HTTP request
+     * @return the cart ID
+     */
+    public String cartIdOf(HttpServletRequest request) {
+        if (request.getAttribute(CART_ID_ATTRIBUTE) instanceof String cartId) {
+            return cartId;
+        }
+        return cartIdOf(request.getSession());
+    }
+
+    /**
+     * Get the cart ID of a session, assigning a new one on first use
+     * @param session the HTTP session
+     * @return the cart ID
+     */
+    public String cartIdOf(HttpSession session) {
+        String cartId = (String) session.getAttribute(CART_ID_ATTRIBUTE);
+        if (cartId == null) {
+            cartId = newCartId();
+            session.setAttribute(CART_ID_ATTRIBUTE, cartId);
+        }
+        return cartId;
+    }
+
+    /**
+     * Generates a new cart ID
+     * @return a random cart ID
+     */
+    public String newCartId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Get the number of carts held
+     * @return cart count
+     */
+    public long size() {
+        return carts.estimatedSize();
+    }
+}
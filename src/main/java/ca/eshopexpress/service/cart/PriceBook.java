@@ -0,0 +1,131 @@
+package ca.eshopexpress.service.cart;
+
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.enums.ProductType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory price list of every game and accessory, so that adding to the cart never
+ * touches the database.
+ * <p>
+ * Loaded once the application has started and kept current by the game and accessory
+ * services whenever a product is saved or deleted. Prices are in cents. A game's entry also
+ * holds its platforms, so a digital game's key is only put in the cart for a platform it is sold on.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class PriceBook {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Price entries per product type
+     */
+    private final Map<ProductType, Map<Long, Entry>> entries = new EnumMap<>(ProductType.class);
+
+    /**
+     * Creates an empty price book
+     */
+    public PriceBook() {
+        for (ProductType type : ProductType.values()) {
+            entries.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Loads every price from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Map<Long, Set<Long>> platforms = new HashMap<>();
+        jdbcTemplate.query("SELECT game_id, platform_id FROM game_platforms", (RowCallbackHandler) rs ->
+                platforms.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2)));
+        Map<Long, Entry> games = entries.get(ProductType.GAME);
+        jdbcTemplate.query("SELECT id, price, is_digital FROM games", (RowCallbackHandler) rs ->
+                games.put(rs.getLong(1), new Entry(SessionCart.toCents(rs.getBigDecimal(2)), rs.getBoolean(3),
+                        Set.copyOf(platforms.getOrDefault(rs.getLong(1), Set.of())))));
+        Map<Long, Entry> accessories = entries.get(ProductType.ACCESSORY);
+        jdbcTemplate.query("SELECT id, price FROM accessories", (RowCallbackHandler) rs ->
+                accessories.put(rs.getLong(1), new Entry(SessionCart.toCents(rs.getBigDecimal(2)), false, Set.of())));
+    }
+
+    /**
+     * Looks up the price of a product
+     * @param type game or accessory
+     * @param productId the product ID
+     * @return the entry, or null if the product does not exist
+     */
+    public Entry get(ProductType type, long productId) {
+        return entries.get(type).get(productId);
+    }
+
+    /**
+     * Records the price of a saved game
+     * @param game the saved game
+     */
+    public void put(Game game) {
+        if (game != null && game.getId() != null) {
+            Set<Long> platformIds = game.getPlatforms() == null ? Set.of()
+                    : game.getPlatforms().stream().map(platform -> platform.getId()).collect(Collectors.toUnmodifiableSet());
+            entries.get(ProductType.GAME).put(game.getId(),
+                    new Entry(SessionCart.toCents(game.getPrice()), game.isDigital(), platformIds));
+        }
+    }
+
+    /**
+     * Records the price of a saved accessory
+     * @param accessory the saved accessory
+     */
+    public void put(Accessory accessory) {
+        if (accessory != null && accessory.getId() != null) {
+            entries.get(ProductType.ACCESSORY).put(accessory.getId(), new Entry(SessionCart.toCents(accessory.getPrice()), false, Set.of()));
+        }
+    }
+
+    /**
+     * Removes a deleted product
+     * @param type game or accessory
+     * @param productId the product ID
+     */
+    public void remove(ProductType type, long productId) {
+        entries.get(type).remove(productId);
+    }
+
+    /**
+     * Price of one product
+     * @param priceCents the unit price in cents
+     * @param digital whether the product is delivered as a digital key
+     * @param platformIds the platforms of a game
+     */
+    public record Entry(long priceCents, boolean digital, Set<Long> platformIds) {
+
+        /**
+         * Checks the platform of a cart line: a digital game's key must be for one of its
+         * platforms, any other product has none
+         * @param platformId the platform of the line, or 0
+         * @return true if the product can be in the cart with this platform
+         */
+        public boolean accepts(long platformId) {
+            return digital ? platformIds.contains(platformId) : platformId == 0;
+        }
+    }
+}
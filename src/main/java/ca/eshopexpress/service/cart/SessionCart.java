@@ -0,0 +1,382 @@
+package ca.eshopexpress.service.cart;
+
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.model.enums.ProductType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The cart of one browser session, held in memory until login or checkout.
+ * <p>
+ * Lines are kept per {@link ProductType} in primitive {@link CartLines} maps, prices in cents.
+ * A line is a product on a platform: a digital game carries the platform its key is for, so the
+ * same game for two platforms is two lines; every other line has platform {@code 0}.
+ * The subtotal and item count are adjusted by the delta of each change instead of being
+ * recomputed over every line, so reading them is constant time. Every method holds the cart's
+ * lock because a customer may fire several cart requests in parallel from different tabs; it is
+ * a {@link ReentrantLock} rather than a monitor so a virtual thread waiting on it does not pin
+ * its carrier thread.
+ * </p>
+ * <p>
+ * A cart holds at most {@link #MAX_LINES} different lines, which also bounds the size of
+ * the cart cookie in stateless session mode.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.3
+ * @since 2026-10-18
+ */
+public class SessionCart {
+
+    /**
+     * Maximum quantity of a single product per cart
+     */
+    public static final int MAX_QUANTITY = 10;
+
+    /**
+     * Maximum number of different lines per cart
+     */
+    public static final int MAX_LINES = 100;
+
+    /**
+     * Guards every field below
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Lines per product type
+     */
+    private final Map<ProductType, CartLines> lines = new EnumMap<>(ProductType.class);
+
+    /**
+     * Running subtotal in cents
+     */
+    private long subtotalCents;
+
+    /**
+     * Running number of units across all lines
+     */
+    private int itemCount;
+
+    /**
+     * Number of lines across all product types
+     */
+    private int lineCount;
+
+    /**
+     * ID of the customer whose saved cart was merged into this one, or null
+     */
+    private Long ownerId;
+
+    /**
+     * Adds units of a product, capping the line at {@link #MAX_QUANTITY}
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @param quantity units to add
+     * @param priceCents the current unit price in cents
+     * @return the new quantity of the line
+     * @throws CheckoutException if the line is new and the cart already holds {@link #MAX_LINES} lines
+     */
+    public int add(ProductType type, long productId, long platformId, int quantity, long priceCents) {
+        lock.lock();
+        try {
+            int current = linesOf(type).quantity(lineKey(productId, platformId));
+            return set(type, productId, platformId, current + quantity, priceCents);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets the quantity of a line, capped at {@link #MAX_QUANTITY}; zero or less removes it
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @param quantity the new quantity
+     * @param priceCents the current unit price in cents
+     * @return the new quantity of the line
+     * @throws CheckoutException if the line is new and the cart already holds {@link #MAX_LINES} lines
+     */
+    public int set(ProductType type, long productId, long platformId, int quantity, long priceCents) {
+        lock.lock();
+        try {
+            CartLines typeLines = linesOf(type);
+            long key = lineKey(productId, platformId);
+            int newQuantity = Math.max(0, Math.min(quantity, MAX_QUANTITY));
+            int oldQuantity = typeLines.quantity(key);
+            long oldPrice = typeLines.price(key);
+            if (oldQuantity == 0 && newQuantity > 0 && lineCount >= MAX_LINES) {
+                throw new CheckoutException("A cart can hold at most " + MAX_LINES + " different products");
+            }
+
+            typeLines.put(key, newQuantity, priceCents);
+            subtotalCents += newQuantity * priceCents - oldQuantity * oldPrice;
+            itemCount += newQuantity - oldQuantity;
+            lineCount += Integer.signum(newQuantity) - Integer.signum(oldQuantity);
+            return newQuantity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the unit price of a line, keeping its quantity
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @param priceCents the new unit price in cents
+     */
+    public void reprice(ProductType type, long productId, long platformId, long priceCents) {
+        lock.lock();
+        try {
+            CartLines typeLines = linesOf(type);
+            long key = lineKey(productId, platformId);
+            int quantity = typeLines.quantity(key);
+            if (quantity > 0) {
+                subtotalCents += quantity * (priceCents - typeLines.price(key));
+                typeLines.put(key, quantity, priceCents);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the quantity of a line
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @return the quantity, or 0 if the line is not in the cart
+     */
+    public int quantity(ProductType type, long productId, long platformId) {
+        lock.lock();
+        try {
+            CartLines typeLines = lines.get(type);
+            return typeLines == null ? 0 : typeLines.quantity(lineKey(productId, platformId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a line from the cart
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     */
+    public void remove(ProductType type, long productId, long platformId) {
+        lock.lock();
+        try {
+            CartLines typeLines = lines.get(type);
+            if (typeLines != null && typeLines.quantity(lineKey(productId, platformId)) > 0) {
+                set(type, productId, platformId, 0, 0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every line
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            for (CartLines typeLines : lines.values()) {
+                typeLines.clear();
+            }
+            subtotalCents = 0;
+            itemCount = 0;
+            lineCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Visits every line, grouped by product type
+     * @param visitor receives each line
+     */
+    public void forEach(LineVisitor visitor) {
+        lock.lock();
+        try {
+            for (Map.Entry<ProductType, CartLines> entry : lines.entrySet()) {
+                ProductType type = entry.getKey();
+                entry.getValue().forEach((key, quantity, priceCents) ->
+                        visitor.visit(type, productIdOf(key), platformIdOf(key), quantity, priceCents));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the subtotal
+     * @return the subtotal in cents
+     */
+    public long getSubtotalCents() {
+        lock.lock();
+        try {
+            return subtotalCents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the subtotal
+     * @return the subtotal in dollars
+     */
+    public BigDecimal getSubtotal() {
+        return BigDecimal.valueOf(getSubtotalCents(), 2);
+    }
+
+    /**
+     * Get the number of units in the cart
+     * @return unit count
+     */
+    public int getItemCount() {
+        lock.lock();
+        try {
+            return itemCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the number of different lines in the cart
+     * @return line count
+     */
+    public int getLineCount() {
+        lock.lock();
+        try {
+            return lineCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check if a line can be added without exceeding {@link #MAX_LINES}
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @return true if the line is already in the cart or there is room for a new line
+     */
+    public boolean hasRoomFor(ProductType type, long productId, long platformId) {
+        lock.lock();
+        try {
+            return lineCount < MAX_LINES || quantity(type, productId, platformId) > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the customer whose saved cart was merged into this one
+     * @return the customer ID, or null if no saved cart was merged
+     */
+    public Long getOwnerId() {
+        lock.lock();
+        try {
+            return ownerId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Set the customer whose saved cart was merged into this one
+     * @param ownerId the customer ID
+     */
+    public void setOwnerId(Long ownerId) {
+        lock.lock();
+        try {
+            this.ownerId = ownerId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check if the cart has no lines
+     * @return true if the cart is empty
+     */
+    public boolean isEmpty() {
+        lock.lock();
+        try {
+            return itemCount == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Get the line map of a product type, creating it on first use
+     * @param type game or accessory
+     * @return the line map
+     */
+    private CartLines linesOf(ProductType type) {
+        return lines.computeIfAbsent(type, k -> new CartLines());
+    }
+
+    /**
+     * Packs a product and platform into a line key; product and platform IDs are 32-bit
+     * database keys and product IDs are positive, so a line key is never 0
+     * @param productId the product ID
+     * @param platformId the platform ID, or 0
+     * @return the line key
+     */
+    static long lineKey(long productId, long platformId) {
+        return platformId << 32 | productId;
+    }
+
+    /**
+     * Unpacks the product ID of a line key
+     * @param key the line key
+     * @return the product ID
+     */
+    static long productIdOf(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Unpacks the platform ID of a line key
+     * @param key the line key
+     * @return the platform ID, or 0
+     */
+    static long platformIdOf(long key) {
+        return key >>> 32;
+    }
+
+    /**
+     * Converts a price to cents
+     * @param price the price in dollars
+     * @return the price in cents
+     */
+    public static long toCents(BigDecimal price) {
+        return price == null ? 0 : price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Receives cart lines
+     */
+    @FunctionalInterface
+    public interface LineVisitor {
+        /**
+         * Visits one line
+         * @param type game or accessory
+         * @param productId the product ID
+         * @param platformId the platform of a digital game's key, otherwise 0
+         * @param quantity the quantity
+         * @param priceCents the unit price in cents
+         */
+        void visit(ProductType type, long productId, long platformId, int quantity, long priceCents);
+    }
+}
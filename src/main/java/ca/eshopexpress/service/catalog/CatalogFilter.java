@@ -0,0 +1,206 @@
+package ca.eshopexpress.service.catalog;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * A combined filter over the game catalog, e.g. "Switch + RPG + under $40 + rating >= 4".
+ * <p>
+ * Every criterion is optional; a {@code null} value means the criterion is not applied.
+ * Platform and genre names are matched the same way as the repositories do, case-insensitively
+ * and on partial names.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CatalogFilter {
+    /**
+     * Platform name
+     */
+    private String platform;
+    /**
+     * Genre name
+     */
+    private String genre;
+    /**
+     * Lowest price to include
+     */
+    private BigDecimal minPrice;
+    /**
+     * Highest price to include
+     */
+    private BigDecimal maxPrice;
+    /**
+     * Lowest average rating to include
+     */
+    private Double minRating;
+    /**
+     * Earliest release date to include
+     */
+    private LocalDate releasedAfter;
+    /**
+     * Digital or physical only
+     */
+    private Boolean digital;
+    /**
+     * Result ordering
+     */
+    private CatalogSort sort = CatalogSort.NEWEST;
+
+    /**
+     * Empty constructor for a filter that matches the whole catalog
+     */
+    public CatalogFilter() {}
+
+    /**
+     * Filter on a single platform
+     * @param platform platform name
+     * @return a new filter
+     */
+    public static CatalogFilter byPlatform(String platform) {
+        CatalogFilter filter = new CatalogFilter();
+        filter.setPlatform(platform);
+        return filter;
+    }
+
+    /**
+     * Filter on a single genre
+     * @param genre genre name
+     * @return a new filter
+     */
+    public static CatalogFilter byGenre(String genre) {
+        CatalogFilter filter = new CatalogFilter();
+        filter.setGenre(genre);
+        return filter;
+    }
+
+    /**
+     * Get the platform name
+     * @return platform name
+     */
+    public String getPlatform() {
+        return platform;
+    }
+
+    /**
+     * Set the platform name
+     * @param platform platform name
+     */
+    public void setPlatform(String platform) {
+        this.platform = platform;
+    }
+
+    /**
+     * Get the genre name
+     * @return genre name
+     */
+    public String getGenre() {
+        return genre;
+    }
+
+    /**
+     * Set the genre name
+     * @param genre genre name
+     */
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
+
+    /**
+     * Get the lowest price
+     * @return lowest price
+     */
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    /**
+     * Set the lowest price
+     * @param minPrice lowest price
+     */
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    /**
+     * Get the highest price
+     * @return highest price
+     */
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    /**
+     * Set the highest price
+     * @param maxPrice highest price
+     */
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    /**
+     * Get the minimum average rating
+     * @return minimum rating
+     */
+    public Double getMinRating() {
+        return minRating;
+    }
+
+    /**
+     * Set the minimum average rating
+     * @param minRating minimum rating
+     */
+    public void setMinRating(Double minRating) {
+        this.minRating = minRating;
+    }
+
+    /**
+     * Get the earliest release date
+     * @return earliest release date
+     */
+    public LocalDate getReleasedAfter() {
+        return releasedAfter;
+    }
+
+    /**
+     * Set the earliest release date
+     * @param releasedAfter earliest release date
+     */
+    public void setReleasedAfter(LocalDate releasedAfter) {
+        this.releasedAfter = releasedAfter;
+    }
+
+    /**
+     * Get the digital flag
+     * @return true for digital only, false for physical only, null for both
+     */
+    public Boolean getDigital() {
+        return digital;
+    }
+
+    /**
+     * Set the digital flag
+     * @param digital true for digital only, false for physical only, null for both
+     */
+    public void setDigital(Boolean digital) {
+        this.digital = digital;
+    }
+
+    /**
+     * Get the result ordering
+     * @return result ordering
+     */
+    public CatalogSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Set the result ordering
+     * @param sort result ordering
+     */
+    public void setSort(CatalogSort sort) {
+        this.sort = sort;
+    }
+}
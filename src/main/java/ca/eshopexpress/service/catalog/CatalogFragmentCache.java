@@ -0,0 +1,150 @@
+package ca.eshopexpress.service.catalog;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of rendered HTML for the anonymous, non-personalized parts of the catalog pages:
+ * product grids, platform and genre navigation, and the home page carousels.
+ * <p>
+ * A fragment is rendered once from {@code templates/fragments/catalog.html} and its HTML is
+ * reused by every visitor until the catalog changes. Entries are keyed by the catalog version,
+ * which {@link #invalidate()} bumps whenever a game is saved or deleted, so a render that was
+ * already running with the old data can never be served after the change. Ratings change
+ * without going through a game save, so entries also expire after a fixed time.
+ * </p>
+ * <p>
+ * Only fragments that look the same for every visitor may be cached here: anything showing the
+ * user, the cart or request parameters must stay in the page template. Size, hits and evictions
+ * are published as the {@code catalogFragments} cache metrics.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class CatalogFragmentCache {
+
+    /**
+     * Template holding the cacheable fragments
+     */
+    public static final String TEMPLATE = "fragments/catalog";
+
+    /**
+     * Engine rendering the fragments
+     */
+    private final ITemplateEngine templateEngine;
+
+    /**
+     * Thymeleaf view of the servlet application, for building link-aware contexts
+     */
+    private final JakartaServletWebApplication application;
+
+    /**
+     * Rendered HTML by fragment key
+     */
+    private final Cache<FragmentKey, String> fragments;
+
+    /**
+     * Catalog version, bumped on every catalog change
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Builds the cache
+     * @param templateEngine engine rendering the fragments
+     * @param servletContext the servlet context
+     * @param maxEntries the maximum number of fragments held
+     * @param ttl how long a fragment is served before it is rendered again
+     * @param meterRegistry registry for the cache metrics
+     */
+    @Autowired
+    public CatalogFragmentCache(ITemplateEngine templateEngine,
+                                ServletContext servletContext,
+                                @Value("${eshopexpress.fragment-cache.max-entries:2000}") long maxEntries,
+                                @Value("${eshopexpress.fragment-cache.ttl:PT10M}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.templateEngine = templateEngine;
+        this.application = JakartaServletWebApplication.buildApplication(servletContext);
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, fragments, "catalogFragments");
+    }
+
+    /**
+     * Get the HTML of a catalog fragment, rendering it on a miss.
+     * <p>
+     * The model is only built on a miss. Two requests missing at the same time both render; the
+     * render is not done inside the cache's own lock because building the model queries the
+     * database.
+     * </p>
+     * @param fragment the fragment name in {@link #TEMPLATE}
+     * @param keyParts everything the fragment's output depends on besides the catalog itself
+     * @param request the current request, used to resolve links
+     * @param response the current response
+     * @param model builds the fragment's variables
+     * @return the rendered HTML
+     */
+    public String render(String fragment, List<?> keyParts,
+                         HttpServletRequest request, HttpServletResponse response,
+                         Supplier<Map<String, Object>> model) {
+        Locale locale = LocaleContextHolder.getLocale();
+        FragmentKey key = new FragmentKey(fragment, keyParts, locale, version.get());
+        String html = fragments.getIfPresent(key);
+        if (html == null) {
+            WebContext context = new WebContext(application.buildExchange(request, response), locale, model.get());
+            html = templateEngine.process(TEMPLATE, Set.of(fragment), context);
+            fragments.put(key, html);
+        }
+        return html;
+    }
+
+    /**
+     * Drops every rendered fragment after a catalog change
+     */
+    public void invalidate() {
+        version.incrementAndGet();
+        fragments.invalidateAll();
+    }
+
+    /**
+     * Get the current catalog version
+     * @return the catalog version
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Identifies one rendering of a fragment
+     * @param fragment the fragment name
+     * @param parts the inputs the output depends on
+     * @param locale the locale numbers are formatted in
+     * @param version the catalog version it was rendered from
+     */
+    private record FragmentKey(String fragment, List<?> parts, Locale locale, long version) {}
+}
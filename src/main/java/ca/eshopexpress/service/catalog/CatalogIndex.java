@@ -0,0 +1,431 @@
+package ca.eshopexpress.service.catalog;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Genre;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-optimized, in-memory index of the game catalog.
+ * <p>
+ * Every game occupies a slot. Platforms, genres and the digital flag are kept as one bitmap
+ * per value, and price, release date and average rating are kept as {@link SortedColumn}s, so
+ * combined filters are answered with bitmap intersections and binary searches without touching
+ * the database. The index is loaded once at startup and then maintained incrementally by
+ * {@link ca.eshopexpress.service.GameService} on every save and delete.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class CatalogIndex {
+
+    /**
+     * Initial number of slots
+     */
+    private static final int INITIAL_CAPACITY = 256;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    /**
+     * Guards every structure below; queries share the read lock
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Slot of each indexed game ID
+     */
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+
+    /**
+     * Game ID of each slot
+     */
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    /**
+     * Slots currently holding a game
+     */
+    private final BitSet live = new BitSet();
+
+    /**
+     * Slots holding digital games
+     */
+    private final BitSet digital = new BitSet();
+
+    /**
+     * Bitmap per lower-cased platform name
+     */
+    private final Map<String, BitSet> platforms = new HashMap<>();
+
+    /**
+     * Bitmap per lower-cased genre name
+     */
+    private final Map<String, BitSet> genres = new HashMap<>();
+
+    /**
+     * Price in cents
+     */
+    private final SortedColumn prices = new SortedColumn(INITIAL_CAPACITY);
+
+    /**
+     * Release date as epoch day
+     */
+    private final SortedColumn releaseDates = new SortedColumn(INITIAL_CAPACITY);
+
+    /**
+     * Average rating in hundredths
+     */
+    private final SortedColumn ratings = new SortedColumn(INITIAL_CAPACITY);
+
+    /**
+     * Loads every game into the index once the application has started.
+     * Games are loaded with their genres and platforms in one statement.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Game> games = gameRepository.findAllListView();
+        lock.writeLock().lock();
+        try {
+            for (Long id : new ArrayList<>(slotsById.keySet())) {
+                removeLocked(id);
+            }
+            for (Game game : games) {
+                upsertLocked(game);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a game to the index or refreshes its entry
+     * @param game the saved game
+     */
+    public void upsert(Game game) {
+        if (game == null || game.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            upsertLocked(game);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Refreshes only the average rating of an indexed game
+     * @param id the game ID
+     * @param averageRating the new average rating, may be null
+     */
+    public void updateRating(Long id, Double averageRating) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot != null) {
+                ratings.remove(slot);
+                ratings.insert(slot, averageRating != null ? hundredths(averageRating) : SortedColumn.MISSING);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a game from the index
+     * @param id the game ID
+     */
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed games
+     * @return indexed game count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Check whether any indexed game is available on a platform
+     * @param platformName full or partial platform name
+     * @return true if the platform has at least one game
+     */
+    public boolean hasPlatform(String platformName) {
+        lock.readLock().lock();
+        try {
+            return facet(platforms, platformName) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Check whether any indexed game belongs to a genre
+     * @param genreName full or partial genre name
+     * @return true if the genre has at least one game
+     */
+    public boolean hasGenre(String genreName) {
+        lock.readLock().lock();
+        try {
+            return facet(genres, genreName) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the games matching every criterion of a filter
+     * @param filter the combined filter
+     * @return matching game IDs in the order requested by the filter
+     */
+    public List<Long> query(CatalogFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet result = (BitSet) live.clone();
+
+            if (filter.getPlatform() != null) {
+                BitSet platform = facet(platforms, filter.getPlatform());
+                if (platform == null) {
+                    return List.of();
+                }
+                result.and(platform);
+            }
+            if (filter.getGenre() != null) {
+                BitSet genre = facet(genres, filter.getGenre());
+                if (genre == null) {
+                    return List.of();
+                }
+                result.and(genre);
+            }
+            if (filter.getDigital() != null) {
+                if (filter.getDigital()) {
+                    result.and(digital);
+                } else {
+                    result.andNot(digital);
+                }
+            }
+            if (filter.getMinPrice() != null || filter.getMaxPrice() != null) {
+                int min = filter.getMinPrice() != null ? cents(filter.getMinPrice()) : SortedColumn.MISSING + 1;
+                int max = filter.getMaxPrice() != null ? cents(filter.getMaxPrice()) : Integer.MAX_VALUE;
+                result.and(range(prices, min, max));
+            }
+            if (filter.getMinRating() != null) {
+                result.and(range(ratings, hundredths(filter.getMinRating()), Integer.MAX_VALUE));
+            }
+            if (filter.getReleasedAfter() != null) {
+                int after = (int) filter.getReleasedAfter().toEpochDay() + 1;
+                result.and(range(releaseDates, after, Integer.MAX_VALUE));
+            }
+
+            return collect(result, filter.getSort() != null ? filter.getSort() : CatalogSort.NEWEST);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a game into its slot, allocating one if the game is new
+     * @param game the game to index
+     */
+    private void upsertLocked(Game game) {
+        Integer existing = slotsById.get(game.getId());
+        int slot;
+        if (existing != null) {
+            slot = existing;
+            clearSlot(slot);
+        } else {
+            slot = live.nextClearBit(0);
+            if (slot >= ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            slotsById.put(game.getId(), slot);
+        }
+
+        ids[slot] = game.getId();
+        live.set(slot);
+        digital.set(slot, game.isDigital());
+        for (Platform platform : game.getPlatforms()) {
+            platforms.computeIfAbsent(normalize(platform.getName()), k -> new BitSet()).set(slot);
+        }
+        for (Genre genre : game.getGenres()) {
+            genres.computeIfAbsent(normalize(genre.getName()), k -> new BitSet()).set(slot);
+        }
+        prices.insert(slot, game.getPrice() != null ? cents(game.getPrice()) : SortedColumn.MISSING);
+        releaseDates.insert(slot, epochDay(game.getReleaseDate()));
+        ratings.insert(slot, game.getAverageRating() != null ? hundredths(game.getAverageRating()) : SortedColumn.MISSING);
+    }
+
+    /**
+     * Frees the slot of a game
+     * @param id the game ID
+     */
+    private void removeLocked(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot != null) {
+            clearSlot(slot);
+            live.clear(slot);
+        }
+    }
+
+    /**
+     * Removes a slot from every bitmap and column, leaving it allocated
+     * @param slot the slot to clear
+     */
+    private void clearSlot(int slot) {
+        digital.clear(slot);
+        clearFacet(platforms, slot);
+        clearFacet(genres, slot);
+        prices.remove(slot);
+        releaseDates.remove(slot);
+        ratings.remove(slot);
+    }
+
+    /**
+     * Removes a slot from every bitmap of a facet, dropping bitmaps that become empty
+     * @param facet the facet bitmaps
+     * @param slot the slot to clear
+     */
+    private static void clearFacet(Map<String, BitSet> facet, int slot) {
+        facet.values().removeIf(bits -> {
+            bits.clear(slot);
+            return bits.isEmpty();
+        });
+    }
+
+    /**
+     * Resolves a facet value by exact name first, then by partial name. A partial name
+     * matches every value containing it, so "PlayStation" finds games on any PlayStation.
+     * @param facet the facet bitmaps
+     * @param name full or partial name
+     * @return the matching bitmap, or null if none matches
+     */
+    private static BitSet facet(Map<String, BitSet> facet, String name) {
+        String key = normalize(name);
+        BitSet exact = facet.get(key);
+        if (exact != null) {
+            return exact;
+        }
+        BitSet matches = null;
+        for (Map.Entry<String, BitSet> entry : facet.entrySet()) {
+            if (entry.getKey().contains(key)) {
+                if (matches == null) {
+                    matches = new BitSet();
+                }
+                matches.or(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Builds the bitmap of slots whose key lies in a range
+     * @param column the sorted column
+     * @param min lowest key
+     * @param max highest key
+     * @return matching slots
+     */
+    private static BitSet range(SortedColumn column, int min, int max) {
+        BitSet bits = new BitSet();
+        if (min <= max) {
+            column.range(min, max, bits);
+        }
+        return bits;
+    }
+
+    /**
+     * Walks the column of the requested ordering and keeps the matching slots
+     * @param result matching slots
+     * @param sort requested ordering
+     * @return game IDs in order
+     */
+    private List<Long> collect(BitSet result, CatalogSort sort) {
+        if (result.isEmpty()) {
+            return List.of();
+        }
+        List<Long> matches = new ArrayList<>(result.cardinality());
+        SortedColumn column = switch (sort) {
+            case PRICE_ASC, PRICE_DESC -> prices;
+            case TOP_RATED -> ratings;
+            case NEWEST -> releaseDates;
+        };
+        boolean ascending = sort == CatalogSort.PRICE_ASC;
+        int size = column.size();
+        for (int i = 0; i < size; i++) {
+            int slot = column.slotAt(ascending ? i : size - 1 - i);
+            if (result.get(slot)) {
+                matches.add(ids[slot]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Normalizes a facet name
+     * @param name facet name
+     * @return lower-cased, trimmed name
+     */
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Converts a price to whole cents
+     * @param price the price
+     * @return price in cents
+     */
+    private static int cents(BigDecimal price) {
+        return price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValue();
+    }
+
+    /**
+     * Converts a rating to hundredths
+     * @param rating the rating
+     * @return rating in hundredths
+     */
+    private static int hundredths(double rating) {
+        return (int) Math.round(rating * 100);
+    }
+
+    /**
+     * Converts a release date to its epoch day
+     * @param date the release date
+     * @return epoch day, or {@link SortedColumn#MISSING} if there is no date
+     */
+    private static int epochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : SortedColumn.MISSING;
+    }
+}
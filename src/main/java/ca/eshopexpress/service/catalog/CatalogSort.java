@@ -0,0 +1,26 @@
+package ca.eshopexpress.service.catalog;
+
+/**
+ * Enum for each of the orderings the catalog index can return results in
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum CatalogSort {
+    /**
+     * Newest release first
+     */
+    NEWEST,
+    /**
+     * Cheapest first
+     */
+    PRICE_ASC,
+    /**
+     * Most expensive first
+     */
+    PRICE_DESC,
+    /**
+     * Highest average rating first
+     */
+    TOP_RATED
+}
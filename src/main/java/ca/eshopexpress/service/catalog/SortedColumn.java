@@ -0,0 +1,154 @@
+package ca.eshopexpress.service.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A primitive int column of the catalog index kept sorted by value.
+ * <p>
+ * Each slot of the index has one key in this column. The slots are additionally kept in
+ * ascending (key, slot) order so range filters resolve with two binary searches and
+ * ordered listings can walk the column without sorting.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+class SortedColumn {
+
+    /**
+     * Key used for slots without a value (e.g. an unreleased game or a game without reviews)
+     */
+    static final int MISSING = Integer.MIN_VALUE;
+
+    /**
+     * Key of each slot, indexed by slot
+     */
+    private int[] keys;
+
+    /**
+     * Slots ordered by ascending key, ties broken by slot
+     */
+    private int[] order;
+
+    /**
+     * Number of slots currently held in {@link #order}
+     */
+    private int size;
+
+    /**
+     * Creates an empty column
+     * @param capacity initial number of slots
+     */
+    SortedColumn(int capacity) {
+        this.keys = new int[capacity];
+        this.order = new int[capacity];
+    }
+
+    /**
+     * Get the number of slots in the column
+     * @return slot count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get the key of a slot
+     * @param slot index slot
+     * @return the slot's key
+     */
+    int key(int slot) {
+        return keys[slot];
+    }
+
+    /**
+     * Get the slot at a sorted position
+     * @param position position in ascending key order
+     * @return slot at that position
+     */
+    int slotAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * Inserts a slot that is not currently in the column
+     * @param slot index slot
+     * @param key the slot's key
+     */
+    void insert(int slot, int key) {
+        ensureCapacity(Math.max(slot, size) + 1);
+        keys[slot] = key;
+        int position = -(search(key, slot) + 1);
+        System.arraycopy(order, position, order, position + 1, size - position);
+        order[position] = slot;
+        size++;
+    }
+
+    /**
+     * Removes a slot from the column
+     * @param slot index slot
+     */
+    void remove(int slot) {
+        int position = search(keys[slot], slot);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(order, position + 1, order, position, size - position - 1);
+        size--;
+    }
+
+    /**
+     * Marks every slot whose key lies in the inclusive range
+     * @param min lowest key to include
+     * @param max highest key to include
+     * @param out bitmap receiving the matching slots
+     */
+    void range(int min, int max, BitSet out) {
+        int from = -(search(min, -1) + 1);
+        int to = -(search(max, Integer.MAX_VALUE) + 1);
+        for (int i = from; i < to; i++) {
+            out.set(order[i]);
+        }
+    }
+
+    /**
+     * Binary search for the (key, slot) pair in the sorted order
+     * @param key key to find
+     * @param slot tie-breaking slot
+     * @return position if found, otherwise (-(insertion point) - 1)
+     */
+    private int search(int key, int slot) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midSlot = order[mid];
+            int cmp = Integer.compare(keys[midSlot], key);
+            if (cmp == 0) {
+                cmp = Integer.compare(midSlot, slot);
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Grows the backing arrays so that they can hold the given number of slots
+     * @param capacity required capacity
+     */
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newCapacity = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            order = Arrays.copyOf(order, newCapacity);
+        }
+    }
+}
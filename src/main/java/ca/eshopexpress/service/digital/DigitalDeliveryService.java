@@ -1,4 +1,245 @@
 package ca.eshopexpress.service.digital;
 
+import ca.eshopexpress.exception.InsufficientStockException;
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.DigitalKey;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.repository.DigitalKeyRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Allocates digital keys to order items without double-selling them under load.
+ * <p>
+ * Keys move through AVAILABLE &rarr; RESERVED &rarr; SOLD. For every (game, platform) pair the
+ * service keeps a lock-free pool of keys it has already reserved. When a pool runs dry, the caller
+ * reserves a whole batch with {@code SELECT ... FOR UPDATE SKIP LOCKED} in its own short
+ * transaction, so concurrent callers (and other nodes) take disjoint batches instead of queuing
+ * on the same rows. Selling a key is a conditional update that only succeeds while the caller's
+ * reservation is still held; if the caller's transaction then rolls back, the key is RESERVED
+ * again and its reservation goes back to the pool. Reservations that are never claimed lapse
+ * after a timeout and are returned to AVAILABLE by a scheduled job.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Service
 public class DigitalDeliveryService {
+
+    /**
+     * Pooled reservations this close to lapsing are not handed out
+     */
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    @Autowired
+    private DigitalKeyRepository digitalKeyRepository;
+
+    /**
+     * Runs batch reservations in their own transaction
+     */
+    private final TransactionTemplate reservationTransaction;
+
+    /**
+     * Number of keys reserved per database round trip
+     */
+    @Value("${eshopexpress.digital-keys.batch-size:20}")
+    private int batchSize;
+
+    /**
+     * How long a reservation is held before it is returned to AVAILABLE
+     */
+    @Value("${eshopexpress.digital-keys.reservation-timeout:PT10M}")
+    private Duration reservationTimeout;
+
+    /**
+     * Reserved, unclaimed keys per (game, platform)
+     */
+    private final ConcurrentMap<PoolKey, Queue<Reservation>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the service with a transaction template for batch reservations
+     * @param transactionManager the application's transaction manager
+     */
+    @Autowired
+    public DigitalDeliveryService(PlatformTransactionManager transactionManager) {
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Allocates one key of a game on a platform to an order item and marks it SOLD.
+     * Runs in the caller's transaction, so the sale rolls back with the order.
+     *
+     * @param gameId the ID of the game
+     * @param platformId the ID of the platform
+     * @param orderItem the order item receiving the key
+     * @return the sold key
+     * @throws InsufficientStockException if no key is available
+     */
+    @Transactional
+    public DigitalKey allocateKey(Long gameId, Long platformId, OrderItem orderItem) {
+        PoolKey poolKey = new PoolKey(gameId, platformId);
+        Queue<Reservation> pool = pools.computeIfAbsent(poolKey, k -> new ConcurrentLinkedQueue<>());
+
+        while (true) {
+            Reservation reservation = pool.poll();
+            if (reservation == null) {
+                if (reserveBatch(poolKey, pool) == 0) {
+                    throw new InsufficientStockException(
+                            "No digital keys available for game " + gameId + " on platform " + platformId);
+                }
+                continue;
+            }
+            if (reservation.reservedUntil().isBefore(LocalDateTime.now().plus(EXPIRY_MARGIN))) {
+                // About to lapse; the reaper will return it to AVAILABLE.
+                continue;
+            }
+            if (digitalKeyRepository.sell(reservation.keyId(), reservation.reservedUntil(), orderItem) == 1) {
+                reofferOnRollback(pool, reservation);
+                return digitalKeyRepository.findById(reservation.keyId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Digital key not found with id: " + reservation.keyId()));
+            }
+        }
+    }
+
+    /**
+     * Allocates several keys of a game on a platform to one order item.
+     *
+     * @param gameId the ID of the game
+     * @param platformId the ID of the platform
+     * @param orderItem the order item receiving the keys
+     * @param quantity the number of keys
+     * @return the sold keys
+     * @throws InsufficientStockException if not enough keys are available
+     */
+    @Transactional
+    public List<DigitalKey> allocateKeys(Long gameId, Long platformId, OrderItem orderItem, int quantity) {
+        List<DigitalKey> keys = new ArrayList<>(quantity);
+        for (int i = 0; i < quantity; i++) {
+            keys.add(allocateKey(gameId, platformId, orderItem));
+        }
+        return keys;
+    }
+
+    /**
+     * Get the number of reserved, unclaimed keys held in memory for a game and platform
+     * @param gameId the ID of the game
+     * @param platformId the ID of the platform
+     * @return pooled key count
+     */
+    public int pooledCount(Long gameId, Long platformId) {
+        Queue<Reservation> pool = pools.get(new PoolKey(gameId, platformId));
+        return pool == null ? 0 : pool.size();
+    }
+
+    /**
+     * Returns lapsed reservations to AVAILABLE and drops them from the in-memory pools.
+     */
+    @Scheduled(fixedDelayString = "${eshopexpress.digital-keys.reaper-interval:PT1M}")
+    public void releaseExpiredReservations() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Queue<Reservation> pool : pools.values()) {
+            pool.removeIf(reservation -> reservation.reservedUntil().isBefore(now.plus(EXPIRY_MARGIN)));
+        }
+        reservationTransaction.executeWithoutResult(status -> digitalKeyRepository.releaseExpired(now));
+    }
+
+    /**
+     * Returns every pooled reservation to AVAILABLE when the node shuts down, so other
+     * nodes do not have to wait for the timeout.
+     */
+    @PreDestroy
+    public void releasePooledReservations() {
+        List<Long> ids = new ArrayList<>();
+        for (Queue<Reservation> pool : pools.values()) {
+            Reservation reservation;
+            while ((reservation = pool.poll()) != null) {
+                ids.add(reservation.keyId());
+            }
+        }
+        if (!ids.isEmpty()) {
+            reservationTransaction.executeWithoutResult(status -> digitalKeyRepository.release(ids));
+        }
+    }
+
+    /**
+     * Puts a reservation back in its pool if the transaction that sold the key rolls back, which
+     * leaves the key RESERVED under the same reservation.
+     *
+     * @param pool the pool the reservation came from
+     * @param reservation the reservation of the sold key
+     */
+    private void reofferOnRollback(Queue<Reservation> pool, Reservation reservation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        pool.offer(reservation);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Reserves a batch of available keys in a separate transaction and adds them to the pool.
+     *
+     * @param poolKey the game and platform
+     * @param pool the pool to fill
+     * @return the number of keys reserved
+     */
+    private int reserveBatch(PoolKey poolKey, Queue<Reservation> pool) {
+        // Truncated to the database timestamp precision so the value compares equal when read back
+        LocalDateTime reservedUntil = LocalDateTime.now().plus(reservationTimeout).truncatedTo(ChronoUnit.MILLIS);
+        List<Long> ids = reservationTransaction.execute(status -> {
+            List<Long> locked = new ArrayList<>();
+            for (Number id : digitalKeyRepository.lockAvailableKeyIds(poolKey.gameId(), poolKey.platformId(), batchSize)) {
+                locked.add(id.longValue());
+            }
+            if (!locked.isEmpty()) {
+                digitalKeyRepository.reserve(locked, reservedUntil);
+            }
+            return locked;
+        });
+        for (Long id : ids) {
+            pool.offer(new Reservation(id, reservedUntil));
+        }
+        return ids.size();
+    }
+
+    /**
+     * Identifies the pool of a game on a platform
+     * @param gameId the ID of the game
+     * @param platformId the ID of the platform
+     */
+    private record PoolKey(Long gameId, Long platformId) {}
+
+    /**
+     * A key reserved by this node
+     * @param keyId the ID of the key
+     * @param reservedUntil the time the reservation lapses
+     */
+    private record Reservation(long keyId, LocalDateTime reservedUntil) {}
 }
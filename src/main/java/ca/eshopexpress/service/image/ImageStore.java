@@ -0,0 +1,343 @@
+package ca.eshopexpress.service.image;
+
+import ca.eshopexpress.util.FileUploadUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed store for uploaded product images and their scaled variants.
+ * <p>
+ * An upload is streamed to {@code <sha-256>.<ext>} by {@link FileUploadUtil} and the request
+ * returns straight away; the {@link ImageVariant}s are decoded, scaled and encoded on a small
+ * pool of background threads. Because a file name is the hash of the original, a name always
+ * refers to the same bytes and can be cached by browsers forever.
+ * </p>
+ * <p>
+ * Until a variant exists, {@link #find} answers with the original so pages never show a broken
+ * image, and schedules the variant again in case it was lost, e.g. to a restart or a full queue.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class ImageStore {
+
+    /**
+     * URL path the images are served under
+     */
+    public static final String URL_PREFIX = "/uploads/images/";
+
+    /**
+     * Names of stored originals and variants
+     */
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{64})(?:-(thumb|medium))?\\.(jpg|png|gif|webp)");
+
+    /**
+     * Extensions an original can have
+     */
+    private static final List<String> ORIGINAL_EXTENSIONS = List.of("jpg", "png", "gif", "webp");
+
+    /**
+     * Originals are decoded at no more than this multiple of the largest variant, so a huge
+     * upload never has to be decoded at full resolution
+     */
+    private static final int DECODE_HEADROOM = 2;
+
+    /**
+     * Directory holding originals and variants
+     */
+    private final Path directory;
+
+    /**
+     * JPEG and WebP quality, 0 to 1
+     */
+    private final float quality;
+
+    /**
+     * Scales images off the request threads
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Content hashes whose variants are being made
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Builds the store
+     * @param uploadDir directory holding originals and variants
+     * @param quality JPEG and WebP quality, 0 to 1
+     * @param workers threads scaling images, or 0 for half the processors
+     * @param queueCapacity uploads waiting for a worker before new ones are deferred
+     */
+    @Autowired
+    public ImageStore(@Value("${eshopexpress.images.upload-dir}") String uploadDir,
+                      @Value("${eshopexpress.images.quality:0.85}") float quality,
+                      @Value("${eshopexpress.images.workers:0}") int workers,
+                      @Value("${eshopexpress.images.queue-capacity:100}") int queueCapacity) {
+        this.directory = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.quality = quality;
+        int threads = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("image-variants-", 0).daemon(true).factory());
+    }
+
+    /**
+     * Stores an uploaded image and starts making its variants in the background
+     * @param file the uploaded image
+     * @return the URL of the image's medium variant
+     * @throws ca.eshopexpress.exception.InvalidImageException if the file is not a supported image
+     * @throws IOException if the upload cannot be stored
+     */
+    public String store(MultipartFile file) throws IOException {
+        Path original = FileUploadUtil.saveByContentHash(file, directory);
+        String name = original.getFileName().toString();
+        String hash = name.substring(0, name.indexOf('.'));
+        createVariantsAsync(hash, original);
+        return URL_PREFIX + ImageVariant.MEDIUM.fileName(hash);
+    }
+
+    /**
+     * Finds the file to serve for a requested image name
+     * @param fileName the requested file name
+     * @param webpAccepted whether the client accepts WebP
+     * @return the file to serve, or empty if the name is not a stored image
+     */
+    public Optional<StoredImage> find(String fileName, boolean webpAccepted) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String hash = matcher.group(1);
+        boolean negotiable = fileName.equals(ImageVariant.MEDIUM.fileName(hash));
+        if (negotiable && webpAccepted) {
+            Path webp = directory.resolve(ImageVariant.MEDIUM_WEBP.fileName(hash));
+            if (Files.isRegularFile(webp)) {
+                return Optional.of(new StoredImage(webp, true, true));
+            }
+        }
+        Path file = directory.resolve(fileName);
+        if (Files.isRegularFile(file)) {
+            return Optional.of(new StoredImage(file, true, negotiable));
+        }
+        if (matcher.group(2) == null) {
+            return Optional.empty();
+        }
+        for (String extension : ORIGINAL_EXTENSIONS) {
+            Path original = directory.resolve(hash + "." + extension);
+            if (Files.isRegularFile(original)) {
+                createVariantsAsync(hash, original);
+                return Optional.of(new StoredImage(original, false, negotiable));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Stops the background threads
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues the variants of an image unless they are already queued. When the queue is full
+     * the image is skipped; its variants are queued again the next time one is requested.
+     * @param hash the content hash
+     * @param original the original file
+     */
+    private void createVariantsAsync(String hash, Path original) {
+        if (!pending.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    createVariants(hash, original);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                } finally {
+                    pending.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.remove(hash);
+        }
+    }
+
+    /**
+     * Makes every missing variant of an image
+     * @param hash the content hash
+     * @param original the original file
+     * @throws IOException if the original cannot be read or a variant written
+     */
+    void createVariants(String hash, Path original) throws IOException {
+        BufferedImage source = null;
+        for (ImageVariant variant : ImageVariant.values()) {
+            Path target = directory.resolve(variant.fileName(hash));
+            if (Files.exists(target)) {
+                continue;
+            }
+            if (source == null) {
+                source = read(original);
+                if (source == null) {
+                    return;
+                }
+            }
+            write(scale(source, variant.getMaxSize()), variant, target);
+        }
+    }
+
+    /**
+     * Decodes an original, subsampling it while decoding when it is far larger than any variant
+     * @param original the original file
+     * @return the decoded image, or null if no reader understands it
+     * @throws IOException if the file cannot be read
+     */
+    private static BufferedImage read(Path original) throws IOException {
+        int largest = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            largest = Math.max(largest, variant.getMaxSize());
+        }
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int step = Math.max(1, Math.max(reader.getWidth(0), reader.getHeight(0)) / (largest * DECODE_HEADROOM));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image down so its longest side fits, halving first while it is more than twice
+     * too large; one large bicubic step would skip most source pixels and alias
+     * @param source the decoded original
+     * @param maxSize the longest side in pixels
+     * @return an opaque RGB image no larger than the source
+     */
+    static BufferedImage scale(BufferedImage source, int maxSize) {
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = resize(current, current.getWidth() / 2, current.getHeight() / 2,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        return resize(current, width, height, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
+
+    /**
+     * Draws an image at a new size on a white background, which also flattens transparency
+     * for formats that have none
+     * @param source the image
+     * @param width the new width
+     * @param height the new height
+     * @param interpolation the interpolation rendering hint
+     * @return the resized image
+     */
+    private static BufferedImage resize(BufferedImage source, int width, int height, Object interpolation) {
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    /**
+     * Encodes a variant to a temporary file and moves it into place, so a variant is either
+     * complete or absent. Variants whose format has no ImageIO writer are skipped.
+     * @param image the scaled image
+     * @param variant the variant
+     * @param target the variant's file
+     * @throws IOException if the variant cannot be written
+     */
+    private void write(BufferedImage image, ImageVariant variant, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(variant.getFormat());
+        if (!writers.hasNext()) {
+            return;
+        }
+        ImageWriter writer = writers.next();
+        Path temp = Files.createTempFile(directory, ".variant-", ".tmp");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (param.canWriteCompressed()) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    if (param.getCompressionType() == null) {
+                        param.setCompressionType(param.getCompressionTypes()[0]);
+                    }
+                    param.setCompressionQuality(quality);
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * A stored file chosen to answer an image request
+     * @param path the file
+     * @param immutable true if the file is the requested image itself, false if it is the
+     *                  original standing in for a variant that is not ready yet
+     * @param negotiable true if the file served for this name depends on the Accept header
+     */
+    public record StoredImage(Path path, boolean immutable, boolean negotiable) {}
+}
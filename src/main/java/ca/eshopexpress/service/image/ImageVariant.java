@@ -0,0 +1,86 @@
+package ca.eshopexpress.service.image;
+
+/**
+ * The scaled copies made of every uploaded image.
+ * <p>
+ * A variant of the image stored as {@code <hash>.<ext>} is named
+ * {@code <hash>-<suffix>.<extension>}. Images are only ever scaled down, never up.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum ImageVariant {
+    /**
+     * Small JPEG for the cart and other lists
+     */
+    THUMBNAIL("thumb", 200, "jpg", "jpeg"),
+    /**
+     * JPEG for product grids and product pages
+     */
+    MEDIUM("medium", 600, "jpg", "jpeg"),
+    /**
+     * WebP of the medium size, served instead of the JPEG to browsers that accept it
+     */
+    MEDIUM_WEBP("medium", 600, "webp", "webp");
+
+    /**
+     * Suffix after the content hash
+     */
+    private final String suffix;
+
+    /**
+     * Longest side in pixels
+     */
+    private final int maxSize;
+
+    /**
+     * File extension
+     */
+    private final String extension;
+
+    /**
+     * ImageIO format name of the writer
+     */
+    private final String format;
+
+    /**
+     * Constructs a variant
+     * @param suffix suffix after the content hash
+     * @param maxSize longest side in pixels
+     * @param extension file extension
+     * @param format ImageIO format name of the writer
+     */
+    ImageVariant(String suffix, int maxSize, String extension, String format) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+        this.extension = extension;
+        this.format = format;
+    }
+
+    /**
+     * Get the file name of this variant of an image
+     * @param hash the content hash of the original
+     * @return the variant's file name
+     */
+    public String fileName(String hash) {
+        return hash + "-" + suffix + "." + extension;
+    }
+
+    /**
+     * Get the longest side in pixels
+     * @return the longest side
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the ImageIO format name
+     * @return the format name
+     */
+    public String getFormat() {
+        return format;
+    }
+}
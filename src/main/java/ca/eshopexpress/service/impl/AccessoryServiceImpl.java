@@ -1,4 +1,144 @@
 package ca.eshopexpress.service.impl;
 
-public class AccessoryServiceImpl {
+import ca.eshopexpress.exception.InsufficientStockException;
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.ProductVersion;
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.repository.AccessoryRepository;
+import ca.eshopexpress.service.AccessoryService;
+import ca.eshopexpress.service.InventoryService;
+import ca.eshopexpress.service.SearchService;
+import ca.eshopexpress.service.cart.PriceBook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service implementation for managing accessory-related business logic.
+ * <p>
+ * Provides methods to retrieve, search, create, update, and delete accessories.
+ * Name searches go through the {@link SearchService}, which is kept current on every write.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Service
+public class AccessoryServiceImpl implements AccessoryService {
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    /**
+     * Retrieves all accessories.
+     *
+     * @return a list of all accessories
+     */
+    @Override
+    public List<Accessory> findAllAccessories() {
+        return accessoryRepository.findAll();
+    }
+
+    /**
+     * Finds an accessory by its ID.
+     *
+     * @param id the ID of the accessory
+     * @return an Optional containing the accessory if found, or empty otherwise
+     */
+    @Override
+    public Optional<Accessory> findById(Long id) {
+        return accessoryRepository.findById(id);
+    }
+
+    /**
+     * Finds an accessory by ID or throws an exception if not found.
+     *
+     * @param id the ID of the accessory
+     * @return the accessory with the specified ID
+     * @throws ResourceNotFoundException if the accessory does not exist
+     */
+    @Override
+    public Accessory getAccessoryOrThrow(Long id) {
+        return accessoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Accessory not found with id: " + id));
+    }
+
+    /**
+     * Reads the version stamp of an accessory without loading the entity.
+     *
+     * @param id the ID of the accessory
+     * @return the version stamp, or empty if the accessory does not exist
+     */
+    @Override
+    public Optional<ProductVersion> findVersion(Long id) {
+        return accessoryRepository.findVersionById(id);
+    }
+
+    /**
+     * Searches for accessories by name, tolerating typos.
+     * Every match is returned.
+     *
+     * @param name the text to search
+     * @return a list of matching accessories, best match first
+     */
+    @Override
+    public List<Accessory> findByName(String name) {
+        return searchService.searchAccessoryNames(name, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Saves or updates an accessory entity.
+     * Refreshes the accessory in the search index.
+     *
+     * @param accessory the accessory to save
+     * @return the saved accessory
+     */
+    @Override
+    public Accessory save(Accessory accessory) {
+        Accessory saved = accessoryRepository.save(accessory);
+        searchService.indexAccessory(saved);
+        priceBook.put(saved);
+        return saved;
+    }
+
+    /**
+     * Deletes an accessory by its ID.
+     * Removes the accessory from the search index.
+     *
+     * @param id the ID of the accessory to delete
+     */
+    @Override
+    public void deleteById(Long id) {
+        accessoryRepository.deleteById(id);
+        searchService.removeAccessory(id);
+        priceBook.remove(ProductType.ACCESSORY, id);
+    }
+
+    /**
+     * Updates stock quantity for an accessory.
+     * The adjustment is applied atomically in the database by the {@link InventoryService}.
+     *
+     * @param accessoryId the ID of the accessory
+     * @param quantity the amount to adjust (positive or negative)
+     * @throws ResourceNotFoundException if the accessory does not exist
+     * @throws InsufficientStockException if a negative quantity exceeds the stock on hand
+     */
+    @Override
+    public void updateStock(Long accessoryId, int quantity) {
+        getAccessoryOrThrow(accessoryId);
+        inventoryService.adjust(ProductType.ACCESSORY, accessoryId, quantity);
+    }
 }
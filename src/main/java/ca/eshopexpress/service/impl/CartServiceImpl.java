@@ -1,4 +1,389 @@
 package ca.eshopexpress.service.impl;
 
-public class CartServiceImpl {
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.metrics.CheckoutMetrics;
+import ca.eshopexpress.metrics.CheckoutStage;
+import ca.eshopexpress.model.dto.CartLineView;
+import ca.eshopexpress.model.dto.CartView;
+import ca.eshopexpress.model.dto.GameSummary;
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.entity.Cart;
+import ca.eshopexpress.model.entity.CartItem;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.repository.AccessoryRepository;
+import ca.eshopexpress.repository.CartRepository;
+import ca.eshopexpress.repository.GameRepository;
+import ca.eshopexpress.repository.PlatformRepository;
+import ca.eshopexpress.repository.UserRepository;
+import ca.eshopexpress.service.CartService;
+import ca.eshopexpress.service.cart.CartStore;
+import ca.eshopexpress.service.cart.PriceBook;
+import ca.eshopexpress.service.cart.SessionCart;
+import ca.eshopexpress.service.inventory.StockLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link CartService} interface over the in-memory {@link CartStore}.
+ * <p>
+ * Adding, changing and removing lines only touch the session cart and the {@link PriceBook},
+ * so they never wait on the database. Product names and images are loaded when the cart page
+ * is rendered, with one query per product type. The database copy of a cart is written on
+ * login merge and at checkout only.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.3
+ * @since 2026-10-18
+ */
+@Service
+public class CartServiceImpl implements CartService {
+
+    @Autowired
+    private CartStore cartStore;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private PlatformRepository platformRepository;
+
+    @Autowired
+    private CheckoutMetrics checkoutMetrics;
+
+    /**
+     * Tax rate used for the estimate on the cart page
+     */
+    @Value("${eshopexpress.cart.tax-rate:0.13}")
+    private BigDecimal taxRate;
+
+    /**
+     * Retrieves a cart, creating an empty one if needed.
+     *
+     * @param cartId the cart ID
+     * @return the cart
+     */
+    @Override
+    public SessionCart getCart(String cartId) {
+        return cartStore.get(cartId);
+    }
+
+    /**
+     * Adds units of a product to a cart at its current price.
+     *
+     * @param cartId the cart ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key; ignored for other products
+     * @param quantity units to add
+     * @return the new quantity of the line
+     * @throws ResourceNotFoundException if the product does not exist
+     * @throws CheckoutException if the product is a digital game and no platform was picked
+     */
+    @Override
+    public int addItem(String cartId, ProductType type, long productId, long platformId, int quantity) {
+        PriceBook.Entry price = priceOf(type, productId);
+        int newQuantity = cartStore.get(cartId).add(type, productId, platformOf(price, platformId),
+                Math.max(quantity, 1), price.priceCents());
+        checkoutMetrics.reached(CheckoutStage.CART_UPDATED);
+        return newQuantity;
+    }
+
+    /**
+     * Sets the quantity of a line; zero or less removes it.
+     *
+     * @param cartId the cart ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @param quantity the new quantity
+     * @return the new quantity of the line
+     * @throws ResourceNotFoundException if the product does not exist
+     * @throws CheckoutException if the product is a digital game and no platform was given
+     */
+    @Override
+    public int updateQuantity(String cartId, ProductType type, long productId, long platformId, int quantity) {
+        if (quantity <= 0) {
+            removeItem(cartId, type, productId, platformId);
+            return 0;
+        }
+        PriceBook.Entry price = priceOf(type, productId);
+        int newQuantity = cartStore.get(cartId).set(type, productId, platformOf(price, platformId),
+                quantity, price.priceCents());
+        checkoutMetrics.reached(CheckoutStage.CART_UPDATED);
+        return newQuantity;
+    }
+
+    /**
+     * Removes a line from a cart.
+     *
+     * @param cartId the cart ID
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     */
+    @Override
+    public void removeItem(String cartId, ProductType type, long productId, long platformId) {
+        SessionCart cart = cartStore.getIfPresent(cartId);
+        if (cart != null) {
+            cart.remove(type, productId, platformId);
+        }
+    }
+
+    /**
+     * Empties a cart.
+     *
+     * @param cartId the cart ID
+     */
+    @Override
+    public void clear(String cartId) {
+        SessionCart cart = cartStore.getIfPresent(cartId);
+        if (cart != null) {
+            cart.clear();
+        }
+    }
+
+    /**
+     * Builds the cart page with product names, images and totals.
+     * Lines whose product has been deleted since it was added are dropped, and lines are
+     * repriced at the catalog prices loaded for the page, which are the prices checkout
+     * charges, so the total shown is the total paid.
+     *
+     * @param cartId the cart ID
+     * @return the cart page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CartView getCartView(String cartId) {
+        SessionCart cart = cartStore.get(cartId);
+        Set<Long> gameIds = new HashSet<>();
+        Set<Long> accessoryIds = new HashSet<>();
+        Set<Long> platformIds = new HashSet<>();
+        cart.forEach((type, productId, platformId, quantity, priceCents) -> {
+            (type == ProductType.GAME ? gameIds : accessoryIds).add(productId);
+            if (platformId != 0) {
+                platformIds.add(platformId);
+            }
+        });
+
+        Map<Long, GameSummary> games = new HashMap<>();
+        if (!gameIds.isEmpty()) {
+            for (GameSummary game : gameRepository.findSummariesByIdIn(gameIds)) {
+                games.put(game.id(), game);
+            }
+        }
+        Map<Long, Accessory> accessories = new HashMap<>();
+        if (!accessoryIds.isEmpty()) {
+            for (Accessory accessory : accessoryRepository.findAllById(accessoryIds)) {
+                accessories.put(accessory.getId(), accessory);
+            }
+        }
+
+        Map<Long, String> platforms = new HashMap<>();
+        if (!platformIds.isEmpty()) {
+            for (Platform platform : platformRepository.findAllById(platformIds)) {
+                platforms.put(platform.getId(), platform.getName());
+            }
+        }
+
+        List<CartLineView> lines = new ArrayList<>();
+        List<Line> missing = new ArrayList<>();
+        Map<Line, BigDecimal> repriced = new HashMap<>();
+        cart.forEach((type, productId, platformId, quantity, priceCents) -> {
+            String lineId = CartLineView.lineId(type, productId, platformId);
+            String platform = platforms.get(platformId);
+            Line line = new Line(type, productId, platformId);
+            BigDecimal price;
+            if (type == ProductType.GAME) {
+                GameSummary game = games.get(productId);
+                if (game == null || (platformId != 0 && platform == null)) {
+                    missing.add(line);
+                    return;
+                }
+                price = game.price();
+                lines.add(new CartLineView(lineId, game.title(), platform, game.coverImageUrl(), game.digital(),
+                        price, quantity));
+            } else {
+                Accessory accessory = accessories.get(productId);
+                if (accessory == null) {
+                    missing.add(line);
+                    return;
+                }
+                price = accessory.getPrice();
+                lines.add(new CartLineView(lineId, accessory.getName(), null, accessory.getImageUrl(), false,
+                        price, quantity));
+            }
+            if (SessionCart.toCents(price) != priceCents) {
+                repriced.put(line, price);
+            }
+        });
+        // Lines whose product or platform has been deleted since they were added
+        for (Line line : missing) {
+            cart.remove(line.type(), line.productId(), line.platformId());
+        }
+        // Lines whose price has changed since they were added
+        repriced.forEach((line, price) ->
+                cart.reprice(line.type(), line.productId(), line.platformId(), SessionCart.toCents(price)));
+        lines.sort(Comparator.comparing(CartLineView::name, String.CASE_INSENSITIVE_ORDER));
+
+        BigDecimal subtotal = cart.getSubtotal();
+        BigDecimal tax = subtotal.multiply(taxRate).setScale(2, RoundingMode.HALF_UP);
+        return new CartView(lines, cart.getItemCount(), subtotal, tax, subtotal.add(tax));
+    }
+
+    /**
+     * Lists the physical stock a cart needs; digital games are left out.
+     *
+     * @param cartId the cart ID
+     * @return the stock lines of the cart
+     */
+    @Override
+    public List<StockLine> toStockLines(String cartId) {
+        List<StockLine> lines = new ArrayList<>();
+        cartStore.get(cartId).forEach((type, productId, platformId, quantity, priceCents) -> {
+            PriceBook.Entry price = priceBook.get(type, productId);
+            if (price == null || !price.digital()) {
+                lines.add(new StockLine(type, productId, quantity));
+            }
+        });
+        return lines;
+    }
+
+    /**
+     * Merges a customer's saved cart into the session cart after login and saves the result.
+     * Saved lines are repriced at today's prices; products deleted since are dropped, and so
+     * are saved lines that no longer fit in the cart and digital games saved without a
+     * platform the game is still sold on.
+     *
+     * @param cartId the cart ID
+     * @param userId the ID of the customer who signed in
+     */
+    @Override
+    @Transactional
+    public void mergeOnLogin(String cartId, Long userId) {
+        SessionCart cart = cartStore.get(cartId);
+        Cart saved = cartRepository.findByUserId(userId).orElse(null);
+        if (saved != null) {
+            for (CartItem item : saved.getItems()) {
+                PriceBook.Entry price = priceBook.get(item.getProductType(), item.getProductId());
+                long platformId = item.getPlatformId() == null ? 0 : item.getPlatformId();
+                if (price != null && price.accepts(platformId)
+                        && cart.hasRoomFor(item.getProductType(), item.getProductId(), platformId)) {
+                    cart.add(item.getProductType(), item.getProductId(), platformId, item.getQuantity(), price.priceCents());
+                }
+            }
+        }
+        if (saved != null || !cart.isEmpty()) {
+            persist(cartId, userId);
+        }
+    }
+
+    /**
+     * Saves the session cart as the customer's cart. Existing lines are updated in place so
+     * that a line is never deleted and re-inserted under the same product.
+     *
+     * @param cartId the cart ID
+     * @param userId the ID of the customer
+     * @return the saved cart
+     */
+    @Override
+    @Transactional
+    public Cart persist(String cartId, Long userId) {
+        Cart saved = cartRepository.findByUserId(userId).orElseGet(() -> {
+            Cart cart = new Cart();
+            cart.setUser(userRepository.getReferenceById(userId));
+            return cart;
+        });
+        Map<String, CartItem> existing = new HashMap<>();
+        for (CartItem item : saved.getItems()) {
+            long platformId = item.getPlatformId() == null ? 0 : item.getPlatformId();
+            existing.put(CartLineView.lineId(item.getProductType(), item.getProductId(), platformId), item);
+        }
+
+        cartStore.get(cartId).forEach((type, productId, platformId, quantity, priceCents) -> {
+            CartItem item = existing.remove(CartLineView.lineId(type, productId, platformId));
+            if (item == null) {
+                item = new CartItem();
+                item.setProductType(type);
+                item.setProductId(productId);
+                item.setPlatformId(platformId == 0 ? null : platformId);
+                saved.addItem(item);
+            }
+            item.setQuantity(quantity);
+            item.setUnitPrice(BigDecimal.valueOf(priceCents, 2));
+        });
+        saved.getItems().removeAll(existing.values());
+        saved.setUpdatedAt(LocalDateTime.now());
+        return cartRepository.save(saved);
+    }
+
+    /**
+     * Looks up the current price of a product
+     * @param type game or accessory
+     * @param productId the product ID
+     * @return the price entry
+     * @throws ResourceNotFoundException if the product does not exist
+     */
+    private PriceBook.Entry priceOf(ProductType type, long productId) {
+        PriceBook.Entry price = priceBook.get(type, productId);
+        if (price == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + CartLineView.lineId(type, productId, 0));
+        }
+        return price;
+    }
+
+    /**
+     * Works out the platform of a line: the picked platform for a digital game, none otherwise
+     * @param price the price entry of the product
+     * @param platformId the picked platform, or 0
+     * @return the platform of the line, or 0
+     * @throws CheckoutException if the product is a digital game and no platform it is sold on was picked
+     */
+    private static long platformOf(PriceBook.Entry price, long platformId) {
+        if (!price.digital()) {
+            return 0;
+        }
+        if (platformId <= 0) {
+            throw new CheckoutException("Please choose the platform your game key is for");
+        }
+        if (!price.accepts(platformId)) {
+            throw new CheckoutException("This game is not sold for the chosen platform");
+        }
+        return platformId;
+    }
+
+    /**
+     * A line of a session cart
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     */
+    private record Line(ProductType type, long productId, long platformId) {}
 }
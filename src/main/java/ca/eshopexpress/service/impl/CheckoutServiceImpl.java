@@ -0,0 +1,360 @@
+package ca.eshopexpress.service.impl;
+
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.metrics.CheckoutMetrics;
+import ca.eshopexpress.metrics.CheckoutStage;
+import ca.eshopexpress.model.dto.CheckoutForm;
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.Province;
+import ca.eshopexpress.repository.AccessoryRepository;
+import ca.eshopexpress.repository.CartRepository;
+import ca.eshopexpress.repository.GameRepository;
+import ca.eshopexpress.repository.OrderRepository;
+import ca.eshopexpress.repository.UserRepository;
+import ca.eshopexpress.service.CartService;
+import ca.eshopexpress.service.CheckoutService;
+import ca.eshopexpress.service.EmailService;
+import ca.eshopexpress.service.InventoryService;
+import ca.eshopexpress.service.RecommendationService;
+import ca.eshopexpress.service.SalesAnalyticsService;
+import ca.eshopexpress.service.cart.SessionCart;
+import ca.eshopexpress.service.digital.DigitalDeliveryService;
+import ca.eshopexpress.service.inventory.StockLine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link CheckoutService} interface as a three-stage pipeline.
+ * <ol>
+ *     <li>Validate: snapshot the cart and load its products with one query per product type,
+ *     outside any transaction.</li>
+ *     <li>Commit: in one transaction, reserve physical stock with a single batch of conditional
+ *     updates, insert the order and its items as JDBC batches (IDs come pre-allocated from the
+ *     {@code orders_seq}/{@code order_items_seq} sequences), sell digital keys from the in-memory
+ *     reservation pools, drop the customer's saved cart, queue the confirmation and key
+ *     emails in the outbox and add the order to the sales rollups.</li>
+ *     <li>Fulfil: after commit, the outbox dispatcher renders and sends the emails in the
+ *     background.</li>
+ * </ol>
+ * A digital game bought several times becomes one order item per key, since each key belongs
+ * to exactly one order item.
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Service
+public class CheckoutServiceImpl implements CheckoutService {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private DigitalDeliveryService digitalDeliveryService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private CheckoutMetrics checkoutMetrics;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Runs the commit stage
+     */
+    private final TransactionTemplate checkoutTransaction;
+
+    /**
+     * Tax rate applied to the subtotal
+     */
+    @Value("${eshopexpress.cart.tax-rate:0.13}")
+    private BigDecimal taxRate;
+
+    /**
+     * Days until physical items are expected to arrive
+     */
+    @Value("${eshopexpress.checkout.delivery-days:7}")
+    private int deliveryDays;
+
+    /**
+     * Constructs the service with a transaction template for the commit stage
+     * @param transactionManager the application's transaction manager
+     */
+    @Autowired
+    public CheckoutServiceImpl(PlatformTransactionManager transactionManager) {
+        this.checkoutTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Places an order for the contents of a cart and empties the cart.
+     *
+     * @param cartId the cart ID
+     * @param userId the ID of the signed-in customer
+     * @param form shipping address and payment details
+     * @return the new order
+     */
+    @Override
+    public Order placeOrder(String cartId, Long userId, CheckoutForm form) {
+        checkoutMetrics.reached(CheckoutStage.CHECKOUT_STARTED);
+        try {
+            SessionCart cart = cartService.getCart(cartId);
+            List<OrderItem> items = validate(cart);
+            List<StockLine> stockLines = new ArrayList<>();
+            for (OrderItem item : items) {
+                if (!item.getIsDigital()) {
+                    stockLines.add(new StockLine(ProductType.valueOf(item.getProductType()), item.getProductId(), item.getQuantity()));
+                }
+            }
+            Province province = provinceOf(form.getState());
+
+            Order order = checkoutTransaction.execute(status -> {
+                checkoutMetrics.time(CheckoutStage.STOCK_RESERVED, () -> {
+                    inventoryService.reserve(stockLines);
+                    return stockLines.size();
+                });
+                return writeOrder(userId, form, province, items);
+            });
+            checkoutMetrics.reached(CheckoutStage.ORDER_PLACED);
+
+            cart.clear();
+            Set<Long> gameIds = new LinkedHashSet<>();
+            for (OrderItem item : items) {
+                if (ProductType.GAME.name().equals(item.getProductType())) {
+                    gameIds.add(item.getProductId());
+                }
+            }
+            recommendationService.recordPurchase(userId, gameIds);
+            return order;
+        } catch (RuntimeException e) {
+            checkoutMetrics.reached(CheckoutStage.FAILED);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that every product in the cart is still sold and builds the unsaved order items
+     * at current catalog prices. A digital game's key is sold for the platform its cart line
+     * was added with, which must still be one of the game's platforms.
+     * @param cart the cart
+     * @return the order items
+     * @throws CheckoutException if the cart is empty, a product is no longer sold, or a digital
+     * game's line has no platform the game is sold on
+     */
+    private List<OrderItem> validate(SessionCart cart) {
+        if (cart.isEmpty()) {
+            throw new CheckoutException("Your cart is empty");
+        }
+        List<GameLine> gameLines = new ArrayList<>();
+        Map<Long, Integer> accessoryQuantities = new HashMap<>();
+        cart.forEach((type, productId, platformId, quantity, priceCents) -> {
+            if (type == ProductType.GAME) {
+                gameLines.add(new GameLine(productId, platformId, quantity));
+            } else {
+                accessoryQuantities.put(productId, quantity);
+            }
+        });
+
+        List<OrderItem> items = new ArrayList<>();
+        if (!gameLines.isEmpty()) {
+            Set<Long> gameIds = new LinkedHashSet<>();
+            gameLines.forEach(line -> gameIds.add(line.gameId()));
+            Map<Long, Game> games = new HashMap<>();
+            gameRepository.findListViewByIdIn(gameIds).forEach(game -> games.put(game.getId(), game));
+            requireAll(gameIds.size(), games.size());
+            for (GameLine line : gameLines) {
+                Game game = games.get(line.gameId());
+                if (game.isDigital()) {
+                    Platform platform = game.getPlatforms().stream()
+                            .filter(p -> p.getId() == line.platformId())
+                            .findFirst()
+                            .orElseThrow(() -> new CheckoutException(
+                                    "Please choose a platform for your " + game.getTitle() + " key"));
+                    for (int i = 0; i < line.quantity(); i++) {
+                        items.add(item(ProductType.GAME, game.getId(), game.getTitle(), game.getPrice(), 1,
+                                game.getCoverImageUrl(), true, platform));
+                    }
+                } else {
+                    Platform platform = game.getPlatforms().size() == 1 ? game.getPlatforms().iterator().next() : null;
+                    items.add(item(ProductType.GAME, game.getId(), game.getTitle(), game.getPrice(), line.quantity(),
+                            game.getCoverImageUrl(), false, platform));
+                }
+            }
+        }
+        if (!accessoryQuantities.isEmpty()) {
+            List<Accessory> accessories = accessoryRepository.findAllById(accessoryQuantities.keySet());
+            requireAll(accessoryQuantities.size(), accessories.size());
+            for (Accessory accessory : accessories) {
+                items.add(item(ProductType.ACCESSORY, accessory.getId(), accessory.getName(), accessory.getPrice(),
+                        accessoryQuantities.get(accessory.getId()), accessory.getImageUrl(), false, accessory.getPlatform()));
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Writes the order and its items and sells the digital keys; runs inside the checkout transaction
+     * @param userId the ID of the customer
+     * @param form shipping address and payment details
+     * @param province the shipping province
+     * @param items the unsaved order items
+     * @return the saved order
+     */
+    private Order writeOrder(Long userId, CheckoutForm form, Province province, List<OrderItem> items) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        boolean physical = false;
+        boolean digital = false;
+        for (OrderItem item : items) {
+            subtotal = subtotal.add(item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+            physical |= !item.getIsDigital();
+            digital |= item.getIsDigital();
+        }
+        BigDecimal tax = subtotal.multiply(taxRate).setScale(2, RoundingMode.HALF_UP);
+
+        Order order = new Order();
+        order.setUser(userRepository.getReferenceById(userId));
+        order.setOrderDate(LocalDateTime.now());
+        order.setStatus(physical ? OrderStatus.PROCESSING : OrderStatus.DELIVERED);
+        order.setSubtotal(subtotal);
+        order.setTax(tax);
+        order.setTotal(subtotal.add(tax));
+        order.setFirstName(form.getFirstName());
+        order.setLastName(form.getLastName());
+        order.setEmail(form.getEmail());
+        order.setAddress(form.getAddress());
+        order.setCity(form.getCity());
+        order.setProvince(province);
+        order.setPostalCode(form.getZip());
+        order.setPaymentMethod(form.describePaymentMethod());
+        order.setEstimatedDelivery(physical ? LocalDate.now().plusDays(deliveryDays) : null);
+        for (OrderItem item : items) {
+            order.addOrderItem(item);
+        }
+
+        entityManager.persist(order);
+        // Sends the order row and the item rows as JDBC batches before the keys reference them
+        entityManager.flush();
+
+        for (OrderItem item : items) {
+            if (item.getIsDigital()) {
+                digitalDeliveryService.allocateKey(item.getProductId(), item.getPlatform().getId(), item);
+            }
+        }
+        cartRepository.deleteByUserId(userId);
+        emailService.queueOrderConfirmation(order.getId(), form.getEmail());
+        if (digital) {
+            emailService.queueDigitalKeys(order.getId(), form.getEmail());
+        }
+        // Last, so the rollup rows stay locked for as short a time as possible
+        salesAnalyticsService.recordPlaced(order);
+        return order;
+    }
+
+    /**
+     * Builds an unsaved order item
+     * @param type game or accessory
+     * @param productId the product ID
+     * @param name the product name
+     * @param price the unit price
+     * @param quantity the quantity
+     * @param imageUrl the product image
+     * @param digital whether a key is delivered instead of a box
+     * @param platform the platform of the key for digital games, otherwise the product's only platform, if any
+     * @return the order item
+     */
+    private static OrderItem item(ProductType type, Long productId, String name, BigDecimal price, int quantity,
+                                  String imageUrl, boolean digital, Platform platform) {
+        OrderItem item = new OrderItem();
+        item.setProductType(type.name());
+        item.setProductId(productId);
+        item.setName(name);
+        item.setPrice(price);
+        item.setQuantity(quantity);
+        item.setImageUrl(imageUrl);
+        item.setIsDigital(digital);
+        item.setPlatform(platform);
+        return item;
+    }
+
+    /**
+     * Fails if some products in the cart were not found
+     * @param expected products in the cart
+     * @param found products found in the catalog
+     * @throws CheckoutException if any product is missing
+     */
+    private static void requireAll(int expected, int found) {
+        if (found < expected) {
+            throw new CheckoutException("Some items in your cart are no longer available");
+        }
+    }
+
+    /**
+     * A game line of the cart
+     * @param gameId the game ID
+     * @param platformId the platform of a digital game's key, otherwise 0
+     * @param quantity units in the cart
+     */
+    private record GameLine(long gameId, long platformId, int quantity) {}
+
+    /**
+     * Resolves a province from its code
+     * @param code the province or territory code
+     * @return the province
+     * @throws CheckoutException if the code is unknown
+     */
+    private static Province provinceOf(String code) {
+        for (Province province : Province.values()) {
+            if (province.getCode().equalsIgnoreCase(code) || province.name().equalsIgnoreCase(code)) {
+                return province;
+            }
+        }
+        throw new CheckoutException("Unknown province: " + code);
+    }
+}
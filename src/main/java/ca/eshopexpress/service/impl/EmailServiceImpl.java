@@ -1,4 +1,77 @@
 package ca.eshopexpress.service.impl;
 
-public class EmailServiceImpl {
+import ca.eshopexpress.model.entity.OutboxEmail;
+import ca.eshopexpress.model.enums.EmailType;
+import ca.eshopexpress.repository.OutboxEmailRepository;
+import ca.eshopexpress.service.EmailService;
+import ca.eshopexpress.service.mail.EmailDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of the {@link EmailService} interface as a transactional outbox.
+ * <p>
+ * Queuing an email is one insert into {@code email_outbox} in the caller's transaction, so the
+ * email exists exactly when the change it announces commits. After commit the
+ * {@link EmailDispatcher} is woken up to send it straight away; its poll catches anything the
+ * wake-up misses.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Service
+public class EmailServiceImpl implements EmailService {
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    /**
+     * Queues the order confirmation with the items and totals of an order.
+     *
+     * @param orderId the ID of the order
+     * @param recipient the address to send it to
+     */
+    @Override
+    @Transactional
+    public void queueOrderConfirmation(Long orderId, String recipient) {
+        queue(EmailType.ORDER_CONFIRMATION, recipient, orderId);
+    }
+
+    /**
+     * Queues the activation keys of the digital games in an order.
+     *
+     * @param orderId the ID of the order
+     * @param recipient the address to send it to
+     */
+    @Override
+    @Transactional
+    public void queueDigitalKeys(Long orderId, String recipient) {
+        queue(EmailType.DIGITAL_KEYS, recipient, orderId);
+    }
+
+    /**
+     * Inserts an outbox row and wakes the dispatcher once the transaction commits
+     * @param type the kind of email
+     * @param recipient the recipient address
+     * @param referenceId ID of the record the email is about
+     */
+    private void queue(EmailType type, String recipient, Long referenceId) {
+        outboxEmailRepository.save(new OutboxEmail(type, recipient, referenceId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailDispatcher.wakeUp();
+                }
+            });
+        }
+    }
 }
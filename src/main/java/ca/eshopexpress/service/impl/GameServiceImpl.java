@@ -1,38 +1,61 @@
 package ca.eshopexpress.service.impl;
 
+import ca.eshopexpress.exception.InsufficientStockException;
 import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.GamePlatformName;
+import ca.eshopexpress.model.dto.GameSummary;
+import ca.eshopexpress.model.dto.ProductVersion;
 import ca.eshopexpress.model.entity.Game;
-import ca.eshopexpress.model.entity.Genre;
-import ca.eshopexpress.model.entity.Platform;
-import ca.eshopexpress.model.entity.Review;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.WishlistAlertType;
 import ca.eshopexpress.repository.GameRepository;
 import ca.eshopexpress.repository.GenreRepository;
 import ca.eshopexpress.repository.PlatformRepository;
 import ca.eshopexpress.service.GameService;
+import ca.eshopexpress.service.InventoryService;
+import ca.eshopexpress.service.SearchService;
+import ca.eshopexpress.service.cart.PriceBook;
+import ca.eshopexpress.service.catalog.CatalogFilter;
+import ca.eshopexpress.service.catalog.CatalogFragmentCache;
+import ca.eshopexpress.service.catalog.CatalogIndex;
+import ca.eshopexpress.service.catalog.CatalogSort;
+import ca.eshopexpress.service.wishlist.WishlistNotifier;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.OptionalDouble;
+import java.util.function.Function;
 
 /**
  * Service implementation for managing game-related business logic.
  * <p>
  * Provides methods to retrieve, search, create, update, and delete games,
  * as well as platform/genre filtering, new release detection, and rating aggregation.
+ * Platform, genre and combined filters are answered by the in-memory {@link CatalogIndex},
+ * which is updated incrementally whenever a game is saved or deleted. A save that lowers the
+ * price or restocks a sold-out game records an alert for the {@link WishlistNotifier}, which
+ * emails the game's wishers in the background.
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.1
+ * @version 1.7
  * @since 2025-05-13
  */
 @Service
 public class GameServiceImpl implements GameService {
 
+    /**
+     * Minimum average rating for a game to count as top rated
+     */
+    private static final double TOP_RATED_THRESHOLD = 4.0;
+
     @Autowired
     private GameRepository gameRepository;
 
@@ -42,6 +65,24 @@ public class GameServiceImpl implements GameService {
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @Autowired
+    private CatalogFragmentCache fragmentCache;
+
+    @Autowired
+    private WishlistNotifier wishlistNotifier;
+
     /**
      * Retrieves all games.
      *
@@ -49,7 +90,7 @@ public class GameServiceImpl implements GameService {
      */
     @Override
     public List<Game> findAllGames() {
-        return gameRepository.findAll();
+        return gameRepository.findAllListView();
     }
 
     /**
@@ -76,15 +117,41 @@ public class GameServiceImpl implements GameService {
                 .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
     }
 
+    /**
+     * Finds a game for its detail page, with genres and platforms loaded.
+     *
+     * @param id the ID of the game
+     * @return the game with the specified ID
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    @Override
+    public Game getGameDetail(Long id) {
+        return gameRepository.findDetailViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + id));
+    }
+
+    /**
+     * Reads the version stamp of a game without loading the entity.
+     *
+     * @param id the ID of the game
+     * @return the version stamp, or empty if the game does not exist
+     */
+    @Override
+    public Optional<ProductVersion> findVersion(Long id) {
+        return gameRepository.findVersionById(id);
+    }
+
     /**
      * Searches for games by title (case-insensitive, partial match).
+     * Uses the title field of the search index, so misspelled titles also match.
+     * Every match is returned.
      *
      * @param title the title to search
-     * @return a list of matching games
+     * @return a list of matching games, best match first
      */
     @Override
     public List<Game> findByTitle(String title) {
-        return gameRepository.findByTitleContainingIgnoreCase(title);
+        return searchService.searchGameTitles(title, Integer.MAX_VALUE);
     }
 
     /**
@@ -95,14 +162,12 @@ public class GameServiceImpl implements GameService {
      * @throws ResourceNotFoundException if the platform is not found
      */
     @Override
-    @Cacheable(value = "gamesByPlatform", key = "#platformName.toLowerCase()")
     public List<Game> findByPlatform(String platformName) {
-        Optional<Platform> platform = platformRepository.findByNameContainingIgnoreCase(platformName);
-        if (platform.isPresent()) {
-            return gameRepository.findByPlatformsContaining(platform.get());
-        } else {
+        if (!catalogIndex.hasPlatform(platformName)
+                && platformRepository.findByNameContainingIgnoreCase(platformName).isEmpty()) {
             throw new ResourceNotFoundException("Platform not found: " + platformName);
         }
+        return filter(CatalogFilter.byPlatform(platformName));
     }
 
     /**
@@ -113,14 +178,50 @@ public class GameServiceImpl implements GameService {
      * @throws ResourceNotFoundException if the genre is not found
      */
     @Override
-    @Cacheable(value = "gamesByGenre", key = "#genreName.toLowerCase()")
     public List<Game> findByGenre(String genreName) {
-        Optional<Genre> genre = genreRepository.findByNameContainingIgnoreCase(genreName);
-        if (genre.isPresent()) {
-            return gameRepository.findByGenresContaining(genre.get());
-        } else {
+        if (!catalogIndex.hasGenre(genreName)
+                && genreRepository.findByNameContainingIgnoreCase(genreName).isEmpty()) {
             throw new ResourceNotFoundException("Genre not found: " + genreName);
         }
+        return filter(CatalogFilter.byGenre(genreName));
+    }
+
+    /**
+     * Retrieves games matching a combined filter.
+     * The filter is resolved entirely by the catalog index; only the matching games
+     * are then loaded by primary key.
+     *
+     * @param filter the criteria to apply
+     * @return a list of matching games, ordered as requested by the filter
+     */
+    @Override
+    public List<Game> filter(CatalogFilter filter) {
+        return findAllInOrder(catalogIndex.query(filter));
+    }
+
+    /**
+     * Retrieves one page of games matching a catalog filter.
+     * The catalog index decides which games are on the page; only those are loaded.
+     *
+     * @param filter the criteria to apply
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the games on the page, ordered as requested by the filter
+     */
+    @Override
+    public List<Game> filter(CatalogFilter filter, int page, int size) {
+        return findAllInOrder(pageOf(catalogIndex.query(filter), page, size));
+    }
+
+    /**
+     * Counts the games matching a catalog filter, from the catalog index.
+     *
+     * @param filter the criteria to apply
+     * @return the number of matching games
+     */
+    @Override
+    public int count(CatalogFilter filter) {
+        return catalogIndex.query(filter).size();
     }
 
     /**
@@ -135,78 +236,176 @@ public class GameServiceImpl implements GameService {
     }
 
     /**
-     * Retrieves games with average rating >= 4.0.
+     * Retrieves games with average rating >= 4.0, best rated first.
+     * Answered from the catalog index using the stored average ratings.
      *
      * @return a list of top-rated games
      */
     @Override
     public List<Game> findTopRated() {
-        return gameRepository.findByMinimumRating(4.0);
+        CatalogFilter filter = new CatalogFilter();
+        filter.setMinRating(TOP_RATED_THRESHOLD);
+        filter.setSort(CatalogSort.TOP_RATED);
+        return filter(filter);
+    }
+
+    /**
+     * Retrieves one page of listing read models matching a catalog filter.
+     * The catalog index decides which games are on the page; only those rows are then
+     * selected as {@link GameSummary} tuples, with the platform names read in a second query.
+     *
+     * @param filter the filter and sort order
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the summaries on the page, in filter order
+     */
+    @Override
+    public List<GameSummary> findSummaries(CatalogFilter filter, int page, int size) {
+        List<Long> pageIds = pageOf(catalogIndex.query(filter), page, size);
+        if (pageIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> platforms = new HashMap<>();
+        for (GamePlatformName platform : gameRepository.findPlatformNamesByIdIn(pageIds)) {
+            platforms.computeIfAbsent(platform.gameId(), id -> new ArrayList<>()).add(platform.name());
+        }
+        List<GameSummary> summaries = new ArrayList<>(pageIds.size());
+        for (GameSummary summary : gameRepository.findSummariesByIdIn(pageIds)) {
+            summaries.add(summary.withPlatforms(platforms.getOrDefault(summary.id(), List.of())));
+        }
+        return inOrder(pageIds, summaries, GameSummary::id);
+    }
+
+    /**
+     * Retrieves listing read models for games released in the last month, newest first.
+     *
+     * @param limit the maximum number of games
+     * @return the summaries
+     */
+    @Override
+    public List<GameSummary> findNewReleaseSummaries(int limit) {
+        LocalDate oneMonthAgo = LocalDate.now().minusMonths(1);
+        return gameRepository.findSummariesReleasedAfter(oneMonthAgo, PageRequest.of(0, limit));
     }
 
     /**
      * Saves or updates a game entity.
-     * Clears platform/genre caches to ensure data consistency.
+     * Updates the game's entry in the catalog and search indexes and drops the
+     * pre-rendered catalog fragments. A lower price or a restock records a wishlist alert;
+     * the wishers are emailed in the background.
      *
      * @param game the game to save
      * @return the saved game
      */
     @Override
-    @CacheEvict(value = {"gamesByPlatform", "gamesByGenre"}, allEntries = true)
     public Game save(Game game) {
-        return gameRepository.save(game);
+        WishlistNotifier.Snapshot before = wishlistNotifier.snapshot(game.getId());
+        Game saved = gameRepository.save(game);
+        wishlistNotifier.gameSaved(before, saved);
+        catalogIndex.upsert(saved);
+        searchService.indexGame(saved);
+        priceBook.put(saved);
+        fragmentCache.invalidate();
+        return saved;
     }
 
     /**
      * Deletes a game by its ID.
-     * Clears platform/genre caches to ensure data consistency.
+     * Removes the game from the catalog and search indexes and drops the
+     * pre-rendered catalog fragments.
      *
      * @param id the ID of the game to delete
      */
     @Override
-    @CacheEvict(value = {"gamesByPlatform", "gamesByGenre"}, allEntries = true)
     public void deleteById(Long id) {
         gameRepository.deleteById(id);
+        catalogIndex.remove(id);
+        searchService.removeGame(id);
+        priceBook.remove(ProductType.GAME, id);
+        fragmentCache.invalidate();
     }
 
     /**
      * Updates stock quantity for physical games.
-     * Ignores digital games since they are not stock-limited.
+     * Ignores digital games since they are not stock-limited. The adjustment is applied
+     * atomically in the database by the {@link InventoryService}. Restocking a sold-out game
+     * records a wishlist alert.
      *
      * @param gameId the ID of the game
      * @param quantity the amount to adjust (positive or negative)
      * @throws ResourceNotFoundException if the game does not exist
+     * @throws InsufficientStockException if a negative quantity exceeds the stock on hand
      */
     @Override
     public void updateStock(Long gameId, int quantity) {
         Game game = getGameOrThrow(gameId);
 
         if (!game.isDigital()) {
-            int newQuantity = game.getStockQuantity() + quantity;
-            game.setStockQuantity(Math.max(0, newQuantity));
-            gameRepository.save(game);
+            int stock = game.getStockQuantity() == null ? 0 : game.getStockQuantity();
+            inventoryService.adjust(ProductType.GAME, gameId, quantity);
+            if (stock <= 0 && quantity > 0) {
+                wishlistNotifier.record(gameId, WishlistAlertType.RESTOCK, game.getPrice(), game.getPrice());
+            }
         }
     }
 
     /**
-     * Calculates and updates the average rating for a game.
+     * Returns the average rating for a game from its running rating aggregates.
+     * The aggregates are maintained by the review service, so the reviews are not loaded.
      *
      * @param gameId the ID of the game
-     * @return the new average rating, or null if no reviews exist
+     * @return the average rating, or null if no reviews exist
      * @throws ResourceNotFoundException if the game does not exist
      */
     @Override
     public Double calculateAverageRating(Long gameId) {
         Game game = getGameOrThrow(gameId);
+        return game.getReviewCount() > 0 ? (double) game.getRatingSum() / game.getReviewCount() : null;
+    }
 
-        OptionalDouble average = game.getReviews().stream()
-                .mapToInt(Review::getRating)
-                .average();
+    /**
+     * Cuts one page out of an ordered list of game IDs.
+     *
+     * @param ids the matching game IDs in order
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the IDs on the page, possibly empty
+     */
+    private static List<Long> pageOf(List<Long> ids, int page, int size) {
+        int from = (int) Math.min((long) Math.max(page, 0) * size, ids.size());
+        int to = Math.min(from + size, ids.size());
+        return ids.subList(from, to);
+    }
 
-        Double avgRating = average.isPresent() ? average.getAsDouble() : null;
-        game.setAverageRating(avgRating);
-        gameRepository.save(game);
+    /**
+     * Loads games by ID with their genres and platforms, preserving the order of the given IDs.
+     *
+     * @param ids the game IDs in the desired order
+     * @return the games in the same order
+     */
+    private List<Game> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inOrder(ids, gameRepository.findListViewByIdIn(ids), Game::getId);
+    }
 
-        return avgRating;
+    /**
+     * Sorts loaded games or game read models into the order of their IDs.
+     *
+     * @param ids the game IDs in the desired order
+     * @param loaded the games, in any order
+     * @param idOf extracts the ID of a loaded game
+     * @param <T> the game type
+     * @return the games in the order of the IDs
+     */
+    private static <T> List<T> inOrder(List<Long> ids, List<T> loaded, Function<T, Long> idOf) {
+        Map<Long, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            positions.put(id, positions.size());
+        }
+        List<T> games = new ArrayList<>(loaded);
+        games.sort(Comparator.comparingInt(game -> positions.get(idOf.apply(game))));
+        return games;
     }
 }
@@ -1,4 +1,34 @@
 package ca.eshopexpress.service.impl;
 
-public class GenreServiceImpl {
+import ca.eshopexpress.model.entity.Genre;
+import ca.eshopexpress.repository.GenreRepository;
+import ca.eshopexpress.service.GenreService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service implementation for reading genres.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+public class GenreServiceImpl implements GenreService {
+
+    @Autowired
+    private GenreRepository genreRepository;
+
+    /**
+     * Retrieves all genres ordered by name.
+     *
+     * @return a list of all genres
+     */
+    @Override
+    public List<Genre> findAll() {
+        return genreRepository.findAll(Sort.by("name"));
+    }
 }
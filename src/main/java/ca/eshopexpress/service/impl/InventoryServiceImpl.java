@@ -0,0 +1,166 @@
+package ca.eshopexpress.service.impl;
+
+import ca.eshopexpress.exception.InsufficientStockException;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.service.InventoryService;
+import ca.eshopexpress.service.inventory.SkuContention;
+import ca.eshopexpress.service.inventory.StockLine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Implementation of the {@link InventoryService} interface using conditional, set-based updates.
+ * <p>
+ * A decrement is a single {@code UPDATE ... SET stock_quantity = stock_quantity - ? WHERE
+ * stock_quantity >= ?}, so the check and the write happen atomically in the database and no row
+ * is ever read into Java first. The lines of a cart are merged per SKU, sorted by ID so that
+ * concurrent checkouts lock rows in the same order, and sent as one JDBC batch per product table.
+ * If any SKU is short the whole reservation rolls back.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Service
+public class InventoryServiceImpl implements InventoryService {
+
+    /**
+     * Stock is shown on the product pages, so a stock change is a new version of the product
+     */
+    private static final String BUMP_VERSION = "version = version + 1, updated_at = CURRENT_TIMESTAMP";
+    private static final String DECREMENT_GAME =
+            "UPDATE games SET stock_quantity = stock_quantity - ?, " + BUMP_VERSION
+                    + " WHERE id = ? AND is_digital = FALSE AND stock_quantity >= ?";
+    private static final String DECREMENT_ACCESSORY =
+            "UPDATE accessories SET stock_quantity = stock_quantity - ?, " + BUMP_VERSION
+                    + " WHERE id = ? AND stock_quantity >= ?";
+    private static final String INCREMENT_GAME =
+            "UPDATE games SET stock_quantity = COALESCE(stock_quantity, 0) + ?, " + BUMP_VERSION
+                    + " WHERE id = ? AND is_digital = FALSE";
+    private static final String INCREMENT_ACCESSORY =
+            "UPDATE accessories SET stock_quantity = COALESCE(stock_quantity, 0) + ?, " + BUMP_VERSION
+                    + " WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Contention counters per SKU
+     */
+    private final ConcurrentMap<String, SkuContention> contention = new ConcurrentHashMap<>();
+
+    /**
+     * Reserves stock for every line of a cart, all or nothing.
+     *
+     * @param lines the SKUs and quantities to reserve
+     * @throws InsufficientStockException if any SKU does not have enough stock; nothing is reserved
+     */
+    @Override
+    @Transactional
+    public void reserve(List<StockLine> lines) {
+        List<String> shortSkus = new ArrayList<>();
+        for (Map.Entry<ProductType, TreeMap<Long, Integer>> group : groupBySku(lines).entrySet()) {
+            ProductType type = group.getKey();
+            List<Map.Entry<Long, Integer>> skus = new ArrayList<>(group.getValue().entrySet());
+            String sql = type == ProductType.GAME ? DECREMENT_GAME : DECREMENT_ACCESSORY;
+
+            long start = System.nanoTime();
+            int[][] counts = jdbcTemplate.batchUpdate(sql, skus, skus.size(), (ps, sku) -> {
+                ps.setInt(1, sku.getValue());
+                ps.setLong(2, sku.getKey());
+                ps.setInt(3, sku.getValue());
+            });
+            long nanosPerSku = (System.nanoTime() - start) / skus.size();
+
+            for (int i = 0; i < skus.size(); i++) {
+                String sku = type + "-" + skus.get(i).getKey();
+                boolean rejected = counts[0][i] == 0;
+                contention.computeIfAbsent(sku, SkuContention::new).record(rejected, nanosPerSku);
+                if (rejected) {
+                    shortSkus.add(sku);
+                }
+            }
+        }
+        if (!shortSkus.isEmpty()) {
+            throw new InsufficientStockException("Insufficient stock for " + String.join(", ", shortSkus));
+        }
+    }
+
+    /**
+     * Returns previously reserved stock, e.g. for a cancelled or returned order.
+     *
+     * @param lines the SKUs and quantities to return
+     */
+    @Override
+    @Transactional
+    public void release(List<StockLine> lines) {
+        for (Map.Entry<ProductType, TreeMap<Long, Integer>> group : groupBySku(lines).entrySet()) {
+            String sql = group.getKey() == ProductType.GAME ? INCREMENT_GAME : INCREMENT_ACCESSORY;
+            List<Map.Entry<Long, Integer>> skus = new ArrayList<>(group.getValue().entrySet());
+            jdbcTemplate.batchUpdate(sql, skus, skus.size(), (ps, sku) -> {
+                ps.setInt(1, sku.getValue());
+                ps.setLong(2, sku.getKey());
+            });
+        }
+    }
+
+    /**
+     * Adjusts the stock of a single SKU.
+     *
+     * @param productType game or accessory
+     * @param productId the product ID
+     * @param delta the amount to adjust (positive or negative)
+     * @throws InsufficientStockException if a negative delta exceeds the stock on hand
+     */
+    @Override
+    @Transactional
+    public void adjust(ProductType productType, long productId, int delta) {
+        if (delta < 0) {
+            reserve(List.of(new StockLine(productType, productId, -delta)));
+        } else if (delta > 0) {
+            release(List.of(new StockLine(productType, productId, delta)));
+        }
+    }
+
+    /**
+     * Reports the SKUs with the most rejected decrements first.
+     *
+     * @return contention counters per SKU
+     */
+    @Override
+    public List<SkuContention> contentionReport() {
+        List<SkuContention> report = new ArrayList<>(contention.values());
+        report.sort(Comparator.comparingLong(SkuContention::getRejections)
+                .thenComparingDouble(SkuContention::getMeanUpdateMillis).reversed());
+        return report;
+    }
+
+    /**
+     * Merges lines for the same SKU and orders them by product type, then ID.
+     *
+     * @param lines the cart lines
+     * @return quantity per product ID, per product type
+     */
+    private static Map<ProductType, TreeMap<Long, Integer>> groupBySku(List<StockLine> lines) {
+        Map<ProductType, TreeMap<Long, Integer>> grouped = new EnumMap<>(ProductType.class);
+        for (StockLine line : lines) {
+            if (line.getQuantity() > 0) {
+                grouped.computeIfAbsent(line.getProductType(), k -> new TreeMap<>())
+                        .merge(line.getProductId(), line.getQuantity(), Integer::sum);
+            }
+        }
+        return grouped;
+    }
+}
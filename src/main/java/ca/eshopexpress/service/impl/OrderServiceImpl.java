@@ -1,31 +1,66 @@
 package ca.eshopexpress.service.impl;
 
 import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.dto.OrderCursor;
+import ca.eshopexpress.model.dto.OrderPage;
+import ca.eshopexpress.model.entity.DigitalKey;
 import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.repository.DigitalKeyRepository;
 import ca.eshopexpress.repository.OrderRepository;
 import ca.eshopexpress.service.OrderService;
+import ca.eshopexpress.service.SalesAnalyticsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the {@link OrderService} interface for managing order-related operations.
  * <p>
  * Provides methods for retrieving orders by various customer criteria including ID, name, and email.
  * Caching is used to optimize read-heavy operations where applicable.
+ * Order listings use keyset pagination and exports stream the table in batches,
+ * so neither ever holds more than a page or a batch of orders in memory.
  * </p>
  *
  * @author Daniel Hinbest
- * @version 1.0
+ * @version 1.4
  * @since 2025-05-13
  */
 @Service
 public class OrderServiceImpl implements OrderService {
 
+    /**
+     * Largest page size a caller may request
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Number of exported orders after which the persistence context is cleared
+     */
+    private static final int EXPORT_BATCH_SIZE = 500;
+
     private final OrderRepository orderRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private DigitalKeyRepository digitalKeyRepository;
+
+    @Autowired
+    private SalesAnalyticsService salesAnalyticsService;
+
     /**
      * Constructs an OrderServiceImpl with the provided {@link OrderRepository}.
      *
@@ -38,84 +73,166 @@ public class OrderServiceImpl implements OrderService {
 
     /**
      * Retrieves all orders in the system.
-     * Results are cached to improve performance for repeated queries.
+     * Not cached, since caching the whole table would hold every order in memory.
      *
      * @return a list of all orders
      */
     @Override
-    @Cacheable("orders")
     public List<Order> findAllOrders() {
         return orderRepository.findAll();
     }
 
     /**
      * Retrieves a specific order by its unique ID.
-     * Result is cached by ID to optimize frequent lookups.
+     * Result is cached by ID to optimize frequent lookups; the cache is synchronized
+     * so concurrent misses load the order once and load time is recorded.
      *
      * @param id the ID of the order
      * @return the order with the specified ID
      * @throws ResourceNotFoundException if no order is found with the given ID
      */
     @Override
-    @Cacheable(value = "orders", key = "#id")
+    @Cacheable(value = "orders", key = "#id", sync = true)
     public Order findOrderById(Long id) {
         return orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
     }
 
     /**
-     * Retrieves all orders placed by a specific customer based on their customer ID.
+     * Retrieves one page of all orders, newest first, using keyset pagination.
+     * An unreadable cursor token restarts the listing from the first page.
+     *
+     * @param cursor the cursor token of the previous page, or null for the first page
+     * @param size the maximum number of orders on the page
+     * @return the page of orders and the cursor token for the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage findOrdersPage(String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        OrderCursor position = OrderCursor.decode(cursor);
+        PageRequest window = PageRequest.ofSize(pageSize + 1);
+        List<Order> orders = position == null
+                ? orderRepository.findFirstPage(window)
+                : orderRepository.findPageAfter(position.getOrderDate(), position.getId(), window);
+        return toPage(orders, pageSize);
+    }
+
+    /**
+     * Retrieves one page of a customer's orders, newest first, using keyset pagination.
+     * An unreadable cursor token restarts the listing from the first page.
      *
      * @param customerId the ID of the customer
-     * @return a list of orders associated with the customer
+     * @param cursor the cursor token of the previous page, or null for the first page
+     * @param size the maximum number of orders on the page
+     * @return the page of orders and the cursor token for the next page
      */
     @Override
-    public List<Order> findOrdersByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId);
+    @Transactional(readOnly = true)
+    public OrderPage findOrdersPageByCustomerId(Long customerId, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        OrderCursor position = OrderCursor.decode(cursor);
+        PageRequest window = PageRequest.ofSize(pageSize + 1);
+        List<Order> orders = position == null
+                ? orderRepository.findFirstPageByUserId(customerId, window)
+                : orderRepository.findPageAfterByUserId(customerId, position.getOrderDate(), position.getId(), window);
+        return toPage(orders, pageSize);
     }
 
     /**
-     * Retrieves all orders placed by customers with the specified last name.
+     * Retrieves an order together with its items.
      *
-     * @param lastName the last name of the customer
-     * @return a list of matching orders
+     * @param id the ID of the order
+     * @return the order with its items
+     * @throws ResourceNotFoundException if no order is found with the given ID
      */
     @Override
-    public List<Order> findByLastName(String lastName) {
-        return orderRepository.findByLastName(lastName);
+    @Transactional(readOnly = true)
+    public Order findOrderWithItems(Long id) {
+        return orderRepository.findWithItemsById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
     }
 
     /**
-     * Retrieves all orders placed by customers with the specified first name.
+     * Retrieves the digital keys sold with an order.
      *
-     * @param firstName the first name of the customer
-     * @return a list of matching orders
+     * @param orderId the ID of the order
+     * @return the keys, with their games and platforms
      */
     @Override
-    public List<Order> findByFirstName(String firstName) {
-        return orderRepository.findByFirstName(firstName);
+    @Transactional(readOnly = true)
+    public List<DigitalKey> findDigitalKeys(Long orderId) {
+        return digitalKeyRepository.findSoldByOrderId(orderId);
     }
 
     /**
-     * Retrieves all orders placed using a specific email address.
+     * Passes every order, newest first, to the consumer with a fixed memory footprint.
+     * Rows are fetched in batches and the persistence context is cleared after every batch.
      *
-     * @param email the email address used in the order
-     * @return a list of orders associated with the email
+     * @param consumer receives each order in turn
      */
     @Override
-    public List<Order> findByEmail(String email) {
-        return orderRepository.findByEmail(email);
+    @Transactional(readOnly = true)
+    public void exportOrders(Consumer<Order> consumer) {
+        try (Stream<Order> orders = orderRepository.streamAll()) {
+            Iterator<Order> iterator = orders.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % EXPORT_BATCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     /**
-     * Retrieves all orders placed by customers with the specified full name.
+     * Changes the status of an order and updates the sales analytics in the same transaction.
+     * The order row is locked first, so two concurrent changes cannot both see the old status.
+     * Evicts the cached order, so {@link #findOrderById} does not keep returning the old status.
      *
-     * @param firstName the first name of the customer
-     * @param lastName  the last name of the customer
-     * @return a list of matching orders
+     * @param id the ID of the order
+     * @param status the new status
+     * @return the updated order
+     * @throws ResourceNotFoundException if no order is found with the given ID
      */
     @Override
-    public List<Order> findByFullName(String firstName, String lastName) {
-        return orderRepository.findByFullName(firstName, lastName);
+    @Transactional
+    @CacheEvict(value = "orders", key = "#id")
+    public Order updateStatus(Long id, OrderStatus status) {
+        Order order = orderRepository.findForUpdateById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        OrderStatus previous = order.getStatus();
+        if (previous != status) {
+            order.setStatus(status);
+            salesAnalyticsService.recordStatusChange(order, previous);
+        }
+        return order;
+    }
+
+    /**
+     * Trims a result fetched with one extra row into a page and its next cursor.
+     *
+     * @param orders up to pageSize + 1 orders
+     * @param pageSize the requested page size
+     * @return the page
+     */
+    private static OrderPage toPage(List<Order> orders, int pageSize) {
+        if (orders.size() <= pageSize) {
+            return new OrderPage(orders, null);
+        }
+        List<Order> page = orders.subList(0, pageSize);
+        Order last = page.get(pageSize - 1);
+        return new OrderPage(page, new OrderCursor(last.getOrderDate(), last.getId()).encode());
+    }
+
+    /**
+     * Limits a requested page size to between 1 and {@link #MAX_PAGE_SIZE}.
+     *
+     * @param size the requested page size
+     * @return the page size to use
+     */
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 }
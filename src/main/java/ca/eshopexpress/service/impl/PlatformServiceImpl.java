@@ -1,4 +1,34 @@
 package ca.eshopexpress.service.impl;
 
-public class PlatformServiceImpl {
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.repository.PlatformRepository;
+import ca.eshopexpress.service.PlatformService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service implementation for reading platforms.
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+public class PlatformServiceImpl implements PlatformService {
+
+    @Autowired
+    private PlatformRepository platformRepository;
+
+    /**
+     * Retrieves all platforms ordered by name.
+     *
+     * @return a list of all platforms
+     */
+    @Override
+    public List<Platform> findAll() {
+        return platformRepository.findAll(Sort.by("name"));
+    }
 }
@@ -1,4 +1,396 @@
 package ca.eshopexpress.service.impl;
 
-public class RecommendationServiceImpl {
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Genre;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.repository.GameRepository;
+import ca.eshopexpress.service.RecommendationService;
+import ca.eshopexpress.service.recommend.CoOccurrenceBuilder;
+import ca.eshopexpress.service.recommend.ItemNeighbours;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the {@link RecommendationService} interface backed by a precomputed
+ * item-item neighbour table.
+ * <p>
+ * The table is built from co-purchases in {@code order_items} and co-wishlisting in
+ * {@code wishlist_items} at startup and on a schedule, and swapped in atomically. Each user's
+ * purchased and wishlisted games are kept in memory and updated as they happen, so a
+ * recommendation is a sum over the neighbours of the user's games with no database work
+ * beyond loading the winning games. Users with no usable history fall back to games sharing
+ * their genres and platforms, then to the top-rated games, whose IDs are also taken when the
+ * table is built.
+ * </p>
+ * <p>
+ * The histories are replaced by the ones read for the new table on every rebuild, so games
+ * removed from a wishlist and users deleted since do not pile up; changes recorded while a rebuild
+ * reads are replayed onto the new histories. A history holds at most
+ * {@code max-basket-size} games, the size the table build truncates baskets to.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+
+    /**
+     * Weight of a purchased game in a basket
+     */
+    private static final float PURCHASE_WEIGHT = 1.0f;
+
+    /**
+     * Weight of a wishlisted game in a basket
+     */
+    private static final float WISHLIST_WEIGHT = 0.5f;
+
+    /**
+     * Games used to derive genres and platforms for the fallback
+     */
+    private static final int FALLBACK_SEED_GAMES = 20;
+
+    /**
+     * Lowest average rating of a top-rated game, as in {@link ca.eshopexpress.service.GameService#findTopRated}
+     */
+    private static final double TOP_RATED_THRESHOLD = 4.0;
+
+    private static final String TOP_RATED_GAMES =
+            "SELECT id FROM games WHERE average_rating >= ? ORDER BY average_rating DESC, review_count DESC, id LIMIT ?";
+    private static final String PURCHASED_GAMES =
+            "SELECT DISTINCT o.user_id, oi.product_id FROM order_items oi " +
+            "JOIN orders o ON o.id = oi.order_id WHERE oi.product_type = 'GAME'";
+    private static final String WISHLISTED_GAMES =
+            "SELECT user_id, game_id FROM wishlist_items";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    /**
+     * Maximum neighbours kept per game
+     */
+    @Value("${eshopexpress.recommendations.neighbours:20}")
+    private int neighbourCount;
+
+    /**
+     * Baskets larger than this are truncated when building the table
+     */
+    @Value("${eshopexpress.recommendations.max-basket-size:200}")
+    private int maxBasketSize;
+
+    /**
+     * Top-rated games kept for the fallback
+     */
+    @Value("${eshopexpress.recommendations.top-rated:50}")
+    private int topRatedCount;
+
+    /**
+     * The current neighbour table
+     */
+    private volatile ItemNeighbours neighbours = ItemNeighbours.EMPTY;
+
+    /**
+     * IDs of the top-rated games when the table was built, best first
+     */
+    private volatile List<Long> topRatedIds = List.of();
+
+    /**
+     * Purchased and wishlisted games per user, with their weight
+     */
+    private volatile ConcurrentMap<Long, ConcurrentMap<Long, Float>> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes history changes with the swap of a rebuild
+     */
+    private final ReentrantLock historyLock = new ReentrantLock();
+
+    /**
+     * History changes recorded while a rebuild reads, to replay onto its histories; null
+     * when no rebuild is running. Guarded by {@link #historyLock}.
+     */
+    private List<Consumer<ConcurrentMap<Long, ConcurrentMap<Long, Float>>>> pendingChanges;
+
+    /**
+     * Recomputes the item-item neighbour table from all orders and wishlists.
+     * Runs at startup and then on the configured schedule.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${eshopexpress.recommendations.rebuild-cron:0 0 4 * * *}")
+    public void rebuild() {
+        historyLock.lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            historyLock.unlock();
+        }
+        ConcurrentMap<Long, ConcurrentMap<Long, Float>> rebuilt = new ConcurrentHashMap<>();
+        boolean complete = false;
+        try {
+            CoOccurrenceBuilder builder = new CoOccurrenceBuilder();
+            jdbcTemplate.query(PURCHASED_GAMES,
+                    (RowCallbackHandler) rs -> builder.add(rs.getLong(1), rs.getLong(2), PURCHASE_WEIGHT));
+            jdbcTemplate.query(WISHLISTED_GAMES,
+                    (RowCallbackHandler) rs -> builder.add(rs.getLong(1), rs.getLong(2), WISHLIST_WEIGHT));
+            List<Long> topRated = jdbcTemplate.queryForList(TOP_RATED_GAMES, Long.class, TOP_RATED_THRESHOLD, topRatedCount);
+
+            neighbours = builder.build(neighbourCount, maxBasketSize);
+            topRatedIds = List.copyOf(topRated);
+            builder.getBaskets().forEach((userId, basket) -> basket.forEach((gameId, weight) ->
+                    add(rebuilt, userId, gameId, weight)));
+            complete = true;
+        } finally {
+            historyLock.lock();
+            try {
+                if (complete) {
+                    for (Consumer<ConcurrentMap<Long, ConcurrentMap<Long, Float>>> change : pendingChanges) {
+                        change.accept(rebuilt);
+                    }
+                    histories = rebuilt;
+                }
+                pendingChanges = null;
+            } finally {
+                historyLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Recommends games for a user based on what similar customers bought and wishlisted.
+     * Users without history get genre/platform or top-rated suggestions instead.
+     *
+     * @param userId the ID of the user
+     * @param limit the maximum number of games
+     * @return a list of recommended games, best first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Game> recommendForUser(Long userId, int limit) {
+        Map<Long, Float> history = histories.get(userId);
+        if (history == null || history.isEmpty()) {
+            return topRated(Set.of(), limit);
+        }
+
+        ItemNeighbours table = neighbours;
+        Map<Long, Float> scores = new HashMap<>();
+        history.forEach((gameId, weight) ->
+                table.forEachNeighbour(gameId, weight, (neighbour, score) -> scores.merge(neighbour, score, Float::sum)));
+        scores.keySet().removeAll(history.keySet());
+
+        List<Game> games = findAllInOrder(topIds(scores, limit));
+        if (games.size() < limit) {
+            Set<Long> excluded = new HashSet<>(history.keySet());
+            games.forEach(game -> excluded.add(game.getId()));
+            games.addAll(genreFallback(history.keySet(), excluded, limit - games.size()));
+        }
+        return games;
+    }
+
+    /**
+     * Finds games frequently bought or wishlisted together with a game.
+     *
+     * @param gameId the ID of the game
+     * @param limit the maximum number of games
+     * @return a list of similar games, most similar first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Game> findSimilarGames(Long gameId, int limit) {
+        Map<Long, Float> scores = new HashMap<>();
+        neighbours.forEachNeighbour(gameId, 1.0f, scores::put);
+        List<Game> games = findAllInOrder(topIds(scores, limit));
+        if (games.size() < limit) {
+            Set<Long> excluded = new HashSet<>();
+            excluded.add(gameId);
+            games.forEach(game -> excluded.add(game.getId()));
+            games.addAll(genreFallback(Set.of(gameId), excluded, limit - games.size()));
+        }
+        return games;
+    }
+
+    /**
+     * Records games a user has just bought, so their recommendations reflect it immediately.
+     *
+     * @param userId the ID of the user
+     * @param gameIds the IDs of the purchased games
+     */
+    @Override
+    public void recordPurchase(Long userId, Collection<Long> gameIds) {
+        List<Long> purchased = List.copyOf(gameIds);
+        change(target -> purchased.forEach(gameId -> add(target, userId, gameId, PURCHASE_WEIGHT)));
+    }
+
+    /**
+     * Records a game a user has just added to their wishlist.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the wishlisted game
+     */
+    @Override
+    public void recordWishlist(Long userId, Long gameId) {
+        change(target -> add(target, userId, gameId, WISHLIST_WEIGHT));
+    }
+
+    /**
+     * Records a game a user has just removed from their wishlist. A game the user has bought
+     * stays in their history.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the removed game
+     */
+    @Override
+    public void recordWishlistRemoval(Long userId, Long gameId) {
+        change(target -> {
+            ConcurrentMap<Long, Float> history = target.get(userId);
+            if (history != null) {
+                history.remove(gameId, WISHLIST_WEIGHT);
+                if (history.isEmpty()) {
+                    target.remove(userId, history);
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies a change to the histories, and keeps it to replay onto the next histories if a
+     * rebuild is reading
+     * @param change the change
+     */
+    private void change(Consumer<ConcurrentMap<Long, ConcurrentMap<Long, Float>>> change) {
+        historyLock.lock();
+        try {
+            change.accept(histories);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a game to a user's history, keeping the higher weight if it is already there.
+     * A full history takes no new games.
+     * @param target the histories
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @param weight the weight of the game
+     */
+    private void add(ConcurrentMap<Long, ConcurrentMap<Long, Float>> target, long userId, long gameId, float weight) {
+        ConcurrentMap<Long, Float> history = target.computeIfAbsent(userId, k -> new ConcurrentHashMap<>());
+        if (history.size() < maxBasketSize || history.containsKey(gameId)) {
+            history.merge(gameId, weight, Math::max);
+        }
+    }
+
+    /**
+     * Recommends the best-rated games sharing genres and platforms with some seed games,
+     * topping up with top-rated games if there are not enough.
+     *
+     * @param seedIds the games to take genres and platforms from
+     * @param excluded the games not to recommend
+     * @param limit the maximum number of games
+     * @return a list of fallback recommendations
+     */
+    private List<Game> genreFallback(Collection<Long> seedIds, Set<Long> excluded, int limit) {
+        Set<Genre> genres = new HashSet<>();
+        Set<Platform> platforms = new HashSet<>();
+        List<Long> seeds = new ArrayList<>(seedIds);
+        for (Game game : gameRepository.findAllById(seeds.subList(0, Math.min(seeds.size(), FALLBACK_SEED_GAMES)))) {
+            genres.addAll(game.getGenres());
+            platforms.addAll(game.getPlatforms());
+        }
+
+        List<Game> games = new ArrayList<>(limit);
+        if (!genres.isEmpty() && !platforms.isEmpty()) {
+            PageRequest page = PageRequest.of(0, limit + excluded.size());
+            for (Game game : gameRepository.findRecommendedGames(genres, platforms, page)) {
+                if (games.size() < limit && excluded.add(game.getId())) {
+                    games.add(game);
+                }
+            }
+        }
+        if (games.size() < limit) {
+            games.addAll(topRated(excluded, limit - games.size()));
+        }
+        return games;
+    }
+
+    /**
+     * Get the top-rated games not in an exclusion set, from the IDs taken at the last rebuild
+     * @param excluded the games not to recommend
+     * @param limit the maximum number of games
+     * @return a list of top-rated games
+     */
+    private List<Game> topRated(Set<Long> excluded, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        for (Long id : topRatedIds) {
+            if (ids.size() == limit) {
+                break;
+            }
+            if (!excluded.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return findAllInOrder(ids);
+    }
+
+    /**
+     * Picks the highest-scoring IDs
+     * @param scores score per game ID
+     * @param limit the maximum number of IDs
+     * @return the IDs, best first
+     */
+    private static List<Long> topIds(Map<Long, Float> scores, int limit) {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Loads games by ID with their genres and platforms, preserving the order of the given IDs.
+     *
+     * @param ids the game IDs in the desired order
+     * @return the games in the same order
+     */
+    private List<Game> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (Long id : ids) {
+            positions.put(id, positions.size());
+        }
+        List<Game> games = new ArrayList<>(gameRepository.findListViewByIdIn(ids));
+        games.sort(Comparator.comparingInt(game -> positions.get(game.getId())));
+        return games;
+    }
 }
@@ -1,4 +1,204 @@
 package ca.eshopexpress.service.impl;
 
-public class ReviewServiceImpl {
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.Review;
+import ca.eshopexpress.repository.GameRepository;
+import ca.eshopexpress.repository.ReviewRepository;
+import ca.eshopexpress.service.ReviewService;
+import ca.eshopexpress.service.catalog.CatalogIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service implementation for managing game reviews.
+ * <p>
+ * Each create, edit or delete applies the rating change to the game's aggregate columns with
+ * one relative {@code UPDATE}, which is O(1) and safe under concurrent reviews. A scheduled
+ * reconciliation recomputes the aggregates from the reviews table to correct any drift, e.g.
+ * from reviews removed by a cascading delete.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Service
+public class ReviewServiceImpl implements ReviewService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private CatalogIndex catalogIndex;
+
+    /**
+     * Retrieves the reviews of a game.
+     *
+     * @param gameId the ID of the game
+     * @return a list of reviews for the game
+     */
+    @Override
+    public List<Review> findByGameId(Long gameId) {
+        return reviewRepository.findByGameId(gameId);
+    }
+
+    /**
+     * Retrieves one page of a game's reviews with their authors, newest first.
+     *
+     * @param gameId the ID of the game
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the reviews on the page
+     */
+    @Override
+    public List<Review> findPageByGameId(Long gameId, int page, int size) {
+        return reviewRepository.findPageByGameId(gameId, PageRequest.of(page, size));
+    }
+
+    /**
+     * Retrieves the reviews written by a user.
+     *
+     * @param userId the ID of the user
+     * @return a list of reviews by the user
+     */
+    @Override
+    public List<Review> findByUserId(Long userId) {
+        return reviewRepository.findByUserId(userId);
+    }
+
+    /**
+     * Finds a review by ID or throws an exception if not found.
+     *
+     * @param id the ID of the review
+     * @return the review with the specified ID
+     * @throws ResourceNotFoundException if the review does not exist
+     */
+    @Override
+    public Review getReviewOrThrow(Long id) {
+        return reviewRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
+    }
+
+    /**
+     * Creates a review and adds its rating to the game's aggregates.
+     *
+     * @param review the new review, with its game and user set
+     * @return the saved review
+     * @throws IllegalArgumentException if the rating is not between 1 and 5
+     */
+    @Override
+    @Transactional
+    public Review createReview(Review review) {
+        checkRating(review.getRating());
+        if (review.getCreatedAt() == null) {
+            review.setCreatedAt(LocalDateTime.now());
+        }
+        Review saved = reviewRepository.save(review);
+        applyRatingChange(saved.getGame().getId(), saved.getRating(), 0);
+        return saved;
+    }
+
+    /**
+     * Edits a review's rating and comment, moving the rating between histogram buckets.
+     *
+     * @param reviewId the ID of the review
+     * @param rating the new rating
+     * @param comment the new comment
+     * @return the updated review
+     * @throws ResourceNotFoundException if the review does not exist
+     * @throws IllegalArgumentException if the rating is not between 1 and 5
+     */
+    @Override
+    @Transactional
+    public Review updateReview(Long reviewId, Integer rating, String comment) {
+        checkRating(rating);
+        Review review = getReviewOrThrow(reviewId);
+        int previous = review.getRating();
+        review.setRating(rating);
+        review.setComment(comment);
+        Review saved = reviewRepository.save(review);
+        if (previous != rating) {
+            applyRatingChange(saved.getGame().getId(), rating, previous);
+        }
+        return saved;
+    }
+
+    /**
+     * Deletes a review and removes its rating from the game's aggregates.
+     *
+     * @param id the ID of the review
+     * @throws ResourceNotFoundException if the review does not exist
+     */
+    @Override
+    @Transactional
+    public void deleteById(Long id) {
+        Review review = getReviewOrThrow(id);
+        Long gameId = review.getGame().getId();
+        int rating = review.getRating();
+        reviewRepository.delete(review);
+        applyRatingChange(gameId, 0, rating);
+    }
+
+    /**
+     * Recomputes every game's rating aggregates from the reviews table, correcting any drift.
+     * Runs nightly by default; the catalog index is reloaded if anything changed.
+     *
+     * @return the number of games corrected
+     */
+    @Override
+    @Transactional
+    @Scheduled(cron = "${eshopexpress.reviews.reconcile-cron:0 30 3 * * *}")
+    public int reconcileRatings() {
+        int corrected = gameRepository.reconcileRatings();
+        if (corrected > 0) {
+            catalogIndex.rebuild();
+        }
+        return corrected;
+    }
+
+    /**
+     * Applies a rating change to the game's aggregates and refreshes its catalog index entry.
+     *
+     * @param gameId the ID of the reviewed game
+     * @param added the rating added, or 0
+     * @param removed the rating removed, or 0
+     */
+    private void applyRatingChange(Long gameId, int added, int removed) {
+        int countDelta = (added > 0 ? 1 : 0) - (removed > 0 ? 1 : 0);
+        gameRepository.applyRatingChange(gameId, added, removed, countDelta);
+        catalogIndex.updateRating(gameId, gameRepository.findAverageRatingById(gameId));
+    }
+
+    /**
+     * Validates a star rating.
+     *
+     * @param rating the rating
+     * @throws IllegalArgumentException if the rating is not between 1 and 5
+     */
+    private static void checkRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+    }
+
+    /**
+     * Checks whether a user has already reviewed a game.
+     *
+     * @param gameId the ID of the game
+     * @param userId the ID of the user
+     * @return true if the user has reviewed the game
+     */
+    @Override
+    public boolean hasReviewed(Long gameId, Long userId) {
+        return reviewRepository.existsByGameIdAndUserId(gameId, userId);
+    }
 }
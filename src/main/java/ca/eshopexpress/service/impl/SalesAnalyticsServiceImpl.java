@@ -0,0 +1,345 @@
+package ca.eshopexpress.service.impl;
+
+import ca.eshopexpress.model.dto.SalesFigures;
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.SalesDimension;
+import ca.eshopexpress.service.SalesAnalyticsService;
+import ca.eshopexpress.service.analytics.FactGroup;
+import ca.eshopexpress.service.analytics.FactQuery;
+import ca.eshopexpress.service.analytics.OrderFact;
+import ca.eshopexpress.service.analytics.OrderFactStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementation of the {@link SalesAnalyticsService} interface over the {@code sales_rollups} table.
+ * <p>
+ * An order contributes to one row per dimension value it touches on the day it was placed: its
+ * total, its province, and the platform, product type and SKU of each item. Placing an order adds
+ * its contributions with one batch of {@code INSERT ... ON CONFLICT DO UPDATE} increments; a status
+ * change that moves it out of the booked statuses (cancelled, returned, failed) subtracts them
+ * again, and a move back adds them. The rows of an order are written in key order so concurrent
+ * checkouts lock them in the same order, and each order writes to one of several shards of a row
+ * so that checkouts do not queue behind today's totals.
+ * </p>
+ * <p>
+ * Every order is also handed to the {@link OrderFactStore} once its transaction commits, which
+ * answers the ad-hoc reports the fixed rollups cannot.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Service
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+
+    /**
+     * Key and label of the {@link SalesDimension#TOTAL} rows
+     */
+    private static final String TOTAL_KEY = "ALL";
+    private static final String TOTAL_LABEL = "All orders";
+
+    /**
+     * Key and label of the platform rows of items sold for no single platform
+     */
+    private static final String NO_PLATFORM_KEY = "NONE";
+    private static final String NO_PLATFORM_LABEL = "Multi-platform";
+
+    private static final String UPSERT =
+            "INSERT INTO sales_rollups (dimension, day, dim_key, shard, label, order_count, units, revenue, tax) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (dimension, day, dim_key, shard) DO UPDATE SET "
+                    + "label = EXCLUDED.label, "
+                    + "order_count = sales_rollups.order_count + EXCLUDED.order_count, "
+                    + "units = sales_rollups.units + EXCLUDED.units, "
+                    + "revenue = sales_rollups.revenue + EXCLUDED.revenue, "
+                    + "tax = sales_rollups.tax + EXCLUDED.tax";
+    private static final String SUMS =
+            "COALESCE(SUM(order_count), 0), COALESCE(SUM(units), 0), COALESCE(SUM(revenue), 0), COALESCE(SUM(tax), 0)";
+    private static final String SELECT_TOTALS =
+            "SELECT 'ALL', 'All orders', " + SUMS + " FROM sales_rollups WHERE dimension = 'TOTAL'";
+    private static final String SELECT_DAILY =
+            "SELECT CAST(day AS VARCHAR), CAST(day AS VARCHAR), " + SUMS + " FROM sales_rollups "
+                    + "WHERE dimension = 'TOTAL' AND day BETWEEN ? AND ? "
+                    + "GROUP BY day HAVING SUM(order_count) > 0 ORDER BY day";
+    private static final String SELECT_BREAKDOWN =
+            "SELECT dim_key, MAX(label), " + SUMS + " FROM sales_rollups "
+                    + "WHERE dimension = ? AND day BETWEEN ? AND ? "
+                    + "GROUP BY dim_key HAVING SUM(order_count) > 0 ORDER BY SUM(revenue) DESC, dim_key LIMIT ?";
+
+    /**
+     * Maps a summed row: key, label, order count, units, revenue, tax
+     */
+    private static final RowMapper<SalesFigures> FIGURES = (rs, rowNum) -> new SalesFigures(
+            rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getBigDecimal(5), rs.getBigDecimal(6));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderFactStore factStore;
+
+    /**
+     * Rows each rollup key is spread over
+     */
+    @Value("${eshopexpress.analytics.shards:8}")
+    private int shards;
+
+    /**
+     * Adds a newly placed order to the rollups, and to the fact store once it commits.
+     *
+     * @param order the saved order with its items
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordPlaced(Order order) {
+        if (isBooked(order.getStatus())) {
+            apply(order, 1);
+        }
+        if (order.getOrderDate() != null) {
+            OrderFact fact = OrderFact.of(order);
+            afterCommit(() -> factStore.append(fact));
+        }
+    }
+
+    /**
+     * Adds an order to, or removes it from, the rollups after its status changed.
+     *
+     * @param order the order with its items and new status
+     * @param previous the status before the change
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Order order, OrderStatus previous) {
+        boolean wasBooked = isBooked(previous);
+        boolean isBooked = isBooked(order.getStatus());
+        if (wasBooked != isBooked) {
+            apply(order, isBooked ? 1 : -1);
+        }
+        long orderId = order.getId();
+        OrderStatus status = order.getStatus();
+        afterCommit(() -> factStore.updateStatus(orderId, status));
+    }
+
+    /**
+     * Retrieves the sales of every order ever booked.
+     *
+     * @return the all-time figures
+     */
+    @Override
+    public SalesFigures totals() {
+        return jdbcTemplate.queryForObject(SELECT_TOTALS, FIGURES);
+    }
+
+    /**
+     * Retrieves the sales per day in a date range, leaving out days without sales.
+     *
+     * @param from the first day
+     * @param to the last day
+     * @return the figures per day, oldest first
+     */
+    @Override
+    public List<SalesFigures> daily(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(SELECT_DAILY, FIGURES, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Retrieves the sales in a date range broken down by a dimension.
+     *
+     * @param dimension the dimension
+     * @param from the first day
+     * @param to the last day
+     * @param limit the most values to return
+     * @return the figures per value, highest revenue first
+     */
+    @Override
+    public List<SalesFigures> breakdown(SalesDimension dimension, LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(SELECT_BREAKDOWN, FIGURES, dimension.name(), Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    /**
+     * Runs an ad-hoc report over the order facts held in memory.
+     *
+     * @param query the filters and grouping
+     * @return the non-empty groups
+     */
+    @Override
+    public List<FactGroup> report(FactQuery query) {
+        return factStore.query(query);
+    }
+
+    /**
+     * Checks whether a status counts as sales
+     * @param status the status, may be null
+     * @return true if orders in the status are booked
+     */
+    private static boolean isBooked(OrderStatus status) {
+        return status != null && status.isBooked();
+    }
+
+    /**
+     * Runs an action once the current transaction has committed
+     * @param action the action
+     */
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Adds or subtracts the contributions of an order with one batch of upserts
+     * @param order the order with its items
+     * @param sign 1 to add, -1 to subtract
+     */
+    private void apply(Order order, int sign) {
+        if (order.getOrderDate() == null) {
+            return;
+        }
+        Date day = Date.valueOf(order.getOrderDate().toLocalDate());
+        int shard = (int) Math.floorMod(order.getId(), (long) shards);
+        BigDecimal factor = BigDecimal.valueOf(sign);
+        List<Map.Entry<RollupKey, Contribution>> rows = new ArrayList<>(contributions(order).entrySet());
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            Contribution contribution = row.getValue();
+            ps.setString(1, row.getKey().dimension().name());
+            ps.setDate(2, day);
+            ps.setString(3, row.getKey().key());
+            ps.setInt(4, shard);
+            ps.setString(5, contribution.label);
+            ps.setLong(6, sign);
+            ps.setLong(7, (long) sign * contribution.units);
+            ps.setBigDecimal(8, contribution.revenue.multiply(factor));
+            ps.setBigDecimal(9, contribution.tax.multiply(factor));
+        });
+    }
+
+    /**
+     * Computes the rows an order contributes to, sorted by key. The order tax is split over
+     * the items by line value.
+     * @param order the order with its items
+     * @return the contribution per rollup key
+     */
+    private static Map<RollupKey, Contribution> contributions(Order order) {
+        Map<RollupKey, Contribution> rows = new TreeMap<>();
+        long units = 0;
+        for (OrderItem item : order.getOrderItems()) {
+            units += item.getQuantity();
+            BigDecimal revenue = item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+            BigDecimal tax = order.getSubtotal().signum() == 0 ? BigDecimal.ZERO
+                    : revenue.multiply(order.getTax()).divide(order.getSubtotal(), 2, RoundingMode.HALF_UP);
+            Platform platform = item.getPlatform();
+            add(rows, SalesDimension.PLATFORM,
+                    platform == null ? NO_PLATFORM_KEY : String.valueOf(platform.getId()),
+                    platform == null ? NO_PLATFORM_LABEL : platform.getName(), item.getQuantity(), revenue, tax);
+            add(rows, SalesDimension.PRODUCT_TYPE, item.getProductType(), item.getProductType(),
+                    item.getQuantity(), revenue, tax);
+            add(rows, SalesDimension.SKU, item.getProductType() + ":" + item.getProductId(), item.getName(),
+                    item.getQuantity(), revenue, tax);
+        }
+        add(rows, SalesDimension.TOTAL, TOTAL_KEY, TOTAL_LABEL, units, order.getSubtotal(), order.getTax());
+        String province = order.getProvince().name();
+        add(rows, SalesDimension.PROVINCE, province, province, units, order.getSubtotal(), order.getTax());
+        return rows;
+    }
+
+    /**
+     * Adds an item's or order's figures to a row
+     * @param rows the rows of the order
+     * @param dimension the dimension
+     * @param key the dimension value
+     * @param label the display name of the value
+     * @param units units sold
+     * @param revenue pre-tax sales
+     * @param tax tax charged
+     */
+    private static void add(Map<RollupKey, Contribution> rows, SalesDimension dimension, String key, String label,
+                            long units, BigDecimal revenue, BigDecimal tax) {
+        Contribution contribution = rows.computeIfAbsent(new RollupKey(dimension, key), k -> new Contribution(label));
+        contribution.units += units;
+        contribution.revenue = contribution.revenue.add(revenue);
+        contribution.tax = contribution.tax.add(tax);
+    }
+
+    /**
+     * A rollup row of an order; rows are written in this order so concurrent writers lock them alike
+     * @param dimension the dimension
+     * @param key the dimension value
+     */
+    private record RollupKey(SalesDimension dimension, String key) implements Comparable<RollupKey> {
+
+        /**
+         * Orders keys by dimension, then value
+         */
+        private static final Comparator<RollupKey> ORDER =
+                Comparator.comparing((RollupKey k) -> k.dimension().name()).thenComparing(RollupKey::key);
+
+        /**
+         * Compares keys in primary key order
+         * @param other the other key
+         * @return negative, zero or positive
+         */
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * What one order adds to a rollup row; the order count is always one
+     */
+    private static final class Contribution {
+
+        /**
+         * Display name of the row
+         */
+        private final String label;
+
+        /**
+         * Units sold
+         */
+        private long units;
+
+        /**
+         * Pre-tax sales
+         */
+        private BigDecimal revenue = BigDecimal.ZERO;
+
+        /**
+         * Tax charged
+         */
+        private BigDecimal tax = BigDecimal.ZERO;
+
+        /**
+         * Starts an empty contribution
+         * @param label display name of the row
+         */
+        private Contribution(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ca.eshopexpress.service.impl;
+
+import ca.eshopexpress.model.entity.Accessory;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.repository.AccessoryRepository;
+import ca.eshopexpress.repository.GameRepository;
+import ca.eshopexpress.service.SearchService;
+import ca.eshopexpress.service.search.SearchField;
+import ca.eshopexpress.service.search.SearchHit;
+import ca.eshopexpress.service.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Implementation of the {@link SearchService} interface backed by two in-process {@link SearchIndex}es,
+ * one for games and one for accessories.
+ * <p>
+ * Both indexes are built once the application has started and are then kept current by the
+ * game and accessory services. Queries are resolved in memory; only the matching rows are
+ * loaded by primary key.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    /**
+     * Index over game titles, publishers, developers and descriptions
+     */
+    private final SearchIndex gameIndex = new SearchIndex();
+
+    /**
+     * Index over accessory names, brands, models and descriptions
+     */
+    private final SearchIndex accessoryIndex = new SearchIndex();
+
+    /**
+     * Builds both indexes from the database once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        gameIndex.clear();
+        gameRepository.findAll().forEach(this::indexGame);
+        accessoryIndex.clear();
+        accessoryRepository.findAll().forEach(this::indexAccessory);
+    }
+
+    /**
+     * Searches games by title, publisher, developer and description.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching games, best match first
+     */
+    @Override
+    public List<Game> searchGames(String query, int limit) {
+        return findAllInOrder(gameIndex.search(query, limit), gameRepository::findListViewByIdIn, Game::getId);
+    }
+
+    /**
+     * Searches games by title only.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching games, best match first
+     */
+    @Override
+    public List<Game> searchGameTitles(String query, int limit) {
+        return findAllInOrder(gameIndex.search(query, limit, EnumSet.of(SearchField.TITLE)),
+                gameRepository::findListViewByIdIn, Game::getId);
+    }
+
+    /**
+     * Searches accessories by name, brand, model and description.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching accessories, best match first
+     */
+    @Override
+    public List<Accessory> searchAccessories(String query, int limit) {
+        return findAllInOrder(accessoryIndex.search(query, limit), accessoryRepository::findAllById, Accessory::getId);
+    }
+
+    /**
+     * Searches accessories by name only.
+     *
+     * @param query the user's query
+     * @param limit the maximum number of results
+     * @return a list of matching accessories, best match first
+     */
+    @Override
+    public List<Accessory> searchAccessoryNames(String query, int limit) {
+        return findAllInOrder(accessoryIndex.search(query, limit, EnumSet.of(SearchField.TITLE)),
+                accessoryRepository::findAllById, Accessory::getId);
+    }
+
+    /**
+     * Suggests game titles and accessory names for a partially typed query.
+     * Games are suggested before accessories.
+     *
+     * @param prefix what the user has typed so far
+     * @param limit the maximum number of suggestions
+     * @return a list of suggested titles
+     */
+    @Override
+    public List<String> autocomplete(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>(gameIndex.autocomplete(prefix, limit));
+        if (suggestions.size() < limit) {
+            for (String name : accessoryIndex.autocomplete(prefix, limit - suggestions.size())) {
+                if (!suggestions.contains(name)) {
+                    suggestions.add(name);
+                }
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Adds a game to the search index or refreshes it.
+     *
+     * @param game the saved game
+     */
+    @Override
+    public void indexGame(Game game) {
+        if (game == null || game.getId() == null) {
+            return;
+        }
+        Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+        fields.put(SearchField.TITLE, Arrays.asList(game.getTitle()));
+        fields.put(SearchField.MAKER, Arrays.asList(game.getPublisher(), game.getDeveloper()));
+        fields.put(SearchField.DESCRIPTION, Arrays.asList(game.getDescription()));
+        gameIndex.index(game.getId(), game.getTitle(), fields);
+    }
+
+    /**
+     * Removes a game from the search index.
+     *
+     * @param gameId the ID of the deleted game
+     */
+    @Override
+    public void removeGame(Long gameId) {
+        gameIndex.remove(gameId);
+    }
+
+    /**
+     * Adds an accessory to the search index or refreshes it.
+     *
+     * @param accessory the saved accessory
+     */
+    @Override
+    public void indexAccessory(Accessory accessory) {
+        if (accessory == null || accessory.getId() == null) {
+            return;
+        }
+        Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+        fields.put(SearchField.TITLE, Arrays.asList(accessory.getName()));
+        fields.put(SearchField.MAKER, Arrays.asList(accessory.getBrand(), accessory.getModel()));
+        fields.put(SearchField.DESCRIPTION, Arrays.asList(accessory.getDescription()));
+        accessoryIndex.index(accessory.getId(), accessory.getName(), fields);
+    }
+
+    /**
+     * Removes an accessory from the search index.
+     *
+     * @param accessoryId the ID of the deleted accessory
+     */
+    @Override
+    public void removeAccessory(Long accessoryId) {
+        accessoryIndex.remove(accessoryId);
+    }
+
+    /**
+     * Loads the entities of a ranked hit list, preserving the ranking.
+     *
+     * @param hits the ranked hits
+     * @param loader loads entities by ID
+     * @param idOf extracts the ID of a loaded entity
+     * @param <T> the entity type
+     * @return the entities in rank order
+     */
+    private static <T> List<T> findAllInOrder(List<SearchHit> hits, Function<Collection<Long>, List<T>> loader,
+                                              Function<T, Long> idOf) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> ranks = new HashMap<>(hits.size() * 2);
+        for (SearchHit hit : hits) {
+            ranks.put(hit.getId(), ranks.size());
+        }
+        List<T> entities = new ArrayList<>(loader.apply(ranks.keySet()));
+        entities.sort(Comparator.comparingInt(entity -> ranks.get(idOf.apply(entity))));
+        return entities;
+    }
+}
@@ -1,4 +1,79 @@
 package ca.eshopexpress.service.impl;
 
-public class UserDetailsServiceImpl {
+import ca.eshopexpress.model.entity.User;
+import ca.eshopexpress.model.security.UserDetailsImpl;
+import ca.eshopexpress.repository.UserRepository;
+import ca.eshopexpress.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Loads login details for Spring Security and stores re-hashed passwords.
+ * <p>
+ * Details are cached by username in the bounded {@value #CACHE} cache, so repeated logins and
+ * authenticated requests do not reload the user and its roles. {@link UserService#save} and
+ * {@link UserService#deleteById} evict the cache, so a changed password or role applies on the
+ * next login. Unknown usernames are not cached.
+ * </p>
+ * <p>
+ * When a login succeeds with a hash that is older or weaker than the configured password
+ * encoder produces, Spring Security re-hashes the raw password and hands it to
+ * {@link #updatePassword}, which saves it through {@link UserService}.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Service
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    /**
+     * Name of the login details cache
+     */
+    public static final String CACHE = "userDetails";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Loads the login details of a user with its roles in one query.
+     *
+     * @param username the username
+     * @return the login details
+     * @throws UsernameNotFoundException if no user has the username
+     */
+    @Override
+    @Cacheable(value = CACHE, key = "#username", sync = true)
+    public UserDetails loadUserByUsername(String username) {
+        return userRepository.findWithRolesByUsername(username)
+                .map(UserDetailsImpl::build)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+    }
+
+    /**
+     * Saves a password that was re-hashed on login; saving evicts the cached details.
+     *
+     * @param user the details the login was checked against
+     * @param newPassword the new password hash
+     * @return the details with the new hash
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        entity.setPassword(newPassword);
+        userService.save(entity);
+        return user instanceof UserDetailsImpl details
+                ? details.withPassword(newPassword)
+                : new UserDetailsImpl(entity.getId(), user.getUsername(), newPassword, user.getAuthorities());
+    }
 }
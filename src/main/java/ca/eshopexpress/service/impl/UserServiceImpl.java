@@ -5,7 +5,10 @@ import ca.eshopexpress.model.entity.User;
 import ca.eshopexpress.repository.UserRepository;
 import ca.eshopexpress.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -16,7 +19,7 @@ import java.util.Optional;
  * Provides business logic for managing user accounts, including CRUD operations
  * and methods for enabling or disabling user accounts based on their ID.
  *
- * @version 1.0
+ * @version 1.2
  * @since 2025-05-12
  */
 @Service
@@ -25,6 +28,9 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
      * Retrieves all users from the repository.
      *
@@ -91,29 +97,50 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByCityContainingIgnoreCase(city);
     }
 
+    /**
+     * Finds a user by their username.
+     *
+     * @param username the username to search for
+     * @return an Optional containing the user if found, otherwise empty
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return userRepository.findByUsername(username);
+    }
+
     /**
      * Saves a user (either creates a new user or updates an existing one).
-     * Evicts all cached entries associated with "users" after saving.
+     * Evicts all cached entries associated with "users" and the cached login details of this
+     * user after saving.
      *
      * @param user the user to save
      * @return the saved user entity
      */
     @Override
-    @CacheEvict(value = "users", allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "users", allEntries = true),
+            @CacheEvict(value = UserDetailsServiceImpl.CACHE, key = "#user.username")
+    })
     public User save(User user) {
         return userRepository.save(user);
     }
 
     /**
      * Deletes a user by their ID.
-     * Evicts all cached entries associated with "users" after deletion.
+     * Evicts all cached entries associated with "users" and the cached login details of this
+     * user after deletion.
      *
      * @param id the ID of the user to delete
      */
     @Override
     @CacheEvict(value = "users", allEntries = true)
     public void deleteById(Long id) {
+        Optional<String> username = userRepository.findById(id).map(User::getUsername);
         userRepository.deleteById(id);
+        Cache loginDetails = cacheManager.getCache(UserDetailsServiceImpl.CACHE);
+        if (loginDetails != null) {
+            username.ifPresent(loginDetails::evict);
+        }
     }
 }
 
@@ -1,4 +1,103 @@
 package ca.eshopexpress.service.impl;
 
-public class WishlistServiceImpl {
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.WishlistItem;
+import ca.eshopexpress.repository.GameRepository;
+import ca.eshopexpress.repository.UserRepository;
+import ca.eshopexpress.repository.WishlistItemRepository;
+import ca.eshopexpress.service.RecommendationService;
+import ca.eshopexpress.service.WishlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service implementation for managing wishlists.
+ *
+ * @author Daniel Hinbest
+ * @version 1.2
+ * @since 2026-10-18
+ */
+@Service
+public class WishlistServiceImpl implements WishlistService {
+
+    @Autowired
+    private WishlistItemRepository wishlistItemRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    /**
+     * Retrieves a user's wishlist with the games loaded, most recently added first.
+     *
+     * @param userId the ID of the user
+     * @return the user's wishlist items
+     */
+    @Override
+    public List<WishlistItem> findByUserId(Long userId) {
+        return wishlistItemRepository.findWithGameByUserIdOrderByAddedAtDescIdDesc(userId);
+    }
+
+    /**
+     * Checks whether a game is on a user's wishlist.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @return true if the game is on the user's wishlist
+     */
+    @Override
+    public boolean isInWishlist(Long userId, Long gameId) {
+        return wishlistItemRepository.existsByUserIdAndGameId(userId, gameId);
+    }
+
+    /**
+     * Adds a game to a user's wishlist. Does nothing if it is already there, including when
+     * a concurrent request adds it first.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     * @throws ResourceNotFoundException if the game does not exist
+     */
+    @Override
+    public void addGame(Long userId, Long gameId) {
+        if (wishlistItemRepository.existsByUserIdAndGameId(userId, gameId)) {
+            return;
+        }
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new ResourceNotFoundException("Game not found with id: " + gameId));
+        WishlistItem item = new WishlistItem();
+        item.setUser(userRepository.getReferenceById(userId));
+        item.setGame(game);
+        item.setAddedAt(LocalDateTime.now());
+        try {
+            wishlistItemRepository.save(item);
+        } catch (DataIntegrityViolationException e) {
+            // Added by a concurrent request; the unique (user_id, game_id) constraint keeps one
+        }
+        recommendationService.recordWishlist(userId, gameId);
+    }
+
+    /**
+     * Removes a game from a user's wishlist. Does nothing if it is not there.
+     *
+     * @param userId the ID of the user
+     * @param gameId the ID of the game
+     */
+    @Override
+    @Transactional
+    public void removeGame(Long userId, Long gameId) {
+        wishlistItemRepository.deleteByUserIdAndGameId(userId, gameId);
+        recommendationService.recordWishlistRemoval(userId, gameId);
+    }
 }
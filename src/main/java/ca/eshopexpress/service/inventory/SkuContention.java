@@ -0,0 +1,82 @@
+package ca.eshopexpress.service.inventory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running contention counters for one SKU, updated lock-free by concurrent checkouts
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SkuContention {
+    /**
+     * SKU identifier
+     */
+    private final String sku;
+    /**
+     * Decrements attempted
+     */
+    private final LongAdder attempts = new LongAdder();
+    /**
+     * Decrements rejected because stock ran out
+     */
+    private final LongAdder rejections = new LongAdder();
+    /**
+     * Total time spent in stock updates touching this SKU, including row lock waits
+     */
+    private final LongAdder updateNanos = new LongAdder();
+
+    /**
+     * Creates zeroed counters for a SKU
+     * @param sku SKU identifier
+     */
+    public SkuContention(String sku) {
+        this.sku = sku;
+    }
+
+    /**
+     * Records one decrement attempt
+     * @param rejected whether the decrement was rejected
+     * @param nanos time spent in the update
+     */
+    public void record(boolean rejected, long nanos) {
+        attempts.increment();
+        if (rejected) {
+            rejections.increment();
+        }
+        updateNanos.add(nanos);
+    }
+
+    /**
+     * Get the SKU identifier
+     * @return SKU identifier
+     */
+    public String getSku() {
+        return sku;
+    }
+
+    /**
+     * Get the number of decrements attempted
+     * @return attempt count
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    /**
+     * Get the number of decrements rejected for lack of stock
+     * @return rejection count
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Get the mean time spent per stock update
+     * @return mean update time in milliseconds
+     */
+    public double getMeanUpdateMillis() {
+        long count = attempts.sum();
+        return count == 0 ? 0.0 : updateNanos.sum() / 1_000_000.0 / count;
+    }
+}
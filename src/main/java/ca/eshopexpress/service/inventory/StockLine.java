@@ -0,0 +1,68 @@
+package ca.eshopexpress.service.inventory;
+
+import ca.eshopexpress.model.enums.ProductType;
+
+/**
+ * A quantity of one physical SKU to reserve or release
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class StockLine {
+    /**
+     * Game or accessory
+     */
+    private final ProductType productType;
+    /**
+     * Game or accessory ID
+     */
+    private final long productId;
+    /**
+     * Number of units
+     */
+    private final int quantity;
+
+    /**
+     * Parameterized constructor for a stock line
+     * @param productType game or accessory
+     * @param productId product ID
+     * @param quantity number of units
+     */
+    public StockLine(ProductType productType, long productId, int quantity) {
+        this.productType = productType;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Get the product type
+     * @return game or accessory
+     */
+    public ProductType getProductType() {
+        return productType;
+    }
+
+    /**
+     * Get the product ID
+     * @return product ID
+     */
+    public long getProductId() {
+        return productId;
+    }
+
+    /**
+     * Get the quantity
+     * @return number of units
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Get the SKU identifier, e.g. {@code GAME-42}
+     * @return SKU identifier
+     */
+    public String getSku() {
+        return productType + "-" + productId;
+    }
+}
@@ -0,0 +1,284 @@
+package ca.eshopexpress.service.mail;
+
+import ca.eshopexpress.model.enums.EmailStatus;
+import ca.eshopexpress.model.enums.EmailType;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Background dispatcher that drains the email outbox.
+ * <p>
+ * Each round claims a batch of due emails with a single {@code UPDATE ... RETURNING} over a
+ * {@code FOR UPDATE SKIP LOCKED} subquery, which pushes their next attempt past a lease so that
+ * other nodes skip them. The batch is rendered on virtual threads, at most render-concurrency at
+ * a time since every render holds a pooled database connection, sent through a
+ * {@link MailBatchSender} over a bounded number of SMTP connections, and the outcome is written
+ * back with two JDBC batches. Failed emails are retried with exponential backoff until the
+ * maximum number of attempts. The dispatcher polls on a fixed delay and is also woken up as soon
+ * as a transaction that queued an email commits.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final String CLAIM =
+            "UPDATE email_outbox SET next_attempt_at = ? WHERE id IN (" +
+            "SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+            "ORDER BY next_attempt_at, id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id, email_type, recipient, reference_id, attempts";
+    private static final String MARK_SENT =
+            "UPDATE email_outbox SET status = 'SENT', sent_at = ?, last_error = NULL WHERE id = ?";
+    private static final String MARK_FAILED =
+            "UPDATE email_outbox SET status = ?, attempts = attempts + 1, next_attempt_at = ?, last_error = ? WHERE id = ?";
+
+    /**
+     * Longest delay between two attempts
+     */
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmailRenderer emailRenderer;
+
+    @Autowired
+    private ObjectProvider<JavaMailSender> mailSender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Emails claimed per round
+     */
+    @Value("${eshopexpress.mail.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * Maximum number of SMTP connections open at once
+     */
+    @Value("${eshopexpress.mail.connections:4}")
+    private int connections;
+
+    /**
+     * Maximum number of emails rendered at once; kept well under the connection pool size
+     */
+    @Value("${eshopexpress.mail.render-concurrency:2}")
+    private int renderConcurrency;
+
+    /**
+     * Attempts before an email is marked FAILED
+     */
+    @Value("${eshopexpress.mail.max-attempts:8}")
+    private int maxAttempts;
+
+    /**
+     * Delay before the first retry; doubled for every further attempt
+     */
+    @Value("${eshopexpress.mail.retry-backoff:PT30S}")
+    private Duration retryBackoff;
+
+    /**
+     * How long a claimed email is hidden from other dispatchers
+     */
+    @Value("${eshopexpress.mail.lease:PT5M}")
+    private Duration lease;
+
+    /**
+     * Sender address
+     */
+    @Value("${eshopexpress.mail.from:orders@eshopexpress.ca}")
+    private String from;
+
+    /**
+     * Prevents overlapping rounds on this node
+     */
+    private final ReentrantLock round = new ReentrantLock();
+
+    /**
+     * Coalesces wake-ups that arrive while one is already pending
+     */
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    /**
+     * Runs wake-up rounds and renders emails
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Drains the outbox on a fixed delay, picking up retries and anything a wake-up missed.
+     */
+    @Scheduled(fixedDelayString = "${eshopexpress.mail.poll-interval:PT5S}")
+    public void poll() {
+        dispatch();
+    }
+
+    /**
+     * Starts a round in the background unless one is already pending.
+     */
+    public void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                dispatch();
+            });
+        }
+    }
+
+    /**
+     * Sends due emails until the outbox has no more due emails or a round is already running.
+     *
+     * @return the number of emails handled
+     */
+    public int dispatch() {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null || !round.tryLock()) {
+            return 0;
+        }
+        try {
+            MailBatchSender batchSender = new MailBatchSender(sender, from, connections);
+            int handled = 0;
+            List<Claimed> claimed;
+            do {
+                claimed = claim();
+                send(claimed, batchSender);
+                handled += claimed.size();
+            } while (claimed.size() == batchSize);
+            return handled;
+        } finally {
+            round.unlock();
+        }
+    }
+
+    /**
+     * Stops the background threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Claims a batch of due emails
+     * @return the claimed emails
+     */
+    private List<Claimed> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.query(CLAIM, (rs, rowNum) -> new Claimed(
+                        rs.getLong("id"),
+                        EmailType.valueOf(rs.getString("email_type")),
+                        rs.getString("recipient"),
+                        rs.getLong("reference_id"),
+                        rs.getInt("attempts")),
+                now.plus(lease), now, batchSize);
+    }
+
+    /**
+     * Renders and sends a claimed batch and records the outcome
+     * @param claimed the claimed emails
+     * @param batchSender sends the rendered emails
+     */
+    private void send(List<Claimed> claimed, MailBatchSender batchSender) {
+        if (claimed.isEmpty()) {
+            return;
+        }
+        Semaphore renderSlots = new Semaphore(renderConcurrency);
+        List<Future<OutboundEmail>> rendering = new ArrayList<>(claimed.size());
+        for (Claimed email : claimed) {
+            rendering.add(executor.submit(() -> {
+                renderSlots.acquire();
+                try {
+                    return emailRenderer.render(email.id(), email.type(), email.recipient(), email.referenceId());
+                } finally {
+                    renderSlots.release();
+                }
+            }));
+        }
+        List<OutboundEmail> rendered = new ArrayList<>(claimed.size());
+        List<Object[]> failed = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            try {
+                rendered.add(rendering.get(i).get());
+            } catch (Exception e) {
+                failed.add(failure(claimed.get(i), e));
+            }
+        }
+
+        Map<Long, Exception> errors = batchSender.send(rendered);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> sent = new ArrayList<>(rendered.size());
+        for (int i = 0, r = 0; i < claimed.size(); i++) {
+            Claimed email = claimed.get(i);
+            if (r < rendered.size() && rendered.get(r).id() == email.id()) {
+                r++;
+                Exception error = errors.get(email.id());
+                if (error == null) {
+                    sent.add(new Object[]{now, email.id()});
+                } else {
+                    failed.add(failure(email, error));
+                }
+            }
+        }
+        if (!sent.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_SENT, sent);
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(MARK_FAILED, failed);
+        }
+        meterRegistry.counter("eshopexpress.mail.dispatched", "outcome", "sent").increment(sent.size());
+        meterRegistry.counter("eshopexpress.mail.dispatched", "outcome", "failed").increment(failed.size());
+    }
+
+    /**
+     * Builds the parameters of a failed attempt: retry later with backoff, or give up
+     * @param email the email
+     * @param error the error of the attempt
+     * @return the parameters of {@link #MARK_FAILED}
+     */
+    private Object[] failure(Claimed email, Exception error) {
+        int attempts = email.attempts() + 1;
+        EmailStatus status = attempts >= maxAttempts ? EmailStatus.FAILED : EmailStatus.PENDING;
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        Throwable cause = error instanceof ExecutionException && error.getCause() != null ? error.getCause() : error;
+        String message = String.valueOf(cause.getMessage());
+        return new Object[]{status.name(), LocalDateTime.now().plus(backoff),
+                message.length() > 500 ? message.substring(0, 500) : message, email.id()};
+    }
+
+    /**
+     * An email claimed for this round
+     * @param id the outbox email ID
+     * @param type the kind of email
+     * @param recipient the recipient address
+     * @param referenceId ID of the record the email is about
+     * @param attempts failed attempts so far
+     */
+    private record Claimed(long id, EmailType type, String recipient, long referenceId, int attempts) {}
+}
@@ -0,0 +1,124 @@
+package ca.eshopexpress.service.mail;
+
+import ca.eshopexpress.exception.ResourceNotFoundException;
+import ca.eshopexpress.model.entity.Order;
+import ca.eshopexpress.model.entity.WishlistAlert;
+import ca.eshopexpress.model.enums.EmailType;
+import ca.eshopexpress.repository.DigitalKeyRepository;
+import ca.eshopexpress.repository.OrderRepository;
+import ca.eshopexpress.repository.WishlistAlertRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Locale;
+
+/**
+ * Renders outbox emails from their Thymeleaf templates under {@code templates/email}.
+ * <p>
+ * Called by the dispatcher, never on a request thread. The data an email needs is loaded
+ * when it is rendered, so a retried email shows the record as it is at send time.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+@Component
+public class EmailRenderer {
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DigitalKeyRepository digitalKeyRepository;
+
+    @Autowired
+    private WishlistAlertRepository wishlistAlertRepository;
+
+    /**
+     * Loads the data of an email in a read-only transaction
+     */
+    private final TransactionTemplate readTransaction;
+
+    /**
+     * Constructs the renderer with a read-only transaction template
+     * @param transactionManager the application's transaction manager
+     */
+    @Autowired
+    public EmailRenderer(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Renders an email
+     * @param id the outbox email ID
+     * @param type the kind of email
+     * @param recipient the recipient address
+     * @param referenceId ID of the record the email is about
+     * @return the rendered email
+     * @throws ResourceNotFoundException if the record no longer exists
+     */
+    public OutboundEmail render(long id, EmailType type, String recipient, long referenceId) {
+        return readTransaction.execute(status -> {
+            Context context = new Context(Locale.CANADA);
+            String subject;
+            switch (type) {
+                case ORDER_CONFIRMATION -> {
+                    Order order = order(referenceId);
+                    context.setVariable("order", order);
+                    subject = "EshopExpress order #" + order.getId();
+                }
+                case DIGITAL_KEYS -> {
+                    Order order = order(referenceId);
+                    context.setVariable("order", order);
+                    context.setVariable("keys", digitalKeyRepository.findSoldByOrderId(referenceId));
+                    subject = "Your game keys for order #" + order.getId();
+                }
+                case WISHLIST_PRICE_DROP -> {
+                    WishlistAlert alert = alert(referenceId);
+                    context.setVariable("alert", alert);
+                    context.setVariable("game", alert.getGame());
+                    subject = alert.getGame().getTitle() + " is now $" + alert.getGame().getPrice();
+                }
+                case WISHLIST_RESTOCK -> {
+                    WishlistAlert alert = alert(referenceId);
+                    context.setVariable("alert", alert);
+                    context.setVariable("game", alert.getGame());
+                    subject = alert.getGame().getTitle() + " is back in stock";
+                }
+                default -> throw new IllegalArgumentException("Unknown email type: " + type);
+            }
+            return new OutboundEmail(id, recipient, subject, templateEngine.process(type.getTemplate(), context));
+        });
+    }
+
+    /**
+     * Loads a wishlist alert with its game
+     * @param alertId the ID of the alert
+     * @return the alert
+     * @throws ResourceNotFoundException if the alert does not exist
+     */
+    private WishlistAlert alert(long alertId) {
+        return wishlistAlertRepository.findWithGameById(alertId)
+                .orElseThrow(() -> new ResourceNotFoundException("Wishlist alert not found with id: " + alertId));
+    }
+
+    /**
+     * Loads an order with its items
+     * @param orderId the ID of the order
+     * @return the order
+     * @throws ResourceNotFoundException if the order does not exist
+     */
+    private Order order(long orderId) {
+        return orderRepository.findWithItemsById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    }
+}
@@ -0,0 +1,159 @@
+package ca.eshopexpress.service.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sends a batch of emails over a bounded number of SMTP connections.
+ * <p>
+ * {@link JavaMailSender#send(MimeMessage...)} opens one connection and sends every message
+ * through it, so the batch is split into at most {@code connections} chunks and each chunk is
+ * sent in one call on its own virtual thread. A slow server therefore costs one connection
+ * handshake per chunk rather than per email, and never more than {@code connections} sockets.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class MailBatchSender {
+
+    /**
+     * The mail server
+     */
+    private final JavaMailSender mailSender;
+
+    /**
+     * Sender address
+     */
+    private final String from;
+
+    /**
+     * Maximum number of SMTP connections open at once
+     */
+    private final int connections;
+
+    /**
+     * Creates a sender
+     * @param mailSender the mail server
+     * @param from the sender address
+     * @param connections the maximum number of SMTP connections open at once
+     */
+    public MailBatchSender(JavaMailSender mailSender, String from, int connections) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.connections = Math.max(1, connections);
+    }
+
+    /**
+     * Sends a batch of emails
+     * @param emails the emails to send
+     * @return the error of every email that was not accepted, by outbox ID; empty if all were sent
+     */
+    public Map<Long, Exception> send(List<OutboundEmail> emails) {
+        Map<Long, Exception> failures = new HashMap<>();
+        if (emails.isEmpty()) {
+            return failures;
+        }
+        List<List<OutboundEmail>> chunks = partition(emails);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Map<Long, Exception>>> results = new ArrayList<>(chunks.size());
+            for (List<OutboundEmail> chunk : chunks) {
+                results.add(executor.submit(() -> sendChunk(chunk)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    failures.putAll(results.get(i).get());
+                } catch (Exception e) {
+                    for (OutboundEmail email : chunks.get(i)) {
+                        failures.put(email.id(), e);
+                    }
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Sends one chunk over a single connection
+     * @param chunk the emails of the chunk
+     * @return the errors of the emails that were not accepted
+     */
+    private Map<Long, Exception> sendChunk(List<OutboundEmail> chunk) {
+        Map<Long, Exception> failures = new HashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(chunk.size());
+        List<OutboundEmail> built = new ArrayList<>(chunk.size());
+        for (OutboundEmail email : chunk) {
+            try {
+                messages.add(toMimeMessage(email));
+                built.add(email);
+            } catch (MessagingException e) {
+                failures.put(email.id(), e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                Exception error = failed.get(messages.get(i));
+                if (error != null) {
+                    failures.put(built.get(i).id(), error);
+                }
+            }
+            if (failed.isEmpty()) {
+                built.forEach(email -> failures.put(email.id(), e));
+            }
+        } catch (MailException e) {
+            built.forEach(email -> failures.put(email.id(), e));
+        }
+        return failures;
+    }
+
+    /**
+     * Builds the MIME message of an email
+     * @param email the email
+     * @return the MIME message
+     * @throws MessagingException if an address is malformed
+     */
+    private MimeMessage toMimeMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(from);
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.html(), true);
+        return message;
+    }
+
+    /**
+     * Splits the batch into at most {@link #connections} chunks of near-equal size
+     * @param emails the batch
+     * @return the chunks
+     */
+    private List<List<OutboundEmail>> partition(List<OutboundEmail> emails) {
+        int chunkCount = Math.min(connections, emails.size());
+        int chunkSize = (emails.size() + chunkCount - 1) / chunkCount;
+        List<List<OutboundEmail>> chunks = new ArrayList<>(chunkCount);
+        for (int start = 0; start < emails.size(); start += chunkSize) {
+            chunks.add(emails.subList(start, Math.min(start + chunkSize, emails.size())));
+        }
+        return chunks;
+    }
+}
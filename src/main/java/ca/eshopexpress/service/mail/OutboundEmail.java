@@ -0,0 +1,15 @@
+package ca.eshopexpress.service.mail;
+
+/**
+ * A rendered email ready to hand to the mail server.
+ *
+ * @param id the outbox email ID
+ * @param to the recipient address
+ * @param subject the subject line
+ * @param html the HTML body
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public record OutboundEmail(long id, String to, String subject, String html) {
+}
@@ -0,0 +1,129 @@
+package ca.eshopexpress.service.recommend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Builds an {@link ItemNeighbours} table from user baskets.
+ * <p>
+ * Each user contributes a basket of weighted items (a purchase weighs more than a wishlist
+ * entry). Every pair of items in a basket adds the product of their weights to the pair's
+ * co-occurrence, and the similarity is the cosine of the two items' user vectors. Only the
+ * top K neighbours of each item are kept. Very large baskets are truncated, since the pair
+ * count grows quadratically and such users say little about any single pair.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class CoOccurrenceBuilder {
+
+    /**
+     * Items per user
+     */
+    private final Map<Long, Map<Long, Float>> baskets = new HashMap<>();
+
+    /**
+     * Adds an item to a user's basket, keeping the higher weight if it is already there
+     * @param userId the user ID
+     * @param itemId the item ID
+     * @param weight the interaction weight
+     */
+    public void add(long userId, long itemId, float weight) {
+        baskets.computeIfAbsent(userId, k -> new HashMap<>()).merge(itemId, weight, Math::max);
+    }
+
+    /**
+     * Get the baskets collected so far
+     * @return items per user
+     */
+    public Map<Long, Map<Long, Float>> getBaskets() {
+        return baskets;
+    }
+
+    /**
+     * Computes the top-K neighbour table
+     * @param k maximum neighbours per item
+     * @param maxBasketSize baskets larger than this are truncated
+     * @return the neighbour table
+     */
+    public ItemNeighbours build(int k, int maxBasketSize) {
+        Map<Long, Double> norms = new HashMap<>();
+        Map<Long, Map<Long, Double>> coOccurrence = new HashMap<>();
+
+        for (Map<Long, Float> basket : baskets.values()) {
+            List<Map.Entry<Long, Float>> entries = new ArrayList<>(basket.entrySet());
+            if (entries.size() > maxBasketSize) {
+                entries = entries.subList(0, maxBasketSize);
+            }
+            for (int i = 0; i < entries.size(); i++) {
+                long a = entries.get(i).getKey();
+                double weightA = entries.get(i).getValue();
+                norms.merge(a, weightA * weightA, Double::sum);
+                for (int j = i + 1; j < entries.size(); j++) {
+                    long b = entries.get(j).getKey();
+                    double product = weightA * entries.get(j).getValue();
+                    coOccurrence.computeIfAbsent(a, x -> new HashMap<>()).merge(b, product, Double::sum);
+                    coOccurrence.computeIfAbsent(b, x -> new HashMap<>()).merge(a, product, Double::sum);
+                }
+            }
+        }
+
+        TreeMap<Long, List<Neighbour>> topK = new TreeMap<>();
+        int total = 0;
+        for (Map.Entry<Long, Map<Long, Double>> row : coOccurrence.entrySet()) {
+            long item = row.getKey();
+            double itemNorm = norms.get(item);
+            PriorityQueue<Neighbour> heap = new PriorityQueue<>(k + 1);
+            for (Map.Entry<Long, Double> cell : row.getValue().entrySet()) {
+                float similarity = (float) (cell.getValue() / Math.sqrt(itemNorm * norms.get(cell.getKey())));
+                heap.offer(new Neighbour(cell.getKey(), similarity));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+            List<Neighbour> best = new ArrayList<>(heap);
+            best.sort(null);
+            best = best.reversed();
+            topK.put(item, best);
+            total += best.size();
+        }
+
+        long[] items = new long[topK.size()];
+        int[] offsets = new int[topK.size() + 1];
+        long[] neighbours = new long[total];
+        float[] scores = new float[total];
+        int index = 0;
+        int position = 0;
+        for (Map.Entry<Long, List<Neighbour>> entry : topK.entrySet()) {
+            items[index] = entry.getKey();
+            offsets[index] = position;
+            for (Neighbour neighbour : entry.getValue()) {
+                neighbours[position] = neighbour.id();
+                scores[position] = neighbour.score();
+                position++;
+            }
+            index++;
+        }
+        offsets[index] = position;
+        return new ItemNeighbours(items, offsets, neighbours, scores);
+    }
+
+    /**
+     * A candidate neighbour, ordered by ascending score so a min-heap evicts the weakest
+     * @param id the neighbour ID
+     * @param score the similarity
+     */
+    private record Neighbour(long id, float score) implements Comparable<Neighbour> {
+        @Override
+        public int compareTo(Neighbour other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ca.eshopexpress.service.recommend;
+
+import java.util.Arrays;
+
+/**
+ * Immutable top-K neighbour table of item-item similarities.
+ * <p>
+ * Stored in compressed sparse row form: a sorted array of item IDs, an offset array into one
+ * flat array of neighbour IDs and one flat array of scores. A lookup is a binary search, and
+ * the whole table is three primitive arrays regardless of the number of games.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class ItemNeighbours {
+
+    /**
+     * A table with no items
+     */
+    public static final ItemNeighbours EMPTY = new ItemNeighbours(new long[0], new int[] {0}, new long[0], new float[0]);
+
+    /**
+     * Item IDs in ascending order
+     */
+    private final long[] items;
+
+    /**
+     * Start of each item's neighbours; {@code offsets[i + 1]} is the end
+     */
+    private final int[] offsets;
+
+    /**
+     * Neighbour IDs, best first within each item
+     */
+    private final long[] neighbours;
+
+    /**
+     * Similarity of each neighbour
+     */
+    private final float[] scores;
+
+    /**
+     * Creates a table from its arrays
+     * @param items item IDs in ascending order
+     * @param offsets start of each item's neighbours, plus the total length
+     * @param neighbours neighbour IDs
+     * @param scores neighbour similarities
+     */
+    ItemNeighbours(long[] items, int[] offsets, long[] neighbours, float[] scores) {
+        this.items = items;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.scores = scores;
+    }
+
+    /**
+     * Adds the neighbours of an item, scaled by a weight, to a score accumulator
+     * @param item the item ID
+     * @param weight multiplier for the neighbour scores
+     * @param accumulator receives each neighbour and its weighted score
+     */
+    public void forEachNeighbour(long item, float weight, NeighbourConsumer accumulator) {
+        int index = Arrays.binarySearch(items, item);
+        if (index < 0) {
+            return;
+        }
+        for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+            accumulator.accept(neighbours[i], scores[i] * weight);
+        }
+    }
+
+    /**
+     * Get the number of neighbours stored for an item
+     * @param item the item ID
+     * @return neighbour count
+     */
+    public int neighbourCount(long item) {
+        int index = Arrays.binarySearch(items, item);
+        return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+    }
+
+    /**
+     * Get the number of items with neighbours
+     * @return item count
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Receives neighbours during a lookup
+     */
+    @FunctionalInterface
+    public interface NeighbourConsumer {
+        /**
+         * Accepts one neighbour
+         * @param neighbour the neighbour ID
+         * @param score the weighted similarity
+         */
+        void accept(long neighbour, float score);
+    }
+}
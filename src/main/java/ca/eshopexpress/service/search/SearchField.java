@@ -0,0 +1,43 @@
+package ca.eshopexpress.service.search;
+
+/**
+ * Enum for each of the indexed text fields and how much a match on them counts towards relevance
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public enum SearchField {
+    /**
+     * Game title or accessory name
+     */
+    TITLE(3.0f),
+    /**
+     * Game publisher or developer, accessory brand or model
+     */
+    MAKER(1.5f),
+    /**
+     * Free-text description
+     */
+    DESCRIPTION(0.5f);
+
+    /**
+     * Relevance weight of a match on this field
+     */
+    private final float weight;
+
+    /**
+     * Search field constructor
+     * @param weight relevance weight
+     */
+    SearchField(float weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Get the relevance weight
+     * @return relevance weight
+     */
+    public float getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,44 @@
+package ca.eshopexpress.service.search;
+
+/**
+ * A single ranked result of a {@link SearchIndex} query
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public class SearchHit {
+    /**
+     * ID of the matching game or accessory
+     */
+    private final long id;
+    /**
+     * Relevance score, higher is better
+     */
+    private final float score;
+
+    /**
+     * Parameterized constructor for a search hit
+     * @param id matching ID
+     * @param score relevance score
+     */
+    public SearchHit(long id, float score) {
+        this.id = id;
+        this.score = score;
+    }
+
+    /**
+     * Get the matching ID
+     * @return matching ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Get the relevance score
+     * @return relevance score
+     */
+    public float getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,394 @@
+package ca.eshopexpress.service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over the text fields of one kind of product.
+ * <p>
+ * Documents are split into lower-cased terms. Each term has a posting list of document IDs with
+ * the fields the term appeared in, and each term is also registered under its trigrams. A match
+ * counts with the best weight among those fields, and a query can be limited to some fields. A query term is matched exactly, as a prefix of indexed terms, and fuzzily by trigram
+ * similarity, so "zelda", "zel" and "zeldda" all find "The Legend of Zelda".
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public class SearchIndex {
+
+    /**
+     * Minimum trigram similarity for a fuzzy match
+     */
+    private static final float FUZZY_THRESHOLD = 0.4f;
+
+    /**
+     * Score multiplier for a prefix match
+     */
+    private static final float PREFIX_FACTOR = 0.8f;
+
+    /**
+     * Score multiplier for documents matching every query term
+     */
+    private static final float ALL_TERMS_BONUS = 1.5f;
+
+    /**
+     * The indexed fields, by ordinal
+     */
+    private static final SearchField[] FIELDS = SearchField.values();
+
+    /**
+     * Best field weight for every combination of fields, indexed by field mask
+     */
+    private static final float[] BEST_WEIGHT = new float[1 << FIELDS.length];
+
+    static {
+        for (int mask = 1; mask < BEST_WEIGHT.length; mask++) {
+            for (SearchField field : FIELDS) {
+                if ((mask & maskOf(field)) != 0) {
+                    BEST_WEIGHT[mask] = Math.max(BEST_WEIGHT[mask], field.getWeight());
+                }
+            }
+        }
+    }
+
+    /**
+     * Guards every structure below; queries share the read lock
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Postings per term: document ID to the mask of the fields the term appears in
+     */
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    /**
+     * Terms per trigram
+     */
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    /**
+     * All terms in order, for prefix lookups
+     */
+    private final NavigableSet<String> terms = new TreeSet<>();
+
+    /**
+     * Terms of each document, for removal
+     */
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+
+    /**
+     * Display title of each document, for autocomplete
+     */
+    private final Map<Long, String> titles = new HashMap<>();
+
+    /**
+     * Adds a document to the index or replaces it
+     * @param id document ID
+     * @param title display title
+     * @param fields text of each field; null values are skipped
+     */
+    public void index(long id, String title, Map<SearchField, List<String>> fields) {
+        Map<String, Integer> fieldMasks = new HashMap<>();
+        for (Map.Entry<SearchField, List<String>> field : fields.entrySet()) {
+            for (String text : field.getValue()) {
+                for (String term : tokenize(text)) {
+                    fieldMasks.merge(term, maskOf(field.getKey()), (a, b) -> a | b);
+                }
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            for (Map.Entry<String, Integer> entry : fieldMasks.entrySet()) {
+                String term = entry.getKey();
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    posting = new HashMap<>();
+                    postings.put(term, posting);
+                    terms.add(term);
+                    for (String trigram : trigramsOf(term)) {
+                        trigrams.computeIfAbsent(trigram, k -> new HashSet<>()).add(term);
+                    }
+                }
+                posting.put(id, entry.getValue());
+            }
+            documentTerms.put(id, fieldMasks.keySet());
+            titles.put(id, title);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a document from the index
+     * @param id document ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            trigrams.clear();
+            terms.clear();
+            documentTerms.clear();
+            titles.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the documents matching a free-text query in any field, best match first
+     * @param query the user's query
+     * @param limit maximum number of hits
+     * @return ranked hits
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return search(query, limit, EnumSet.allOf(SearchField.class));
+    }
+
+    /**
+     * Finds the documents matching a free-text query in the given fields, best match first
+     * @param query the user's query
+     * @param limit maximum number of hits
+     * @param fields the fields to match
+     * @return ranked hits
+     */
+    public List<SearchHit> search(String query, int limit, Set<SearchField> fields) {
+        int fieldMask = 0;
+        for (SearchField field : fields) {
+            fieldMask |= maskOf(field);
+        }
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = new HashMap<>();
+            Map<Long, Integer> matchedTerms = new HashMap<>();
+            for (String queryTerm : queryTerms) {
+                Map<Long, Float> termScores = scoreTerm(queryTerm, fieldMask);
+                for (Map.Entry<Long, Float> entry : termScores.entrySet()) {
+                    scores.merge(entry.getKey(), entry.getValue(), Float::sum);
+                    matchedTerms.merge(entry.getKey(), 1, Integer::sum);
+                }
+            }
+
+            List<SearchHit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                float score = entry.getValue();
+                if (matchedTerms.get(entry.getKey()) == queryTerms.size()) {
+                    score *= ALL_TERMS_BONUS;
+                }
+                hits.add(new SearchHit(entry.getKey(), score));
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed()
+                    .thenComparingLong(SearchHit::getId));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests titles for a partially typed query
+     * @param prefix what the user has typed so far
+     * @param limit maximum number of suggestions
+     * @return matching titles, best match first
+     */
+    public List<String> autocomplete(String prefix, int limit) {
+        List<SearchHit> hits = search(prefix, limit);
+        lock.readLock().lock();
+        try {
+            List<String> suggestions = new ArrayList<>(hits.size());
+            for (SearchHit hit : hits) {
+                String title = titles.get(hit.getId());
+                if (title != null && !suggestions.contains(title)) {
+                    suggestions.add(title);
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Get the number of indexed documents
+     * @return document count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every document against a single query term, keeping the best of the exact,
+     * prefix and fuzzy matches per document
+     * @param queryTerm the query term
+     * @param fieldMask the fields to match
+     * @return score per document ID
+     */
+    private Map<Long, Float> scoreTerm(String queryTerm, int fieldMask) {
+        Map<Long, Float> scores = new HashMap<>();
+
+        addPostings(scores, postings.get(queryTerm), 1.0f, fieldMask);
+
+        for (String term : terms.subSet(queryTerm, false, queryTerm + Character.MAX_VALUE, false)) {
+            addPostings(scores, postings.get(term), PREFIX_FACTOR, fieldMask);
+        }
+
+        Set<String> queryTrigrams = trigramsOf(queryTerm);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> candidates = trigrams.get(trigram);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            String term = entry.getKey();
+            if (term.equals(queryTerm)) {
+                continue;
+            }
+            int common = entry.getValue();
+            float similarity = (float) common / (queryTrigrams.size() + trigramsOf(term).size() - common);
+            if (similarity >= FUZZY_THRESHOLD) {
+                addPostings(scores, postings.get(term), similarity * PREFIX_FACTOR, fieldMask);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Merges a posting list into the per-document scores, keeping the best score
+     * @param scores per-document scores
+     * @param posting the posting list, may be null
+     * @param factor match quality multiplier
+     * @param fieldMask the fields to match
+     */
+    private static void addPostings(Map<Long, Float> scores, Map<Long, Integer> posting, float factor,
+                                    int fieldMask) {
+        if (posting == null) {
+            return;
+        }
+        for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+            int matched = entry.getValue() & fieldMask;
+            if (matched != 0) {
+                scores.merge(entry.getKey(), BEST_WEIGHT[matched] * factor, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Get the bit of a field in a field mask
+     * @param field the field
+     * @return the field's bit
+     */
+    private static int maskOf(SearchField field) {
+        return 1 << field.ordinal();
+    }
+
+    /**
+     * Removes a document while the write lock is held
+     * @param id document ID
+     */
+    private void removeLocked(long id) {
+        Set<String> previous = documentTerms.remove(id);
+        titles.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting == null) {
+                continue;
+            }
+            posting.remove(id);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                terms.remove(term);
+                for (String trigram : trigramsOf(term)) {
+                    Set<String> trigramTerms = trigrams.get(trigram);
+                    if (trigramTerms != null) {
+                        trigramTerms.remove(term);
+                        if (trigramTerms.isEmpty()) {
+                            trigrams.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text into lower-cased alphanumeric terms
+     * @param text the text to split
+     * @return terms in order of appearance
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Builds the trigrams of a term padded with boundary markers
+     * @param term the term
+     * @return the term's trigrams
+     */
+    static Set<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,223 @@
+package ca.eshopexpress.service.wishlist;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.enums.WishlistAlertType;
+import ca.eshopexpress.service.mail.EmailDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tells wishers when a game on their wishlist gets cheaper or comes back in stock.
+ * <p>
+ * Saving a game only records one {@code wishlist_alerts} row, and only if the game has wishers,
+ * so the admin save costs the same for a game wished by one user or by a hundred thousand.
+ * The fan-out runs in the background: each round claims the oldest pending alert with
+ * {@code FOR UPDATE SKIP LOCKED}, walks the game's wishers through the {@code (game_id, user_id)}
+ * reverse index from the alert's cursor, and queues an outbox email per wisher with a single
+ * {@code INSERT ... SELECT}, advancing the cursor in the same transaction. A round queues at most
+ * one batch, which caps the rate at which alerts reach the outbox and the mail server; a crash
+ * resumes from the cursor without queuing anyone twice. A newer alert of the same kind for the
+ * same game supersedes a pending one, so a price cut three times in a minute does not send three
+ * emails to the wishers not yet reached.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+@Component
+public class WishlistNotifier {
+
+    private static final String SNAPSHOT =
+            "SELECT price, stock_quantity FROM games WHERE id = ?";
+    private static final String SUPERSEDE =
+            "UPDATE wishlist_alerts SET status = 'SUPERSEDED', completed_at = ? " +
+            "WHERE game_id = ? AND alert_type = ? AND status = 'PENDING'";
+    private static final String RECORD =
+            "INSERT INTO wishlist_alerts (game_id, alert_type, old_price, new_price) " +
+            "SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM wishlist_items WHERE game_id = ?)";
+    private static final String CLAIM =
+            "SELECT id, game_id, alert_type, last_user_id FROM wishlist_alerts WHERE status = 'PENDING' " +
+            "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED";
+    private static final String QUEUE =
+            "WITH batch AS (" +
+            "SELECT w.user_id, u.email FROM wishlist_items w JOIN users u ON u.id = w.user_id " +
+            "WHERE w.game_id = ? AND w.user_id > ? ORDER BY w.user_id LIMIT ?), " +
+            "queued AS (INSERT INTO email_outbox (email_type, recipient, reference_id) SELECT ?, email, ? FROM batch) " +
+            "SELECT COUNT(*) AS recipients, COALESCE(MAX(user_id), 0) AS last_user_id FROM batch";
+    private static final String ADVANCE =
+            "UPDATE wishlist_alerts SET last_user_id = ?, recipients = recipients + ?, status = ?, completed_at = ? " +
+            "WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Wishers queued per round
+     */
+    @Value("${eshopexpress.wishlist.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Runs each fan-out step in its own transaction
+     */
+    private final TransactionTemplate transaction;
+
+    /**
+     * Constructs the notifier
+     * @param transactionManager the application's transaction manager
+     */
+    @Autowired
+    public WishlistNotifier(PlatformTransactionManager transactionManager) {
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reads the stored price and stock of a game, before a save overwrites them. Reads the
+     * database directly, so a loaded entity that is about to be saved does not hide the old values.
+     * @param gameId the game ID, or null for a new game
+     * @return the stored price and stock, or null if the game is not stored yet
+     */
+    public Snapshot snapshot(Long gameId) {
+        if (gameId == null) {
+            return null;
+        }
+        List<Snapshot> rows = jdbcTemplate.query(SNAPSHOT, (rs, rowNum) ->
+                new Snapshot(rs.getBigDecimal("price"), rs.getInt("stock_quantity")), gameId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Records an alert for every change of a saved game its wishers are told about
+     * @param before the price and stock before the save, or null for a new game
+     * @param saved the saved game
+     */
+    public void gameSaved(Snapshot before, Game saved) {
+        for (WishlistAlertType type : changes(before, saved)) {
+            record(saved.getId(), type, before.price(), saved.getPrice());
+        }
+    }
+
+    /**
+     * Records an alert for a game's wishers, superseding a pending alert of the same kind.
+     * Nothing is recorded if nobody wishes for the game.
+     * @param gameId the game ID
+     * @param type the kind of change
+     * @param oldPrice the price before the change
+     * @param newPrice the price after the change
+     */
+    public void record(long gameId, WishlistAlertType type, BigDecimal oldPrice, BigDecimal newPrice) {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update(SUPERSEDE, LocalDateTime.now(), gameId, type.name());
+            jdbcTemplate.update(RECORD, gameId, type.name(), oldPrice, newPrice, gameId);
+        });
+    }
+
+    /**
+     * Queues the next batch of wishers of the pending alerts, then wakes the email dispatcher.
+     * Runs on a fixed delay, so rounds never overlap on a node.
+     * @return the number of emails queued
+     */
+    @Scheduled(fixedDelayString = "${eshopexpress.wishlist.fanout-interval:PT1S}")
+    public int fanOut() {
+        int queued = 0;
+        while (queued < batchSize) {
+            int limit = batchSize - queued;
+            Integer step = transaction.execute(status -> step(limit));
+            if (step == null || step < 0) {
+                break;
+            }
+            queued += step;
+        }
+        if (queued > 0) {
+            meterRegistry.counter("eshopexpress.wishlist.queued").increment(queued);
+            emailDispatcher.wakeUp();
+        }
+        return queued;
+    }
+
+    /**
+     * Queues up to a number of wishers of the oldest pending alert and advances its cursor
+     * @param limit the most wishers to queue
+     * @return the number of emails queued, or -1 if no alert is pending
+     */
+    private int step(int limit) {
+        List<Claimed> claimed = jdbcTemplate.query(CLAIM, (rs, rowNum) -> new Claimed(
+                rs.getLong("id"),
+                rs.getLong("game_id"),
+                WishlistAlertType.valueOf(rs.getString("alert_type")),
+                rs.getLong("last_user_id")));
+        if (claimed.isEmpty()) {
+            return -1;
+        }
+        Claimed alert = claimed.get(0);
+        long[] batch = jdbcTemplate.queryForObject(QUEUE, (rs, rowNum) ->
+                        new long[]{rs.getLong("recipients"), rs.getLong("last_user_id")},
+                alert.gameId(), alert.lastUserId(), limit, alert.type().getEmailType().name(), alert.id());
+        int recipients = (int) batch[0];
+        boolean done = recipients < limit;
+        jdbcTemplate.update(ADVANCE,
+                recipients == 0 ? alert.lastUserId() : batch[1],
+                recipients,
+                done ? "DONE" : "PENDING",
+                done ? LocalDateTime.now() : null,
+                alert.id());
+        return recipients;
+    }
+
+    /**
+     * Works out which alerts a save calls for: a lower price, or a physical game whose stock
+     * comes back from zero. Price rises, sell-outs and new games alert nobody.
+     * @param before the price and stock before the save, or null for a new game
+     * @param saved the saved game
+     * @return the kinds of change to alert
+     */
+    static Set<WishlistAlertType> changes(Snapshot before, Game saved) {
+        Set<WishlistAlertType> changes = EnumSet.noneOf(WishlistAlertType.class);
+        if (before == null) {
+            return changes;
+        }
+        if (before.price() != null && saved.getPrice() != null && saved.getPrice().compareTo(before.price()) < 0) {
+            changes.add(WishlistAlertType.PRICE_DROP);
+        }
+        int stock = saved.getStockQuantity() == null ? 0 : saved.getStockQuantity();
+        if (!saved.isDigital() && before.stockQuantity() <= 0 && stock > 0) {
+            changes.add(WishlistAlertType.RESTOCK);
+        }
+        return changes;
+    }
+
+    /**
+     * The stored price and stock of a game
+     * @param price the price
+     * @param stockQuantity units in stock
+     */
+    public record Snapshot(BigDecimal price, int stockQuantity) {}
+
+    /**
+     * A pending alert claimed for this step
+     * @param id the alert ID
+     * @param gameId the game ID
+     * @param type the kind of change
+     * @param lastUserId wishers up to this user ID are already queued
+     */
+    private record Claimed(long id, long gameId, WishlistAlertType type, long lastUserId) {}
+}
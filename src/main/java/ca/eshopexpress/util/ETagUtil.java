@@ -0,0 +1,113 @@
+package ca.eshopexpress.util;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.WebUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conditional GET support for the catalog and product pages.
+ * <p>
+ * A page's ETag is a weak validator built from everything the page shows: the version of the
+ * catalog data on it plus the state of the current user. For a signed-in user that state includes
+ * the session, because the page's forms carry the session's CSRF token; in stateless session
+ * mode, where there is no session, it includes the CSRF token cookie instead. Every ETag also includes
+ * the time the application started, so a redeploy with changed templates never answers
+ * {@code 304} with the old markup.
+ * </p>
+ * <p>
+ * Pages are sent with {@code Cache-Control: no-cache}, which lets browsers and CDNs keep them but
+ * makes them revalidate on every use; pages for a signed-in user are also {@code private}. A
+ * shared cache revalidating an anonymous copy on behalf of a signed-in user therefore gets a
+ * full, private response, because the user state in the ETag differs.
+ * {@code Last-Modified} is only sent to anonymous visitors, since it cannot express user state.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.1
+ * @since 2026-10-18
+ */
+public final class ETagUtil {
+
+    /**
+     * Cookie holding the CSRF token in stateless session mode
+     */
+    private static final String CSRF_COOKIE = "XSRF-TOKEN";
+
+    /**
+     * When this instance started; pages rendered by an older deployment are never current
+     */
+    private static final long STARTED_AT = System.currentTimeMillis() / 1000 * 1000;
+
+    /**
+     * Utility class, not instantiated
+     */
+    private ETagUtil() {}
+
+    /**
+     * Sets the validators and cache headers of a page and checks them against the request.
+     * When this returns true the response is already a {@code 304} and the handler should
+     * return without rendering.
+     * @param webRequest the current request
+     * @param principal the signed-in user, or null
+     * @param lastModified when the data on the page last changed, or null if unknown
+     * @param state the versions and flags the page depends on
+     * @return true if the client's copy is current
+     */
+    public static boolean checkNotModified(ServletWebRequest webRequest, Principal principal,
+                                           LocalDateTime lastModified, Object... state) {
+        HttpServletResponse response = webRequest.getResponse();
+        CacheControl cacheControl = principal == null ? CacheControl.noCache() : CacheControl.noCache().cachePrivate();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+        String etag = weak(userState(webRequest.getRequest(), principal), state);
+        if (principal == null && lastModified != null) {
+            long modified = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return webRequest.checkNotModified(etag, Math.max(modified, STARTED_AT));
+        }
+        return webRequest.checkNotModified(etag);
+    }
+
+    /**
+     * Builds a weak ETag from a list of values
+     * @param user the user state
+     * @param state the versions and flags the page depends on
+     * @return the weak ETag, quoted
+     */
+    private static String weak(String user, Object... state) {
+        StringBuilder source = new StringBuilder(64).append(STARTED_AT).append('|').append(user);
+        for (Object part : state) {
+            source.append('|').append(part);
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Describes the current user for the ETag
+     * @param request the current request
+     * @param principal the signed-in user, or null
+     * @return "anonymous", or the user name and the session ID or CSRF token cookie
+     */
+    private static String userState(HttpServletRequest request, Principal principal) {
+        if (principal == null) {
+            return "anonymous";
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            return principal.getName() + ":" + session.getId();
+        }
+        Cookie csrf = WebUtils.getCookie(request, CSRF_COOKIE);
+        return principal.getName() + ":" + (csrf == null ? "" : csrf.getValue());
+    }
+}
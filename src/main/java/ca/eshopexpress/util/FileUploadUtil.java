@@ -1,4 +1,171 @@
 package ca.eshopexpress.util;
 
-public class FileUploadUtil {
+import ca.eshopexpress.exception.InvalidImageException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Stores uploaded images on disk under the hash of their content.
+ * <p>
+ * The upload is copied through one fixed-size direct buffer, hashing it on the way, so no upload
+ * is ever held in heap whatever its size. The file is written to a temporary name and then moved
+ * to {@code <sha-256>.<ext>}, which makes the final name appear only once it is complete and lets
+ * identical uploads share one file. The type is taken from the file's signature, never from the
+ * client's file name or content type.
+ * </p>
+ *
+ * @author Daniel Hinbest
+ * @version 1.0
+ * @since 2026-10-18
+ */
+public final class FileUploadUtil {
+
+    /**
+     * Size of the copy buffer
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Bytes needed to recognize every supported signature
+     */
+    private static final int SIGNATURE_LENGTH = 12;
+
+    /**
+     * JPEG signature
+     */
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+    /**
+     * PNG signature
+     */
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * GIF signatures, old and current
+     */
+    private static final byte[] GIF87A = "GIF87a".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] GIF89A = "GIF89a".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * WebP signature: a RIFF container whose form type, at offset 8, is WEBP
+     */
+    private static final byte[] RIFF = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Utility class, not instantiated
+     */
+    private FileUploadUtil() {}
+
+    /**
+     * Streams an uploaded image into a directory under the hash of its content
+     * @param file the uploaded file
+     * @param directory the directory to store it in, created if missing
+     * @return the stored file, named {@code <sha-256>.<ext>}
+     * @throws InvalidImageException if the file is not a JPEG, PNG, GIF or WebP image
+     * @throws IOException if the upload cannot be read or written
+     */
+    public static Path saveByContentHash(MultipartFile file, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            String extension;
+            try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (buffer.position() < SIGNATURE_LENGTH && in.read(buffer) != -1) {
+                    // fill at least the signature before looking at it
+                }
+                buffer.flip();
+                extension = imageExtension(buffer);
+                if (extension == null) {
+                    throw new InvalidImageException("Not a JPEG, PNG, GIF or WebP image: " + file.getOriginalFilename());
+                }
+                while (true) {
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                    if (in.read(buffer) == -1) {
+                        break;
+                    }
+                    buffer.flip();
+                }
+            }
+            Path target = directory.resolve(HexFormat.of().formatHex(digest.digest()) + "." + extension);
+            if (Files.exists(target)) {
+                return target;
+            }
+            return Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Recognizes an image type from the start of a file
+     * @param header the first bytes of the file, between position and limit
+     * @return the file extension for the type, or null if it is not a supported image
+     */
+    static String imageExtension(ByteBuffer header) {
+        if (startsWith(header, 0, JPEG)) {
+            return "jpg";
+        }
+        if (startsWith(header, 0, PNG)) {
+            return "png";
+        }
+        if (startsWith(header, 0, GIF87A) || startsWith(header, 0, GIF89A)) {
+            return "gif";
+        }
+        if (startsWith(header, 0, RIFF) && startsWith(header, 8, WEBP)) {
+            return "webp";
+        }
+        return null;
+    }
+
+    /**
+     * Checks for a byte sequence at an offset from the buffer position
+     * @param buffer the buffer
+     * @param offset the offset from the position
+     * @param expected the expected bytes
+     * @return true if the bytes match
+     */
+    private static boolean startsWith(ByteBuffer buffer, int offset, byte[] expected) {
+        if (buffer.remaining() < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(buffer.position() + offset + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a SHA-256 digest, which every Java runtime provides
+     * @return the digest
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
 }
@@ -0,0 +1,5 @@
+-- Row versions for games and accessories. JPA increments them on every entity update
+-- (optimistic locking); the bulk statements that change stock and rating aggregates increment
+-- them too, so a product page's ETag changes whenever anything shown on it does.
+ALTER TABLE games ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accessories ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
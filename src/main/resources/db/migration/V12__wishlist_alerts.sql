@@ -0,0 +1,27 @@
+-- Wishlist alerts. Saving a game whose price drops, or whose stock comes back from zero, records
+-- one alert row; WishlistNotifier then fans it out to the game's wishers in the background, a
+-- bounded batch of outbox emails at a time, so the admin save never waits on the wishers.
+--
+-- alert_type    PRICE_DROP or RESTOCK
+-- status        PENDING until every wisher is queued, then DONE; a newer alert of the same type
+--               for the same game marks a pending one SUPERSEDED
+-- last_user_id  fan-out cursor: wishers up to this user ID have been queued
+CREATE TABLE wishlist_alerts (
+    id           BIGSERIAL PRIMARY KEY,
+    game_id      INT            NOT NULL,
+    alert_type   VARCHAR(20)    NOT NULL,
+    old_price    DECIMAL(10, 2),
+    new_price    DECIMAL(10, 2),
+    status       VARCHAR(20)    NOT NULL DEFAULT 'PENDING',
+    last_user_id BIGINT         NOT NULL DEFAULT 0,
+    recipients   INT            NOT NULL DEFAULT 0,
+    created_at   TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP,
+    FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE
+);
+CREATE INDEX idx_wishlist_alerts_pending ON wishlist_alerts (game_id, alert_type) WHERE status = 'PENDING';
+
+-- Reverse index game -> wishers, ordered by user so the fan-out pages through a game's wishers
+-- with a keyset range scan instead of an ever-growing OFFSET
+DROP INDEX idx_wishlist_items_game;
+CREATE INDEX idx_wishlist_items_game_user ON wishlist_items (game_id, user_id);
@@ -0,0 +1,8 @@
+-- A digital game is sold as a key for one platform, so a saved cart line records the platform the
+-- customer picked. The same game for two platforms is two lines; other products have no platform.
+-- Digital lines saved before this migration have no platform and are dropped on the next login merge.
+ALTER TABLE cart_items ADD COLUMN platform_id INT;
+ALTER TABLE cart_items ADD FOREIGN KEY (platform_id) REFERENCES platforms(id) ON DELETE CASCADE;
+
+ALTER TABLE cart_items DROP CONSTRAINT cart_items_cart_id_product_type_product_id_key;
+CREATE UNIQUE INDEX uq_cart_items_line ON cart_items (cart_id, product_type, product_id, COALESCE(platform_id, 0));
@@ -0,0 +1,4 @@
+-- The game page reads its reviews a page at a time, newest first (ReviewRepository.findPageByGameId),
+-- instead of fetching every review with the game. This index returns a page without sorting all of
+-- a game's reviews.
+CREATE INDEX idx_reviews_game_created ON reviews (game_id, created_at DESC, id DESC);
@@ -0,0 +1,9 @@
+-- Order listings are keyset-paged on (order_date, id), newest first, and a NULL order date can be
+-- neither ordered next to the others nor encoded in a page cursor. Checkout always sets the
+-- date; orders that came in without one are given the oldest order date on record, so they stay
+-- at the end of the listings, and the column is made mandatory.
+UPDATE orders
+SET order_date = COALESCE((SELECT MIN(order_date) FROM orders), CURRENT_TIMESTAMP)
+WHERE order_date IS NULL;
+
+ALTER TABLE orders ALTER COLUMN order_date SET NOT NULL;
@@ -1,19 +1,6 @@
--- Drop tables if they exist to ensure a clean setup
-DROP TABLE IF EXISTS user_roles;
-DROP TABLE IF EXISTS wishlist_items;
-DROP TABLE IF EXISTS digital_keys;
-DROP TABLE IF EXISTS reviews;
-DROP TABLE IF EXISTS order_items;
-DROP TABLE IF EXISTS orders;
-DROP TABLE IF EXISTS game_genres;
-DROP TABLE IF EXISTS game_platforms;
-DROP TABLE IF EXISTS accessory_platforms;
-DROP TABLE IF EXISTS accessories;
-DROP TABLE IF EXISTS games;
-DROP TABLE IF EXISTS platforms;
-DROP TABLE IF EXISTS genres;
-DROP TABLE IF EXISTS roles;
-DROP TABLE IF EXISTS users;
+-- Baseline schema, exactly as previously created by data.sql. Databases built from data.sql are
+-- baselined at version 2 instead of running this script (see spring.flyway.baseline-version), so
+-- every later schema change lives in its own migration from V3 on.
 
 -- Create Users table
 CREATE TABLE users (
@@ -194,34 +181,3 @@ CREATE TABLE wishlist_items (
     FOREIGN KEY (game_id) REFERENCES games(id) ON DELETE CASCADE,
     UNIQUE (user_id, game_id) -- No duplicate wishlist entries
 );
-
--- Insert initial roles
-INSERT INTO roles (name) VALUES
-    ('USER'),
-    ('ADMIN');
-
--- Insert platforms
-INSERT INTO platforms (name, manufacturer) VALUES
-    ('Nintendo Switch', 'Nintendo'), ('PlayStation 5', 'Sony'),
-    ('Xbox Series X', 'Microsoft'), ('PC', 'Various');
-
--- Insert genres
-INSERT INTO genres (name) VALUES
-    ('Action'),
-    ('Adventure'),
-    ('RPG'),
-    ('Strategy'),
-    ('Sports'),
-    ('Simulation'),
-    ('Puzzle'),
-    ('Racing');
-
--- Insert sample admin user (password: admin123)
-INSERT INTO users (username, password, email, first_name, last_name)
-VALUES ('admin', '$2a$10$XK5SFeU1ToAY6aQVxNyLdu2Z9TqoEgQkY0bkuY4hBh4ABTpITK0T2', 'admin@example.com', 'Admin', 'User');
-
--- Assign admin role
-INSERT INTO user_roles (user_id, role_id)
-SELECT u.id, r.id
-FROM users u, roles r
-WHERE u.username = 'admin' AND r.name = 'ADMIN';
\ No newline at end of file
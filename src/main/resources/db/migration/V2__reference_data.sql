@@ -0,0 +1,30 @@
+-- Insert initial roles
+INSERT INTO roles (name) VALUES
+    ('USER'),
+    ('ADMIN');
+
+-- Insert platforms
+INSERT INTO platforms (name, manufacturer) VALUES
+    ('Nintendo Switch', 'Nintendo'), ('PlayStation 5', 'Sony'),
+    ('Xbox Series X', 'Microsoft'), ('PC', 'Various');
+
+-- Insert genres
+INSERT INTO genres (name) VALUES
+    ('Action'),
+    ('Adventure'),
+    ('RPG'),
+    ('Strategy'),
+    ('Sports'),
+    ('Simulation'),
+    ('Puzzle'),
+    ('Racing');
+
+-- Insert sample admin user (password: admin123)
+INSERT INTO users (username, password, email, first_name, last_name)
+VALUES ('admin', '$2a$10$XK5SFeU1ToAY6aQVxNyLdu2Z9TqoEgQkY0bkuY4hBh4ABTpITK0T2', 'admin@example.com', 'Admin', 'User');
+
+-- Assign admin role
+INSERT INTO user_roles (user_id, role_id)
+SELECT u.id, r.id
+FROM users u, roles r
+WHERE u.username = 'admin' AND r.name = 'ADMIN';
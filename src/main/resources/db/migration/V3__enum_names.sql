@@ -0,0 +1,40 @@
+-- Enums are stored by name (@Enumerated(EnumType.STRING)). The entities used to map them by
+-- ordinal, so rows written before this migration may hold the constant's position instead: as a
+-- digit string in the data.sql VARCHAR columns, or as a SMALLINT with a range check where
+-- Hibernate created the column. Ordinals are translated with the constant order of the enums at
+-- the time; names are kept as they are.
+
+-- OrderStatus
+ALTER TABLE orders DROP CONSTRAINT IF EXISTS orders_status_check;
+ALTER TABLE orders ALTER COLUMN status TYPE VARCHAR(50) USING
+    CASE WHEN CAST(status AS VARCHAR) ~ '^[0-9]+$'
+         THEN (ARRAY['PENDING', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED', 'RETURNED', 'FAILED'])
+              [CAST(CAST(status AS VARCHAR) AS INT) + 1]
+         ELSE CAST(status AS VARCHAR) END;
+
+-- Province
+ALTER TABLE orders DROP CONSTRAINT IF EXISTS orders_province_check;
+ALTER TABLE orders ALTER COLUMN province TYPE VARCHAR(50) USING
+    CASE WHEN CAST(province AS VARCHAR) ~ '^[0-9]+$'
+         THEN (ARRAY['ALBERTA', 'BRITISH_COLUMBIA', 'MANITOBA', 'NEW_BRUNSWICK', 'NORTHWEST_TERRITORIES',
+                     'NUNAVUT', 'NEWFOUNDLAND_AND_LABRADOR', 'NOVA_SCOTIA', 'ONTARIO', 'PRINCE_EDWARD_ISLAND',
+                     'QUEBEC', 'SASKATCHEWAN', 'YUKON'])
+              [CAST(CAST(province AS VARCHAR) AS INT) + 1]
+         ELSE CAST(province AS VARCHAR) END;
+
+-- AgeRating; the longest name does not fit in the former 20 characters
+ALTER TABLE games DROP CONSTRAINT IF EXISTS games_age_rating_check;
+ALTER TABLE games ALTER COLUMN age_rating TYPE VARCHAR(30) USING
+    CASE WHEN CAST(age_rating AS VARCHAR) ~ '^[0-9]+$'
+         THEN (ARRAY['EVERYONE', 'EVERYONE_TEN_PLUS', 'TEEN', 'MATURE', 'ADULTS_ONLY', 'RATING_PENDING',
+                     'RATING_PENDING_17_PLUS'])
+              [CAST(CAST(age_rating AS VARCHAR) AS INT) + 1]
+         ELSE CAST(age_rating AS VARCHAR) END;
+
+-- AccessoryType
+ALTER TABLE accessories DROP CONSTRAINT IF EXISTS accessories_type_check;
+ALTER TABLE accessories ALTER COLUMN type TYPE VARCHAR(50) USING
+    CASE WHEN CAST(type AS VARCHAR) ~ '^[0-9]+$'
+         THEN (ARRAY['CONTROLLER', 'HEADSET', 'CHARGER', 'CASE', 'CABLE', 'STAND', 'OTHER'])
+              [CAST(CAST(type AS VARCHAR) AS INT) + 1]
+         ELSE CAST(type AS VARCHAR) END;
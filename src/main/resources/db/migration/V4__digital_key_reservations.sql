@@ -0,0 +1,6 @@
+-- Digital keys are reserved for a checkout before they are sold. A reservation expires at
+-- reserved_until, after which DigitalDeliveryService returns the key to AVAILABLE.
+ALTER TABLE digital_keys ADD COLUMN reserved_until TIMESTAMP; -- set while RESERVED
+
+-- Keys left RESERVED before reservations had a deadline expire straight away
+UPDATE digital_keys SET reserved_until = CURRENT_TIMESTAMP WHERE status = 'RESERVED';
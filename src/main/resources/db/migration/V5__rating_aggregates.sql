@@ -0,0 +1,22 @@
+-- Running rating aggregates per game, kept up to date by ReviewServiceImpl with one UPDATE per
+-- review change, so ratings and the 1-5 star histogram are read without scanning reviews.
+ALTER TABLE games
+    ADD COLUMN review_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN one_star_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN two_star_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN three_star_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN four_star_count INT NOT NULL DEFAULT 0,
+    ADD COLUMN five_star_count INT NOT NULL DEFAULT 0;
+
+-- Backfill from the reviews written before this migration
+UPDATE games g SET review_count = a.cnt, rating_sum = a.total,
+    one_star_count = a.r1, two_star_count = a.r2, three_star_count = a.r3,
+    four_star_count = a.r4, five_star_count = a.r5,
+    average_rating = CAST(a.total AS DOUBLE PRECISION) / a.cnt
+FROM (SELECT game_id, COUNT(*) AS cnt, SUM(rating) AS total,
+             COUNT(*) FILTER (WHERE rating = 1) AS r1, COUNT(*) FILTER (WHERE rating = 2) AS r2,
+             COUNT(*) FILTER (WHERE rating = 3) AS r3, COUNT(*) FILTER (WHERE rating = 4) AS r4,
+             COUNT(*) FILTER (WHERE rating = 5) AS r5
+      FROM reviews GROUP BY game_id) a
+WHERE g.id = a.game_id;
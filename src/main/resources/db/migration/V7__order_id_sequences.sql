@@ -0,0 +1,16 @@
+-- Order IDs come from sequences stepping by 50 so Hibernate can pre-allocate a block of IDs
+-- and batch the inserts of an order and its items (SERIAL/IDENTITY columns disable batching).
+-- Each sequence starts past the highest existing ID, so the first block never reuses one.
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq INCREMENT BY 50;
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM orders));
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM order_items));
+
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT nextval('orders_seq');
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT nextval('order_items_seq');
+
+-- The SERIAL sequences are no longer used
+DROP SEQUENCE IF EXISTS orders_id_seq;
+DROP SEQUENCE IF EXISTS order_items_id_seq;
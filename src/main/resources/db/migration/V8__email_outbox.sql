@@ -0,0 +1,14 @@
+-- Create Email Outbox table (written in the business transaction, drained by the dispatcher)
+CREATE TABLE email_outbox (
+    id SERIAL PRIMARY KEY,
+    email_type VARCHAR(30) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    reference_id BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING', -- PENDING, SENT, FAILED
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP,
+    last_error VARCHAR(500)
+);
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
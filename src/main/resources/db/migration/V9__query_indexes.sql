@@ -0,0 +1,50 @@
+-- Secondary indexes for the repository queries. Each index names the queries it serves;
+-- primary keys and UNIQUE constraints already cover the lookups not listed here
+-- (users.username, users.email, reviews (game_id, user_id), wishlist_items (user_id, game_id),
+-- carts.user_id, cart_items.cart_id, digital_keys.order_item_id). genres, platforms and roles
+-- are small reference tables and are left to sequential scans.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Games: new releases, top rated and recommendations, title search
+CREATE INDEX idx_games_release_date ON games (release_date DESC, id);
+CREATE INDEX idx_games_average_rating ON games (average_rating DESC NULLS LAST, id);
+-- Derived "ContainingIgnoreCase" queries compare UPPER(column) LIKE UPPER(?), so the trigram
+-- indexes are built on the same expression
+CREATE INDEX idx_games_title_trgm ON games USING gin (UPPER(title) gin_trgm_ops);
+
+-- Join tables: the primary keys lead with the owning side; these serve the reverse direction
+-- (games of a platform or genre, accessories of a platform) and cascading platform/genre deletes
+CREATE INDEX idx_game_platforms_platform ON game_platforms (platform_id, game_id);
+CREATE INDEX idx_game_genres_genre ON game_genres (genre_id, game_id);
+CREATE INDEX idx_accessory_platforms_platform ON accessory_platforms (platform_id, accessory_id);
+
+-- Accessories: type filter, price ceiling, name search
+CREATE INDEX idx_accessories_type ON accessories (type);
+CREATE INDEX idx_accessories_price ON accessories (price);
+CREATE INDEX idx_accessories_name_trgm ON accessories USING gin (UPPER(name) gin_trgm_ops);
+
+-- Orders: a customer's history and the admin list are both keyset-paged on (order_date, id)
+CREATE INDEX idx_orders_user_date ON orders (user_id, order_date DESC, id DESC);
+CREATE INDEX idx_orders_date ON orders (order_date DESC, id DESC);
+
+-- Order items are always read through their order
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+
+-- Digital keys: allocation only ever looks at AVAILABLE keys and the reaper only at RESERVED
+-- ones, so both are partial indexes that stay small however many keys have been sold; status is
+-- not indexed otherwise. game_id and platform_id serve the foreign key checks of game and
+-- platform deletes.
+CREATE INDEX idx_digital_keys_available ON digital_keys (game_id, platform_id, id) WHERE status = 'AVAILABLE';
+CREATE INDEX idx_digital_keys_reserved ON digital_keys (reserved_until) WHERE status = 'RESERVED';
+CREATE INDEX idx_digital_keys_game ON digital_keys (game_id);
+CREATE INDEX idx_digital_keys_platform ON digital_keys (platform_id);
+
+-- Reviews and wishlists by the other side of their unique constraint
+CREATE INDEX idx_reviews_user ON reviews (user_id);
+CREATE INDEX idx_wishlist_items_game ON wishlist_items (game_id);
+
+-- Admin user search
+CREATE INDEX idx_users_first_name_trgm ON users USING gin (UPPER(first_name) gin_trgm_ops);
+CREATE INDEX idx_users_last_name_trgm ON users USING gin (UPPER(last_name) gin_trgm_ops);
+CREATE INDEX idx_users_city_trgm ON users USING gin (UPPER(city) gin_trgm_ops);
@@ -0,0 +1,73 @@
+package ca.eshopexpress.config;
+
+import ca.eshopexpress.model.security.UserDetailsImpl;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps sign-ins in the signed sign-in cookie.
+ */
+class CookieSecurityContextRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-18T12:00:00Z");
+
+    private final CookieSigner signer = new CookieSigner("0123456789abcdef0123456789abcdef", 3072);
+
+    @Test
+    void authenticatesFromTheCookieWithoutLoadingTheUser() {
+        Cookie cookie = login(new CookieSecurityContextRepository(signer, Duration.ofHours(8), Clock.fixed(NOW, ZoneOffset.UTC)));
+        CookieSecurityContextRepository later =
+                new CookieSecurityContextRepository(signer, Duration.ofHours(8), Clock.fixed(NOW.plusSeconds(3600), ZoneOffset.UTC));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        Authentication authentication = later.loadDeferredContext(request).get().getAuthentication();
+
+        assertEquals("admin", authentication.getName());
+        assertEquals(42L, ((UserDetailsImpl) authentication.getPrincipal()).getId());
+        assertEquals(List.of("ROLE_ADMIN"), authentication.getAuthorities().stream().map(Object::toString).toList());
+        assertNull(request.getSession(false));
+    }
+
+    @Test
+    void rejectsExpiredAndForgedSignIns() {
+        Cookie cookie = login(new CookieSecurityContextRepository(signer, Duration.ofHours(8), Clock.fixed(NOW, ZoneOffset.UTC)));
+        CookieSecurityContextRepository expired =
+                new CookieSecurityContextRepository(signer, Duration.ofHours(8), Clock.fixed(NOW.plus(Duration.ofHours(9)), ZoneOffset.UTC));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        assertFalse(expired.containsContext(request));
+
+        CookieSigner otherKey = new CookieSigner("fedcba9876543210fedcba9876543210", 3072);
+        CookieSecurityContextRepository forged =
+                new CookieSecurityContextRepository(otherKey, Duration.ofHours(8), Clock.fixed(NOW, ZoneOffset.UTC));
+        assertTrue(forged.loadDeferredContext(request).isGenerated());
+    }
+
+    private static Cookie login(CookieSecurityContextRepository repository) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        UserDetailsImpl user = new UserDetailsImpl(42L, "admin", "{bcrypt}hash", authorities);
+        SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(user, null, authorities));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        repository.saveContext(context, new MockHttpServletRequest(), response);
+        return response.getCookie(CookieSecurityContextRepository.COOKIE_NAME);
+    }
+}
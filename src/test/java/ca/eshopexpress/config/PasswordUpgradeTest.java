@@ -0,0 +1,56 @@
+package ca.eshopexpress.config;
+
+import ca.eshopexpress.model.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Upgrades weaker password hashes on login.
+ */
+class PasswordUpgradeTest {
+
+    @Test
+    void upgradesWeakAndUnprefixedHashesOnLogin() {
+        String legacy = new BCryptPasswordEncoder(4).encode("admin123");
+        Map<String, UserDetails> users = new ConcurrentHashMap<>(Map.of("admin", user("admin", legacy)));
+        DaoAuthenticationProvider provider = provider(new SecurityConfig().passwordEncoder(8), users);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("admin", "admin123"));
+
+        String upgraded = users.get("admin").getPassword();
+        assertTrue(upgraded.startsWith("{bcrypt}$2a$08$"), upgraded);
+        provider.authenticate(new UsernamePasswordAuthenticationToken("admin", "admin123"));
+        assertEquals(upgraded, users.get("admin").getPassword());
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("admin", "wrong")));
+    }
+
+    private static DaoAuthenticationProvider provider(PasswordEncoder encoder, Map<String, UserDetails> users) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(users::get);
+        provider.setUserDetailsPasswordService((user, newPassword) -> {
+            UserDetails updated = ((UserDetailsImpl) user).withPassword(newPassword);
+            users.put(user.getUsername(), updated);
+            return updated;
+        });
+        return provider;
+    }
+
+    private static UserDetails user(String username, String password) {
+        return new UserDetailsImpl(1L, username, password, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
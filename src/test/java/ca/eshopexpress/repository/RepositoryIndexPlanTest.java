@@ -0,0 +1,320 @@
+package ca.eshopexpress.repository;
+
+import ca.eshopexpress.model.entity.Genre;
+import ca.eshopexpress.model.entity.OrderItem;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.model.enums.AccessoryType;
+import ca.eshopexpress.model.enums.EmailStatus;
+import ca.eshopexpress.service.impl.SalesAnalyticsServiceImpl;
+import ca.eshopexpress.service.mail.EmailDispatcher;
+import ca.eshopexpress.service.wishlist.WishlistNotifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs every repository query, and the SQL the services send through JDBC, against the migrated
+ * schema and checks that PostgreSQL can answer it from an index.
+ * <p>
+ * The SQL Hibernate sends is captured, prepared again by hand, and its generic plan is explained
+ * with sequential scans disabled. Any query left with a sequential scan, or with an index scan that only filters rows
+ * and has no index condition, on a table other than the small reference tables has no usable
+ * index.
+ * </p>
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ca.eshopexpress.repository.RepositoryIndexPlanTest$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryIndexPlanTest {
+
+    /**
+     * Tables small enough that a sequential scan is the right plan
+     */
+    private static final Set<String> REFERENCE_TABLES = Set.of("genres", "platforms", "roles");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private AccessoryRepository accessoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private DigitalKeyRepository digitalKeyRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private WishlistItemRepository wishlistItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private WishlistAlertRepository wishlistAlertRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void disableSequentialScans() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    @Test
+    void gameQueriesUseIndexes() {
+        Platform platform = platformReference();
+        Genre genre = genreReference();
+
+        assertIndexed(() -> gameRepository.findByTitleContainingIgnoreCase("zelda"));
+        assertIndexed(() -> gameRepository.findByPlatformsContaining(platform));
+        assertIndexed(() -> gameRepository.findByGenresContaining(genre));
+        assertIndexed(() -> gameRepository.findByReleaseDateAfterOrderByReleaseDateDesc(LocalDate.now()));
+        assertIndexed(() -> gameRepository.findTop8ByReleaseDateAfterOrderByReleaseDateDesc(LocalDate.now()));
+        assertIndexed(() -> gameRepository.findByMinimumRating(4.0));
+        assertIndexed(() -> gameRepository.findRecommendedGames(Set.of(genre), Set.of(platform), PageRequest.of(0, 10)));
+        assertIndexed(() -> gameRepository.applyRatingChange(1L, 5, 0, 1));
+        assertIndexed(() -> gameRepository.findAverageRatingById(1L));
+        assertIndexed(() -> gameRepository.findListViewByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> gameRepository.findDetailViewById(1L));
+        assertIndexed(() -> gameRepository.findSummariesByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> gameRepository.findPlatformNamesByIdIn(List.of(1L, 2L)));
+        assertIndexed(() -> gameRepository.findSummariesReleasedAfter(LocalDate.now(), PageRequest.of(0, 8)));
+        assertIndexed(() -> gameRepository.findVersionById(1L));
+    }
+
+    @Test
+    void accessoryQueriesUseIndexes() {
+        Platform platform = platformReference();
+
+        assertIndexed(() -> accessoryRepository.findByAccessoryTypeContainingIgnoreCase(AccessoryType.values()[0]));
+        assertIndexed(() -> accessoryRepository.findByNameContainingIgnoreCase("controller"));
+        assertIndexed(() -> accessoryRepository.findByPlatformsContaining(platform));
+        assertIndexed(() -> accessoryRepository.findByPriceLessThan(20.0));
+        assertIndexed(() -> accessoryRepository.findVersionById(1L));
+    }
+
+    @Test
+    void orderQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertIndexed(() -> orderRepository.findFirstPage(PageRequest.of(0, 20)));
+        assertIndexed(() -> orderRepository.findPageAfter(now, 100L, PageRequest.of(0, 20)));
+        assertIndexed(() -> orderRepository.findFirstPageByUserId(1L, PageRequest.of(0, 20)));
+        assertIndexed(() -> orderRepository.findPageAfterByUserId(1L, now, 100L, PageRequest.of(0, 20)));
+        assertIndexed(() -> orderRepository.findWithItemsById(1L));
+    }
+
+    @Test
+    void digitalKeyQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderItem orderItem = new OrderItem();
+        orderItem.setId(1L);
+
+        assertIndexed(() -> digitalKeyRepository.findByGameId(1L));
+        assertIndexed(() -> digitalKeyRepository.findByPlatformId(1L));
+        assertIndexed(() -> digitalKeyRepository.lockAvailableKeyIds(1L, 1L, 20));
+        assertIndexed(() -> digitalKeyRepository.reserve(List.of(1L, 2L), now));
+        assertIndexed(() -> digitalKeyRepository.sell(1L, now, orderItem));
+        assertIndexed(() -> digitalKeyRepository.release(List.of(1L, 2L)));
+        assertIndexed(() -> digitalKeyRepository.releaseExpired(now));
+        assertIndexed(() -> digitalKeyRepository.findSoldByOrderId(1L));
+    }
+
+    @Test
+    void customerQueriesUseIndexes() {
+        assertIndexed(() -> reviewRepository.findByGameId(1L));
+        assertIndexed(() -> reviewRepository.findPageByGameId(1L, PageRequest.of(0, 10)));
+        assertIndexed(() -> reviewRepository.findByUserId(1L));
+        assertIndexed(() -> wishlistItemRepository.findByUserId(1L));
+        assertIndexed(() -> wishlistItemRepository.existsByUserIdAndGameId(1L, 1L));
+        assertIndexed(() -> reviewRepository.existsByGameIdAndUserId(1L, 1L));
+        assertIndexed(() -> userRepository.findUserById(1L));
+        assertIndexed(() -> userRepository.findByFirstNameContainingIgnoreCase("dan"));
+        assertIndexed(() -> userRepository.findByLastNameContainingIgnoreCase("hin"));
+        assertIndexed(() -> userRepository.findByCityContainingIgnoreCase("oshawa"));
+        assertIndexed(() -> userRepository.findByEmail("daniel@example.com"));
+        assertIndexed(() -> userRepository.findByUsername("daniel"));
+        assertIndexed(() -> userRepository.findWithRolesByUsername("daniel"));
+        assertIndexed(() -> cartRepository.findByUserId(1L));
+        assertIndexed(() -> cartRepository.deleteByUserId(1L));
+        assertIndexed(() -> outboxEmailRepository.countByStatus(EmailStatus.PENDING));
+        assertIndexed(() -> wishlistAlertRepository.findWithGameById(1L));
+    }
+
+    @Test
+    void jdbcStatementsUseIndexes() {
+        assertIndexed(statement(EmailDispatcher.class, "CLAIM"));
+        assertIndexed(statement(WishlistNotifier.class, "SUPERSEDE"));
+        assertIndexed(statement(WishlistNotifier.class, "CLAIM"));
+        assertIndexed(statement(WishlistNotifier.class, "QUEUE"));
+        assertIndexed(statement(SalesAnalyticsServiceImpl.class, "SELECT_DAILY"));
+        assertIndexed(statement(SalesAnalyticsServiceImpl.class, "SELECT_BREAKDOWN"));
+    }
+
+    /**
+     * Runs a repository call and asserts that every statement it issued has an index plan
+     * @param call the repository call
+     */
+    private void assertIndexed(Runnable call) {
+        CapturingStatementInspector.STATEMENTS.clear();
+        call.run();
+        List<String> statements = new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+        assertFalse(statements.isEmpty(), "the repository call issued no SQL");
+
+        for (String sql : statements) {
+            assertIndexed(sql);
+        }
+    }
+
+    /**
+     * Asserts that a statement has an index plan
+     * @param sql the statement, with {@code ?} placeholders
+     */
+    private void assertIndexed(String sql) {
+        String plan = explainGenericPlan(sql);
+        List<String> problems = new ArrayList<>();
+        try {
+            collectUnindexedScans(objectMapper.readTree(plan).get(0).get("Plan"), problems);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not read the plan of " + sql, ex);
+        }
+        assertTrue(problems.isEmpty(), () -> problems + " in plan of\n" + sql + "\n" + plan);
+    }
+
+    /**
+     * Reads the SQL of a statement a service sends through JDBC
+     * @param owner the class declaring the statement
+     * @param name the name of its constant
+     * @return the SQL
+     */
+    private static String statement(Class<?> owner, String name) {
+        return (String) ReflectionTestUtils.getField(owner, name);
+    }
+
+    /**
+     * Explains the generic plan of a statement, i.e. the plan chosen without looking at the
+     * parameter values, which is what a cached prepared statement runs
+     * @param sql the statement as sent by Hibernate
+     * @return the plan as JSON
+     */
+    private String explainGenericPlan(String sql) {
+        int parameters = 0;
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String arguments = parameters == 0 ? "" : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE repository_query AS " + numbered);
+        try {
+            return jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) EXECUTE repository_query" + arguments, String.class);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE repository_query");
+        }
+    }
+
+    /**
+     * Walks a JSON plan and records every scan that reads a whole table
+     * @param node a plan node
+     * @param problems receives a description of each unindexed scan
+     */
+    private static void collectUnindexedScans(JsonNode node, List<String> problems) {
+        String relation = node.path("Relation Name").asText("");
+        if (!relation.isEmpty() && !REFERENCE_TABLES.contains(relation)) {
+            String type = node.path("Node Type").asText();
+            boolean indexScan = type.equals("Index Scan") || type.equals("Index Only Scan");
+            if (type.equals("Seq Scan")) {
+                problems.add("sequential scan on " + relation);
+            } else if (indexScan && node.has("Filter") && !node.has("Index Cond")) {
+                problems.add("full index scan on " + relation + " filtering " + node.get("Filter").asText());
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectUnindexedScans(child, problems);
+        }
+    }
+
+    /**
+     * Get a platform reference without loading it
+     * @return a platform with ID 1
+     */
+    private static Platform platformReference() {
+        Platform platform = new Platform();
+        platform.setId(1L);
+        return platform;
+    }
+
+    /**
+     * Get a genre reference without loading it
+     * @return a genre with ID 1
+     */
+    private static Genre genreReference() {
+        Genre genre = new Genre();
+        genre.setId(1L);
+        return genre;
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
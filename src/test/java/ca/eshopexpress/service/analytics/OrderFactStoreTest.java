@@ -0,0 +1,171 @@
+package ca.eshopexpress.service.analytics;
+
+import ca.eshopexpress.model.enums.OrderStatus;
+import ca.eshopexpress.model.enums.ProductType;
+import ca.eshopexpress.model.enums.Province;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs reports over an order fact store filled in memory.
+ */
+class OrderFactStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private final OrderFactStore store = new OrderFactStore(4);
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void groupsRevenueByProvinceAndProductTypeForDigitalItems() {
+        store.append(order(1, TODAY, Province.ONTARIO, OrderStatus.DELIVERED,
+                line(ProductType.GAME, true, 1L, 1, 5999), line(ProductType.ACCESSORY, false, null, 2, 1999)));
+        store.append(order(2, TODAY.minusDays(10), Province.ONTARIO, OrderStatus.PROCESSING,
+                line(ProductType.GAME, true, 2L, 1, 6999)));
+        store.append(order(3, TODAY.minusDays(5), Province.QUEBEC, OrderStatus.DELIVERED,
+                line(ProductType.GAME, true, 1L, 3, 14997)));
+        store.append(order(4, TODAY.minusDays(200), Province.QUEBEC, OrderStatus.DELIVERED,
+                line(ProductType.GAME, true, 1L, 1, 4999)));
+
+        FactQuery query = new FactQuery(TODAY.minusDays(89), TODAY);
+        query.setDigital(true);
+        query.setGroupBy(List.of(FactDimension.PROVINCE, FactDimension.PRODUCT_TYPE));
+        List<FactGroup> groups = store.query(query);
+
+        assertEquals(2, groups.size());
+        assertEquals(List.of("QUEBEC", "GAME"), groups.get(0).keys());
+        assertEquals(new BigDecimal("149.97"), groups.get(0).revenue());
+        assertEquals(3, groups.get(0).units());
+        assertEquals(List.of("ONTARIO", "GAME"), groups.get(1).keys());
+        assertEquals(new BigDecimal("129.98"), groups.get(1).revenue());
+        assertEquals(2, groups.get(1).lines());
+    }
+
+    @Test
+    void leavesCancelledOrdersOutOfBookedReports() {
+        store.append(order(1, TODAY, Province.ONTARIO, OrderStatus.PROCESSING, line(ProductType.GAME, false, 1L, 1, 5999)));
+        store.append(order(2, TODAY, Province.ONTARIO, OrderStatus.PROCESSING, line(ProductType.GAME, false, 1L, 1, 3999)));
+        store.updateStatus(2, OrderStatus.CANCELLED);
+
+        FactQuery query = new FactQuery(TODAY, TODAY);
+        query.setStatuses(EnumSet.of(OrderStatus.PENDING, OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED));
+        List<FactGroup> groups = store.query(query);
+
+        assertEquals(1, groups.size());
+        assertEquals(List.of(), groups.get(0).keys());
+        assertEquals(new BigDecimal("59.99"), groups.get(0).revenue());
+    }
+
+    @Test
+    void changesTheStatusOfOnlyThatOrdersRows() {
+        for (long id = 1; id <= 3000; id++) {
+            store.append(order(id, TODAY, Province.ONTARIO, OrderStatus.PROCESSING,
+                    line(ProductType.GAME, false, 1L, 1, 100), line(ProductType.ACCESSORY, false, null, 1, 100)));
+        }
+        FactQuery query = new FactQuery(TODAY, TODAY);
+        query.setGroupBy(List.of(FactDimension.STATUS));
+        store.query(query);
+
+        store.updateStatus(7, OrderStatus.SHIPPED);
+        store.updateStatus(2999, OrderStatus.SHIPPED);
+        store.updateStatus(2999, OrderStatus.DELIVERED);
+        store.updateStatus(9999, OrderStatus.CANCELLED);
+        List<FactGroup> groups = store.query(query);
+
+        assertEquals(3, groups.size());
+        assertEquals(List.of("PROCESSING"), groups.get(0).keys());
+        assertEquals(5996, groups.get(0).lines());
+        assertEquals(2, groups.get(1).lines());
+        assertEquals(2, groups.get(2).lines());
+    }
+
+    @Test
+    void groupsByMonthInTimeOrder() {
+        store.append(order(1, LocalDate.of(2026, 8, 31), Province.ONTARIO, OrderStatus.DELIVERED, line(ProductType.GAME, false, 1L, 1, 100)));
+        store.append(order(2, LocalDate.of(2026, 9, 1), Province.ONTARIO, OrderStatus.DELIVERED, line(ProductType.GAME, false, 1L, 1, 900)));
+        store.append(order(3, LocalDate.of(2026, 10, 1), Province.ONTARIO, OrderStatus.DELIVERED, line(ProductType.GAME, false, 1L, 1, 500)));
+
+        FactQuery query = new FactQuery(LocalDate.of(2026, 8, 1), TODAY);
+        query.setGroupBy(List.of(FactDimension.MONTH));
+        List<FactGroup> groups = store.query(query);
+
+        assertEquals(List.of("2026-08", "2026-09", "2026-10"), groups.stream().map(g -> g.keys().get(0)).toList());
+    }
+
+    @Test
+    void rejectsGroupingsWithTooManyGroups() {
+        FactQuery query = new FactQuery(TODAY.minusDays(3000), TODAY);
+        query.setGroupBy(List.of(FactDimension.DAY, FactDimension.PROVINCE, FactDimension.STATUS));
+
+        assertThrows(IllegalArgumentException.class, () -> store.query(query));
+    }
+
+    @Test
+    void scansMillionsOfRowsInParallelWithTheSameTotalsAsASequentialLoop() {
+        Random random = new Random(42);
+        Province[] provinces = Province.values();
+        long expectedRevenue = 0;
+        long expectedUnits = 0;
+        for (long id = 1; id <= 500_000; id++) {
+            LocalDate day = TODAY.minusDays(random.nextInt(365));
+            Province province = provinces[random.nextInt(provinces.length)];
+            List<OrderFact.Line> lines = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                boolean digital = random.nextBoolean();
+                int units = 1 + random.nextInt(3);
+                long cents = 999 + random.nextInt(7000);
+                lines.add(line(ProductType.GAME, digital, (long) random.nextInt(4) + 1, units, cents));
+                if (digital && province == Province.ONTARIO && !day.isBefore(TODAY.minusDays(89))) {
+                    expectedRevenue += cents;
+                    expectedUnits += units;
+                }
+            }
+            store.append(new OrderFact(id, day, province, OrderStatus.DELIVERED, lines));
+        }
+        assertEquals(2_000_000, store.size());
+
+        FactQuery query = new FactQuery(TODAY.minusDays(89), TODAY);
+        query.setDigital(true);
+        query.setGroupBy(List.of(FactDimension.PROVINCE, FactDimension.PLATFORM));
+        store.query(query);
+        long start = System.nanoTime();
+        List<FactGroup> groups = store.query(query);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        BigDecimal revenue = BigDecimal.ZERO;
+        long units = 0;
+        for (FactGroup group : groups) {
+            if (group.keys().get(0).equals("ONTARIO")) {
+                revenue = revenue.add(group.revenue());
+                units += group.units();
+            }
+        }
+        assertEquals(BigDecimal.valueOf(expectedRevenue, 2), revenue);
+        assertEquals(expectedUnits, units);
+        assertTrue(millis < 1000, "report over 2M rows took " + millis + " ms");
+    }
+
+    private static OrderFact order(long id, LocalDate day, Province province, OrderStatus status, OrderFact.Line... lines) {
+        return new OrderFact(id, day, province, status, List.of(lines));
+    }
+
+    private static OrderFact.Line line(ProductType type, boolean digital, Long platformId, int units, long cents) {
+        return new OrderFact.Line(type, digital, platformId, platformId == null ? null : "Platform " + platformId,
+                units, cents, cents * 13 / 100);
+    }
+}
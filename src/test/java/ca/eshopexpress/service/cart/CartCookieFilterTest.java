@@ -0,0 +1,110 @@
+package ca.eshopexpress.service.cart;
+
+import ca.eshopexpress.config.CookieSigner;
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Platform;
+import ca.eshopexpress.model.enums.ProductType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Carries carts between requests in the signed cart cookie.
+ */
+class CartCookieFilterTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final CartStore cartStore = new CartStore(100, Duration.ofHours(2), new SimpleMeterRegistry());
+
+    private final PriceBook priceBook = new PriceBook();
+
+    private final CartCookieFilter filter =
+            new CartCookieFilter(cartStore, priceBook, new CookieSigner(SECRET, 3072), Duration.ofHours(2));
+
+    @BeforeEach
+    void setUp() {
+        priceBook.put(game(1, "59.99"));
+        Game digital = game(2, "19.99");
+        Platform platform = new Platform();
+        platform.setId(3L);
+        digital.setDigital(true);
+        digital.setPlatforms(Set.of(platform));
+        priceBook.put(digital);
+    }
+
+    @Test
+    void restoresTheCartOnAnotherRequestAndOnlyRewritesTheCookieWhenItChanges() throws Exception {
+        MockHttpServletResponse first = request(null, cart -> {
+            cart.add(ProductType.GAME, 1, 0, 2, 5999);
+            cart.add(ProductType.GAME, 2, 3, 1, 1999);
+            cart.setOwnerId(7L);
+        }, new AtomicReference<>());
+        Cookie cookie = first.getCookie(CartCookieFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+
+        AtomicReference<SessionCart> restored = new AtomicReference<>();
+        MockHttpServletResponse second = request(cookie, cart -> {}, restored);
+
+        assertEquals(3, restored.get().getItemCount());
+        assertEquals(new BigDecimal("139.97"), restored.get().getSubtotal());
+        assertEquals(7L, restored.get().getOwnerId());
+        assertEquals(1, restored.get().quantity(ProductType.GAME, 2, 3));
+        assertNull(second.getCookie(CartCookieFilter.COOKIE_NAME));
+        assertEquals(0, cartStore.size());
+    }
+
+    @Test
+    void dropsATamperedCookieAndProductsThatNoLongerExist() throws Exception {
+        Cookie cookie = request(null, cart -> cart.add(ProductType.GAME, 1, 0, 1, 5999), new AtomicReference<>())
+                .getCookie(CartCookieFilter.COOKIE_NAME);
+        String value = cookie.getValue();
+        Cookie tampered = new Cookie(CartCookieFilter.COOKIE_NAME, (value.charAt(0) == 'A' ? 'B' : 'A') + value.substring(1));
+
+        AtomicReference<SessionCart> fromTampered = new AtomicReference<>();
+        MockHttpServletResponse cleared = request(tampered, cart -> {}, fromTampered);
+        assertEquals(0, fromTampered.get().getItemCount());
+        assertEquals(0, cleared.getCookie(CartCookieFilter.COOKIE_NAME).getMaxAge());
+
+        priceBook.remove(ProductType.GAME, 1);
+        AtomicReference<SessionCart> withoutDeleted = new AtomicReference<>();
+        MockHttpServletResponse rewritten = request(cookie, cart -> {}, withoutDeleted);
+        assertEquals(0, withoutDeleted.get().getItemCount());
+        assertEquals(0, rewritten.getCookie(CartCookieFilter.COOKIE_NAME).getMaxAge());
+    }
+
+    private MockHttpServletResponse request(Cookie cookie, Consumer<SessionCart> handler,
+                                            AtomicReference<SessionCart> seen) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/cart/add");
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> {
+            SessionCart cart = cartStore.get(cartStore.cartIdOf(request));
+            seen.set(cart);
+            handler.accept(cart);
+        });
+        return response;
+    }
+
+    private static Game game(long id, String price) {
+        Game game = new Game();
+        game.setId(id);
+        game.setPrice(new BigDecimal(price));
+        return game;
+    }
+}
@@ -0,0 +1,93 @@
+package ca.eshopexpress.service.cart;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Keeps cart lines in an open-addressing table.
+ */
+class CartLinesTest {
+
+    @Test
+    void findsEveryLineOfAProbeRunAfterRemovingItsHead() {
+        List<Long> colliding = colliding(4);
+        CartLines lines = new CartLines();
+        for (int i = 0; i < colliding.size(); i++) {
+            lines.put(colliding.get(i), i + 1, 100L * (i + 1));
+        }
+
+        lines.remove(colliding.get(0));
+        lines.remove(colliding.get(2));
+
+        assertEquals(2, lines.size());
+        assertEquals(0, lines.quantity(colliding.get(0)));
+        assertEquals(2, lines.quantity(colliding.get(1)));
+        assertEquals(200, lines.price(colliding.get(1)));
+        assertEquals(0, lines.quantity(colliding.get(2)));
+        assertEquals(4, lines.quantity(colliding.get(3)));
+        assertEquals(400, lines.price(colliding.get(3)));
+    }
+
+    @Test
+    void updatesALineInPlaceAndRemovesItAtZero() {
+        CartLines lines = new CartLines();
+        lines.put(42, 1, 5999);
+        lines.put(42, 3, 4999);
+
+        assertEquals(1, lines.size());
+        assertEquals(3, lines.quantity(42));
+        assertEquals(4999, lines.price(42));
+
+        lines.put(42, 0, 4999);
+        assertEquals(0, lines.size());
+        assertEquals(0, lines.quantity(42));
+    }
+
+    @Test
+    void agreesWithAHashMapThroughGrowthAndRemovals() {
+        Random random = new Random(7);
+        CartLines lines = new CartLines();
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            long key = SessionCart.lineKey(1 + random.nextInt(300), random.nextInt(3));
+            int quantity = random.nextInt(4);
+            lines.put(key, quantity, key);
+            if (quantity == 0) {
+                expected.remove(key);
+            } else {
+                expected.put(key, quantity);
+            }
+        }
+
+        assertEquals(expected.size(), lines.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        lines.forEach((key, quantity, priceCents) -> {
+            assertEquals(key, priceCents);
+            actual.put(key, quantity);
+        });
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Finds line keys that hash to the same slot of a new table
+     * @param count how many keys
+     * @return the keys
+     */
+    private static List<Long> colliding(int count) {
+        List<Long> keys = new ArrayList<>();
+        int slot = CartLines.hash(1) & 7;
+        for (long key = 1; keys.size() < count; key++) {
+            if ((CartLines.hash(key) & 7) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
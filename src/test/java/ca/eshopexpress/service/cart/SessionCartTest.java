@@ -0,0 +1,87 @@
+package ca.eshopexpress.service.cart;
+
+import ca.eshopexpress.exception.CheckoutException;
+import ca.eshopexpress.model.enums.ProductType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Keeps the subtotal and item count of a session cart as its lines change.
+ */
+class SessionCartTest {
+
+    @Test
+    void keepsTheSubtotalInStepWithItsLines() {
+        Random random = new Random(11);
+        SessionCart cart = new SessionCart();
+        for (int i = 0; i < 2000; i++) {
+            ProductType type = random.nextBoolean() ? ProductType.GAME : ProductType.ACCESSORY;
+            long productId = 1 + random.nextInt(20);
+            long platformId = type == ProductType.GAME ? random.nextInt(3) : 0;
+            long priceCents = 100 + random.nextInt(9000);
+            switch (random.nextInt(4)) {
+                case 0 -> cart.add(type, productId, platformId, 1 + random.nextInt(3), priceCents);
+                case 1 -> cart.set(type, productId, platformId, random.nextInt(12), priceCents);
+                case 2 -> cart.reprice(type, productId, platformId, priceCents);
+                default -> cart.remove(type, productId, platformId);
+            }
+            assertTotals(cart);
+        }
+    }
+
+    @Test
+    void repricesALineWithoutChangingItsQuantity() {
+        SessionCart cart = new SessionCart();
+        cart.add(ProductType.GAME, 1, 2, 3, 5999);
+        cart.add(ProductType.GAME, 1, 4, 1, 5999);
+
+        cart.reprice(ProductType.GAME, 1, 2, 4999);
+        cart.reprice(ProductType.GAME, 9, 0, 100);
+
+        assertEquals(3, cart.quantity(ProductType.GAME, 1, 2));
+        assertEquals(new BigDecimal("209.96"), cart.getSubtotal());
+        assertEquals(4, cart.getItemCount());
+        assertEquals(2, cart.getLineCount());
+    }
+
+    @Test
+    void capsQuantitiesAndLines() {
+        SessionCart cart = new SessionCart();
+        assertEquals(SessionCart.MAX_QUANTITY, cart.add(ProductType.ACCESSORY, 1, 0, 50, 100));
+        for (long id = 2; id <= SessionCart.MAX_LINES; id++) {
+            cart.add(ProductType.ACCESSORY, id, 0, 1, 100);
+        }
+
+        assertThrows(CheckoutException.class, () -> cart.add(ProductType.GAME, 1, 2, 1, 100));
+        assertEquals(SessionCart.MAX_LINES, cart.getLineCount());
+
+        cart.clear();
+        assertTotals(cart);
+        assertEquals(0, cart.getItemCount());
+    }
+
+    /**
+     * Checks the running totals against a sum over every line
+     * @param cart the cart
+     */
+    private static void assertTotals(SessionCart cart) {
+        AtomicLong subtotal = new AtomicLong();
+        AtomicInteger items = new AtomicInteger();
+        AtomicInteger lines = new AtomicInteger();
+        cart.forEach((type, productId, platformId, quantity, priceCents) -> {
+            subtotal.addAndGet(quantity * priceCents);
+            items.addAndGet(quantity);
+            lines.incrementAndGet();
+        });
+        assertEquals(subtotal.get(), cart.getSubtotalCents());
+        assertEquals(items.get(), cart.getItemCount());
+        assertEquals(lines.get(), cart.getLineCount());
+    }
+}
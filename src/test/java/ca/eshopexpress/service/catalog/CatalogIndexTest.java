@@ -0,0 +1,55 @@
+package ca.eshopexpress.service.catalog;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.entity.Platform;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resolves platform names against the catalog index.
+ */
+class CatalogIndexTest {
+
+    @Test
+    void anExactNameWinsAndAPartialNameMatchesEveryPlatformContainingIt() {
+        CatalogIndex index = new CatalogIndex();
+        index.upsert(game(1, "PlayStation 4"));
+        index.upsert(game(2, "PlayStation 5"));
+        index.upsert(game(3, "PlayStation 4 Pro"));
+        index.upsert(game(4, "Nintendo Switch"));
+
+        assertEquals(Set.of(1L), ids(index, "playstation 4"));
+        assertEquals(Set.of(1L, 2L, 3L), ids(index, "PlayStation"));
+        assertEquals(Set.of(2L), ids(index, " PLAYSTATION 5 "));
+        assertTrue(index.hasPlatform("switch"));
+        assertFalse(index.hasPlatform("Xbox"));
+        assertEquals(Set.of(), ids(index, "Xbox"));
+    }
+
+    private static Set<Long> ids(CatalogIndex index, String platform) {
+        List<Long> ids = index.query(CatalogFilter.byPlatform(platform));
+        return new HashSet<>(ids);
+    }
+
+    private static Game game(long id, String platformName) {
+        Platform platform = new Platform();
+        platform.setId(id);
+        platform.setName(platformName);
+        Game game = new Game();
+        game.setId(id);
+        game.setTitle("Game " + id);
+        game.setPrice(new BigDecimal("29.99"));
+        game.setReleaseDate(LocalDate.of(2024, 1, 1));
+        game.setPlatforms(Set.of(platform));
+        return game;
+    }
+}
@@ -0,0 +1,62 @@
+package ca.eshopexpress.service.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends outbox batches to an in-process GreenMail SMTP server.
+ */
+class MailBatchSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @Test
+    void sendsEveryEmailOfABatchOverBoundedConnections() throws Exception {
+        List<OutboundEmail> emails = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            emails.add(new OutboundEmail(id, "customer" + id + "@example.com", "Order #" + id, "<p>Order " + id + "</p>"));
+        }
+
+        Map<Long, Exception> failures = new MailBatchSender(mailSender, "orders@eshopexpress.ca", 3).send(emails);
+
+        assertTrue(failures.isEmpty(), failures::toString);
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertEquals(10, received.length);
+        assertEquals("orders@eshopexpress.ca", received[0].getFrom()[0].toString());
+    }
+
+    @Test
+    void reportsEveryEmailAsFailedWhenTheServerIsUnreachable() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        List<OutboundEmail> emails = List.of(
+                new OutboundEmail(1, "a@example.com", "Order #1", "<p>1</p>"),
+                new OutboundEmail(2, "b@example.com", "Order #2", "<p>2</p>"));
+
+        Map<Long, Exception> failures = new MailBatchSender(mailSender, "orders@eshopexpress.ca", 2).send(emails);
+
+        assertEquals(2, failures.size());
+        assertEquals(0, smtp.getReceivedMessages().length);
+    }
+}
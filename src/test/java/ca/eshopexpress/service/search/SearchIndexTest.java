@@ -0,0 +1,67 @@
+package ca.eshopexpress.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Matches and ranks queries against the search index.
+ */
+class SearchIndexTest {
+
+    @Test
+    void matchesExactlyByPrefixAndByTrigrams() {
+        SearchIndex index = new SearchIndex();
+        index.index(1, "The Legend of Zelda", fields("The Legend of Zelda", "Nintendo", "An adventure"));
+        index.index(2, "Zeldathon", fields("Zeldathon", "Indie", "A speedrun event"));
+        index.index(3, "Mario Kart", fields("Mario Kart", "Nintendo", "Kart racing"));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("zelda", 10)));
+        assertEquals(List.of(1L, 2L), ids(index.search("zel", 10)));
+        assertEquals(List.of(1L), ids(index.search("zeldda", 10)));
+        assertEquals(List.of(), ids(index.search("halo", 10)));
+    }
+
+    @Test
+    void weighsFieldsAndCanBeLimitedToTitles() {
+        SearchIndex index = new SearchIndex();
+        index.index(1, "Racing Legends", fields("Racing Legends", "Codemasters", "Drive fast"));
+        index.index(2, "Puzzle Box", fields("Puzzle Box", "Racing Studio", "Calm puzzles"));
+        index.index(3, "Farm Life", fields("Farm Life", "Harvest Co", "Tractor racing on weekends"));
+
+        List<SearchHit> hits = index.search("racing", 10);
+        assertEquals(List.of(1L, 2L, 3L), ids(hits));
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        assertTrue(hits.get(1).getScore() > hits.get(2).getScore());
+
+        assertEquals(List.of(1L), ids(index.search("racing", 10, EnumSet.of(SearchField.TITLE))));
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("puzzle racing", 10)));
+
+        index.remove(1);
+        assertEquals(List.of(), ids(index.search("racing", 10, EnumSet.of(SearchField.TITLE))));
+        assertEquals(2, index.size());
+    }
+
+    private static Map<SearchField, List<String>> fields(String title, String maker, String description) {
+        Map<SearchField, List<String>> fields = new EnumMap<>(SearchField.class);
+        fields.put(SearchField.TITLE, List.of(title));
+        fields.put(SearchField.MAKER, List.of(maker));
+        fields.put(SearchField.DESCRIPTION, List.of(description));
+        return fields;
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(hit.getId());
+        }
+        return ids;
+    }
+}
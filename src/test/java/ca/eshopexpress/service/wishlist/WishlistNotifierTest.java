@@ -0,0 +1,43 @@
+package ca.eshopexpress.service.wishlist;
+
+import ca.eshopexpress.model.entity.Game;
+import ca.eshopexpress.model.enums.WishlistAlertType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Decides which saves alert a game's wishers.
+ */
+class WishlistNotifierTest {
+
+    @Test
+    void alertsOnPriceDropsAndRestocksOfPhysicalGamesOnly() {
+        WishlistNotifier.Snapshot soldOut = new WishlistNotifier.Snapshot(new BigDecimal("59.99"), 0);
+
+        assertEquals(Set.of(WishlistAlertType.PRICE_DROP, WishlistAlertType.RESTOCK),
+                WishlistNotifier.changes(soldOut, game("39.99", 5, false)));
+        assertEquals(Set.of(WishlistAlertType.RESTOCK), WishlistNotifier.changes(soldOut, game("59.99", 1, false)));
+        assertEquals(Set.of(WishlistAlertType.PRICE_DROP), WishlistNotifier.changes(soldOut, game("49.99", 1, true)));
+    }
+
+    @Test
+    void ignoresPriceRisesSellOutsAndNewGames() {
+        WishlistNotifier.Snapshot inStock = new WishlistNotifier.Snapshot(new BigDecimal("59.99"), 3);
+
+        assertEquals(Set.of(), WishlistNotifier.changes(inStock, game("69.99", 0, false)));
+        assertEquals(Set.of(), WishlistNotifier.changes(inStock, game("59.990", 10, false)));
+        assertEquals(Set.of(), WishlistNotifier.changes(null, game("9.99", 10, false)));
+    }
+
+    private static Game game(String price, int stock, boolean digital) {
+        Game game = new Game();
+        game.setPrice(new BigDecimal(price));
+        game.setStockQuantity(stock);
+        game.setDigital(digital);
+        return game;
+    }
+}